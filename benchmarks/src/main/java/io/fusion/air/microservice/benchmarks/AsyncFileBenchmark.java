@@ -0,0 +1,115 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.adapters.io.AsyncFileReader;
+import io.fusion.air.microservice.adapters.io.ChunkConsumer;
+import io.fusion.air.microservice.adapters.io.Utf8Scanner;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async Reader: AsyncFileReader Pipeline for every File Size x Chunk Size (4 KB - 1 MB) x Reads in Flight.
+ * The Consumer scans the Chunks with the Utf8Scanner (same Work as the NIO Stream Reader).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class AsyncFileBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int fileSizeMB;
+
+    @Param({"4096", "65536", "1048576"})
+    public int chunkSize;
+
+    @Param({"1", "4", "16"})
+    public int readsInFlight;
+
+    private String filePath;
+    private long fileSize;
+    private AsyncFileReader asyncFileReader;
+
+    /**
+     * Create the Test File and the Reader
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Path file = BenchmarkFiles.dataFile(fileSizeMB);
+        filePath = file.toString();
+        fileSize = file.toFile().length();
+        asyncFileReader = new AsyncFileReader();
+    }
+
+    /**
+     * Stop the Reader Threads
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asyncFileReader.shutdown();
+    }
+
+    /**
+     * AsyncFileChannel - Chunks read ahead and delivered in Order
+     * @param counter
+     * @return
+     */
+    @Benchmark
+    public long asyncPipelined(ByteCounter counter) {
+        counter.bytes += fileSize;
+        return readLines(asyncFileReader, filePath, chunkSize, readsInFlight);
+    }
+
+    /**
+     * Count the Lines with the Async Reader
+     * @param reader
+     * @param filePath
+     * @param chunkSize
+     * @param readsInFlight
+     * @return
+     */
+    static long readLines(AsyncFileReader reader, String filePath, int chunkSize, int readsInFlight) {
+        // Chunks are delivered one at a time, in Order, so one Scanner is enough
+        Utf8Scanner scanner = new Utf8Scanner();
+        reader.read(filePath, chunkSize, readsInFlight,
+                ChunkConsumer.of((chunk, position) -> scanner.scan(chunk))).join();
+        return scanner.finish().getLines();
+    }
+}
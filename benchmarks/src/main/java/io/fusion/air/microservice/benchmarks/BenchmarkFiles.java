@@ -0,0 +1,154 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Java
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+/**
+ * Test Files for the Benchmarks and Page Cache Eviction
+ *
+ * The Files are created once in {java.io.tmpdir}/ms-vanilla-jmh (or -Dbenchmark.data.dir) and reused
+ * by every Fork. The Content is the same on every run (fixed Seed): Lines of 10 - 200 Chars, mostly
+ * ASCII with 2, 3 and 4 Byte UTF-8 Sequences mixed in, so the Decoders do real work.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class BenchmarkFiles {
+
+    public static final String DATA_DIR_PROPERTY = "benchmark.data.dir";
+    public static final int MB = 1024 * 1024;
+
+    private static final long SEED = 2023L;
+    private static final String[] WORDS = {
+            "micro", "service", "vanilla", "kafka", "stream", "buffer", "channel", "spring", "boot", "file",
+            "café", "naïve", "Zürich", "São", "Paulo", "東京", "数据", "서울", "мир", "🚀", "😀"
+    };
+
+    private BenchmarkFiles() {
+    }
+
+    /**
+     * Returns the Test File of the given Size (Created if it doesn't exist)
+     * @param sizeMB
+     * @return
+     * @throws IOException
+     */
+    public static Path dataFile(int sizeMB) throws IOException {
+        Path dir = Paths.get(System.getProperty(DATA_DIR_PROPERTY,
+                Paths.get(System.getProperty("java.io.tmpdir"), "ms-vanilla-jmh").toString()));
+        Files.createDirectories(dir);
+        Path file = dir.resolve("data-" + sizeMB + "MB.txt");
+        long size = (long) sizeMB * MB;
+        if(Files.exists(file) && Files.size(file) == size) {
+            return file;
+        }
+        Path temp = Files.createTempFile(dir, "data-", ".tmp");
+        writeLines(temp, size);
+        return Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Write Lines till the File reaches the Size (the last Line is cut at the Size)
+     * @param file
+     * @param size
+     * @throws IOException
+     */
+    private static void writeLines(Path file, long size) throws IOException {
+        Random random = new Random(SEED);
+        StringBuilder line = new StringBuilder(256);
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (written < size) {
+                line.setLength(0);
+                int length = 10 + random.nextInt(190);
+                while (line.length() < length) {
+                    // ASCII Words 90% of the time
+                    String word = random.nextInt(10) < 9 ? WORDS[random.nextInt(10)] : WORDS[10 + random.nextInt(11)];
+                    line.append(word).append(' ');
+                }
+                line.setCharAt(line.length() - 1, '\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                int count = (int) Math.min(bytes.length, size - written);
+                // Cut only on a Character Boundary, fill the rest with Line Feeds
+                int cut = count;
+                while (cut > 0 && cut < bytes.length && (bytes[cut] & 0xC0) == 0x80) {
+                    cut--;
+                }
+                writer.write(new String(bytes, 0, cut, StandardCharsets.UTF_8));
+                for(int i = cut; i < count; i++) {
+                    writer.write('\n');
+                }
+                written += count;
+            }
+        }
+    }
+
+    /**
+     * Drop the File from the OS Page Cache so that the next Read goes to the Disk.
+     *
+     * Linux: GNU dd with iflag=nocache drops the Cached Pages of the File (no root required), else
+     * /proc/sys/vm/drop_caches drops the whole Page Cache (root only). Other OS: Not Supported.
+     *
+     * @param file
+     * @throws IOException
+     */
+    public static void evictFromPageCache(Path file) throws IOException {
+        if(run("dd", "if=" + file.toAbsolutePath(), "iflag=nocache", "count=0", "status=none")) {
+            return;
+        }
+        Path dropCaches = Paths.get("/proc/sys/vm/drop_caches");
+        if(Files.isWritable(dropCaches)) {
+            run("sync");
+            Files.write(dropCaches, "1".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        throw new IllegalStateException("Page Cache Eviction NOT Supported on this OS (needs GNU dd "
+                + "or root access to /proc/sys/vm/drop_caches). Run the warm benchmarks only.");
+    }
+
+    /**
+     * Run the Command and return true if it exits with 0
+     * @param command
+     * @return
+     */
+    private static boolean run(String... command) {
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (InputStream output = process.getInputStream()) {
+                byte[] discard = new byte[1024];
+                while (output.read(discard) != -1) {
+                    // Drain the Output so the Process never blocks
+                }
+            }
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.domain.entities.order.ProductEntity;
+import io.fusion.air.microservice.domain.models.order.CardDetails;
+import io.fusion.air.microservice.domain.models.order.CardType;
+import io.fusion.air.microservice.domain.models.order.PaymentDetails;
+import io.fusion.air.microservice.domain.models.order.PaymentType;
+import io.fusion.air.microservice.server.models.EchoData;
+import io.fusion.air.microservice.utils.JsonMapper;
+// Jackson
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service to Service Payloads: JSON vs CBOR vs Smile (Shared JsonMapper Config)
+ * - echo     : EchoData (AppExternalServiceImpl.remoteEcho -> EchoController)
+ * - payment  : PaymentDetails with Card (AppExternalServiceImpl.processPayments)
+ * - products : 1000 ProductEntity (Large List)
+ *
+ * The Encoded Size of every Payload / Format is printed at the Start of the Trial.
+ *
+ * java -jar target/benchmarks.jar BinaryFormatBenchmark -p payload=products
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class BinaryFormatBenchmark {
+
+    private static final int PRODUCTS = 1000;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"echo", "payment", "products"})
+    public String payload;
+
+    private Object value;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    /**
+     * Create the Payload and the Writer / Reader for the Format
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper mapper = "cbor".equals(format) ? JsonMapper.cbor()
+                : "smile".equals(format) ? JsonMapper.smile() : JsonMapper.mapper();
+        Class<?> type;
+        switch (payload) {
+            case "echo":
+                value = new EchoData("Hello World");
+                type = EchoData.class;
+                break;
+            case "payment":
+                value = new PaymentDetails("TX-" + System.nanoTime(), LocalDateTime.now(), 1299.95,
+                        PaymentType.CREDIT_CARD,
+                        new CardDetails("4111111111111111", "John Doe", 12, 2030, 123, CardType.VISA));
+                type = PaymentDetails.class;
+                break;
+            default:
+                List<ProductEntity> products = new ArrayList<>(PRODUCTS);
+                for(int i = 0; i < PRODUCTS; i++) {
+                    products.add(new ProductEntity("Product " + i, "Details of the Product " + i,
+                            new BigDecimal("99.95").add(BigDecimal.valueOf(i)), "5600" + (i % 100)));
+                }
+                value = products;
+                type = ProductEntity[].class;
+                break;
+        }
+        writer = mapper.writer();
+        reader = mapper.readerFor(type);
+        encoded = writer.writeValueAsBytes(value);
+        System.out.println("\n" + payload + " / " + format + " = " + encoded.length + " Bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
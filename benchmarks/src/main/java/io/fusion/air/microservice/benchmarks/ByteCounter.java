@@ -0,0 +1,45 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// JMH
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Bytes read by the Benchmark, reported by JMH as a Rate next to the ops/s (bytes/s in Throughput Mode).
+ * Every Benchmark adds the File Size per Operation, so the Rate is the Read Throughput.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ByteCounter {
+
+    public long bytes;
+
+    /**
+     * Reset the Counter for every Iteration
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        bytes = 0;
+    }
+}
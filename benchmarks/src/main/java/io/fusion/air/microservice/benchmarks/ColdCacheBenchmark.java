@@ -0,0 +1,146 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.adapters.io.AsyncFileReader;
+import io.fusion.air.microservice.adapters.io.FileIOExample;
+import io.fusion.air.microservice.adapters.io.FileNIOExample;
+import io.fusion.air.microservice.adapters.io.MappedFileCursor;
+import io.fusion.air.microservice.adapters.io.ParallelFileScanner;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All the Readers with the File evicted from the Page Cache before every Read (Cold), so the Disk
+ * is part of the Measurement. One Read per Operation (Single Shot), the Eviction is NOT timed.
+ *
+ * Needs Linux (GNU dd) or root, see BenchmarkFiles.evictFromPageCache(). On a Disk with a large
+ * Cache (or tmpfs) the Results are close to the Warm Benchmarks, point to the real Disk with
+ * java -Dbenchmark.data.dir=/data -jar target/benchmarks.jar ColdCacheBenchmark
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ColdCacheBenchmark {
+
+    @Param({"64"})
+    public int fileSizeMB;
+
+    @Param({"8192", "65536", "1048576"})
+    public int bufferSize;
+
+    private Path file;
+    private String filePath;
+    private FileIOExample fileIO;
+    private FileNIOExample fileNIO;
+    private AsyncFileReader asyncFileReader;
+    private ParallelFileScanner scanner;
+
+    /**
+     * Create the Test File and the Readers
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = BenchmarkFiles.dataFile(fileSizeMB);
+        filePath = file.toString();
+        fileIO = new FileIOExample();
+        fileNIO = new FileNIOExample();
+        asyncFileReader = new AsyncFileReader();
+        scanner = new ParallelFileScanner();
+    }
+
+    /**
+     * Drop the File from the Page Cache before every Read
+     * @throws IOException
+     */
+    @Setup(Level.Invocation)
+    public void evict() throws IOException {
+        BenchmarkFiles.evictFromPageCache(file);
+    }
+
+    /**
+     * Stop the Reader Threads
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asyncFileReader.shutdown();
+        scanner.shutdown();
+    }
+
+    @Benchmark
+    public long ioBufferedReader() {
+        return fileIO.readFile(filePath, bufferSize);
+    }
+
+    @Benchmark
+    public long nioUtf8Scanner() {
+        return fileNIO.readFile(filePath, bufferSize);
+    }
+
+    /**
+     * Window Size = Buffer Size (Min 64 KB)
+     * @return
+     * @throws IOException
+     */
+    @Benchmark
+    public long mappedCursor() throws IOException {
+        return MappedFileBenchmark.countLines(file, Math.max(MappedFileCursor.MIN_WINDOW_SIZE, bufferSize));
+    }
+
+    /**
+     * Chunk Size = Buffer Size, Default Reads in Flight
+     * @return
+     */
+    @Benchmark
+    public long asyncPipelined() {
+        return AsyncFileBenchmark.readLines(asyncFileReader, filePath,
+                Math.max(AsyncFileReader.MIN_CHUNK_SIZE, bufferSize), AsyncFileReader.DEFAULT_READS_IN_FLIGHT);
+    }
+
+    /**
+     * Segment Size = Buffer Size (Min 64 KB)
+     * @return
+     * @throws IOException
+     */
+    @Benchmark
+    public long parallelScan() throws IOException {
+        return scanner.scan(filePath, Math.max(ParallelFileScanner.MIN_SEGMENT_SIZE, bufferSize)).getLines();
+    }
+}
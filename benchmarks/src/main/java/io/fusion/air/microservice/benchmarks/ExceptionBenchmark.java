@@ -0,0 +1,90 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.domain.exceptions.AbstractServiceException;
+import io.fusion.air.microservice.domain.exceptions.DataNotFoundException;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throw and Catch a DataNotFoundException (404) at the Bottom of a Call Stack
+ * (A Spring MVC Request is 100+ Frames deep by the Time it reaches the Repository)
+ * - stackless = true  : Stackless Mode (No Stack Trace for 4xx without a Cause)
+ * - stackless = false : Every Exception captures the Stack Trace (the old Behaviour)
+ *
+ * java -jar target/benchmarks.jar ExceptionBenchmark
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ExceptionBenchmark {
+
+    @Param({"true", "false"})
+    public boolean stackless;
+
+    @Param({"10", "150"})
+    public int depth;
+
+    /**
+     * Set the Stackless Mode
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        AbstractServiceException.setStacklessMode(stackless);
+    }
+
+    @Benchmark
+    public String notFound() {
+        try {
+            return find(depth);
+        } catch (DataNotFoundException e) {
+            return e.getErrorMessage();
+        }
+    }
+
+    /**
+     * Recurse to the Depth and throw (Data NOT Found)
+     * @param _depth
+     * @return
+     */
+    private String find(int _depth) {
+        if(_depth == 0) {
+            throw new DataNotFoundException("Data not found with id : " + _depth);
+        }
+        return find(_depth - 1);
+    }
+}
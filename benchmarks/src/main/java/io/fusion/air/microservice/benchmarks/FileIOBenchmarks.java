@@ -0,0 +1,66 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// JMH
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * File I/O Benchmarks Runner
+ *
+ * Same Command Line as the JMH Main (-h for Help), with the following Defaults:
+ * - GC Profiler ON : gc.alloc.rate.norm = Heap Bytes allocated per Operation
+ * - Results saved as JSON in jmh-result.json (override with -rf / -rff)
+ *
+ * java -jar target/benchmarks.jar                                    (All the Benchmarks)
+ * java -jar target/benchmarks.jar FileReadBenchmark -p fileSizeMB=16 (One Benchmark, One File Size)
+ * java -jar target/benchmarks.jar ColdCacheBenchmark                 (Page Cache Cold, Linux)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class FileIOBenchmarks {
+
+    public static final String RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Run the Benchmarks
+     * @param args
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if(cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams()
+                || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if(cli.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if(!cli.getResult().hasValue() && !cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result(RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.adapters.io.FileIOExample;
+import io.fusion.air.microservice.adapters.io.FileNIOExample;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stream Readers: Java IO (BufferedReader) vs Java NIO (FileChannel + Utf8Scanner / CharsetDecoder)
+ * for every File Size x Buffer Size (128 Bytes - 1 MB). The File is in the Page Cache (Warm).
+ *
+ * Replaces the timing in AbstractFileProcessing.readFileMultipleTimes() for comparisons: JMH warms up
+ * the JIT, runs in separate Forks and reports the Error Margin.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class FileReadBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int fileSizeMB;
+
+    @Param({"128", "1024", "8192", "65536", "1048576"})
+    public int bufferSize;
+
+    private String filePath;
+    private long fileSize;
+    private FileIOExample fileIO;
+    private FileNIOExample fileNIO;
+
+    /**
+     * Create the Test File and the Readers
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Path file = BenchmarkFiles.dataFile(fileSizeMB);
+        filePath = file.toString();
+        fileSize = file.toFile().length();
+        fileIO = new FileIOExample();
+        fileNIO = new FileNIOExample();
+    }
+
+    /**
+     * Java IO - BufferedReader.readLine() (a String per Line)
+     * @param counter
+     * @return
+     */
+    @Benchmark
+    public long ioBufferedReader(ByteCounter counter) {
+        counter.bytes += fileSize;
+        return fileIO.readFile(filePath, bufferSize);
+    }
+
+    /**
+     * Java NIO - FileChannel into a Pooled Direct Buffer + Utf8Scanner (No Decoding)
+     * @param counter
+     * @return
+     */
+    @Benchmark
+    public long nioUtf8Scanner(ByteCounter counter) {
+        counter.bytes += fileSize;
+        return fileNIO.readFile(filePath, bufferSize);
+    }
+
+    /**
+     * Java NIO - FileChannel into a Heap Buffer + CharsetDecoder (a CharBuffer per Read)
+     * @param counter
+     * @return
+     */
+    @Benchmark
+    public long nioCharsetDecoder(ByteCounter counter) {
+        counter.bytes += fileSize;
+        return fileNIO.readFileWithDecoder(filePath, bufferSize);
+    }
+}
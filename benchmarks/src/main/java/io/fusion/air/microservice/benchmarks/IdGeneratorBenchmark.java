@@ -0,0 +1,67 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.utils.IdGenerator;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request / Correlation IDs: UUID.randomUUID() (One Secure Random shared by all the Threads) vs
+ * IdGenerator Fast IDs (Thread Counters) and Secure IDs (Secure Random per Thread).
+ *
+ * Runs on all the CPUs by default, compare with a Single Thread to see the Scaling:
+ *
+ * java -jar target/benchmarks.jar IdGeneratorBenchmark            (All the CPUs)
+ * java -jar target/benchmarks.jar IdGeneratorBenchmark -t 1       (Single Thread)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@Threads(Threads.MAX)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public String randomUUID() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String fastId() {
+        return IdGenerator.fastId();
+    }
+
+    @Benchmark
+    public String secureId() {
+        return IdGenerator.secureId();
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.domain.models.core.StandardResponse;
+import io.fusion.air.microservice.domain.models.order.Product;
+import io.fusion.air.microservice.utils.JsonMapper;
+// Jackson
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StandardResponse (with a List of Products) to JSON:
+ * - New Object Mapper per Call (findAndRegisterModules = Classpath Scan), the old Utils.toJsonString()
+ * - Shared JsonMapper with the Cached Object Writer: String, byte[] and Stream
+ *
+ * The Shared Mapper uses Blackbird by default, compare with Reflection Accessors:
+ *
+ * java -jar target/benchmarks.jar JsonBenchmark
+ * java -jar target/benchmarks.jar JsonBenchmark -jvmArgsAppend -Djson.mapper.accessors=none
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+
+    @Param({"1", "50"})
+    public int products;
+
+    private StandardResponse response;
+    private ByteArrayOutputStream out;
+
+    /**
+     * Create the Response
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Product> payload = new ArrayList<>(products);
+        for(int i = 0; i < products; i++) {
+            payload.add(new Product(null, "Product " + i, "Details of the Product " + i, new BigDecimal("99.95")));
+        }
+        response = new StandardResponse();
+        response.initSuccess("200", "Products Retrieved");
+        response.setPayload(payload);
+        out = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public String newMapperPerCall() throws IOException {
+        return new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .findAndRegisterModules()
+                .writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String sharedMapperString() throws IOException {
+        return JsonMapper.toJson(response);
+    }
+
+    @Benchmark
+    public byte[] sharedMapperBytes() throws IOException {
+        return JsonMapper.toBytes(response);
+    }
+
+    @Benchmark
+    public int sharedMapperStream() throws IOException {
+        out.reset();
+        JsonMapper.write(out, response);
+        return out.size();
+    }
+}
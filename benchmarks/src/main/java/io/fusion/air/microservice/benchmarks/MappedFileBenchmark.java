@@ -0,0 +1,100 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.adapters.io.MappedFileCursor;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory Mapped Reader: MappedFileCursor Line by Line for every File Size x Window Size (64 KB - 128 MB).
+ * Small Windows measure the Cost of the Map / Unmap Calls, large Windows the Cost of the Page Faults.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MappedFileBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int fileSizeMB;
+
+    @Param({"65536", "1048576", "16777216", "134217728"})
+    public int windowSize;
+
+    private Path file;
+    private long fileSize;
+
+    /**
+     * Create the Test File
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = BenchmarkFiles.dataFile(fileSizeMB);
+        fileSize = file.toFile().length();
+    }
+
+    /**
+     * MappedFileCursor - Lines scanned in the Mapped Window (No Copy, No Decoding)
+     * @param counter
+     * @return
+     * @throws IOException
+     */
+    @Benchmark
+    public long mappedCursor(ByteCounter counter) throws IOException {
+        counter.bytes += fileSize;
+        return countLines(file, windowSize);
+    }
+
+    /**
+     * Count the Lines with the Cursor
+     * @param file
+     * @param windowSize
+     * @return
+     * @throws IOException
+     */
+    static long countLines(Path file, int windowSize) throws IOException {
+        long lines = 0;
+        try (MappedFileCursor cursor = MappedFileCursor.open(file, windowSize)) {
+            while (cursor.nextLine()) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.adapters.io.ParallelFileScanner;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel Reader: ParallelFileScanner (Fork Join, Parallelism = No. of Processors) for every
+ * File Size x Segment Size (64 KB - 8 MB).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ParallelScanBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int fileSizeMB;
+
+    @Param({"65536", "1048576", "8388608"})
+    public int segmentSize;
+
+    private String filePath;
+    private long fileSize;
+    private ParallelFileScanner scanner;
+
+    /**
+     * Create the Test File and the Scanner
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Path file = BenchmarkFiles.dataFile(fileSizeMB);
+        filePath = file.toString();
+        fileSize = file.toFile().length();
+        scanner = new ParallelFileScanner();
+    }
+
+    /**
+     * Stop the Fork Join Pool
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scanner.shutdown();
+    }
+
+    /**
+     * Fork Join - Segments scanned in Parallel with Positional Reads
+     * @param counter
+     * @return
+     * @throws IOException
+     */
+    @Benchmark
+    public long parallelScan(ByteCounter counter) throws IOException {
+        counter.bytes += fileSize;
+        return scanner.scan(filePath, segmentSize).getLines();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.adapters.metrics.RequestCostRecorder;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Request Cost Accounting per Request (RequestCostFilter)
+ * - counters : Read the Thread Counters only (Allocated Bytes + CPU Time)
+ * - record   : Read the Counters and record them into the Histograms of one of 80 Handlers
+ *
+ * java -jar target/benchmarks.jar RequestCostBenchmark -t 4
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class RequestCostBenchmark {
+
+    private static final int HANDLERS = 80;
+
+    private RequestCostRecorder recorder;
+    private String[] handlers;
+
+    /**
+     * Create the Recorder and the Handler Names
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        recorder = new RequestCostRecorder();
+        handlers = new String[HANDLERS];
+        for(int i = 0; i < HANDLERS; i++) {
+            handlers[i] = "GET /ms-vanilla/api/v1/handler/" + i + "/{id}";
+        }
+    }
+
+    /**
+     * Handler per Thread
+     */
+    @State(Scope.Thread)
+    public static class Request {
+        private int next;
+
+        private int next() {
+            next = (next + 1) % HANDLERS;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public long counters() {
+        return recorder.allocatedBytes() + recorder.cpuTime();
+    }
+
+    @Benchmark
+    public void record(Request _request) {
+        recorder.record(handlers[_request.next()], recorder.allocatedBytes(), recorder.cpuTime());
+    }
+}
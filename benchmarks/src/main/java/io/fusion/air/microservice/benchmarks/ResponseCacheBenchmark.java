@@ -0,0 +1,118 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.adapters.cache.SerializedResponse;
+import io.fusion.air.microservice.domain.entities.order.CountryGeoEntity;
+import io.fusion.air.microservice.domain.models.core.StandardResponse;
+import io.fusion.air.microservice.utils.JsonMapper;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reference Data Response (Geo Countries) written to the Client:
+ * - serialize     : JsonMapper (every Request, the old Path)
+ * - serializeGzip : JsonMapper + GZIPOutputStream (Server Compression)
+ * - cached        : SerializedResponse (Head with the Time + Cached Tail)
+ * - cachedGzip    : SerializedResponse Gzip Variant (Stored Head Block + Precompressed Tail)
+ *
+ * java -jar target/benchmarks.jar ResponseCacheBenchmark
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ResponseCacheBenchmark {
+
+    @Param({"10", "250"})
+    public int countries;
+
+    private StandardResponse response;
+    private SerializedResponse cached;
+    private ByteArrayOutputStream out;
+
+    /**
+     * Create the Geo Countries Response and the Cached Response
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        List<CountryGeoEntity> payload = new ArrayList<>(countries);
+        for(int i = 0; i < countries; i++) {
+            payload.add(new CountryGeoEntity(190000 + i, "en", "EU", "Europe", "C" + i, "Country " + i, i % 2));
+        }
+        response = new StandardResponse();
+        response.initSuccess("13200", "Data Fetch Success!");
+        response.setPayload(payload);
+        cached = new SerializedResponse(response, 0);
+        out = new ByteArrayOutputStream(256 * 1024);
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        out.reset();
+        JsonMapper.write(out, response);
+        return out.size();
+    }
+
+    @Benchmark
+    public int serializeGzip() throws IOException {
+        out.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            JsonMapper.write(gzip, response);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int cached() throws IOException {
+        out.reset();
+        cached.write(out, cached.head(LocalDateTime.now()));
+        return out.size();
+    }
+
+    @Benchmark
+    public int cachedGzip() throws IOException {
+        out.reset();
+        cached.writeGzip(out, cached.head(LocalDateTime.now()));
+        return out.size();
+    }
+}
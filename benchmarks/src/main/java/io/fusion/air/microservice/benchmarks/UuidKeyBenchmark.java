@@ -0,0 +1,231 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.benchmarks;
+// Custom
+import io.fusion.air.microservice.utils.TimeOrderedUUID;
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+// Java
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary Key Insert Throughput and Index Size: char(36) Random (v4) vs 16 Byte Random (v4) vs
+ * 16 Byte Time Ordered (v7) UUIDs. 16 Bytes = binary(16) in H2, uuid in PostgreSQL.
+ *
+ * One Operation = One Row (Batches of 1000 Rows per Transaction). The Table is pre-loaded so that
+ * the Index is larger than a few Pages. The Index Size per Row is printed at the end of the Trial:
+ * - H2         : DISK_SPACE_USED (Table + Primary Key Index)
+ * - PostgreSQL : pg_relation_size of the Primary Key Index
+ *
+ * java -jar target/benchmarks.jar UuidKeyBenchmark
+ * java -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5433/ms_vanilla_272
+ *      -Dbenchmark.postgres.user=postgres -Dbenchmark.postgres.password=...
+ *      -jar target/benchmarks.jar UuidKeyBenchmark -p database=postgresql
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class UuidKeyBenchmark {
+
+    public static final String POSTGRES_URL_PROPERTY = "benchmark.postgres.url";
+    public static final String POSTGRES_USER_PROPERTY = "benchmark.postgres.user";
+    public static final String POSTGRES_PASSWORD_PROPERTY = "benchmark.postgres.password";
+
+    public static final int BATCH_SIZE = 1000;
+    private static final String TABLE = "jmh_uuid_key";
+
+    @Param({"h2"})
+    public String database;
+
+    @Param({"CHAR36_V4", "BINARY_V4", "BINARY_V7"})
+    public String keyType;
+
+    @Param({"100000"})
+    public int preloadRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private boolean postgres;
+
+    /**
+     * Create the Table (Dropped if it exists) and pre-load the Rows
+     * @throws Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        postgres = "postgresql".equalsIgnoreCase(database);
+        connection = postgres ? postgresConnection() : h2Connection();
+        connection.setAutoCommit(false);
+        String keyColumn = "CHAR36_V4".equals(keyType) ? "char(36)" : (postgres ? "uuid" : "binary(16)");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (uuid " + keyColumn + " NOT NULL PRIMARY KEY, "
+                    + "createdtime timestamp NOT NULL, notes varchar(64))");
+        }
+        connection.commit();
+        insert = connection.prepareStatement("INSERT INTO " + TABLE + " (uuid, createdtime, notes) VALUES (?, ?, ?)");
+        for(int i = 0; i < preloadRows; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    /**
+     * Print the Index Size and drop the Table
+     * @throws SQLException
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long rows = queryLong(statement, "SELECT COUNT(*) FROM " + TABLE);
+            long bytes = postgres
+                    ? queryLong(statement, "SELECT pg_relation_size('" + TABLE + "_pkey')")
+                    : queryLong(statement, "CALL DISK_SPACE_USED('" + TABLE.toUpperCase() + "')");
+            System.out.printf("%n%s %s : %d Rows, %s %d Bytes (%.1f Bytes per Row)%n", database, keyType, rows,
+                    postgres ? "Primary Key Index" : "Table + Index", bytes, (double) bytes / rows);
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            connection.commit();
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Insert a Batch of Rows in one Transaction
+     * @return
+     * @throws SQLException
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for(int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, nextKey());
+            insert.setTimestamp(2, now);
+            insert.setString(3, "Order");
+            insert.addBatch();
+        }
+        int rows = insert.executeBatch().length;
+        connection.commit();
+        return rows;
+    }
+
+    /**
+     * Returns the Key in the Column Type (String, byte[] or UUID)
+     * @return
+     */
+    private Object nextKey() {
+        switch (keyType) {
+            case "CHAR36_V4":
+                return UUID.randomUUID().toString();
+            case "BINARY_V4":
+                return toColumn(UUID.randomUUID());
+            default:
+                return toColumn(TimeOrderedUUID.next());
+        }
+    }
+
+    /**
+     * PostgreSQL uuid takes the UUID, H2 binary(16) takes the Bytes (Most Significant First)
+     * @param uuid
+     * @return
+     */
+    private Object toColumn(UUID uuid) {
+        if(postgres) {
+            return uuid;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * H2 File Database in the Benchmark Data Directory (Index Size on Disk)
+     * @return
+     * @throws SQLException
+     * @throws IOException
+     */
+    private Connection h2Connection() throws SQLException, IOException {
+        Path dir = Paths.get(System.getProperty(BenchmarkFiles.DATA_DIR_PROPERTY,
+                Paths.get(System.getProperty("java.io.tmpdir"), "ms-vanilla-jmh").toString()));
+        Files.createDirectories(dir);
+        Path db = dir.resolve("uuid-" + keyType.toLowerCase());
+        Files.deleteIfExists(Paths.get(db + ".mv.db"));
+        return DriverManager.getConnection("jdbc:h2:file:" + db.toAbsolutePath(), "sa", "");
+    }
+
+    /**
+     * PostgreSQL Connection from the System Properties
+     * @return
+     * @throws SQLException
+     */
+    private Connection postgresConnection() throws SQLException {
+        String url = System.getProperty(POSTGRES_URL_PROPERTY);
+        if(url == null) {
+            throw new IllegalStateException("Set -D" + POSTGRES_URL_PROPERTY + " (and -D" + POSTGRES_USER_PROPERTY
+                    + ", -D" + POSTGRES_PASSWORD_PROPERTY + ") to run the PostgreSQL Benchmark");
+        }
+        return DriverManager.getConnection(url, System.getProperty(POSTGRES_USER_PROPERTY),
+                System.getProperty(POSTGRES_PASSWORD_PROPERTY));
+    }
+
+    /**
+     * Returns the Long from the first Column of the first Row
+     * @param statement
+     * @param sql
+     * @return
+     * @throws SQLException
+     */
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+-- ms_schema : Append Only Order / Reservation State History
+-- 1. Sequence No per Transition (Ordered by the Database)
+-- 2. De-Normalized Latest Transition in the Parent Table
+
+-- Order State History ---------------------------------------------------
+
+ALTER TABLE ms_schema.order_state_history_tx ADD COLUMN IF NOT EXISTS seqno integer;
+
+UPDATE ms_schema.order_state_history_tx h SET seqno = s.seqno
+FROM (
+    SELECT uuid, ROW_NUMBER() OVER (PARTITION BY order_id ORDER BY orderversion, createdtime) AS seqno
+    FROM ms_schema.order_state_history_tx
+) s
+WHERE h.uuid = s.uuid AND h.seqno IS NULL;
+
+ALTER TABLE ms_schema.order_state_history_tx ALTER COLUMN seqno SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS order_state_history_seq_idx
+    ON ms_schema.order_state_history_tx (order_id, seqno);
+
+ALTER TABLE ms_schema.order_state_history_tx DROP CONSTRAINT IF EXISTS order_state_history_seq_uk;
+ALTER TABLE ms_schema.order_state_history_tx ADD CONSTRAINT order_state_history_seq_uk UNIQUE (order_id, seqno);
+
+ALTER TABLE ms_schema.order_tx ADD COLUMN IF NOT EXISTS lasttransitionseq integer DEFAULT 0;
+ALTER TABLE ms_schema.order_tx ADD COLUMN IF NOT EXISTS lasttransitionevent character varying(255);
+ALTER TABLE ms_schema.order_tx ADD COLUMN IF NOT EXISTS lasttransitiontime timestamp without time zone;
+
+UPDATE ms_schema.order_tx o SET
+    lasttransitionseq = h.seqno,
+    lasttransitionevent = h.transitionevent,
+    lasttransitiontime = h.createdtime
+FROM (
+    SELECT DISTINCT ON (order_id) order_id, seqno, transitionevent, createdtime
+    FROM ms_schema.order_state_history_tx
+    ORDER BY order_id, seqno DESC
+) h
+WHERE o.uuid = h.order_id;
+
+-- Reservation State History ---------------------------------------------
+
+ALTER TABLE ms_schema.reservation_state_history_tx ADD COLUMN IF NOT EXISTS seqno integer;
+
+UPDATE ms_schema.reservation_state_history_tx h SET seqno = s.seqno
+FROM (
+    SELECT uuid, ROW_NUMBER() OVER (PARTITION BY reservation_id ORDER BY aggregateversionno, createdtime) AS seqno
+    FROM ms_schema.reservation_state_history_tx
+) s
+WHERE h.uuid = s.uuid AND h.seqno IS NULL;
+
+ALTER TABLE ms_schema.reservation_state_history_tx ALTER COLUMN seqno SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS reservation_state_history_seq_idx
+    ON ms_schema.reservation_state_history_tx (reservation_id, seqno);
+
+ALTER TABLE ms_schema.reservation_state_history_tx DROP CONSTRAINT IF EXISTS reservation_state_history_seq_uk;
+ALTER TABLE ms_schema.reservation_state_history_tx ADD CONSTRAINT reservation_state_history_seq_uk UNIQUE (reservation_id, seqno);
+
+ALTER TABLE ms_schema.reservation_tx ADD COLUMN IF NOT EXISTS lasttransitionseq integer DEFAULT 0;
+ALTER TABLE ms_schema.reservation_tx ADD COLUMN IF NOT EXISTS lasttransitionevent character varying(255);
+ALTER TABLE ms_schema.reservation_tx ADD COLUMN IF NOT EXISTS lasttransitiontime timestamp without time zone;
+
+UPDATE ms_schema.reservation_tx r SET
+    lasttransitionseq = h.seqno,
+    lasttransitionevent = h.transitionevent,
+    lasttransitiontime = h.createdtime
+FROM (
+    SELECT DISTINCT ON (reservation_id) reservation_id, seqno, transitionevent, createdtime
+    FROM ms_schema.reservation_state_history_tx
+    ORDER BY reservation_id, seqno DESC
+) h
+WHERE r.uuid = h.reservation_id;
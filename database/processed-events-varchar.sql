@@ -0,0 +1,5 @@
+-- ms_schema : Processed Event IDs from char(36) to varchar(255)
+-- Event IDs are NOT always UUIDs (Other Producers / Outbox Relays), a longer ID failed the whole Batch.
+-- H2 (Dev) Tables are created by Hibernate (ddl-auto=create-drop), No Migration
+
+ALTER TABLE ms_schema.processed_events_tx ALTER COLUMN eventid TYPE varchar(255) USING trim(eventid);
@@ -0,0 +1,70 @@
+-- ms_schema : Primary Keys from char(36) to uuid (16 Bytes)
+-- 1. Foreign Keys dropped, Key Columns converted, Foreign Keys added back (One Transaction)
+-- 2. Existing Keys (v4) are kept as is, New Rows get Time Ordered (v7) UUIDs from the Service
+-- 3. H2 (Dev) Tables are created by Hibernate (ddl-auto=create-drop) as binary(16), No Migration
+
+BEGIN;
+
+-- Foreign Keys ----------------------------------------------------------
+
+ALTER TABLE ms_schema.order_tx DROP CONSTRAINT IF EXISTS fk17hk2k77tycbvnfa968wayqhd;
+ALTER TABLE ms_schema.order_item_tx DROP CONSTRAINT IF EXISTS fkb3heb7c2x68gtl42n66w217vl;
+ALTER TABLE ms_schema.order_state_history_tx DROP CONSTRAINT IF EXISTS fkqm01yul77rf1ekm5seeqxnaqp;
+ALTER TABLE ms_schema.reservation_tx DROP CONSTRAINT IF EXISTS fkmoijwjheogwtpgsb3fvdafeae;
+ALTER TABLE ms_schema.reservation_flight_tx DROP CONSTRAINT IF EXISTS fk3lysfi8sy0jvn3o6oc2ofxp7b;
+ALTER TABLE ms_schema.reservation_hotel_tx DROP CONSTRAINT IF EXISTS fkp04i0v93k4bf80mqgqg4nd7kg;
+ALTER TABLE ms_schema.reservation_rental_tx DROP CONSTRAINT IF EXISTS fkto3ubx8pguu6nbig3d50lsb83;
+ALTER TABLE ms_schema.reservation_state_history_tx DROP CONSTRAINT IF EXISTS fk32qdu50sncuwuvrbg2xpayrl6;
+
+-- Order -----------------------------------------------------------------
+
+ALTER TABLE ms_schema.products_m ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.carts_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.order_payment_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.order_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.order_tx ALTER COLUMN payment_id TYPE uuid USING trim(payment_id)::uuid;
+ALTER TABLE ms_schema.order_item_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.order_item_tx ALTER COLUMN order_id TYPE uuid USING trim(order_id)::uuid;
+ALTER TABLE ms_schema.order_state_history_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.order_state_history_tx ALTER COLUMN order_id TYPE uuid USING trim(order_id)::uuid;
+
+-- Reservation -----------------------------------------------------------
+
+ALTER TABLE ms_schema.reservation_payment_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.reservation_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.reservation_tx ALTER COLUMN payment_id TYPE uuid USING trim(payment_id)::uuid;
+ALTER TABLE ms_schema.reservation_flight_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.reservation_flight_tx ALTER COLUMN reservation_id TYPE uuid USING trim(reservation_id)::uuid;
+ALTER TABLE ms_schema.reservation_hotel_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.reservation_hotel_tx ALTER COLUMN reservation_id TYPE uuid USING trim(reservation_id)::uuid;
+ALTER TABLE ms_schema.reservation_rental_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.reservation_rental_tx ALTER COLUMN reservation_id TYPE uuid USING trim(reservation_id)::uuid;
+ALTER TABLE ms_schema.reservation_state_history_tx ALTER COLUMN uuid TYPE uuid USING trim(uuid)::uuid;
+ALTER TABLE ms_schema.reservation_state_history_tx ALTER COLUMN reservation_id TYPE uuid USING trim(reservation_id)::uuid;
+
+-- Foreign Keys ----------------------------------------------------------
+
+ALTER TABLE ONLY ms_schema.order_tx
+    ADD CONSTRAINT fk17hk2k77tycbvnfa968wayqhd FOREIGN KEY (payment_id) REFERENCES ms_schema.order_payment_tx(uuid);
+ALTER TABLE ONLY ms_schema.order_item_tx
+    ADD CONSTRAINT fkb3heb7c2x68gtl42n66w217vl FOREIGN KEY (order_id) REFERENCES ms_schema.order_tx(uuid);
+ALTER TABLE ONLY ms_schema.order_state_history_tx
+    ADD CONSTRAINT fkqm01yul77rf1ekm5seeqxnaqp FOREIGN KEY (order_id) REFERENCES ms_schema.order_tx(uuid);
+ALTER TABLE ONLY ms_schema.reservation_tx
+    ADD CONSTRAINT fkmoijwjheogwtpgsb3fvdafeae FOREIGN KEY (payment_id) REFERENCES ms_schema.reservation_payment_tx(uuid);
+ALTER TABLE ONLY ms_schema.reservation_flight_tx
+    ADD CONSTRAINT fk3lysfi8sy0jvn3o6oc2ofxp7b FOREIGN KEY (reservation_id) REFERENCES ms_schema.reservation_tx(uuid);
+ALTER TABLE ONLY ms_schema.reservation_hotel_tx
+    ADD CONSTRAINT fkp04i0v93k4bf80mqgqg4nd7kg FOREIGN KEY (reservation_id) REFERENCES ms_schema.reservation_tx(uuid);
+ALTER TABLE ONLY ms_schema.reservation_rental_tx
+    ADD CONSTRAINT fkto3ubx8pguu6nbig3d50lsb83 FOREIGN KEY (reservation_id) REFERENCES ms_schema.reservation_tx(uuid);
+ALTER TABLE ONLY ms_schema.reservation_state_history_tx
+    ADD CONSTRAINT fk32qdu50sncuwuvrbg2xpayrl6 FOREIGN KEY (reservation_id) REFERENCES ms_schema.reservation_tx(uuid);
+
+COMMIT;
+
+-- Indexes are rebuilt by ALTER COLUMN TYPE. Refresh the Planner Statistics
+ANALYZE ms_schema.order_tx, ms_schema.order_item_tx, ms_schema.order_payment_tx, ms_schema.order_state_history_tx,
+    ms_schema.products_m, ms_schema.carts_tx, ms_schema.reservation_tx, ms_schema.reservation_payment_tx,
+    ms_schema.reservation_flight_tx, ms_schema.reservation_hotel_tx, ms_schema.reservation_rental_tx,
+    ms_schema.reservation_state_history_tx;
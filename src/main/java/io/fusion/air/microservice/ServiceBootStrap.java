@@ -22,6 +22,7 @@ import javax.servlet.http.HttpServletRequest;
 import io.fusion.air.microservice.adapters.aop.ExceptionHandlerAdvice;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
 import io.fusion.air.microservice.server.controllers.HealthController;
+import io.fusion.air.microservice.utils.JsonMapper;
 
 import org.slf4j.Logger;
 
@@ -48,7 +49,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 // Open API Imports
@@ -367,9 +367,7 @@ public class ServiceBootStrap {
 
 	@Bean
 	public ObjectMapper objectMapper() {
-		return new ObjectMapper()
-				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-				.findAndRegisterModules();
+		return JsonMapper.mapper();
 	}
 
 	/**
@@ -34,8 +34,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import javax.annotation.PostConstruct;
 import java.sql.SQLException;
 import javax.persistence.*;
 
@@ -58,6 +57,17 @@ public class ExceptionHandlerAdvice extends ResponseEntityExceptionHandler {
     @Autowired
     private ServiceConfiguration serviceConfig;
 
+    /**
+     * Set the Stackless Mode of the Service Exceptions (server.exceptions.stackless)
+     */
+    @PostConstruct
+    public void init() {
+        if(serviceConfig != null) {
+            AbstractServiceException.setStacklessMode(serviceConfig.isExceptionsStackless());
+        }
+        log.info("2|EH|TIME=00|STATUS=INIT|Stackless 4xx Exceptions = {}", AbstractServiceException.isStacklessMode());
+    }
+
     /**
      * Handle All Exceptions
      * @param ex
@@ -96,7 +106,7 @@ public class ExceptionHandlerAdvice extends ResponseEntityExceptionHandler {
             AbstractServiceException ase = (AbstractServiceException)_exception;
             ase.setErrorCode(errorCode);
         }
-        logException(errorCode,  _exception);
+        logException(errorCode, _httpStatus, _exception);
         if(_headers == null) {
             _headers = new HttpHeaders();
         }
@@ -565,26 +575,20 @@ public class ExceptionHandlerAdvice extends ResponseEntityExceptionHandler {
     }
 
     /**
-     * Log Exception
+     * Log Exception (Stackless 4xx Service Exception = One Line)
      * @param _status
+     * @param _httpStatus
      * @param e
      */
-    private void logException(String _status, Throwable e) {
-        log.info("2|EH|TIME=00|STACK TRACE: "+e.getMessage());
-        log.info(getStackTraceAsString(e));
+    private void logException(String _status, HttpStatus _httpStatus, Throwable e) {
+        // Expected Outcomes (Ex. 404 for a missing Id): One Line, No Stack Trace
+        if(_httpStatus.is4xxClientError() && e instanceof AbstractServiceException
+                && ((AbstractServiceException) e).isStackless()) {
+            log.info("2|EH|TIME=00|STATUS=ERROR: {}|CLASS={}|{}", _status, e.getClass().getSimpleName(), e.getMessage());
+            return;
+        }
+        // Stack Trace through the Logger (NOT Std Out)
+        log.info("2|EH|TIME=00|STACK TRACE: "+e.getMessage(), e);
         log.info("2|EH|TIME=00|STATUS=ERROR: {}|CLASS={}|",_status, e.getMessage());
     }
-
-    /**
-     * Get the Stack Trace
-     * @param e
-     * @return
-     */
-    private String getStackTraceAsString(Throwable e) {
-        StringWriter stringWriter = new StringWriter();
-        e.printStackTrace(new PrintWriter(stringWriter));
-        // Print Stack Trace to Std Out
-        e.printStackTrace();
-        return stringWriter.toString();
-    }
 }
@@ -0,0 +1,363 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.cache;
+// Custom
+import io.fusion.air.microservice.adapters.external.RestClientService;
+import io.fusion.air.microservice.domain.models.core.StandardResponse;
+import io.fusion.air.microservice.server.config.ResponseCacheConfig;
+// Micrometer
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+// Java
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Serialized Response Cache for the Reference Data Endpoints (Countries, Geo Countries)
+ *
+ * The Responses are kept serialized (JSON + Gzip, see SerializedResponse) per Group and Key and
+ * written straight to the Servlet Response with a Strong ETag. If-None-Match = 304 (No Body).
+ * Requests which prefer CBOR / Smile go the normal (Message Converter) Path.
+ *
+ * Usage (Controller):
+ * if(responseCache.serve(ResponseCache.GEO_COUNTRIES, key, request, response, () -> createResponse())) {
+ *     return null;
+ * }
+ * return ResponseEntity.ok(createResponse());
+ *
+ * Invalidation: invalidate(group) drops the Group when the Data changes (Ex. GeoLite Ingestion).
+ * A Response loaded before the Invalidation is NOT cached (Generation Check).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    // Groups
+    public static final String COUNTRIES = "countries";
+    public static final String GEO_COUNTRIES = "geoCountries";
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    public static final int DEFAULT_GZIP_MIN_SIZE = 1024;
+
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int gzipMinSize;
+
+    private final ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Create the Cache with the Default Configuration
+     */
+    public ResponseCache() {
+        this(true, DEFAULT_MAX_ENTRIES, DEFAULT_GZIP_MIN_SIZE);
+    }
+
+    /**
+     * Create the Cache from the Configuration and register the Metrics
+     * @param _config
+     * @param _registry
+     */
+    @Autowired
+    public ResponseCache(ResponseCacheConfig _config, MeterRegistry _registry) {
+        this(_config.isEnabled(), _config.getMaxEntries(), _config.getGzipMinSize());
+        registerMetrics(_registry);
+        log.info("Response Cache: Enabled = {}, Max Entries per Group = {}, Gzip Min Size = {} bytes",
+                enabled, maxEntries, gzipMinSize);
+    }
+
+    /**
+     * Create the Cache
+     * @param _enabled False = every Request goes the normal Path
+     * @param _maxEntries Max Responses per Group
+     * @param _gzipMinSize Responses smaller than this are NOT compressed
+     */
+    public ResponseCache(boolean _enabled, int _maxEntries, int _gzipMinSize) {
+        if(_maxEntries < 0 || _gzipMinSize < 0) {
+            throw new IllegalArgumentException("Invalid Response Cache Configuration: Max Entries = "+_maxEntries
+                    +", Gzip Min Size = "+_gzipMinSize);
+        }
+        enabled = _enabled;
+        maxEntries = _maxEntries;
+        gzipMinSize = _gzipMinSize;
+    }
+
+    /**
+     * Serve the Response from the Cache (loaded and cached on a Miss).
+     * Returns False if the Request must go the normal Path (Cache disabled or JSON NOT acceptable).
+     *
+     * @param _group
+     * @param _key
+     * @param _request
+     * @param _response
+     * @param _loader Creates the Response on a Miss
+     * @return
+     * @throws IOException
+     */
+    public boolean serve(String _group, String _key, HttpServletRequest _request, HttpServletResponse _response,
+                         Supplier<StandardResponse> _loader) throws IOException {
+        if(!enabled || !acceptsJson(_request.getHeader(HttpHeaders.ACCEPT))) {
+            bypassed.increment();
+            return false;
+        }
+        Group group = groups.computeIfAbsent(_group, g -> new Group());
+        SerializedResponse cached = group.entries.get(_key);
+        if(cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            long generation = group.generation.get();
+            cached = new SerializedResponse(_loader.get(), gzipMinSize);
+            group.put(_key, cached, generation, maxEntries);
+        }
+        write(cached, _request, _response);
+        return true;
+    }
+
+    /**
+     * Drop all the Responses of the Group
+     * @param _group
+     */
+    public void invalidate(String _group) {
+        Group group = groups.computeIfAbsent(_group, g -> new Group());
+        group.generation.incrementAndGet();
+        int size = group.entries.size();
+        group.entries.clear();
+        invalidations.increment();
+        log.info("Response Cache: Group {} invalidated ({} Responses dropped)", _group, size);
+    }
+
+    /**
+     * Write the Cached Response (Gzip if the Client accepts it) or 304 if the ETag matches
+     * @param _cached
+     * @param _request
+     * @param _response
+     * @throws IOException
+     */
+    private void write(SerializedResponse _cached, HttpServletRequest _request, HttpServletResponse _response)
+            throws IOException {
+        boolean gzip = _cached.hasGzip() && acceptsGzip(_request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        _response.setHeader(HttpHeaders.VARY, VARY);
+        _response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        _response.setHeader(HttpHeaders.ETAG, gzip ? _cached.getGzipETag() : _cached.getETag());
+        if(matches(_request.getHeader(HttpHeaders.IF_NONE_MATCH), _cached)) {
+            notModified.increment();
+            _response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        _response.setStatus(HttpServletResponse.SC_OK);
+        _response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] head = _cached.head(LocalDateTime.now());
+        boolean body = !"HEAD".equals(_request.getMethod());
+        if(gzip) {
+            _response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            _response.setContentLength(_cached.gzipLength(head));
+            if(body) {
+                _cached.writeGzip(_response.getOutputStream(), head);
+            }
+        } else {
+            _response.setContentLength(_cached.length(head));
+            if(body) {
+                _cached.write(_response.getOutputStream(), head);
+            }
+        }
+    }
+
+    /**
+     * Returns True if the JSON is the preferred Format of the Accept Header
+     * (No Header, Any Type, application/json before application/cbor or application/x-jackson-smile)
+     * @param _accept
+     * @return
+     */
+    private static boolean acceptsJson(String _accept) {
+        if(_accept == null || _accept.trim().isEmpty()) {
+            return true;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(_accept);
+        } catch (InvalidMediaTypeException e) {
+            // Let the Message Converters reject it
+            return false;
+        }
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for(MediaType mediaType : mediaTypes) {
+            if(mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if(mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if(mediaType.includes(RestClientService.APPLICATION_CBOR)
+                    || mediaType.includes(RestClientService.APPLICATION_SMILE)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns True if the Accept-Encoding Header accepts Gzip (q > 0)
+     * @param _acceptEncoding
+     * @return
+     */
+    private static boolean acceptsGzip(String _acceptEncoding) {
+        if(_acceptEncoding == null) {
+            return false;
+        }
+        for(String coding : _acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if("gzip".equalsIgnoreCase(parts[0].trim())) {
+                for(int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if(param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns True if the If-None-Match Header matches the ETag of the JSON or the Gzip Variant
+     * @param _ifNoneMatch
+     * @param _cached
+     * @return
+     */
+    private static boolean matches(String _ifNoneMatch, SerializedResponse _cached) {
+        if(_ifNoneMatch == null) {
+            return false;
+        }
+        for(String tag : _ifNoneMatch.split(",")) {
+            String etag = tag.trim();
+            if(etag.startsWith("W/")) {
+                etag = etag.substring(2);
+            }
+            if("*".equals(etag) || etag.equals(_cached.getETag()) || etag.equals(_cached.getGzipETag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the No. of Cached Responses
+     * @return
+     */
+    public int getEntries() {
+        int entries = 0;
+        for(Group group : groups.values()) {
+            entries += group.entries.size();
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the Cached Bytes (JSON + Gzip)
+     * @return
+     */
+    public long getCachedBytes() {
+        long bytes = 0;
+        for(Group group : groups.values()) {
+            for(SerializedResponse cached : group.entries.values()) {
+                bytes += cached.size();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Register the Metrics
+     * @param _registry
+     */
+    private void registerMetrics(MeterRegistry _registry) {
+        Gauge.builder("response.cache.entries", this, ResponseCache::getEntries)
+                .description("Cached Responses").register(_registry);
+        Gauge.builder("response.cache.bytes", this, ResponseCache::getCachedBytes)
+                .description("Cached Bytes (JSON + Gzip)").baseUnit("bytes").register(_registry);
+        FunctionCounter.builder("response.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(_registry);
+        FunctionCounter.builder("response.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(_registry);
+        FunctionCounter.builder("response.cache.requests", notModified, LongAdder::sum)
+                .description("Requests answered with 304 (If-None-Match)").tag("result", "notModified")
+                .register(_registry);
+        FunctionCounter.builder("response.cache.requests", bypassed, LongAdder::sum)
+                .tag("result", "bypassed").register(_registry);
+        FunctionCounter.builder("response.cache.invalidations", invalidations, LongAdder::sum)
+                .register(_registry);
+    }
+
+    /**
+     * Cached Responses of a Group
+     */
+    private static final class Group {
+
+        private final AtomicLong generation = new AtomicLong();
+        private final ConcurrentHashMap<String, SerializedResponse> entries = new ConcurrentHashMap<>();
+
+        /**
+         * Cache the Response if the Group wasn't invalidated after the Response was loaded
+         * @param _key
+         * @param _cached
+         * @param _generation Generation before the Response was loaded
+         * @param _maxEntries
+         */
+        private void put(String _key, SerializedResponse _cached, long _generation, int _maxEntries) {
+            if(generation.get() != _generation || entries.size() >= _maxEntries) {
+                return;
+            }
+            entries.put(_key, _cached);
+            // Invalidated while putting
+            if(generation.get() != _generation) {
+                entries.remove(_key, _cached);
+            }
+        }
+    }
+}
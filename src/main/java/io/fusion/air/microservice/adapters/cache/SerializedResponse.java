@@ -0,0 +1,326 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.cache;
+// Custom
+import io.fusion.air.microservice.domain.models.core.StandardResponse;
+import io.fusion.air.microservice.security.DigestPool;
+import io.fusion.air.microservice.security.HashData;
+import io.fusion.air.microservice.utils.JsonMapper;
+// Jackson
+import com.fasterxml.jackson.core.JsonProcessingException;
+// Java
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Serialized StandardResponse (JSON) with a Precompressed Gzip Variant
+ *
+ * The Response is serialized once. The "time" Field (always the first Field) is cut out, so the
+ * Body of a Request = {"time":"<Now> + the Cached Tail, without serializing the Payload again.
+ *
+ * Gzip Variant: The Tail is compressed once into Raw Deflate Blocks. A Request sends
+ * Gzip Header + the Head in a Stored (Uncompressed) Block + the Compressed Tail + Gzip Trailer.
+ * A Deflate Stream is a Sequence of Blocks and the Tail Blocks don't refer back to the Head, so
+ * it's a valid Gzip Stream. The CRC32 of Head + Tail is combined from the CRC32 of the Head and
+ * the Cached CRC32 of the Tail (No Scan of the Tail).
+ *
+ * The ETag is the SHA-256 of the Tail (Status, Code, Message and Payload). The "time" Field is
+ * the Time of the Response (like the Date Header) and NOT part of the Entity.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class SerializedResponse {
+
+    private static final byte[] TIME_PREFIX = "{\"time\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    // Gzip Header: Magic, Deflate, No Flags, No Time, No Extra Flags, Unknown OS
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+    private static final int STORED_BLOCK_HEADER = 5;
+    private static final int GZIP_TRAILER = 8;
+
+    private final boolean timed;
+    private final byte[] tail;
+    private final byte[] gzipTail;
+    private final int tailCrc;
+    private final int[] crcShift;
+    private final String etag;
+    private final String gzipETag;
+
+    /**
+     * Serialize the Response (JSON) and compress it if it's larger than the Gzip Min Size
+     * @param _response
+     * @param _gzipMinSize
+     * @throws JsonProcessingException
+     */
+    public SerializedResponse(StandardResponse _response, int _gzipMinSize) throws JsonProcessingException {
+        byte[] json = JsonMapper.toBytes(_response);
+        int end = timeEnd(json);
+        timed = end > 0;
+        tail = timed ? Arrays.copyOfRange(json, end, json.length) : json;
+        CRC32 crc = new CRC32();
+        crc.update(tail, 0, tail.length);
+        tailCrc = (int) crc.getValue();
+        if(tail.length >= _gzipMinSize) {
+            gzipTail = deflate(tail);
+            crcShift = crcShift(tail.length);
+        } else {
+            gzipTail = null;
+            crcShift = null;
+        }
+        String hash = sha256(tail);
+        etag = "\"" + hash + "\"";
+        gzipETag = "\"" + hash + "-gzip\"";
+    }
+
+    /**
+     * Returns the Index of the Closing Quote of the "time" Value (-1 if the JSON doesn't start with it)
+     * @param json
+     * @return
+     */
+    private static int timeEnd(byte[] json) {
+        if(json.length <= TIME_PREFIX.length) {
+            return -1;
+        }
+        for(int i = 0; i < TIME_PREFIX.length; i++) {
+            if(json[i] != TIME_PREFIX[i]) {
+                return -1;
+            }
+        }
+        for(int i = TIME_PREFIX.length; i < json.length; i++) {
+            if(json[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the Head of the Response for the Time ({"time":"<time>)
+     * @param _time
+     * @return
+     */
+    public byte[] head(LocalDateTime _time) {
+        if(!timed) {
+            return new byte[0];
+        }
+        return ("{\"time\":\"" + _time).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Returns True if the Gzip Variant is available
+     * @return
+     */
+    public boolean hasGzip() {
+        return gzipTail != null;
+    }
+
+    /**
+     * Returns the Strong ETag of the JSON
+     * @return
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * Returns the Strong ETag of the Gzip Variant
+     * @return
+     */
+    public String getGzipETag() {
+        return gzipETag;
+    }
+
+    /**
+     * Returns the Size of the Cached Bytes (JSON + Gzip)
+     * @return
+     */
+    public long size() {
+        return tail.length + (gzipTail != null ? gzipTail.length : 0);
+    }
+
+    /**
+     * Returns the Content Length of the JSON with the Head
+     * @param _head
+     * @return
+     */
+    public int length(byte[] _head) {
+        return _head.length + tail.length;
+    }
+
+    /**
+     * Write the JSON (Head + Tail)
+     * @param _out
+     * @param _head
+     * @throws IOException
+     */
+    public void write(OutputStream _out, byte[] _head) throws IOException {
+        _out.write(_head);
+        _out.write(tail);
+    }
+
+    /**
+     * Returns the Content Length of the Gzip Variant with the Head
+     * @param _head
+     * @return
+     */
+    public int gzipLength(byte[] _head) {
+        return GZIP_HEADER.length + STORED_BLOCK_HEADER + _head.length + gzipTail.length + GZIP_TRAILER;
+    }
+
+    /**
+     * Write the Gzip Variant (Header, Head in a Stored Block, Compressed Tail, Trailer)
+     * @param _out
+     * @param _head
+     * @throws IOException
+     */
+    public void writeGzip(OutputStream _out, byte[] _head) throws IOException {
+        int length = _head.length;
+        byte[] prefix = new byte[GZIP_HEADER.length + STORED_BLOCK_HEADER + length];
+        System.arraycopy(GZIP_HEADER, 0, prefix, 0, GZIP_HEADER.length);
+        // Stored Block: BFINAL = 0, BTYPE = 00 (Byte aligned), LEN, NLEN (Little Endian)
+        int i = GZIP_HEADER.length;
+        prefix[i++] = 0;
+        prefix[i++] = (byte) length;
+        prefix[i++] = (byte) (length >>> 8);
+        prefix[i++] = (byte) ~length;
+        prefix[i++] = (byte) (~length >>> 8);
+        System.arraycopy(_head, 0, prefix, i, length);
+        _out.write(prefix);
+        _out.write(gzipTail);
+
+        CRC32 crc = new CRC32();
+        crc.update(_head, 0, length);
+        int checksum = gf2Times(crcShift, (int) crc.getValue()) ^ tailCrc;
+        int size = length + tail.length;
+        _out.write(new byte[] {
+                (byte) checksum, (byte) (checksum >>> 8), (byte) (checksum >>> 16), (byte) (checksum >>> 24),
+                (byte) size, (byte) (size >>> 8), (byte) (size >>> 16), (byte) (size >>> 24)
+        });
+    }
+
+    /**
+     * Compress the Data into Raw Deflate Blocks (the last Block is Final)
+     * @param _data
+     * @return
+     */
+    private static byte[] deflate(byte[] _data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(_data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(_data.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the SHA-256 (Hex) of the Data
+     * @param _data
+     * @return
+     */
+    private static String sha256(byte[] _data) {
+        try {
+            return HashData.hexEncoder(DigestPool.hash(_data, "SHA-256"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the GF(2) Matrix which moves a CRC32 over _length Zero Bytes.
+     * CRC32(A + B) = Matrix x CRC32(A) ^ CRC32(B), Matrix = crcShift(Length of B) (zlib crc32_combine)
+     *
+     * @param _length
+     * @return
+     */
+    private static int[] crcShift(long _length) {
+        int[] result = new int[32];
+        for(int n = 0; n < 32; n++) {
+            result[n] = 1 << n;
+        }
+        int[] even = new int[32];
+        int[] odd = new int[32];
+        // Operator for One Zero Bit
+        odd[0] = 0xedb88320;
+        int row = 1;
+        for(int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        // Two Zero Bits, then Four Zero Bits
+        gf2Square(even, odd);
+        gf2Square(odd, even);
+        // One Zero Byte, then Powers of 2 Bytes for the Bits of the Length
+        long length = _length;
+        while (length != 0) {
+            gf2Square(even, odd);
+            if((length & 1) != 0) {
+                result = gf2Multiply(even, result);
+            }
+            length >>>= 1;
+            if(length == 0) {
+                break;
+            }
+            gf2Square(odd, even);
+            if((length & 1) != 0) {
+                result = gf2Multiply(odd, result);
+            }
+            length >>>= 1;
+        }
+        return result;
+    }
+
+    private static int gf2Times(int[] _matrix, int _vector) {
+        int sum = 0;
+        int vector = _vector;
+        for(int i = 0; vector != 0; i++, vector >>>= 1) {
+            if((vector & 1) != 0) {
+                sum ^= _matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2Square(int[] _square, int[] _matrix) {
+        for(int n = 0; n < 32; n++) {
+            _square[n] = gf2Times(_matrix, _matrix[n]);
+        }
+    }
+
+    private static int[] gf2Multiply(int[] _a, int[] _b) {
+        int[] product = new int[32];
+        for(int n = 0; n < 32; n++) {
+            product[n] = gf2Times(_a, _b[n]);
+        }
+        return product;
+    }
+}
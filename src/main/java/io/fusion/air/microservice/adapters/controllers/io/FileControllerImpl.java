@@ -15,10 +15,26 @@
  */
 package io.fusion.air.microservice.adapters.controllers.io;
 // Custom
+import io.fusion.air.microservice.adapters.io.AsyncFileReader;
+import io.fusion.air.microservice.adapters.io.BufferPoolStats;
+import io.fusion.air.microservice.adapters.io.ChunkConsumer;
+import io.fusion.air.microservice.adapters.io.DirectBufferPool;
 import io.fusion.air.microservice.adapters.io.FileDataStats;
+import io.fusion.air.microservice.adapters.io.FileDownloadService;
+import io.fusion.air.microservice.adapters.io.FileIndexEntry;
 import io.fusion.air.microservice.adapters.io.FileIOExample;
 import io.fusion.air.microservice.adapters.io.FileNIOExample;
+import io.fusion.air.microservice.adapters.io.FileScanStats;
+import io.fusion.air.microservice.adapters.io.FileTreeIndex;
+import io.fusion.air.microservice.adapters.io.FileUploadResult;
+import io.fusion.air.microservice.adapters.io.FileUploadService;
+import io.fusion.air.microservice.adapters.io.LineFunction;
+import io.fusion.air.microservice.adapters.io.MultipartStreamReader;
+import io.fusion.air.microservice.adapters.io.ParallelFileScanner;
+import io.fusion.air.microservice.adapters.io.Utf8Scanner;
+import io.fusion.air.microservice.adapters.security.AuthorizationRequired;
 import io.fusion.air.microservice.domain.exceptions.DataNotFoundException;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
 import io.fusion.air.microservice.domain.models.core.StandardResponse;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
 import io.fusion.air.microservice.server.controllers.AbstractController;
@@ -27,6 +43,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 // Spring Framework
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,8 +56,16 @@ import org.springframework.web.context.annotation.RequestScope;
 // Java
 import org.slf4j.Logger;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -72,9 +97,28 @@ public class FileControllerImpl extends AbstractController {
 	@Autowired
 	private FileNIOExample fileNIOExample;
 
+	@Autowired
+	private ParallelFileScanner parallelFileScanner;
+
+	@Autowired
+	private FileDownloadService fileDownloadService;
+
+	@Autowired
+	private DirectBufferPool directBufferPool;
+
+	@Autowired
+	private AsyncFileReader asyncFileReader;
+
+	@Autowired
+	private FileUploadService fileUploadService;
+
 	@Autowired
 	private ResourceLoader resourceLoader;
 
+	// Disabled with io.file.index.enabled=false
+	@Autowired(required = false)
+	private FileTreeIndex fileTreeIndex;
+
 
 	/**
 	 * File IO
@@ -291,7 +335,9 @@ public class FileControllerImpl extends AbstractController {
 		// Read the File from the Resource Folder
 		log.debug("|"+name()+"|Security IO: Request to List Directories");
 		try {
-			ArrayList<String> files = fileNIOExample.showFilesInDirectory();
+			// Served from the File Tree Index, Walk the Tree only if the Index is NOT available
+			ArrayList<String> files = (fileTreeIndex != null && fileTreeIndex.isAvailable())
+					? fileTreeIndex.listPaths() : fileNIOExample.showFilesInDirectory();
 			StandardResponse stdResponse = createSuccessResponse("File NIO List Directories!");
 			stdResponse.setPayload(files);
 			return ResponseEntity.ok(stdResponse);
@@ -347,21 +393,75 @@ public class FileControllerImpl extends AbstractController {
 					content = @Content)
 	})
 	@GetMapping("/nio/file/async/read/{fileName}/buffer/{buffer}/show/{showFile}")
-	public ResponseEntity<StandardResponse> fileAsyncRead(
+	public CompletableFuture<ResponseEntity<StandardResponse>> fileAsyncRead(
 			@PathVariable("fileName")String fileName,
 			@PathVariable("buffer")int buffer,
 			@PathVariable("showFile")boolean showFile) throws Exception {
 		// Read the File from the Resource Folder
 		log.debug("|"+name()+"|Security IO: Request to Read Async Local File ("+fileName+") Buffer="+buffer);
-		try {
-			StringBuilder sb = fileNIOExample.asyncFileRead(fileName,buffer, showFile);
-			StandardResponse stdResponse = createSuccessResponse("File NIO Async Read Local Content!");
-			stdResponse.setPayload(getContent(sb));
-			return ResponseEntity.ok(stdResponse);
-		} catch (Exception e) {
-			log.error("|"+name()+"|File NIO Error Occurred: "+e.getMessage());
-			throw new DataNotFoundException("FILE NIO Error: "+e.getMessage());
-		}
+		// Tomcat Thread is released - Response is sent when the Read completes
+		return fileNIOExample.asyncFileRead(fileName,buffer, showFile)
+				.handle((sb, error) -> {
+					if(error != null) {
+						throw nioError(error);
+					}
+					StandardResponse stdResponse = createSuccessResponse("File NIO Async Read Local Content!");
+					stdResponse.setPayload(getContent(sb));
+					return ResponseEntity.ok(stdResponse);
+				});
+	}
+
+	/**
+	 * File NIO Pipelined Async Read (UTF-8 Code Points and Lines)
+	 * @param fileName
+	 * @param buffer
+	 * @param inFlight
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Processing Java NIO Pipelined Async Read", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Unable to Find Data",
+					content = @Content)
+	})
+	@GetMapping("/nio/file/async/pipelined/{fileName}/buffer/{buffer}/inflight/{inFlight}")
+	public CompletableFuture<ResponseEntity<StandardResponse>> fileAsyncPipelinedRead(
+			@PathVariable("fileName")String fileName,
+			@PathVariable("buffer")int buffer,
+			@PathVariable("inFlight")int inFlight) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Read Async Pipelined ("+fileName+") Buffer="+buffer+" In Flight="+inFlight);
+		// Chunks are delivered one at a time in File Order
+		Utf8Scanner scanner = new Utf8Scanner();
+		return asyncFileReader.read(fileName, buffer, inFlight, ChunkConsumer.of((chunk, position) -> scanner.scan(chunk)))
+				.handle((stats, error) -> {
+					if(error != null) {
+						throw nioError(error);
+					}
+					scanner.finish();
+					LinkedHashMap<String, Object> result = new LinkedHashMap<>();
+					result.put("Stats", stats);
+					result.put("CodePoints", scanner.getCodePoints());
+					result.put("Lines", scanner.getLines());
+					result.put("Malformed", scanner.getMalformed());
+					StandardResponse stdResponse = createSuccessResponse("File NIO Pipelined Async Read Result!");
+					stdResponse.setPayload(result);
+					return ResponseEntity.ok(stdResponse);
+				});
+	}
+
+	/**
+	 * Returns the Exception for the Async File NIO Error
+	 * @param error
+	 * @return
+	 */
+	private DataNotFoundException nioError(Throwable error) {
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+		log.error("|"+name()+"|File NIO Error Occurred: "+cause.getMessage());
+		return new DataNotFoundException("FILE NIO Error: "+cause.getMessage());
 	}
 
 	@Operation(summary = "File Processing Java NIO Sparse 1 GB File", description = "File Processing Java NIO")
@@ -390,6 +490,483 @@ public class FileControllerImpl extends AbstractController {
 		}
 	}
 
+	/**
+	 * File NIO Reader Benchmark (CharsetDecoder vs Utf8Scanner)
+	 * @param fileName
+	 * @param counter
+	 * @param buffer
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Processing Java NIO Reader Benchmark (Time & Allocation)", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Unable to Find Data",
+					content = @Content)
+	})
+	@GetMapping("/nio/file/benchmark/{fileName}/counter/{counter}/buffer/{buffer}")
+	public ResponseEntity<StandardResponse> fileNIOBenchmark(
+			@PathVariable("fileName")String fileName,
+			@PathVariable("counter")int counter,
+			@PathVariable("buffer")int buffer) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Benchmark Readers ("+fileName+") Counter="+counter+" Buffer="+buffer);
+		try {
+			LinkedHashMap<String, FileDataStats> results = fileNIOExample.benchmarkReaders(fileName, counter, buffer);
+			StandardResponse stdResponse = createSuccessResponse("File NIO Reader Benchmark Result!");
+			stdResponse.setPayload(results);
+			return ResponseEntity.ok(stdResponse);
+		} catch (Exception e) {
+			log.error("|"+name()+"|File NIO Error Occurred: "+e.getMessage());
+			throw new DataNotFoundException("FILE NIO Error: "+e.getMessage());
+		}
+	}
+
+	/**
+	 * File NIO Parallel Scan (Bytes, Lines, UTF-8 Code Points)
+	 * @param fileName
+	 * @param segmentKB
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Processing Java NIO Parallel Segmented Scan", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Unable to Find Data",
+					content = @Content)
+	})
+	@GetMapping("/nio/file/parallel/{fileName}/segment/{segmentKB}")
+	public ResponseEntity<StandardResponse> fileParallelScan(
+			@PathVariable("fileName")String fileName,
+			@PathVariable("segmentKB")int segmentKB) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Scan Local File in Parallel ("+fileName+") Segment="+segmentKB+" KB");
+		return parallelScan(fileName, segmentKB, null);
+	}
+
+	/**
+	 * File NIO Parallel Scan with the Count of the Lines containing the Text
+	 * @param fileName
+	 * @param segmentKB
+	 * @param text
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Processing Java NIO Parallel Segmented Scan with Text Match", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Unable to Find Data",
+					content = @Content)
+	})
+	@GetMapping("/nio/file/parallel/{fileName}/segment/{segmentKB}/match/{text}")
+	public ResponseEntity<StandardResponse> fileParallelScanMatch(
+			@PathVariable("fileName")String fileName,
+			@PathVariable("segmentKB")int segmentKB,
+			@PathVariable("text")String text) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Scan Local File in Parallel ("+fileName+") Segment="+segmentKB+" KB Match="+text);
+		return parallelScan(fileName, segmentKB, LineFunction.contains(text.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Scan the File in Parallel
+	 * @param fileName
+	 * @param segmentKB
+	 * @param lineFunction
+	 * @return
+	 */
+	private ResponseEntity<StandardResponse> parallelScan(String fileName, int segmentKB, LineFunction lineFunction) {
+		long segmentSize = segmentKB * 1024L;
+		if(segmentSize < ParallelFileScanner.MIN_SEGMENT_SIZE || segmentSize > ParallelFileScanner.MAX_SEGMENT_SIZE) {
+			throw new InvalidInputException("Segment Size should be between "+(ParallelFileScanner.MIN_SEGMENT_SIZE / 1024)
+					+" and "+(ParallelFileScanner.MAX_SEGMENT_SIZE / 1024)+" KB");
+		}
+		try {
+			FileScanStats stats = parallelFileScanner.scan(fileName, (int) segmentSize, lineFunction);
+			StandardResponse stdResponse = createSuccessResponse("File NIO Parallel Scan Result!");
+			stdResponse.setPayload(stats);
+			return ResponseEntity.ok(stdResponse);
+		} catch (InvalidInputException e) {
+			throw e;
+		} catch (Exception e) {
+			log.error("|"+name()+"|File NIO Error Occurred: "+e.getMessage());
+			throw new DataNotFoundException("FILE NIO Error: "+e.getMessage());
+		}
+	}
+
+	/**
+	 * File NIO Download (Full / Single Range / Multiple Ranges) - Zero Copy with Tomcat Sendfile
+	 * @param folder
+	 * @param fileName
+	 * @param request
+	 * @param response
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Download Java NIO (Sendfile Zero Copy) with HTTP Range Support", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "File Downloaded!",
+					content = {@Content(mediaType = "application/octet-stream")}),
+			@ApiResponse(responseCode = "206",
+					description = "Partial Content Downloaded!",
+					content = {@Content(mediaType = "application/octet-stream")}),
+			@ApiResponse(responseCode = "404",
+					description = "File Not Found",
+					content = @Content),
+			@ApiResponse(responseCode = "416",
+					description = "Range Not Satisfiable",
+					content = @Content)
+	})
+	@GetMapping("/nio/file/download/{folder}/{fileName:.+}")
+	public void fileDownload(@PathVariable("folder")String folder,
+							 @PathVariable("fileName")String fileName,
+							 HttpServletRequest request, HttpServletResponse response) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Download ("+folder+"/"+fileName+") Range="+request.getHeader("Range"));
+		fileDownloadService.download(folder, fileName, request, response);
+	}
+
+	/**
+	 * Streaming File Upload - Request Body (application/octet-stream) or the first File Part of a
+	 * multipart/form-data Request is written to the Upload Directory with the Checksum (X-Checksum
+	 * Header = Expected Checksum, Hex or Base64).
+	 * The Options are Headers, NOT Request Parameters: reading a Parameter makes the Container parse
+	 * (and buffer) the whole Multipart Body before the Upload can stream it.
+	 * @param fileName
+	 * @param overwrite
+	 * @param checksum
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	@AuthorizationRequired(role = "Admin")
+	@Operation(summary = "File Upload Java NIO Streaming with Checksum and Size Limits", description = "File Processing Java NIO",
+			security = { @SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "File Uploaded!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid File Name, Size / Quota exceeded, Checksum mismatch or File exists",
+					content = @Content)
+	})
+	@PostMapping("/nio/file/upload/{fileName}")
+	public ResponseEntity<StandardResponse> fileUpload(@PathVariable("fileName") String fileName,
+							@RequestHeader(name = "X-Overwrite", defaultValue = "false") boolean overwrite,
+							@RequestHeader(name = "X-Checksum", required = false) String checksum,
+							HttpServletRequest request) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Upload ("+fileName+") Length="+request.getContentLengthLong());
+		String boundary = MultipartStreamReader.boundary(request.getContentType());
+		FileUploadResult result;
+		if(boundary == null) {
+			result = fileUploadService.upload(fileName, request.getInputStream(), request.getContentLengthLong(),
+					checksum, overwrite);
+		} else {
+			result = uploadFilePart(fileName, boundary, checksum, overwrite, request);
+		}
+		StandardResponse stdResponse = createSuccessResponse("File Uploaded!");
+		stdResponse.setPayload(result);
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * Streaming File Upload (multipart/form-data) - File Name from the File Part
+	 * @param overwrite
+	 * @param checksum
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	@AuthorizationRequired(role = "Admin")
+	@Operation(summary = "File Upload Java NIO Streaming Multipart with Checksum and Size Limits", description = "File Processing Java NIO",
+			security = { @SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "File Uploaded!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid File Name, Size / Quota exceeded, Checksum mismatch or File exists",
+					content = @Content)
+	})
+	@PostMapping("/nio/file/upload")
+	public ResponseEntity<StandardResponse> fileUploadMultipart(
+							@RequestHeader(name = "X-Overwrite", defaultValue = "false") boolean overwrite,
+							@RequestHeader(name = "X-Checksum", required = false) String checksum,
+							HttpServletRequest request) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Upload (Multipart) Length="+request.getContentLengthLong());
+		String boundary = MultipartStreamReader.boundary(request.getContentType());
+		if(boundary == null) {
+			throw new InvalidInputException("Content-Type should be multipart/form-data");
+		}
+		StandardResponse stdResponse = createSuccessResponse("File Uploaded!");
+		stdResponse.setPayload(uploadFilePart(null, boundary, checksum, overwrite, request));
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * Stream the first File Part of the Multipart Request to the Upload Service
+	 * @param fileName Target File Name (null = File Name of the Part)
+	 * @param boundary
+	 * @param checksum
+	 * @param overwrite
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	private FileUploadResult uploadFilePart(String fileName, String boundary, String checksum, boolean overwrite,
+											HttpServletRequest request) throws Exception {
+		MultipartStreamReader reader = new MultipartStreamReader(request.getInputStream(), boundary,
+				fileUploadService.getBufferSize());
+		while(reader.nextPart()) {
+			if(reader.getFileName() != null) {
+				String target = (fileName != null) ? fileName : reader.getFileName();
+				return fileUploadService.upload(target, reader.getPartStream(), -1, checksum, overwrite);
+			}
+		}
+		throw new InvalidInputException("No File Part in the Multipart Request");
+	}
+
+	/**
+	 * File NIO Sliding Window Mapped Scan (Files of any Size)
+	 * @param fileName
+	 * @param windowMB
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Processing Java NIO Sliding Window Memory Mapped Scan", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Unable to Find Data",
+					content = @Content)
+	})
+	@GetMapping("/nio/file/mapped/{fileName}/window/{windowMB}")
+	public ResponseEntity<StandardResponse> fileMappedScan(
+			@PathVariable("fileName")String fileName,
+			@PathVariable("windowMB")int windowMB) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Scan Mapped File ("+fileName+") Window="+windowMB+" MB");
+		return mappedScan(fileName, windowMB, null);
+	}
+
+	/**
+	 * File NIO Sliding Window Mapped Scan with the Count of the Lines containing the Text
+	 * @param fileName
+	 * @param windowMB
+	 * @param text
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Processing Java NIO Sliding Window Memory Mapped Scan with Text Match", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Unable to Find Data",
+					content = @Content)
+	})
+	@GetMapping("/nio/file/mapped/{fileName}/window/{windowMB}/match/{text}")
+	public ResponseEntity<StandardResponse> fileMappedScanMatch(
+			@PathVariable("fileName")String fileName,
+			@PathVariable("windowMB")int windowMB,
+			@PathVariable("text")String text) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Scan Mapped File ("+fileName+") Window="+windowMB+" MB Match="+text);
+		return mappedScan(fileName, windowMB, text);
+	}
+
+	/**
+	 * Scan the File with the Sliding Window Mapped Cursor
+	 * @param fileName
+	 * @param windowMB
+	 * @param text
+	 * @return
+	 */
+	private ResponseEntity<StandardResponse> mappedScan(String fileName, int windowMB, String text) {
+		if(windowMB < 1 || windowMB > 1024) {
+			throw new InvalidInputException("Window Size should be between 1 and 1024 MB");
+		}
+		try {
+			LinkedHashMap<String, Object> result = fileNIOExample.scanMappedFile(fileName, (int) (windowMB * 1024L * 1024L), text);
+			StandardResponse stdResponse = createSuccessResponse("File NIO Mapped Scan Result!");
+			stdResponse.setPayload(result);
+			return ResponseEntity.ok(stdResponse);
+		} catch (InvalidInputException e) {
+			throw e;
+		} catch (Exception e) {
+			log.error("|"+name()+"|File NIO Error Occurred: "+e.getMessage());
+			throw new DataNotFoundException("FILE NIO Error: "+e.getMessage());
+		}
+	}
+
+	/**
+	 * Direct Buffer Pool Statistics (Pooled, Thread Cached, In Use, Allocations, Leaks)
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Processing Java NIO Direct Buffer Pool Stats", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")})
+	})
+	@GetMapping("/nio/buffer/pool/stats")
+	public ResponseEntity<StandardResponse> bufferPoolStats() throws Exception {
+		log.debug("|"+name()+"|Security IO: Request for the Direct Buffer Pool Stats");
+		BufferPoolStats stats = directBufferPool.getStats();
+		StandardResponse stdResponse = createSuccessResponse("Direct Buffer Pool Stats!");
+		stdResponse.setPayload(stats);
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * File Tree Index - Find the Files with the Path Prefix (relative to the Index Root)
+	 * @param prefix
+	 * @param offset
+	 * @param limit
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Tree Index Find Files by Path Prefix", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Query or Index Disabled",
+					content = @Content)
+	})
+	@GetMapping("/nio/index/files")
+	public ResponseEntity<StandardResponse> indexFindByPrefix(
+			@RequestParam(name = "prefix", defaultValue = "") String prefix,
+			@RequestParam(name = "offset", defaultValue = "0") int offset,
+			@RequestParam(name = "limit", defaultValue = "1000") int limit) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Find Files by Prefix="+prefix);
+		long startTime = System.nanoTime();
+		List<FileIndexEntry> files = fileTreeIndex().findByPrefix(prefix, offset, limit);
+		return indexResponse("File Tree Index Prefix!", "prefix:"+prefix, offset, limit, files, startTime);
+	}
+
+	/**
+	 * File Tree Index - Find the Files matching the Glob (relative to the Index Root)
+	 * @param pattern
+	 * @param offset
+	 * @param limit
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Tree Index Find Files by Glob (ex. **/*Controller*.java)", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Query or Index Disabled",
+					content = @Content)
+	})
+	@GetMapping("/nio/index/glob")
+	public ResponseEntity<StandardResponse> indexFindByGlob(
+			@RequestParam(name = "pattern") String pattern,
+			@RequestParam(name = "offset", defaultValue = "0") int offset,
+			@RequestParam(name = "limit", defaultValue = "1000") int limit) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Find Files by Glob="+pattern);
+		long startTime = System.nanoTime();
+		List<FileIndexEntry> files = fileTreeIndex().findByGlob(pattern, offset, limit);
+		return indexResponse("File Tree Index Glob!", "glob:"+pattern, offset, limit, files, startTime);
+	}
+
+	/**
+	 * File Tree Index - Find the Files with the Size (Bytes) in the Range
+	 * @param min
+	 * @param max
+	 * @param offset
+	 * @param limit
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Tree Index Find Files by Size Range (Bytes)", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Query or Index Disabled",
+					content = @Content)
+	})
+	@GetMapping("/nio/index/size")
+	public ResponseEntity<StandardResponse> indexFindBySize(
+			@RequestParam(name = "min", defaultValue = "0") long min,
+			@RequestParam(name = "max", defaultValue = "9223372036854775807") long max,
+			@RequestParam(name = "offset", defaultValue = "0") int offset,
+			@RequestParam(name = "limit", defaultValue = "1000") int limit) throws Exception {
+		log.debug("|"+name()+"|Security IO: Request to Find Files by Size="+min+"-"+max);
+		long startTime = System.nanoTime();
+		List<FileIndexEntry> files = fileTreeIndex().findBySize(min, max, offset, limit);
+		return indexResponse("File Tree Index Size!", "size:"+min+"-"+max, offset, limit, files, startTime);
+	}
+
+	/**
+	 * File Tree Index Statistics (Files, Directories Watched, Events, Scans, Snapshot)
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "File Tree Index Stats", description = "File Processing Java NIO")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Data Found!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Index Disabled",
+					content = @Content)
+	})
+	@GetMapping("/nio/index/stats")
+	public ResponseEntity<StandardResponse> indexStats() throws Exception {
+		log.debug("|"+name()+"|Security IO: Request for the File Tree Index Stats");
+		StandardResponse stdResponse = createSuccessResponse("File Tree Index Stats!");
+		stdResponse.setPayload(fileTreeIndex().getStats());
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * Returns the File Tree Index
+	 * @return
+	 */
+	private FileTreeIndex fileTreeIndex() {
+		if(fileTreeIndex == null) {
+			throw new InvalidInputException("File Tree Index is Disabled (io.file.index.enabled=false)");
+		}
+		return fileTreeIndex;
+	}
+
+	/**
+	 * Create the File Tree Index Query Response
+	 * @param message
+	 * @param query
+	 * @param offset
+	 * @param limit
+	 * @param files
+	 * @param startTime
+	 * @return
+	 */
+	private ResponseEntity<StandardResponse> indexResponse(String message, String query, int offset, int limit,
+														   List<FileIndexEntry> files, long startTime) {
+		LinkedHashMap<String, Object> result = new LinkedHashMap<>();
+		result.put("Query", query);
+		result.put("Offset", offset);
+		result.put("Limit", limit);
+		result.put("Count", files.size());
+		result.put("QueryTime", ((System.nanoTime() - startTime) / 1000) + " micro seconds");
+		result.put("Files", files);
+		StandardResponse stdResponse = createSuccessResponse(message);
+		stdResponse.setPayload(result);
+		return ResponseEntity.ok(stdResponse);
+	}
 
 	/**
 	 * Read the Content From StringBuilder and Transform into ArrayList
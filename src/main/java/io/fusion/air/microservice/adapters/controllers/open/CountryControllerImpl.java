@@ -15,8 +15,12 @@
  */
 package io.fusion.air.microservice.adapters.controllers.open;
 
+import io.fusion.air.microservice.adapters.cache.ResponseCache;
+import io.fusion.air.microservice.adapters.repository.ingest.IngestStats;
+import io.fusion.air.microservice.adapters.security.AuthorizationRequired;
 import io.fusion.air.microservice.domain.entities.order.CountryEntity;
 import io.fusion.air.microservice.domain.entities.order.CountryGeoEntity;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
 import io.fusion.air.microservice.domain.models.core.StandardResponse;
 import io.fusion.air.microservice.domain.ports.services.CountryService;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
@@ -26,6 +30,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.slf4j.Logger;
@@ -41,6 +46,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -63,6 +69,13 @@ public class CountryControllerImpl extends AbstractController {
 
 	// Set Logger -> Lookup will automatically determine the class name.
 	private static final Logger log = getLogger(lookup().lookupClass());
+
+	// Max Page Size (Larger Sizes are reduced to the Max)
+	public static final int MAX_PAGE_SIZE = 100;
+	// Cached Pages: Page Sizes 10, 20, 50, 100 and Pages below 50 (Max 200 Keys in the Cache).
+	// Other Pages go the normal Path, a Client can't fill the Cache with Random Page / Size Keys.
+	public static final int MAX_CACHED_PAGE = 50;
+	private static final int[] CACHED_PAGE_SIZES = { 10, 20, 50, 100 };
 	
 	@Autowired
 	private ServiceConfiguration serviceConfig;
@@ -71,6 +84,10 @@ public class CountryControllerImpl extends AbstractController {
 	@Autowired
 	private CountryService countryService;
 
+	// Serialized Responses of the Reference Data (Invalidated by the GeoLite Ingestion)
+	@Autowired
+	private ResponseCache responseCache;
+
 	/**
 	 * GET Method Call to Get All the Geo Countries with Page and Size
 	 * 
@@ -89,13 +106,38 @@ public class CountryControllerImpl extends AbstractController {
 	@ResponseBody
 	public ResponseEntity<StandardResponse> fetchCountriesByPageAndSize(@PathVariable String page,
 													@PathVariable("page") int _page,
-													@PathVariable("size") int _size) throws Exception {
+													@PathVariable("size") int _size,
+													HttpServletRequest request,
+													HttpServletResponse response) throws Exception {
 		log.debug("|"+name()+"|Request to Get All Countries by page no "+_page+" & Size = "+_size);
+		if(_page < 0 || _size < 1) {
+			throw new InvalidInputException("Invalid Page "+_page+" and Size "+_size);
+		}
+		int size = Math.min(_size, MAX_PAGE_SIZE);
+		Supplier<StandardResponse> loader = () -> createGeoCountriesResponse(_page, size);
+		String key = pageCacheKey(_page, size);
+		if(key != null && responseCache.serve(ResponseCache.GEO_COUNTRIES, key, request, response, loader)) {
+			return null;
+		}
+		return ResponseEntity.ok(loader.get());
+	}
 
-		Page<CountryGeoEntity> countries = countryService.getAllGeoCountries(_page, _size);
-		StandardResponse stdResponse = createSuccessResponse("Data Fetch Success!");
-		stdResponse.setPayload(countries);
-		return ResponseEntity.ok(stdResponse);
+	/**
+	 * Returns the Cache Key of the Page (NULL if the Page is NOT cached)
+	 * @param _page
+	 * @param _size
+	 * @return
+	 */
+	public static String pageCacheKey(int _page, int _size) {
+		if(_page < 0 || _page >= MAX_CACHED_PAGE) {
+			return null;
+		}
+		for(int size : CACHED_PAGE_SIZES) {
+			if(size == _size) {
+				return "page/"+_page+"/size/"+_size;
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -117,10 +159,25 @@ public class CountryControllerImpl extends AbstractController {
 	public ResponseEntity<StandardResponse> fetchAllGeoCountries(HttpServletRequest request,
 														   HttpServletResponse response) throws Exception {
 		log.debug("|"+name()+"|Request to get All Countries ... ");
-		Page<CountryGeoEntity> countries = countryService.getAllGeoCountries();
+		Supplier<StandardResponse> loader = () -> createGeoCountriesResponse(-1, -1);
+		if(responseCache.serve(ResponseCache.GEO_COUNTRIES, "all", request, response, loader)) {
+			return null;
+		}
+		return ResponseEntity.ok(loader.get());
+	}
+
+	/**
+	 * Returns the Geo Countries Response (Default Page if the Page is -1)
+	 * @param _page
+	 * @param _size
+	 * @return
+	 */
+	private StandardResponse createGeoCountriesResponse(int _page, int _size) {
+		Page<CountryGeoEntity> countries = (_page < 0) ? countryService.getAllGeoCountries()
+				: countryService.getAllGeoCountries(_page, _size);
 		StandardResponse stdResponse = createSuccessResponse("Data Fetch Success!");
 		stdResponse.setPayload(countries);
-		return ResponseEntity.ok(stdResponse);
+		return stdResponse;
 	}
 
 	/**
@@ -142,9 +199,72 @@ public class CountryControllerImpl extends AbstractController {
 	public ResponseEntity<StandardResponse> fetchAlCountries(HttpServletRequest request,
 														   HttpServletResponse response) throws Exception {
 		log.debug("|"+name()+"|Request to get All Countries ... ");
-		List<CountryEntity> countries = countryService.getAllCountries();
-		StandardResponse stdResponse = createSuccessResponse("Data Fetch Success!");
-		stdResponse.setPayload(countries);
+		Supplier<StandardResponse> loader = () -> {
+			List<CountryEntity> countries = countryService.getAllCountries();
+			StandardResponse stdResponse = createSuccessResponse("Data Fetch Success!");
+			stdResponse.setPayload(countries);
+			return stdResponse;
+		};
+		if(responseCache.serve(ResponseCache.COUNTRIES, "all", request, response, loader)) {
+			return null;
+		}
+		return ResponseEntity.ok(loader.get());
+	}
+
+	/**
+	 * POST Method Call to Upsert the GeoLite Country Locations CSV File into the Geo Countries
+	 *
+	 * @return
+	 */
+	@AuthorizationRequired(role = "Admin")
+	@Operation(summary = "Upsert the GeoLite Country Locations CSV File (JDBC Batches)", security = { @SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Geo Countries Ingested!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid File or Ingestion already running!",
+					content = @Content),
+			@ApiResponse(responseCode = "404",
+					description = "File NOT Found!",
+					content = @Content)
+	})
+	@PostMapping("/geo/ingest/{fileName}")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> ingestGeoCountries(@PathVariable("fileName") String _fileName) throws Exception {
+		log.debug("|"+name()+"|Request to Upsert Geo Countries from "+_fileName);
+		IngestStats stats = countryService.ingestGeoCountries(_fileName, false);
+		StandardResponse stdResponse = createSuccessResponse("Geo Countries Ingested!");
+		stdResponse.setPayload(stats);
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * POST Method Call to Reload the Geo Countries from the GeoLite Country Locations CSV File
+	 * (Staging Table + Swap, the Live Table serves the Reads till the Swap)
+	 *
+	 * @return
+	 */
+	@AuthorizationRequired(role = "Admin")
+	@Operation(summary = "Reload the Geo Countries from the GeoLite Country Locations CSV File (Staging Table + Swap)", security = { @SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Geo Countries Reloaded!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid File or Ingestion already running!",
+					content = @Content),
+			@ApiResponse(responseCode = "404",
+					description = "File NOT Found!",
+					content = @Content)
+	})
+	@PostMapping("/geo/reload/{fileName}")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> reloadGeoCountries(@PathVariable("fileName") String _fileName) throws Exception {
+		log.debug("|"+name()+"|Request to Reload Geo Countries from "+_fileName);
+		IngestStats stats = countryService.ingestGeoCountries(_fileName, true);
+		StandardResponse stdResponse = createSuccessResponse("Geo Countries Reloaded!");
+		stdResponse.setPayload(stats);
 		return ResponseEntity.ok(stdResponse);
 	}
 
@@ -0,0 +1,158 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.controllers.open;
+// Custom
+import io.fusion.air.microservice.domain.models.analytics.RevenueWindow;
+import io.fusion.air.microservice.domain.models.core.StandardResponse;
+import io.fusion.air.microservice.domain.ports.services.OrderAnalyticsService;
+import io.fusion.air.microservice.server.controllers.AbstractController;
+// Swagger
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+// Java & Utils
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Order Analytics (Real-Time from the Kafka Streams State Stores)
+ *
+ * @author arafkarsh
+ * @version 1.0
+ *
+ */
+@CrossOrigin
+@Configuration
+@RestController
+// "/ms-cache/api/v1"
+@RequestMapping("${service.api.path}/order/analytics")
+@Tag(name = "Order Analytics API", description = "Real-Time Revenue by Currency, Orders by State and Customer Totals.")
+public class OrderAnalyticsControllerImpl extends AbstractController {
+
+	// Set Logger -> Lookup will automatically determine the class name.
+	private static final Logger log = getLogger(lookup().lookupClass());
+
+	@Autowired
+	private OrderAnalyticsService analyticsService;
+
+	/**
+	 * Get the No. of Orders by Order State
+	 * @return
+	 */
+	@Operation(summary = "Get the No. of Orders by Order State")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Order Counts Retrieved!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "503",
+					description = "Order Analytics NOT Available!",
+					content = @Content)
+	})
+	@GetMapping("/state")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> countOrdersByState() {
+		log.debug("|"+name()+"|Request to Get Order Counts by State");
+		Map<String, Long> counts = analyticsService.countOrdersByState();
+		StandardResponse stdResponse = createSuccessResponse("Order Counts Retrieved. States = "+counts.size());
+		stdResponse.setPayload(counts);
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * Get the Order Totals of the Customer by Currency
+	 * @param customerId
+	 * @return
+	 */
+	@Operation(summary = "Get the Order Totals of the Customer by Currency")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Customer Totals Retrieved!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "503",
+					description = "Order Analytics NOT Available!",
+					content = @Content)
+	})
+	@GetMapping("/customer/{customerId}")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> fetchCustomerTotals(@PathVariable("customerId") String customerId) {
+		log.debug("|"+name()+"|Request to Get Order Totals For the Customer "+customerId);
+		Map<String, BigDecimal> totals = analyticsService.findCustomerTotals(customerId);
+		StandardResponse stdResponse = createSuccessResponse("Customer Totals Retrieved. Currencies = "+totals.size());
+		stdResponse.setPayload(totals);
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * Get the Revenue of all the Currencies in the Last N Hours
+	 * @param hours
+	 * @return
+	 */
+	@Operation(summary = "Get the Revenue Windows of all the Currencies in the Last N Hours")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Revenue Retrieved!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Hours",
+					content = @Content)
+	})
+	@GetMapping("/revenue/last/{hours}")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> fetchRevenue(@PathVariable("hours") int hours) {
+		log.debug("|"+name()+"|Request to Get Revenue for the Last "+hours+" Hours");
+		List<RevenueWindow> revenue = analyticsService.findRevenue(hours);
+		StandardResponse stdResponse = createSuccessResponse("Revenue Retrieved. Windows = "+revenue.size());
+		stdResponse.setPayload(revenue);
+		return ResponseEntity.ok(stdResponse);
+	}
+
+	/**
+	 * Get the Revenue of the Currency in the Last N Hours
+	 * @param currency
+	 * @param hours
+	 * @return
+	 */
+	@Operation(summary = "Get the Revenue Windows of the Currency in the Last N Hours")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Revenue Retrieved!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Hours",
+					content = @Content)
+	})
+	@GetMapping("/revenue/currency/{currency}/last/{hours}")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> fetchRevenue(
+			@PathVariable("currency") String currency, @PathVariable("hours") int hours) {
+		log.debug("|"+name()+"|Request to Get Revenue for "+currency+" for the Last "+hours+" Hours");
+		List<RevenueWindow> revenue = analyticsService.findRevenue(currency, hours);
+		StandardResponse stdResponse = createSuccessResponse("Revenue Retrieved. Windows = "+revenue.size());
+		stdResponse.setPayload(revenue);
+		return ResponseEntity.ok(stdResponse);
+	}
+}
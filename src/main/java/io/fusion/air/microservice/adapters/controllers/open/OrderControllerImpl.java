@@ -137,4 +137,24 @@ public class OrderControllerImpl extends AbstractController {
 		return ResponseEntity.ok(stdResponse);
 	}
 
- }
\ No newline at end of file
+	/**
+	 * Recalculate the Total Order Value of all the Orders
+	 */
+	@Operation(summary = "Recalculate the Total Order Value of all the Orders")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Order Totals Recalculated!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Batch Size",
+					content = @Content)
+	})
+	@PutMapping("/totals/recalculate/batch/{batchSize}")
+	public ResponseEntity<StandardResponse> recalculateTotals(@PathVariable("batchSize") int batchSize) {
+		log.debug("|"+name()+"|Request to Recalculate Order Totals, Batch Size = "+batchSize);
+		int updated = orderService.recalculateTotals(batchSize);
+		StandardResponse stdResponse = createSuccessResponse("Order Totals Recalculated. Orders Updated = "+updated);
+		stdResponse.setPayload(updated);
+		return ResponseEntity.ok(stdResponse);
+	}
+ }
@@ -16,6 +16,7 @@
 package io.fusion.air.microservice.adapters.controllers.open;
 // Custom
 import io.fusion.air.microservice.domain.entities.order.OrderEntity;
+import io.fusion.air.microservice.domain.entities.order.OrderStateHistoryEntity;
 import io.fusion.air.microservice.domain.models.core.StandardResponse;
 import io.fusion.air.microservice.domain.ports.services.OrderService;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
@@ -116,6 +117,35 @@ public class OrderProcessControllerImpl extends AbstractController {
 		return ResponseEntity.ok(stdResponse);
 	}
 
+	/**
+	 * Get the Last N State Transitions of the Order (Latest First)
+	 * @param customerId
+	 * @param orderId
+	 * @param limit
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "Get the Latest State Transitions of the Order")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Order History Retrieved!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Order ID or Limit",
+					content = @Content)
+	})
+	@GetMapping("/history/customer/{customerId}/order/{orderId}/last/{limit}")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> fetchOrderHistory(
+			@PathVariable("customerId") String customerId, @PathVariable("orderId") String orderId,
+			@PathVariable("limit") int limit) throws Exception {
+		log.debug("|"+name()+"|Request to Get Order History For the Order "+orderId);
+		List<OrderStateHistoryEntity> history = orderService.findLatestTransitions(customerId, orderId, limit);
+		StandardResponse stdResponse = createSuccessResponse("Order History Retrieved. Transitions = "+history.size());
+		stdResponse.setPayload(history);
+		return ResponseEntity.ok(stdResponse);
+	}
+
 	/**
 	 * Order: Initiate Credit Approval
 	 * @param customerId
@@ -16,6 +16,7 @@
 package io.fusion.air.microservice.adapters.controllers.open;
 // Custom
 import io.fusion.air.microservice.domain.entities.reservation.ReservationEntity;
+import io.fusion.air.microservice.domain.entities.reservation.ReservationStateHistoryEntity;
 import io.fusion.air.microservice.domain.models.core.StandardResponse;
 import io.fusion.air.microservice.domain.ports.services.ReservationService;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
@@ -162,6 +163,35 @@ public class ReservationProcessControllerImpl extends AbstractController {
 		return ResponseEntity.ok(stdResponse);
 	}
 
+	/**
+	 * Get the Last N State Transitions of the Reservation (Latest First)
+	 * @param customerId
+	 * @param reservationId
+	 * @param limit
+	 * @return
+	 * @throws Exception
+	 */
+	@Operation(summary = "Get the Latest State Transitions of the Reservation")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Reservation History Retrieved!",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid Reservation ID or Limit",
+					content = @Content)
+	})
+	@GetMapping("/history/customer/{customerId}/reservation/{reservationId}/last/{limit}")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> fetchReservationHistory(
+			@PathVariable("customerId") String customerId, @PathVariable("reservationId") String reservationId,
+			@PathVariable("limit") int limit) throws Exception {
+		log.debug("|"+name()+"|Request to Get Reservation History For the Reservation "+reservationId);
+		List<ReservationStateHistoryEntity> history = reservationService.findLatestTransitions(customerId, reservationId, limit);
+		StandardResponse stdResponse = createSuccessResponse("Reservation History Retrieved. Transitions = "+history.size());
+		stdResponse.setPayload(history);
+		return ResponseEntity.ok(stdResponse);
+	}
+
 	/**
 	 * Event Handling for Testing Purpose ONLY
 	 * @param event
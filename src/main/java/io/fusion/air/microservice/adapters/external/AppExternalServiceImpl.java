@@ -17,8 +17,8 @@ package io.fusion.air.microservice.adapters.external;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
 
 
 import io.fusion.air.microservice.domain.models.order.PaymentDetails;
@@ -26,6 +26,7 @@ import io.fusion.air.microservice.domain.models.order.PaymentStatus;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
 import io.fusion.air.microservice.server.models.EchoData;
 import io.fusion.air.microservice.server.models.EchoResponseData;
+import io.fusion.air.microservice.utils.IdGenerator;
 import io.fusion.air.microservice.utils.Utils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
@@ -52,6 +53,9 @@ public class AppExternalServiceImpl {
     private String paymentURL;
     private String echoURL;
 
+    // Service to Service Calls: JSON, CBOR or Smile (remote.media.type)
+    private MediaType mediaType = MediaType.APPLICATION_JSON;
+
     private boolean urlsSet = false;
 
     // @Autowired
@@ -89,6 +93,8 @@ public class AppExternalServiceImpl {
                 gwBaseURL = "http://localhost:8080";
 
             }
+            mediaType = RestClientService.mediaType(
+                    (serviceConfig != null) ? serviceConfig.getRemoteMediaType() : null);
             paymentURL = gwBaseURL + payments;
             echoURL = gwBaseURL + remoteEcho;
             urlsSet = true;
@@ -128,7 +134,7 @@ public class AppExternalServiceImpl {
      */
     public EchoResponseData remoteEcho(String url, EchoData _word) {
         // Set Headers
-        HttpHeaders headers = getHeadersWithCookies();
+        HttpHeaders headers = getHeadersWithCookies(mediaType);
         HttpEntity<EchoData> request = new HttpEntity<EchoData>(_word, headers);
         System.out.println("REQUEST  2|> "+Utils.toJsonString(request));
         System.out.println(Utils.createCurlCommand("POST", url, headers, _word));
@@ -140,7 +146,7 @@ public class AppExternalServiceImpl {
 
     public EchoResponseData remoteEchoGET(String url, EchoData _word) {
         // Set Headers
-        HttpHeaders headers = getHeadersWithCookies();
+        HttpHeaders headers = getHeadersWithCookies(mediaType);
         HttpEntity<EchoData> request = new HttpEntity<EchoData>(_word, headers);
         System.out.println("REQUEST  2|> "+Utils.toJsonString(request));
         System.out.println(Utils.createCurlCommand("POST", url, headers, _word));
@@ -155,10 +161,19 @@ public class AppExternalServiceImpl {
      * @return
      */
     public static HttpHeaders getHeaders() {
+        return getHeaders(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Returns headers (Accept and Content-Type = Media Type)
+     * @param _mediaType JSON, CBOR or Smile
+     * @return
+     */
+    public static HttpHeaders getHeaders(MediaType _mediaType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.add("accept", "application/json");
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.add("sessionId", UUID.randomUUID().toString());
+        headers.setAccept(Collections.singletonList(_mediaType));
+        headers.setContentType(_mediaType);
+        headers.add("sessionId", IdGenerator.fastId());
         headers.add("app", "MS-Cache");
         return headers;
     }
@@ -168,10 +183,19 @@ public class AppExternalServiceImpl {
      * @return
      */
     public static  HttpHeaders getHeadersWithCookies() {
+        return getHeadersWithCookies(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Returns headers with Cookies (Accept and Content-Type = Media Type)
+     * @param _mediaType JSON, CBOR or Smile
+     * @return
+     */
+    public static  HttpHeaders getHeadersWithCookies(MediaType _mediaType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.add("accept", "application/json");
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.add("sessionId", UUID.randomUUID().toString());
+        headers.setAccept(Collections.singletonList(_mediaType));
+        headers.setContentType(_mediaType);
+        headers.add("sessionId", IdGenerator.fastId());
         headers.add("app", "MS-Cache");
         headers.put(HttpHeaders.COOKIE, getCookies() );
         return headers;
@@ -182,7 +206,7 @@ public class AppExternalServiceImpl {
      */
     public static  List<String> getCookies() {
         List<String> cookies = new ArrayList<>();
-        cookies.add("token="+UUID.randomUUID().toString());
+        cookies.add("token="+IdGenerator.secureId());
         cookies.add("domain=arafkarsh.com");
         return cookies;
     }
@@ -198,12 +222,13 @@ public class AppExternalServiceImpl {
         System.out.println("REQUEST |> "+Utils.toJsonString(_paymentDetails));
         // Set Headers
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.add("sessionId", UUID.randomUUID().toString());
+        headers.setAccept(Collections.singletonList(mediaType));
+        headers.setContentType(mediaType);
+        headers.add("sessionId", IdGenerator.fastId());
         headers.add("app", "bigBasket");
 
         // List<String> cookies = new ArrayList<>();
-        // cookies.add("token="+UUID.randomUUID().toString());
+        // cookies.add("token="+IdGenerator.secureId());
         // cookies.add("domain=arafkarsh.com");
         // headers.put(HttpHeaders.COOKIE, cookies);
         // HttpEntity<PaymentDetails> request = new HttpEntity<PaymentDetails>
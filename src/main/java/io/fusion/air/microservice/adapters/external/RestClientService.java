@@ -27,12 +27,14 @@ import org.slf4j.Logger;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import io.fusion.air.microservice.utils.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 /**
@@ -47,6 +49,10 @@ public class RestClientService  extends RestTemplate {
     // Set Logger -> Lookup will automatically determine the class name.
     private static final Logger log = getLogger(lookup().lookupClass());
 
+    // Binary Formats for Service to Service Calls
+    public static final MediaType APPLICATION_CBOR  = MediaType.APPLICATION_CBOR;
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
     public RestClientService() {
         // Set Object Mapper For Serialization
         setMessageConverters(getDataConverters1());
@@ -60,10 +66,16 @@ public class RestClientService  extends RestTemplate {
 
     /**
      * Returns Converters 1
+     * - JSON (Default for Requests without a Content-Type)
+     * - CBOR and Smile (Content-Type / Accept application/cbor, application/x-jackson-smile)
+     * - JSON for Any Other Content-Type (Ex. Responses with text/plain)
      * @return
      */
     public List<HttpMessageConverter<?>> getDataConverters1() {
         List<HttpMessageConverter<?>> messageConverters = new ArrayList<>();
+        messageConverters.add(new MappingJackson2HttpMessageConverter(getObjectMapper()));
+        messageConverters.add(new MappingJackson2CborHttpMessageConverter(JsonMapper.cbor()));
+        messageConverters.add(new MappingJackson2SmileHttpMessageConverter(JsonMapper.smile()));
         MappingJackson2HttpMessageConverter converter =
                 new MappingJackson2HttpMessageConverter(getObjectMapper());
         converter.setSupportedMediaTypes(
@@ -72,6 +84,25 @@ public class RestClientService  extends RestTemplate {
         return messageConverters;
     }
 
+    /**
+     * Returns the Media Type for the Format (json, cbor, smile). Default JSON
+     * @param format
+     * @return
+     */
+    public static MediaType mediaType(String format) {
+        if(format != null) {
+            switch (format.trim().toLowerCase()) {
+                case "cbor":
+                    return APPLICATION_CBOR;
+                case "smile":
+                    return APPLICATION_SMILE;
+                default:
+                    break;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
     /**
      * Returns Converters 2
      * @return
@@ -88,9 +119,7 @@ public class RestClientService  extends RestTemplate {
      * @return
      */
     public ObjectMapper getObjectMapper() {
-        return new ObjectMapper()
-                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true)
-                .findAndRegisterModules();
+        return JsonMapper.mapper();
     }
 
     /**
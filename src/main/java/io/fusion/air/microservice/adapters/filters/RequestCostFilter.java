@@ -0,0 +1,83 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.filters;
+// Custom
+import io.fusion.air.microservice.adapters.metrics.RequestCostRecorder;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+// Servlet
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * Servlet Filter for the Request Cost (Allocated Bytes + CPU Time per Handler)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+
+/**
+ * Runs right after the SecurityFilter and records the Cost of the rest of the Chain (Filters, Controller,
+ * Serialization) under the HTTP Method + Path Pattern of the Handler (Ex. GET /ms-vanilla/api/v1/product/{id}),
+ * so that the Path Variables don't create a Handler per Value. Requests without a Handler are recorded under
+ * UNMAPPED. Async Requests are recorded till the Request Thread is released.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestCostFilter implements Filter {
+
+    public static final String UNMAPPED = "UNMAPPED";
+
+    @Autowired
+    private RequestCostRecorder recorder;
+
+    @Override
+    public void doFilter(ServletRequest _servletRequest, ServletResponse _servletResponse, FilterChain _filterChain)
+            throws IOException, ServletException {
+
+        if(!recorder.isEnabled()) {
+            _filterChain.doFilter(_servletRequest, _servletResponse);
+            return;
+        }
+        long allocated = recorder.allocatedBytes();
+        long cpuTime = recorder.cpuTime();
+        try {
+            _filterChain.doFilter(_servletRequest, _servletResponse);
+        } finally {
+            recorder.record(handler((HttpServletRequest) _servletRequest), allocated, cpuTime);
+        }
+    }
+
+    /**
+     * Returns the HTTP Method + Path Pattern of the Handler
+     * @param _request
+     * @return
+     */
+    private static String handler(HttpServletRequest _request) {
+        Object pattern = _request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return _request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED);
+    }
+}
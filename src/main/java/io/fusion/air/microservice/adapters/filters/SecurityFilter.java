@@ -17,6 +17,8 @@ package io.fusion.air.microservice.adapters.filters;
 // Custom
 import io.fusion.air.microservice.domain.models.core.StandardResponse;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
+import io.fusion.air.microservice.utils.IdGenerator;
+import io.fusion.air.microservice.utils.JsonMapper;
 import io.fusion.air.microservice.utils.Utils;
 // Spring
 import org.slf4j.MDC;
@@ -36,8 +38,6 @@ import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.UUID;
 // SLF4J
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -83,7 +83,7 @@ public class SecurityFilter extends OncePerRequestFilter {
         HttpServletResponse response = (HttpServletResponse) _servletResponse;
 
         try {
-            HttpHeaders headers = Utils.createSecureCookieHeaders("JSESSIONID", UUID.randomUUID().toString(), 3000);
+            HttpHeaders headers = Utils.createSecureCookieHeaders("JSESSIONID", IdGenerator.secureId(), 3000);
             System.out.println("<[2]>>> Security Filter Called => "+ headers.getFirst("Set-Cookie"));
 
             _filterChain.doFilter(request, response);
@@ -101,11 +101,8 @@ public class SecurityFilter extends OncePerRequestFilter {
                     "The request was rejected by Firewall!");
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                 response.setContentType("application/json");
-                String json = Utils.toJsonString(error);
-
-                PrintWriter out = response.getWriter();
-                out.write(json);
-                out.flush();
+                JsonMapper.write(response.getOutputStream(), error);
+                response.flushBuffer();
                 MDC.clear();
                 log.info("Path={}|Firewall={}", request.getRequestURI(), e.getMessage());
             }
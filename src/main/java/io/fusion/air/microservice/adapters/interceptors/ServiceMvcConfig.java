@@ -15,14 +15,20 @@
  */
 package io.fusion.air.microservice.adapters.interceptors;
 
+import io.fusion.air.microservice.utils.JsonMapper;
 import org.checkerframework.checker.units.qual.A;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -62,4 +68,37 @@ public class ServiceMvcConfig implements WebMvcConfigurer {
                    serviceApiPath + "/country/**"
                );
     }
+
+    /**
+     * Binary Formats for Service to Service Calls (Accept / Content-Type)
+     * - application/cbor
+     * - application/x-jackson-smile
+     *
+     * Spring adds CBOR and Smile Converters (after JSON) when the Jars are on the Classpath, with
+     * new Object Mappers. Replace them with the Shared Mappers (Same Config and Modules as JSON).
+     * JSON stays first, so it's the Default when the Client accepts any Type (Browsers, External Clients).
+     *
+     * @param converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        boolean cbor = false;
+        boolean smile = false;
+        for(int i = 0; i < converters.size(); i++) {
+            if(converters.get(i) instanceof MappingJackson2CborHttpMessageConverter) {
+                converters.set(i, new MappingJackson2CborHttpMessageConverter(JsonMapper.cbor()));
+                cbor = true;
+            } else if(converters.get(i) instanceof MappingJackson2SmileHttpMessageConverter) {
+                converters.set(i, new MappingJackson2SmileHttpMessageConverter(JsonMapper.smile()));
+                smile = true;
+            }
+        }
+        if(!cbor) {
+            converters.add(new MappingJackson2CborHttpMessageConverter(JsonMapper.cbor()));
+        }
+        if(!smile) {
+            converters.add(new MappingJackson2SmileHttpMessageConverter(JsonMapper.smile()));
+        }
+        log.debug("Message Converters = "+converters.size()+" (CBOR and Smile with the Shared Mappers)");
+    }
 }
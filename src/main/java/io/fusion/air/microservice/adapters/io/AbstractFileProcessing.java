@@ -19,6 +19,8 @@ import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
 // Java
 import org.slf4j.Logger;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -34,6 +36,8 @@ public abstract class AbstractFileProcessing {
     public static int MIN_BUFFER_SIZE = 128;
     public static int DEFAULT_BUFFER_SIZE = 8192;
 
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
     /**
      * Read File
      * @param filePath
@@ -122,6 +126,9 @@ public abstract class AbstractFileProcessing {
 
     /**
      * Read File Multiple Times
+     * Quick Check only (No Warm-up, No Forks, No Error Margin). Compare the Readers and the Buffer Sizes
+     * with the JMH Benchmarks in /benchmarks.
+     *
      * @param filePath
      * @param counter
      * @param bufferSize
@@ -129,12 +136,14 @@ public abstract class AbstractFileProcessing {
     public FileDataStats readFileMultipleTimes(String filePath, int counter, int bufferSize) {
         validateInputs( filePath,  null,  counter,  bufferSize);
         long startTime = System.currentTimeMillis();
+        long startAllocated = allocatedBytes();
         long fileSize = 0;
         for(int i=0; i<counter; i++) {
             fileSize += readFile(filePath, bufferSize);
         }
+        long allocated = (startAllocated < 0) ? -1 : allocatedBytes() - startAllocated;
         FileDataStats fileStats = new FileDataStats(filePath, counter, bufferSize,
-                (System.currentTimeMillis() - startTime), fileSize);
+                (System.currentTimeMillis() - startTime), fileSize, allocated);
         logProcessingTime(startTime, filePath, counter, bufferSize);
         return fileStats;
     }
@@ -161,6 +170,20 @@ public abstract class AbstractFileProcessing {
         return fileStats;
     }
 
+    /**
+     * Returns the Heap Bytes allocated so far by the Current Thread (-1 if NOT Supported)
+     * @return
+     */
+    protected static long allocatedBytes() {
+        if(threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if(mxBean.isThreadAllocatedMemorySupported() && mxBean.isThreadAllocatedMemoryEnabled()) {
+                return mxBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
     /**
      * Validate the Inputs
      * @param filePath
@@ -169,7 +192,7 @@ public abstract class AbstractFileProcessing {
      * @param bufferSize
      */
     private void validateInputs(String filePath, InputStream inputStream, int counter, int bufferSize) {
-        if(filePath == null || inputStream == null) {
+        if(filePath == null && inputStream == null) {
             throw new InvalidInputException("File Path or InputStream is required");
         }
         if(counter < 1 || counter > 1000000) {
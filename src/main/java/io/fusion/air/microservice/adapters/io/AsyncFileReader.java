@@ -0,0 +1,481 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+// Java
+import javax.annotation.PreDestroy;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Pipelined Async File Reader (AsynchronousFileChannel)
+ *
+ * The File is read in Chunks with up to K Reads in Flight at consecutive Positions. Every Read has
+ * its own Buffer (Slot) from the Shared Buffer Pool and its Completion Handler delivers the Chunks
+ * in File Order to the Chunk Consumer. A Slot is read again (Chunk + K) only after the Consumer is
+ * done with its Chunk, so a slow Consumer holds back the Reads (Back Pressure).
+ *
+ * No Thread waits for the Reads: The Completion Handlers run on the Reader's I/O Threads and the
+ * Result is a CompletableFuture with the Stats. Cancel the Future to stop the Reads.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Service
+public class AsyncFileReader {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final int MIN_CHUNK_SIZE = 4 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    public static final int DEFAULT_READS_IN_FLIGHT = 4;
+    public static final int MAX_READS_IN_FLIGHT = 64;
+
+    private static final Set<OpenOption> READ_OPTIONS = Collections.singleton(StandardOpenOption.READ);
+
+    private final DirectBufferPool bufferPool;
+    private final ExecutorService ioThreads;
+
+    /**
+     * Create the Reader with a Private Buffer Pool (Outside Spring)
+     */
+    public AsyncFileReader() {
+        this(new DirectBufferPool());
+    }
+
+    /**
+     * Create the Reader with I/O Threads = No. of Processors (Min 2)
+     * @param _bufferPool
+     */
+    @Autowired
+    public AsyncFileReader(DirectBufferPool _bufferPool) {
+        bufferPool = _bufferPool;
+        AtomicInteger threadNo = new AtomicInteger();
+        ioThreads = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread thread = new Thread(r, "async-file-reader-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Read the File with the Default Chunk Size and Reads in Flight
+     * @param filePath
+     * @param consumer
+     * @return
+     */
+    public CompletableFuture<AsyncReadStats> read(String filePath, ChunkConsumer consumer) {
+        return read(filePath, DEFAULT_CHUNK_SIZE, DEFAULT_READS_IN_FLIGHT, consumer);
+    }
+
+    /**
+     * Read the File and deliver the Chunks in Order to the Consumer
+     *
+     * @param filePath
+     * @param chunkSize Read Buffer Size (capped to the Largest Pooled Buffer)
+     * @param readsInFlight Max No. of Chunks read ahead of the Consumer (1 - 64)
+     * @param consumer
+     * @return Stats when all the Chunks are consumed (Completes exceptionally on I/O or Consumer Errors)
+     */
+    public CompletableFuture<AsyncReadStats> read(String filePath, int chunkSize, int readsInFlight,
+                                                  ChunkConsumer consumer) {
+        if(filePath == null || consumer == null) {
+            throw new InvalidInputException("File Path and Chunk Consumer are required");
+        }
+        if(chunkSize < MIN_CHUNK_SIZE) {
+            throw new InvalidInputException("Chunk Size should be at least "+MIN_CHUNK_SIZE);
+        }
+        if(readsInFlight < 1 || readsInFlight > MAX_READS_IN_FLIGHT) {
+            throw new InvalidInputException("Reads in Flight should be between 1 and "+MAX_READS_IN_FLIGHT);
+        }
+        CompletableFuture<AsyncReadStats> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel = null;
+        try {
+            channel = AsynchronousFileChannel.open(Paths.get(filePath), READ_OPTIONS, ioThreads);
+            Pipeline pipeline = new Pipeline(filePath, channel, Math.min(chunkSize, bufferPool.getMaxBufferSize()),
+                    readsInFlight, consumer, result);
+            pipeline.start();
+        } catch (IOException e) {
+            closeQuietly(channel);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Close the Channel (if it's open)
+     * @param channel
+     */
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        if(channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.error("Unable to close the Channel: "+e.getMessage());
+        }
+    }
+
+    /**
+     * Shutdown the I/O Threads
+     */
+    @PreDestroy
+    public void shutdown() {
+        ioThreads.shutdown();
+    }
+
+    /**
+     * Reads of a Single File. All the State is guarded by the Pipeline Lock, the Consumer is called
+     * outside the Lock.
+     */
+    private final class Pipeline implements CompletionHandler<Integer, Long> {
+
+        private final String filePath;
+        private final AsynchronousFileChannel channel;
+        private final long fileSize;
+        private final int chunkSize;
+        private final long chunks;
+        private final int slots;
+        private final ChunkConsumer consumer;
+        private final CompletableFuture<AsyncReadStats> result;
+        private final PooledBuffer[] buffers;
+        private final boolean[] ready;
+        private final long startTime = System.currentTimeMillis();
+
+        private long nextChunk;
+        private int pendingReads;
+        private boolean delivering;
+        private boolean closed;
+
+        private Pipeline(String _filePath, AsynchronousFileChannel _channel, int _chunkSize, int _readsInFlight,
+                         ChunkConsumer _consumer, CompletableFuture<AsyncReadStats> _result) throws IOException {
+            filePath = _filePath;
+            channel = _channel;
+            fileSize = _channel.size();
+            chunkSize = _chunkSize;
+            chunks = (fileSize + chunkSize - 1) / chunkSize;
+            slots = (int) Math.min(_readsInFlight, chunks);
+            consumer = _consumer;
+            result = _result;
+            buffers = new PooledBuffer[slots];
+            ready = new boolean[slots];
+        }
+
+        /**
+         * Start the First K Reads
+         */
+        private void start() {
+            synchronized (this) {
+                if(chunks == 0) {
+                    finish();
+                    return;
+                }
+                for(int i = 0; i < slots; i++) {
+                    buffers[i] = bufferPool.acquire(chunkSize);
+                }
+                for(long chunk = 0; chunk < slots; chunk++) {
+                    read(chunk);
+                }
+            }
+        }
+
+        /**
+         * Read the Chunk into its Slot (Lock held)
+         * @param chunk
+         */
+        private void read(long chunk) {
+            ByteBuffer buffer = buffers[slot(chunk)].buffer();
+            buffer.clear();
+            buffer.limit((int) Math.min(chunkSize, fileSize - chunk * chunkSize));
+            read(chunk, buffer);
+        }
+
+        /**
+         * Read the Remaining Bytes of the Chunk (Lock held)
+         * @param chunk
+         * @param buffer
+         */
+        private void read(long chunk, ByteBuffer buffer) {
+            pendingReads++;
+            try {
+                channel.read(buffer, chunk * chunkSize + buffer.position(), chunk, this);
+            } catch (RuntimeException e) {
+                // Channel closed or the I/O Threads are shutdown
+                pendingReads--;
+                fail(e);
+            }
+        }
+
+        /**
+         * Read Completed (I/O Thread)
+         * @param bytesRead
+         * @param chunk
+         */
+        @Override
+        public void completed(Integer bytesRead, Long chunk) {
+            synchronized (this) {
+                ByteBuffer buffer = buffers[slot(chunk)].buffer();
+                if(result.isDone()) {
+                    pendingReads--;
+                    closeWhenIdle();
+                    return;
+                }
+                if(bytesRead < 0) {
+                    pendingReads--;
+                    fail(new EOFException("File "+filePath+" was truncated at "+(chunk * chunkSize + buffer.position())));
+                    return;
+                }
+                pendingReads--;
+                if(buffer.hasRemaining()) {
+                    // Short Read - Read the Rest of the Chunk
+                    read(chunk, buffer);
+                    return;
+                }
+                ready[slot(chunk)] = true;
+            }
+            deliver();
+        }
+
+        /**
+         * Read Failed (I/O Thread)
+         * @param error
+         * @param chunk
+         */
+        @Override
+        public void failed(Throwable error, Long chunk) {
+            synchronized (this) {
+                pendingReads--;
+                fail(error);
+            }
+        }
+
+        /**
+         * Deliver the Chunks in a Loop while the Next Chunk is read and the Consumer completes its
+         * Stage at once (e.g. ChunkConsumer.of). A Stage which is still pending continues the Loop
+         * on its Completion, so the Stack doesn't grow with the No. of Chunks.
+         */
+        private void deliver() {
+            boolean owner = false;
+            try {
+                while(true) {
+                    long chunk;
+                    ByteBuffer buffer;
+                    synchronized (this) {
+                        if(delivering || result.isDone() || nextChunk == chunks || !ready[slot(nextChunk)]) {
+                            return;
+                        }
+                        chunk = nextChunk;
+                        ready[slot(chunk)] = false;
+                        delivering = true;
+                        owner = true;
+                        buffer = buffers[slot(chunk)].buffer();
+                        buffer.flip();
+                    }
+                    Delivery delivery = new Delivery(chunk);
+                    if(!delivery.consume(buffer)) {
+                        // Consumer is still busy with the Chunk - Delivery continues on its Completion
+                        return;
+                    }
+                    owner = false;
+                    delivered(chunk, delivery.error);
+                }
+            } catch (Throwable e) {
+                deliveryFailed(owner, e);
+            }
+        }
+
+        /**
+         * The Consumer completed the Chunk after the Delivery Loop returned (Consumer Thread)
+         * @param chunk
+         * @param error
+         */
+        private void completeDelivery(long chunk, Throwable error) {
+            try {
+                delivered(chunk, error);
+            } catch (Throwable e) {
+                deliveryFailed(false, e);
+                return;
+            }
+            deliver();
+        }
+
+        /**
+         * Fail the Read on an Unexpected Error in the Delivery
+         * @param owner True if the Delivery Flag was set by the failed Delivery
+         * @param error
+         */
+        private void deliveryFailed(boolean owner, Throwable error) {
+            synchronized (this) {
+                if(owner) {
+                    delivering = false;
+                }
+                fail(error);
+            }
+        }
+
+        /**
+         * The Consumer is done with the Chunk - Reuse the Slot for the Chunk + K
+         * @param chunk
+         * @param error
+         */
+        private void delivered(long chunk, Throwable error) {
+            synchronized (this) {
+                delivering = false;
+                if(error != null) {
+                    fail(error);
+                    return;
+                }
+                if(result.isDone()) {
+                    closeWhenIdle();
+                    return;
+                }
+                nextChunk = chunk + 1;
+                if(nextChunk == chunks) {
+                    finish();
+                    return;
+                }
+                if(chunk + slots < chunks) {
+                    read(chunk + slots);
+                }
+            }
+        }
+
+        /**
+         * Consumer Call for a Single Chunk. Tells if the Stage completed before whenComplete
+         * returned (handled in the Delivery Loop) or later (handled by completeDelivery).
+         */
+        private final class Delivery implements BiConsumer<Object, Throwable> {
+            private final long chunk;
+            private boolean returned;
+            private boolean completed;
+            private Throwable error;
+
+            private Delivery(long _chunk) {
+                chunk = _chunk;
+            }
+
+            /**
+             * Pass the Chunk to the Consumer
+             * @param buffer
+             * @return True if the Consumer is already done with the Chunk
+             */
+            private boolean consume(ByteBuffer buffer) {
+                CompletionStage<?> stage;
+                try {
+                    stage = consumer.accept(buffer, chunk * chunkSize);
+                } catch (Throwable e) {
+                    error = e;
+                    return true;
+                }
+                if(stage == null) {
+                    return true;
+                }
+                stage.whenComplete(this);
+                synchronized (this) {
+                    returned = true;
+                    return completed;
+                }
+            }
+
+            @Override
+            public void accept(Object value, Throwable _error) {
+                synchronized (this) {
+                    if(!returned) {
+                        completed = true;
+                        error = _error;
+                        return;
+                    }
+                }
+                completeDelivery(chunk, _error);
+            }
+        }
+
+        /**
+         * All the Chunks are consumed (Lock held)
+         */
+        private void finish() {
+            close();
+            AsyncReadStats stats = new AsyncReadStats(filePath, fileSize, chunkSize, slots, chunks, fileSize,
+                    System.currentTimeMillis() - startTime);
+            log.debug("Async Read: "+stats);
+            result.complete(stats);
+        }
+
+        /**
+         * Fail the Read (Lock held)
+         * @param error
+         */
+        private void fail(Throwable error) {
+            if(result.completeExceptionally(error)) {
+                log.error("Async Read of "+filePath+" failed: "+error.getMessage());
+            }
+            closeWhenIdle();
+        }
+
+        /**
+         * Close the Channel and release the Buffers once No Read or Consumer is using them (Lock held)
+         */
+        private void closeWhenIdle() {
+            if(pendingReads == 0 && !delivering) {
+                close();
+            }
+        }
+
+        /**
+         * Close the Channel and release the Buffers (Lock held)
+         */
+        private void close() {
+            if(closed) {
+                return;
+            }
+            closed = true;
+            closeQuietly(channel);
+            for(PooledBuffer buffer : buffers) {
+                if(buffer != null) {
+                    buffer.close();
+                }
+            }
+        }
+
+        private int slot(long chunk) {
+            return (int) (chunk % slots);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Result of the Pipelined Async File Read
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class AsyncReadStats {
+
+    private final String fileName;
+    private final long fileSize;
+    private final int chunkSize;
+    private final int readsInFlight;
+    private final long chunks;
+    private final long bytes;
+    private final long processingTime;
+
+    public AsyncReadStats(String _fileName, long _fileSize, int _chunkSize, int _readsInFlight,
+                          long _chunks, long _bytes, long _processingTime) {
+        fileName = _fileName;
+        fileSize = _fileSize;
+        chunkSize = _chunkSize;
+        readsInFlight = _readsInFlight;
+        chunks = _chunks;
+        bytes = _bytes;
+        processingTime = _processingTime;
+    }
+
+    /**
+     * Get File Name
+     * @return
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Get the File Size
+     * @return
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Get the Chunk (Read Buffer) Size
+     * @return
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Get the Max No. of Reads in Flight
+     * @return
+     */
+    public int getReadsInFlight() {
+        return readsInFlight;
+    }
+
+    /**
+     * Get the No. of Chunks delivered
+     * @return
+     */
+    public long getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Get the Bytes delivered
+     * @return
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the Processing Time in Milli Seconds
+     * @return
+     */
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * Get the Throughput in MB / Second
+     * @return
+     */
+    public double getThroughput() {
+        return processingTime > 0 ? (bytes / (1024.0 * 1024.0)) / (processingTime / 1000.0) : 0;
+    }
+
+    @JsonIgnore
+    public String toString() {
+        return "File="+fileName+", Size="+fileSize+" Chunks="+chunks+" Chunk Size="+chunkSize
+                +" In Flight="+readsInFlight+" Processing Time="+processingTime+" ms";
+    }
+}
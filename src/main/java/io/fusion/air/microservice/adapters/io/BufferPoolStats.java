@@ -0,0 +1,223 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+// Java
+import java.util.List;
+
+/**
+ * Direct Buffer Pool Statistics
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class BufferPoolStats {
+
+    private final List<Integer> sizeClasses;
+    private final long maxPooledBytes;
+    private final int threadCacheSize;
+    private final boolean leakDetection;
+    private final long pooledBytes;
+    private final int pooledBuffers;
+    private final long threadCachedBytes;
+    private final int threadCaches;
+    private final long inUseBytes;
+    private final long inUseBuffers;
+    private final long allocations;
+    private final long allocatedBytes;
+    private final long unpooledAllocations;
+    private final long threadCacheHits;
+    private final long freeListHits;
+    private final long discarded;
+    private final long leaks;
+
+    public BufferPoolStats(List<Integer> _sizeClasses, long _maxPooledBytes, int _threadCacheSize,
+                           boolean _leakDetection, long _pooledBytes, int _pooledBuffers,
+                           long _threadCachedBytes, int _threadCaches, long _inUseBytes, long _inUseBuffers,
+                           long _allocations, long _allocatedBytes, long _unpooledAllocations,
+                           long _threadCacheHits, long _freeListHits, long _discarded, long _leaks) {
+        sizeClasses = _sizeClasses;
+        maxPooledBytes = _maxPooledBytes;
+        threadCacheSize = _threadCacheSize;
+        leakDetection = _leakDetection;
+        pooledBytes = _pooledBytes;
+        pooledBuffers = _pooledBuffers;
+        threadCachedBytes = _threadCachedBytes;
+        threadCaches = _threadCaches;
+        inUseBytes = _inUseBytes;
+        inUseBuffers = _inUseBuffers;
+        allocations = _allocations;
+        allocatedBytes = _allocatedBytes;
+        unpooledAllocations = _unpooledAllocations;
+        threadCacheHits = _threadCacheHits;
+        freeListHits = _freeListHits;
+        discarded = _discarded;
+        leaks = _leaks;
+    }
+
+    /**
+     * Get the Buffer Size Classes
+     * @return
+     */
+    public List<Integer> getSizeClasses() {
+        return sizeClasses;
+    }
+
+    /**
+     * Get the Max Bytes in the Global Free Lists
+     * @return
+     */
+    public long getMaxPooledBytes() {
+        return maxPooledBytes;
+    }
+
+    /**
+     * Get the No. of Buffers per Size Class cached by a Thread
+     * @return
+     */
+    public int getThreadCacheSize() {
+        return threadCacheSize;
+    }
+
+    /**
+     * Returns True if the Leak Detection is enabled
+     * @return
+     */
+    public boolean isLeakDetection() {
+        return leakDetection;
+    }
+
+    /**
+     * Get the Bytes in the Global Free Lists
+     * @return
+     */
+    public long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    /**
+     * Get the No. of Buffers in the Global Free Lists
+     * @return
+     */
+    public int getPooledBuffers() {
+        return pooledBuffers;
+    }
+
+    /**
+     * Get the Bytes cached by the Threads
+     * @return
+     */
+    public long getThreadCachedBytes() {
+        return threadCachedBytes;
+    }
+
+    /**
+     * Get the No. of Threads with a Cache
+     * @return
+     */
+    public int getThreadCaches() {
+        return threadCaches;
+    }
+
+    /**
+     * Get the Bytes acquired and NOT released
+     * @return
+     */
+    public long getInUseBytes() {
+        return inUseBytes;
+    }
+
+    /**
+     * Get the No. of Buffers acquired and NOT released
+     * @return
+     */
+    public long getInUseBuffers() {
+        return inUseBuffers;
+    }
+
+    /**
+     * Get the No. of Direct Buffers allocated for the Pool
+     * @return
+     */
+    public long getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * Get the Bytes allocated for the Pool
+     * @return
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Get the No. of Buffers allocated outside the Pool (Larger than the Max Size)
+     * @return
+     */
+    public long getUnpooledAllocations() {
+        return unpooledAllocations;
+    }
+
+    /**
+     * Get the No. of Buffers taken from the Thread Caches
+     * @return
+     */
+    public long getThreadCacheHits() {
+        return threadCacheHits;
+    }
+
+    /**
+     * Get the No. of Buffers taken from the Global Free Lists
+     * @return
+     */
+    public long getFreeListHits() {
+        return freeListHits;
+    }
+
+    /**
+     * Get the No. of Released Buffers dropped as the Free List was full
+     * @return
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Get the No. of Buffers garbage collected without being released
+     * @return
+     */
+    public long getLeaks() {
+        return leaks;
+    }
+
+    /**
+     * Get the % of Pooled Requests served without an Allocation
+     * @return
+     */
+    public double getHitRatio() {
+        long hits = threadCacheHits + freeListHits;
+        long requests = hits + allocations;
+        return (requests == 0) ? 0 : Math.round(hits * 10000.0 / requests) / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return "Pooled="+pooledBytes+" bytes, Thread Cached="+threadCachedBytes+" bytes, In Use="+inUseBytes
+                +" bytes, Allocations="+allocations+", Hit Ratio="+getHitRatio()+"%, Leaks="+leaks;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+// Java
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Consumer of the Chunks read by the Async File Reader.
+ * The Chunks are delivered in File Order, one at a time. The Chunk (position = 0, limit = bytes read)
+ * is valid until the returned Stage completes, then its Buffer is reused for the next Read. The
+ * Reader doesn't run ahead of the Consumer by more than the Reads in Flight (Back Pressure).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@FunctionalInterface
+public interface ChunkConsumer {
+
+    public static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    /**
+     * Consume the Chunk
+     * @param chunk
+     * @param position Position of the Chunk in the File
+     * @return Stage which completes when the Chunk is consumed
+     */
+    public CompletionStage<?> accept(ByteBuffer chunk, long position);
+
+    /**
+     * Returns a Consumer which consumes the Chunk in the Reader Thread
+     * @param consumer
+     * @return
+     */
+    public static ChunkConsumer of(ObjLongConsumer<ByteBuffer> consumer) {
+        return (chunk, position) -> {
+            consumer.accept(chunk, position);
+            return DONE;
+        };
+    }
+}
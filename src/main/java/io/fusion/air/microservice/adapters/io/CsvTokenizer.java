@@ -0,0 +1,354 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// Java
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * CSV Tokenizer (RFC 4180) reading from a Channel.
+ *
+ * The Bytes are read into one Buffer which is reused for every Record. A Field is only a Range
+ * [start, end) in the Buffer, no String is created unless the Field is asked as a String, and the
+ * Numbers are parsed straight from the Bytes. Quoted Fields can have Delimiters, Line Feeds and
+ * escaped Quotes (""), the escaped Quotes are removed in place in the Buffer.
+ *
+ * Records end with LF or CRLF. Empty Lines are skipped. The Buffer grows (up to MAX_RECORD_SIZE)
+ * for a Record longer than the Buffer.
+ *
+ * The Fields are valid only till the next call to nextRecord(). NOT Thread Safe.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class CsvTokenizer {
+
+    public static final byte COMMA = ',';
+    public static final byte QUOTE = '"';
+    public static final int MIN_BUFFER_SIZE = 1024;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final ReadableByteChannel channel;
+    private final byte delimiter;
+
+    private byte[] data;
+    private ByteBuffer buffer;
+    // Unread Bytes are data[start, end)
+    private int start;
+    private int end;
+    private boolean eof;
+
+    private int[] fieldStart = new int[32];
+    private int[] fieldEnd = new int[32];
+    private int fields;
+
+    private long records;
+    private long bytesRead;
+
+    /**
+     * Create the Tokenizer (Comma Delimiter, Default Buffer Size)
+     * @param _channel
+     */
+    public CsvTokenizer(ReadableByteChannel _channel) {
+        this(_channel, COMMA, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create the Tokenizer
+     * @param _channel
+     * @param _delimiter
+     * @param _bufferSize Initial Buffer Size (Min 1 KB)
+     */
+    public CsvTokenizer(ReadableByteChannel _channel, byte _delimiter, int _bufferSize) {
+        if(_channel == null) {
+            throw new InvalidInputException("Channel is required");
+        }
+        if(_delimiter == QUOTE || _delimiter == LF || _delimiter == CR) {
+            throw new InvalidInputException("Invalid Delimiter "+(char) _delimiter);
+        }
+        channel = _channel;
+        delimiter = _delimiter;
+        data = new byte[Math.max(MIN_BUFFER_SIZE, Math.min(_bufferSize, MAX_RECORD_SIZE))];
+        buffer = ByteBuffer.wrap(data);
+    }
+
+    /**
+     * Move to the next Record
+     * @return false at the End of the Channel
+     * @throws IOException
+     */
+    public boolean nextRecord() throws IOException {
+        while(true) {
+            // Find the Record End, reading more Bytes if the Record is NOT complete
+            int scan = start;
+            boolean quoted = false;
+            int recordEnd = -1;
+            while(recordEnd < 0) {
+                for(; scan < end; scan++) {
+                    byte b = data[scan];
+                    if(b == QUOTE) {
+                        // An escaped Quote ("") toggles twice
+                        quoted = !quoted;
+                    } else if(b == LF && !quoted) {
+                        recordEnd = scan;
+                        break;
+                    }
+                }
+                if(recordEnd < 0) {
+                    if(eof) {
+                        if(start == end) {
+                            fields = 0;
+                            return false;
+                        }
+                        // Last Record without a Line Feed
+                        recordEnd = end;
+                    } else {
+                        scan -= start;
+                        fill();
+                        scan += start;
+                    }
+                }
+            }
+            int next = (recordEnd < end) ? recordEnd + 1 : end;
+            if(recordEnd > start && data[recordEnd - 1] == CR) {
+                recordEnd--;
+            }
+            int recordStart = start;
+            start = next;
+            if(recordEnd > recordStart) {
+                split(recordStart, recordEnd);
+                records++;
+                return true;
+            }
+            // Empty Line
+        }
+    }
+
+    /**
+     * Split the Record data[from, to) into Fields
+     * @param from
+     * @param to
+     */
+    private void split(int from, int to) {
+        fields = 0;
+        int i = from;
+        while(true) {
+            if(fields == fieldStart.length) {
+                fieldStart = Arrays.copyOf(fieldStart, fields * 2);
+                fieldEnd = Arrays.copyOf(fieldEnd, fields * 2);
+            }
+            if(i < to && data[i] == QUOTE) {
+                // Quoted Field - Bytes are moved left over the Quotes (w = Write Position)
+                int w = i;
+                fieldStart[fields] = w;
+                i++;
+                while(i < to) {
+                    byte b = data[i];
+                    if(b == QUOTE) {
+                        if(i + 1 < to && data[i + 1] == QUOTE) {
+                            data[w++] = QUOTE;
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    data[w++] = b;
+                    i++;
+                }
+                fieldEnd[fields] = w;
+                // Bytes after the Closing Quote are ignored
+                while(i < to && data[i] != delimiter) {
+                    i++;
+                }
+            } else {
+                fieldStart[fields] = i;
+                while(i < to && data[i] != delimiter) {
+                    i++;
+                }
+                fieldEnd[fields] = i;
+            }
+            fields++;
+            if(i >= to) {
+                return;
+            }
+            // Skip the Delimiter (a Delimiter at the End gives an Empty last Field)
+            i++;
+        }
+    }
+
+    /**
+     * Read more Bytes. Moves the unread Bytes to the Front (or grows the Buffer if it is full).
+     * @throws IOException
+     */
+    private void fill() throws IOException {
+        if(start > 0) {
+            System.arraycopy(data, start, data, 0, end - start);
+            end -= start;
+            start = 0;
+        } else if(end == data.length) {
+            if(data.length >= MAX_RECORD_SIZE) {
+                throw new InvalidInputException("CSV Record "+(records + 1)+" is longer than "+MAX_RECORD_SIZE+" Bytes");
+            }
+            data = Arrays.copyOf(data, Math.min(data.length * 2, MAX_RECORD_SIZE));
+            buffer = ByteBuffer.wrap(data);
+        }
+        buffer.limit(data.length).position(end);
+        int count = channel.read(buffer);
+        if(count < 0) {
+            eof = true;
+        } else {
+            end += count;
+            bytesRead += count;
+        }
+    }
+
+    /**
+     * Returns the No. of Fields in the Record
+     * @return
+     */
+    public int fieldCount() {
+        return fields;
+    }
+
+    /**
+     * Returns the Length of the Field in Bytes
+     * @param index
+     * @return
+     */
+    public int fieldLength(int index) {
+        checkIndex(index);
+        return fieldEnd[index] - fieldStart[index];
+    }
+
+    /**
+     * Returns True if the Field is Empty
+     * @param index
+     * @return
+     */
+    public boolean isEmpty(int index) {
+        return fieldLength(index) == 0;
+    }
+
+    /**
+     * Returns the Field as a String (UTF-8)
+     * @param index
+     * @return
+     */
+    public String fieldAsString(int index) {
+        checkIndex(index);
+        return new String(data, fieldStart[index], fieldEnd[index] - fieldStart[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the Field as a String, null if the Field is Empty
+     * @param index
+     * @return
+     */
+    public String fieldAsStringOrNull(int index) {
+        return isEmpty(index) ? null : fieldAsString(index);
+    }
+
+    /**
+     * Returns the Field as an int (Parsed from the Bytes)
+     * @param index
+     * @return
+     * @throws NumberFormatException if the Field is NOT an int
+     */
+    public int fieldAsInt(int index) {
+        long value = fieldAsLong(index);
+        if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Field "+index+" is out of int range: "+value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the Field as a long (Parsed from the Bytes)
+     * @param index
+     * @return
+     * @throws NumberFormatException if the Field is NOT a long
+     */
+    public long fieldAsLong(int index) {
+        checkIndex(index);
+        int i = fieldStart[index];
+        int to = fieldEnd[index];
+        boolean negative = false;
+        if(i < to && (data[i] == '-' || data[i] == '+')) {
+            negative = data[i] == '-';
+            i++;
+        }
+        if(i == to || to - i > 18) {
+            // Empty or may overflow (19 Digits) - let Long parse it
+            return Long.parseLong(fieldAsString(index));
+        }
+        long value = 0;
+        for(; i < to; i++) {
+            int digit = data[i] - '0';
+            if(digit < 0 || digit > 9) {
+                throw new NumberFormatException("Field "+index+" is NOT a Number: "+fieldAsString(index));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the Field as a double
+     * @param index
+     * @return
+     * @throws NumberFormatException if the Field is NOT a double
+     */
+    public double fieldAsDouble(int index) {
+        return Double.parseDouble(fieldAsString(index));
+    }
+
+    /**
+     * Returns the No. of Records read so far (Empty Lines NOT counted)
+     * @return
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns the No. of Bytes read from the Channel so far
+     * @return
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Check the Field Index
+     * @param index
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= fields) {
+            throw new IndexOutOfBoundsException("Field "+index+" NOT in the Record (Fields="+fields+")");
+        }
+    }
+}
@@ -0,0 +1,524 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Custom
+import io.fusion.air.microservice.server.config.BufferPoolConfig;
+// Micrometer
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+// Java
+import javax.annotation.PreDestroy;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Size Classed Pool of Direct Buffers for the File I/O Paths
+ *
+ * Sizes are rounded up to a Power of 2 Size Class (Min Size ... Max Size). A Buffer is taken from
+ * 1. The Thread Cache (a few Buffers per Size Class, No Locks),
+ * 2. The Global Free List of the Size Class (Bounded by the Max Pooled Bytes),
+ * 3. A new Direct Buffer.
+ * Released Buffers go back to the Thread Cache, then to the Global Free List. The Max Pooled Bytes
+ * bounds the Free Lists and the Thread Caches together: when the Budget is used up the Buffer is
+ * discarded and freed by the GC. Sizes above the Max Size are allocated and NOT pooled. Buffers
+ * cached by Threads which ended are moved to the Global Free List.
+ *
+ * Usage (a Buffer has a Single Owner):
+ * try (PooledBuffer pooled = bufferPool.acquire(size)) {
+ *     ByteBuffer buffer = pooled.buffer();
+ *     ...
+ * }
+ *
+ * Leak Detection (io.buffer.pool.leak.detection=true) records where every Buffer was acquired and
+ * logs the Buffers which were garbage collected without being released. It's meant for Debugging.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Component
+public class DirectBufferPool {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final int DEFAULT_MIN_BUFFER_SIZE = 4 * 1024;
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 1024 * 1024;
+    public static final long DEFAULT_MAX_POOLED_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_THREAD_CACHE_SIZE = 2;
+
+    private static final int MAX_SIZE_CLASS = 1 << 30;
+    private static final int MAX_FREE_LIST_SIZE = 64 * 1024;
+
+    private final int minShift;
+    private final int[] sizeClasses;
+    private final long maxPooledBytes;
+    private final int threadCacheSize;
+    private final boolean leakDetection;
+
+    // Global Free Lists (per Size Class)
+    private final ArrayBlockingQueue<ByteBuffer>[] freeLists;
+    private final AtomicLong pooledBytes = new AtomicLong();
+    // Bytes held by the Free Lists and the Thread Caches (Bounded by the Max Pooled Bytes)
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    // Thread Caches
+    private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::createThreadCache);
+    private final List<ThreadCache> threadCaches = new CopyOnWriteArrayList<>();
+
+    // Metrics
+    private final LongAdder inUseBytes = new LongAdder();
+    private final LongAdder inUseBuffers = new LongAdder();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder unpooledAllocations = new LongAdder();
+    private final LongAdder threadCacheHits = new LongAdder();
+    private final LongAdder freeListHits = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    // Leak Detection
+    private final Set<LeakTracker> trackers = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<PooledBuffer> leakQueue = new ReferenceQueue<>();
+
+    /**
+     * Create the Pool with the Default Configuration
+     */
+    public DirectBufferPool() {
+        this(DEFAULT_MIN_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_POOLED_BYTES,
+                DEFAULT_THREAD_CACHE_SIZE, false);
+    }
+
+    /**
+     * Create the Pool from the Configuration and register the Metrics
+     * @param _config
+     * @param _registry
+     */
+    @Autowired
+    public DirectBufferPool(BufferPoolConfig _config, MeterRegistry _registry) {
+        this(_config.getMinBufferSize(), _config.getMaxBufferSize(), _config.getMaxPooledBytes(),
+                _config.getThreadCacheSize(), _config.isLeakDetection());
+        registerMetrics(_registry);
+        log.info("Direct Buffer Pool: Size Classes {} - {} bytes, Max Pooled = {} bytes, Thread Cache = {}, Leak Detection = {}",
+                sizeClasses[0], sizeClasses[sizeClasses.length - 1], maxPooledBytes, threadCacheSize, leakDetection);
+    }
+
+    /**
+     * Create the Pool
+     * @param _minBufferSize Smallest Size Class
+     * @param _maxBufferSize Largest Size Class
+     * @param _maxPooledBytes Max Bytes in the Global Free Lists and the Thread Caches
+     * @param _threadCacheSize Buffers per Size Class cached by a Thread
+     * @param _leakDetection Track the Buffers which are NOT released
+     */
+    @SuppressWarnings("unchecked")
+    public DirectBufferPool(int _minBufferSize, int _maxBufferSize, long _maxPooledBytes,
+                            int _threadCacheSize, boolean _leakDetection) {
+        if(_minBufferSize < 1 || _maxBufferSize < _minBufferSize || _maxBufferSize > MAX_SIZE_CLASS
+                || _maxPooledBytes < 0 || _threadCacheSize < 0) {
+            throw new IllegalArgumentException("Invalid Buffer Pool Configuration: Min Size = "+_minBufferSize
+                    +", Max Size = "+_maxBufferSize+", Max Pooled = "+_maxPooledBytes
+                    +", Thread Cache = "+_threadCacheSize);
+        }
+        int minSize = roundUp(_minBufferSize);
+        int maxSize = roundUp(_maxBufferSize);
+        minShift = Integer.numberOfTrailingZeros(minSize);
+        int classes = Integer.numberOfTrailingZeros(maxSize) - minShift + 1;
+        sizeClasses = new int[classes];
+        freeLists = new ArrayBlockingQueue[classes];
+        for(int i = 0; i < classes; i++) {
+            sizeClasses[i] = minSize << i;
+            long slots = Math.min(_maxPooledBytes / sizeClasses[i], MAX_FREE_LIST_SIZE);
+            freeLists[i] = new ArrayBlockingQueue<>((int) Math.max(1, slots));
+        }
+        maxPooledBytes = _maxPooledBytes;
+        threadCacheSize = _threadCacheSize;
+        leakDetection = _leakDetection;
+    }
+
+    /**
+     * Acquire a Direct Buffer (Position = 0, Limit = Size, Big Endian).
+     * The Capacity is the Size Class (Power of 2) of the Size.
+     *
+     * @param size
+     * @return
+     */
+    public PooledBuffer acquire(int size) {
+        if(size < 1) {
+            throw new IllegalArgumentException("Invalid Buffer Size "+size);
+        }
+        if(leakDetection) {
+            reportLeaks();
+        }
+        ByteBuffer buffer = null;
+        int sizeClass = -1;
+        if(size > getMaxBufferSize()) {
+            // Too Large to be Pooled
+            buffer = ByteBuffer.allocateDirect(size);
+            unpooledAllocations.increment();
+        } else {
+            sizeClass = sizeClass(size);
+            if(threadCacheSize > 0) {
+                buffer = threadCache.get().pop(sizeClass);
+            }
+            if(buffer != null) {
+                retainedBytes.addAndGet(-buffer.capacity());
+                threadCacheHits.increment();
+            } else if((buffer = freeLists[sizeClass].poll()) != null) {
+                pooledBytes.addAndGet(-buffer.capacity());
+                retainedBytes.addAndGet(-buffer.capacity());
+                freeListHits.increment();
+            } else {
+                reclaimThreadCaches();
+                buffer = ByteBuffer.allocateDirect(sizeClasses[sizeClass]);
+                allocations.increment();
+                allocatedBytes.add(buffer.capacity());
+            }
+        }
+        buffer.clear();
+        buffer.limit(size);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        inUseBytes.add(buffer.capacity());
+        inUseBuffers.increment();
+        PooledBuffer pooled = new PooledBuffer(this, buffer, sizeClass);
+        if(leakDetection) {
+            LeakTracker tracker = new LeakTracker(pooled, leakQueue, buffer.capacity());
+            trackers.add(tracker);
+            pooled.setTracker(tracker);
+        }
+        return pooled;
+    }
+
+    /**
+     * Release the Buffer (Called by PooledBuffer.close())
+     * @param pooled
+     * @param buffer
+     * @param sizeClass
+     */
+    void release(PooledBuffer pooled, ByteBuffer buffer, int sizeClass) {
+        if(pooled.getTracker() != null) {
+            trackers.remove(pooled.getTracker());
+            pooled.getTracker().clear();
+        }
+        int capacity = buffer.capacity();
+        inUseBytes.add(-capacity);
+        inUseBuffers.decrement();
+        if(sizeClass < 0) {
+            // NOT Pooled - Freed by the GC
+            return;
+        }
+        if(threadCacheSize > 0) {
+            ThreadCache cache = threadCache.get();
+            if(!cache.isFull(sizeClass)) {
+                if(!reserve(capacity)) {
+                    discarded.increment();
+                    return;
+                }
+                cache.push(sizeClass, buffer);
+                return;
+            }
+        }
+        offer(buffer, sizeClass);
+    }
+
+    /**
+     * Returns the Largest Pooled Buffer Size
+     * @return
+     */
+    public int getMaxBufferSize() {
+        return sizeClasses[sizeClasses.length - 1];
+    }
+
+    /**
+     * Returns the Smallest Buffer Size
+     * @return
+     */
+    public int getMinBufferSize() {
+        return sizeClasses[0];
+    }
+
+    /**
+     * Returns the Bytes in the Global Free Lists
+     * @return
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    /**
+     * Returns the Bytes cached by the (Live) Threads
+     * @return
+     */
+    public long getThreadCachedBytes() {
+        reclaimThreadCaches();
+        long bytes = 0;
+        for(ThreadCache cache : threadCaches) {
+            bytes += cache.bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the Bytes acquired and NOT released
+     * @return
+     */
+    public long getInUseBytes() {
+        if(leakDetection) {
+            reportLeaks();
+        }
+        return inUseBytes.sum();
+    }
+
+    /**
+     * Returns the Pool Statistics
+     * @return
+     */
+    public BufferPoolStats getStats() {
+        long inUse = getInUseBytes();
+        long threadCached = getThreadCachedBytes();
+        int pooledBuffers = 0;
+        List<Integer> classes = new ArrayList<>(sizeClasses.length);
+        for(int i = 0; i < sizeClasses.length; i++) {
+            pooledBuffers += freeLists[i].size();
+            classes.add(sizeClasses[i]);
+        }
+        return new BufferPoolStats(classes, maxPooledBytes, threadCacheSize, leakDetection,
+                pooledBytes.get(), pooledBuffers, threadCached, threadCaches.size(),
+                inUse, inUseBuffers.sum(), allocations.sum(), allocatedBytes.sum(), unpooledAllocations.sum(),
+                threadCacheHits.sum(), freeListHits.sum(), discarded.sum(), leaks.sum());
+    }
+
+    /**
+     * Drop the Pooled Buffers (Freed by the GC)
+     */
+    @PreDestroy
+    public void clear() {
+        for(ArrayBlockingQueue<ByteBuffer> freeList : freeLists) {
+            ByteBuffer buffer;
+            while((buffer = freeList.poll()) != null) {
+                pooledBytes.addAndGet(-buffer.capacity());
+                retainedBytes.addAndGet(-buffer.capacity());
+            }
+        }
+    }
+
+    /**
+     * Put the Buffer in the Global Free List if the Max Pooled Bytes allows it
+     * @param buffer
+     * @param sizeClass
+     */
+    private void offer(ByteBuffer buffer, int sizeClass) {
+        int capacity = buffer.capacity();
+        if(!reserve(capacity)) {
+            discarded.increment();
+            return;
+        }
+        pooledBytes.addAndGet(capacity);
+        if(!freeLists[sizeClass].offer(buffer)) {
+            pooledBytes.addAndGet(-capacity);
+            retainedBytes.addAndGet(-capacity);
+            discarded.increment();
+        }
+    }
+
+    /**
+     * Reserve the Bytes from the Max Pooled Bytes (Free Lists and Thread Caches)
+     * @param capacity
+     * @return False if the Pool is full
+     */
+    private boolean reserve(int capacity) {
+        long retained;
+        do {
+            retained = retainedBytes.get();
+            if(retained + capacity > maxPooledBytes) {
+                return false;
+            }
+        } while(!retainedBytes.compareAndSet(retained, retained + capacity));
+        return true;
+    }
+
+    /**
+     * Returns the Size Class Index of the Size
+     * @param size
+     * @return
+     */
+    private int sizeClass(int size) {
+        if(size <= sizeClasses[0]) {
+            return 0;
+        }
+        return (32 - Integer.numberOfLeadingZeros(size - 1)) - minShift;
+    }
+
+    /**
+     * Round up to a Power of 2
+     * @param size
+     * @return
+     */
+    private static int roundUp(int size) {
+        return (size <= 1) ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * Create the Cache for the Current Thread
+     * @return
+     */
+    private ThreadCache createThreadCache() {
+        ThreadCache cache = new ThreadCache(Thread.currentThread(), sizeClasses.length, threadCacheSize);
+        threadCaches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Move the Buffers cached by the Threads which ended to the Global Free Lists
+     */
+    private void reclaimThreadCaches() {
+        for(ThreadCache cache : threadCaches) {
+            Thread owner = cache.owner.get();
+            if(owner != null && owner.isAlive()) {
+                continue;
+            }
+            // The Thread ended - Nobody else touches its Cache
+            if(threadCaches.remove(cache)) {
+                for(int i = 0; i < sizeClasses.length; i++) {
+                    ByteBuffer buffer;
+                    while((buffer = cache.pop(i)) != null) {
+                        retainedBytes.addAndGet(-buffer.capacity());
+                        offer(buffer, i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Log the Buffers which were Garbage Collected without being released
+     */
+    private void reportLeaks() {
+        Reference<? extends PooledBuffer> reference;
+        while((reference = leakQueue.poll()) != null) {
+            LeakTracker tracker = (LeakTracker) reference;
+            if(trackers.remove(tracker)) {
+                leaks.increment();
+                inUseBytes.add(-tracker.capacity);
+                inUseBuffers.decrement();
+                log.error("LEAK: Direct Buffer of {} bytes was garbage collected without being released. Acquired at:",
+                        tracker.capacity, tracker.acquiredAt);
+            }
+        }
+    }
+
+    /**
+     * Register the Pool Metrics
+     * @param _registry
+     */
+    private void registerMetrics(MeterRegistry _registry) {
+        Gauge.builder("io.buffer.pool.pooled.bytes", this, DirectBufferPool::getPooledBytes)
+                .description("Bytes in the Global Free Lists").baseUnit("bytes").register(_registry);
+        Gauge.builder("io.buffer.pool.thread.cached.bytes", this, DirectBufferPool::getThreadCachedBytes)
+                .description("Bytes cached by the Threads").baseUnit("bytes").register(_registry);
+        Gauge.builder("io.buffer.pool.used.bytes", this, DirectBufferPool::getInUseBytes)
+                .description("Bytes acquired and NOT released").baseUnit("bytes").register(_registry);
+        Gauge.builder("io.buffer.pool.used.buffers", inUseBuffers, LongAdder::sum)
+                .description("Buffers acquired and NOT released").register(_registry);
+        FunctionCounter.builder("io.buffer.pool.allocated.bytes", allocatedBytes, LongAdder::sum)
+                .description("Bytes allocated for the Pooled Buffers").baseUnit("bytes").register(_registry);
+        FunctionCounter.builder("io.buffer.pool.allocations", allocations, LongAdder::sum)
+                .tag("pooled", "true").register(_registry);
+        FunctionCounter.builder("io.buffer.pool.allocations", unpooledAllocations, LongAdder::sum)
+                .tag("pooled", "false").register(_registry);
+        FunctionCounter.builder("io.buffer.pool.hits", threadCacheHits, LongAdder::sum)
+                .tag("cache", "thread").register(_registry);
+        FunctionCounter.builder("io.buffer.pool.hits", freeListHits, LongAdder::sum)
+                .tag("cache", "global").register(_registry);
+        FunctionCounter.builder("io.buffer.pool.discarded", discarded, LongAdder::sum)
+                .description("Released Buffers dropped as the Free List was full").register(_registry);
+        FunctionCounter.builder("io.buffer.pool.leaks", leaks, LongAdder::sum)
+                .description("Buffers garbage collected without being released").register(_registry);
+    }
+
+    /**
+     * Buffers cached by a Thread (Accessed only by the Owner Thread while it's alive)
+     */
+    private static final class ThreadCache {
+        private final WeakReference<Thread> owner;
+        private final ByteBuffer[][] buffers;
+        private final int[] counts;
+        // Written only by the Owner
+        private volatile long bytes;
+
+        private ThreadCache(Thread _owner, int _sizeClasses, int _size) {
+            owner = new WeakReference<>(_owner);
+            buffers = new ByteBuffer[_sizeClasses][_size];
+            counts = new int[_sizeClasses];
+        }
+
+        private ByteBuffer pop(int _sizeClass) {
+            int count = counts[_sizeClass];
+            if(count == 0) {
+                return null;
+            }
+            ByteBuffer buffer = buffers[_sizeClass][--count];
+            buffers[_sizeClass][count] = null;
+            counts[_sizeClass] = count;
+            bytes -= buffer.capacity();
+            return buffer;
+        }
+
+        private boolean isFull(int _sizeClass) {
+            return counts[_sizeClass] == buffers[_sizeClass].length;
+        }
+
+        private void push(int _sizeClass, ByteBuffer _buffer) {
+            int count = counts[_sizeClass];
+            buffers[_sizeClass][count] = _buffer;
+            counts[_sizeClass] = count + 1;
+            bytes += _buffer.capacity();
+        }
+    }
+
+    /**
+     * Tracks an Acquired Buffer (Leak Detection)
+     */
+    static final class LeakTracker extends PhantomReference<PooledBuffer> {
+        private final int capacity;
+        private final Throwable acquiredAt;
+
+        private LeakTracker(PooledBuffer _pooled, ReferenceQueue<PooledBuffer> _queue, int _capacity) {
+            super(_pooled, _queue);
+            capacity = _capacity;
+            acquiredAt = new Throwable("Buffer Acquired by "+Thread.currentThread().getName());
+        }
+    }
+}
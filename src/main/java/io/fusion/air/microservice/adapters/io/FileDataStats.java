@@ -29,6 +29,7 @@ public class FileDataStats {
     private int bufferSize;
     private long processingTime;
     private long totalFileSize;
+    private long allocatedBytes = -1;
 
     public FileDataStats(String _fileName, int _counters, int _bufferSize, long _processingTime, long _totalFileSize) {
         fileName = _fileName;
@@ -38,6 +39,12 @@ public class FileDataStats {
         totalFileSize = _totalFileSize;
     }
 
+    public FileDataStats(String _fileName, int _counters, int _bufferSize, long _processingTime, long _totalFileSize,
+                         long _allocatedBytes) {
+        this(_fileName, _counters, _bufferSize, _processingTime, _totalFileSize);
+        allocatedBytes = _allocatedBytes;
+    }
+
     /**
      * Get File Name
      * @return
@@ -78,8 +85,24 @@ public class FileDataStats {
         return totalFileSize;
     }
 
+    /**
+     * Get the Heap Bytes allocated by the Thread during the Processing (-1 if NOT Supported)
+     * @return
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Get the Heap Bytes allocated per Read
+     * @return
+     */
+    public long getAllocatedBytesPerRead() {
+        return (allocatedBytes < 0 || counters == 0) ? -1 : allocatedBytes / counters;
+    }
+
     @JsonIgnore
     public String toString() {
-        return "File="+fileName+", Counters="+counters+" BufferSize="+bufferSize+"Processing Time="+processingTime+" ms";
+        return "File="+fileName+", Counters="+counters+" BufferSize="+bufferSize+"Processing Time="+processingTime+" ms Allocated="+allocatedBytes+" bytes";
     }
 }
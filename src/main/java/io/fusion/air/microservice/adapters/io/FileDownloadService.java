@@ -0,0 +1,406 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+import io.fusion.air.microservice.domain.exceptions.ResourceNotFoundException;
+// Spring
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+// Java
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.jar.JarEntry;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Zero Copy File Download with HTTP Range Support (RFC 7233)
+ *
+ * Serves the Files under static/ (data, files, images, videos):
+ * 1. Full File or a Single Range - Tomcat Sendfile (FileChannel.transferTo to the Socket, Zero Copy)
+ *    when the Connector supports it.
+ * 2. Otherwise (No Sendfile, Multiple Ranges as multipart/byteranges) FileChannel.transferTo to a
+ *    Channel over the Response Output Stream. This is NOT Zero Copy: the JDK copies the Bytes
+ *    through a Temporary Buffer into the Servlet Output Stream (User Space).
+ *
+ * Validators: ETag (Size + Last Modified) and Last-Modified for Conditional Requests (304)
+ * and If-Range (Resumable Downloads).
+ *
+ * Files inside a Jar can't be opened as a FileChannel, they are extracted once into the
+ * Temp Directory (through a Direct Buffer from the Shared Buffer Pool). The Extracted Copy is
+ * keyed by the CRC-32 and Size of the Jar Entry, so a Redeploy with a changed File never
+ * serves a Stale Copy (or a Stale ETag).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Service
+public class FileDownloadService {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final Set<String> FOLDERS = new HashSet<>(Arrays.asList("data", "files", "images", "videos"));
+
+    // Tomcat Sendfile Request Attributes (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME  = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START     = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END       = "org.apache.tomcat.sendfile.end";
+
+    private static final String CRLF = "\r\n";
+
+    private static final int EXTRACT_BUFFER_SIZE = 64 * 1024;
+
+    private final Path extractDir = Paths.get(System.getProperty("java.io.tmpdir"), "ms-vanilla-static");
+
+    private final DirectBufferPool bufferPool;
+
+    /**
+     * File Download Service
+     * @param _bufferPool
+     */
+    @Autowired
+    public FileDownloadService(DirectBufferPool _bufferPool) {
+        bufferPool = _bufferPool;
+    }
+
+    /**
+     * Download the File (Full, Single Range or Multiple Ranges)
+     * @param folder
+     * @param fileName
+     * @param request
+     * @param response
+     * @throws IOException
+     */
+    public void download(String folder, String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = resolve(folder, fileName);
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        long length = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String etag = "\""+Long.toHexString(length)+"-"+Long.toHexString(lastModified)+"\"";
+        MediaType mediaType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\""+fileName+"\"");
+        // Sets the ETag and Last-Modified, and 304 if the Client has the Latest Version
+        if(new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        List<HttpRange> ranges = parseRanges(request, etag, lastModified, length, response);
+        if(ranges == null) {
+            return;
+        }
+        boolean headOnly = "HEAD".equalsIgnoreCase(request.getMethod());
+        if(ranges.isEmpty()) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(mediaType.toString());
+            sendRange(path, 0, length, headOnly, request, response);
+        } else if(ranges.size() == 1) {
+            long start = ranges.get(0).getRangeStart(length);
+            long end = ranges.get(0).getRangeEnd(length);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(mediaType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, end, length));
+            sendRange(path, start, end + 1, headOnly, request, response);
+        } else {
+            sendMultipleRanges(path, ranges, length, mediaType, headOnly, response);
+        }
+    }
+
+    /**
+     * Parse the Range Header
+     * Returns an Empty List for the Full File and NULL if the Range is NOT Satisfiable (416 is sent).
+     * @param request
+     * @param etag
+     * @param lastModified
+     * @param length
+     * @param response
+     * @return
+     */
+    private List<HttpRange> parseRanges(HttpServletRequest request, String etag, long lastModified,
+                                        long length, HttpServletResponse response) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if(rangeHeader == null) {
+            return new ArrayList<>();
+        }
+        // If-Range: Send the Full File if the File has changed since the Partial Download
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if(ifRange != null) {
+            boolean matches = ifRange.startsWith("\"") || ifRange.startsWith("W/")
+                    ? ifRange.equals(etag)
+                    : ifRangeDateMatches(request, lastModified);
+            if(!matches) {
+                return new ArrayList<>();
+            }
+        }
+        try {
+            // Max 100 Ranges (Spring), throws IllegalArgumentException for the Invalid Ranges
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            long total = 0;
+            for(HttpRange range : ranges) {
+                long start = range.getRangeStart(length);
+                if(start >= length) {
+                    throw new IllegalArgumentException("Range Start beyond the File Length");
+                }
+                total += range.getRangeEnd(length) - start + 1;
+            }
+            // Overlapping Ranges asking for more than the File
+            if(total > length) {
+                throw new IllegalArgumentException("Ranges exceed the File Length");
+            }
+            return ranges;
+        } catch (IllegalArgumentException e) {
+            log.debug("Range NOT Satisfiable: "+rangeHeader+" Length="+length);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */"+length);
+            response.setContentLength(0);
+            return null;
+        }
+    }
+
+    /**
+     * Send the Byte Range [start, end) of the File
+     * @param path
+     * @param start
+     * @param end
+     * @param headOnly
+     * @param request
+     * @param response
+     * @throws IOException
+     */
+    private void sendRange(Path path, long start, long end, boolean headOnly,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(end - start);
+        if(headOnly || end == start) {
+            return;
+        }
+        if(Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat transfers the File to the Socket (FileChannel.transferTo) after the Request
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        // Copied through the Servlet Output Stream (No Sendfile)
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            transfer(channel, start, end, out);
+            response.flushBuffer();
+        }
+    }
+
+    /**
+     * Send the Ranges as multipart/byteranges
+     * @param path
+     * @param ranges
+     * @param length
+     * @param mediaType
+     * @param headOnly
+     * @param response
+     * @throws IOException
+     */
+    private void sendMultipleRanges(Path path, List<HttpRange> ranges, long length, MediaType mediaType,
+                                    boolean headOnly, HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        byte[] closing = (CRLF+"--"+boundary+"--"+CRLF).getBytes(StandardCharsets.US_ASCII);
+        long contentLength = closing.length;
+        for(HttpRange range : ranges) {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            byte[] header = (CRLF+"--"+boundary+CRLF
+                    +HttpHeaders.CONTENT_TYPE+": "+mediaType+CRLF
+                    +HttpHeaders.CONTENT_RANGE+": "+contentRange(start, end, length)+CRLF+CRLF)
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + (end - start + 1);
+        }
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary="+boundary);
+        response.setContentLengthLong(contentLength);
+        if(headOnly) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for(int i = 0; i < ranges.size(); i++) {
+                response.getOutputStream().write(partHeaders.get(i));
+                transfer(channel, ranges.get(i).getRangeStart(length), ranges.get(i).getRangeEnd(length) + 1, out);
+            }
+            response.getOutputStream().write(closing);
+            response.flushBuffer();
+        }
+    }
+
+    /**
+     * Transfer the Bytes [start, end) from the File Channel
+     * @param channel
+     * @param start
+     * @param end
+     * @param out
+     * @throws IOException
+     */
+    private void transfer(FileChannel channel, long start, long end, WritableByteChannel out) throws IOException {
+        long position = start;
+        while(position < end) {
+            long sent = channel.transferTo(position, end - position, out);
+            if(sent <= 0) {
+                throw new IOException("Unable to Transfer the File at Position "+position);
+            }
+            position += sent;
+        }
+    }
+
+    /**
+     * Returns the Content Range Header Value
+     * @param start
+     * @param end
+     * @param length
+     * @return
+     */
+    private String contentRange(long start, long end, long length) {
+        return "bytes "+start+"-"+end+"/"+length;
+    }
+
+    /**
+     * Resolve the File under static/ to a File System Path
+     * @param folder
+     * @param fileName
+     * @return
+     * @throws IOException
+     */
+    private Path resolve(String folder, String fileName) throws IOException {
+        if(folder == null || !FOLDERS.contains(folder)) {
+            throw new InvalidInputException("Invalid Folder "+folder+" (Allowed = "+FOLDERS+")");
+        }
+        if(fileName == null || fileName.isEmpty() || fileName.contains("/") || fileName.contains("\\")
+                || fileName.contains("..")) {
+            throw new InvalidInputException("Invalid File Name "+fileName);
+        }
+        ClassPathResource resource = new ClassPathResource("static/"+folder+"/"+fileName);
+        if(!resource.exists()) {
+            throw new ResourceNotFoundException("File NOT Found: "+folder+"/"+fileName);
+        }
+        if(resource.isFile()) {
+            return resource.getFile().toPath();
+        }
+        // Packaged in the Jar - Extract once per Version of the Entry
+        JarEntry entry = jarEntry(resource);
+        String version = (entry != null)
+                ? Long.toHexString(entry.getCrc())+"-"+Long.toHexString(entry.getSize())
+                : Long.toHexString(resource.lastModified())+"-"+Long.toHexString(resource.contentLength());
+        Path extracted = extractDir.resolve(folder).resolve(version).resolve(fileName);
+        if(!Files.exists(extracted)) {
+            Files.createDirectories(extracted.getParent());
+            Path temp = Files.createTempFile(extracted.getParent(), fileName, ".tmp");
+            try {
+                extract(resource, entry, temp);
+                Files.move(temp, extracted, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // Failed Extraction (or Move) - Don't leave the Partial Copy behind
+                Files.deleteIfExists(temp);
+            }
+        }
+        return extracted;
+    }
+
+    /**
+     * Copy the Resource into the Temp File (through a Direct Buffer from the Shared Buffer Pool)
+     * @param resource
+     * @param entry
+     * @param temp
+     * @throws IOException
+     */
+    private void extract(ClassPathResource resource, JarEntry entry, Path temp) throws IOException {
+        try (ReadableByteChannel in = Channels.newChannel(resource.getInputStream());
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             PooledBuffer pooled = bufferPool.acquire(EXTRACT_BUFFER_SIZE)) {
+            ByteBuffer buffer = pooled.buffer();
+            while(in.read(buffer) != -1) {
+                buffer.flip();
+                while(buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        // Last Modified (and the ETag) of the Entry, NOT the Time of the Extraction
+        long lastModified = (entry != null && entry.getTime() > 0) ? entry.getTime() : resource.lastModified();
+        Files.setLastModifiedTime(temp, FileTime.fromMillis(lastModified));
+    }
+
+    /**
+     * Returns True if the If-Range Date matches the Last Modified Time (Second Precision)
+     * An Invalid HTTP Date is a Mismatch (RFC 7233 Section 3.2), the Full File is sent.
+     * @param request
+     * @param lastModified
+     * @return
+     */
+    private boolean ifRangeDateMatches(HttpServletRequest request, long lastModified) {
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date != -1 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid If-Range Date: "+request.getHeader(HttpHeaders.IF_RANGE));
+            return false;
+        }
+    }
+
+    /**
+     * Returns the Jar Entry of the Resource (NULL if it's NOT in a Jar)
+     * @param resource
+     * @return
+     * @throws IOException
+     */
+    private JarEntry jarEntry(ClassPathResource resource) throws IOException {
+        URLConnection connection = resource.getURL().openConnection();
+        return (connection instanceof JarURLConnection) ? ((JarURLConnection) connection).getJarEntry() : null;
+    }
+}
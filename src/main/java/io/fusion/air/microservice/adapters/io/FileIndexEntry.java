@@ -0,0 +1,96 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * File in the File Tree Index (Path relative to the Index Root, '/' Separated)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class FileIndexEntry {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String path;
+    private final long size;
+    private final long lastModified;
+    private final byte[] hash;
+
+    public FileIndexEntry(String _path, long _size, long _lastModified, byte[] _hash) {
+        path = _path;
+        size = _size;
+        lastModified = _lastModified;
+        hash = _hash;
+    }
+
+    /**
+     * Get the Path relative to the Index Root
+     * @return
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Get the File Size in Bytes
+     * @return
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the Last Modified Time (Epoch Milli Seconds)
+     * @return
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Get the SHA-256 of the Content in Hex (null if Content Hash is disabled)
+     * @return
+     */
+    public String getHash() {
+        if(hash == null) {
+            return null;
+        }
+        char[] hex = new char[hash.length * 2];
+        for(int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Get the SHA-256 of the Content
+     * @return
+     */
+    @JsonIgnore
+    byte[] getHashBytes() {
+        return hash;
+    }
+
+    @JsonIgnore
+    public String toString() {
+        return path+" Size="+size+" Modified="+lastModified;
+    }
+}
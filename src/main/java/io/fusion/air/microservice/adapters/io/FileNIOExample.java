@@ -15,24 +15,23 @@
  */
 package io.fusion.air.microservice.adapters.io;
 
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
 // Spring
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 // Java IO
 import java.io.*;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.MappedByteBuffer;
 import java.nio.channels.*;
-import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Scanner;
+import java.util.LinkedHashMap;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 // SLF4J
 import org.slf4j.Logger;
 import static java.lang.invoke.MethodHandles.lookup;
@@ -50,6 +49,52 @@ public class FileNIOExample  extends AbstractFileProcessing {
 
     private static final Logger log = getLogger(lookup().lookupClass());
 
+    // Reused per Thread - No Allocation per Read
+    private static final ThreadLocal<Utf8Scanner> scanners = ThreadLocal.withInitial(Utf8Scanner::new);
+
+    // Max File Content returned by the Async / Mapped Reads
+    public static final int MAX_SHOW_FILE_SIZE = 1024000;
+    // Window of the Mapped Cursor for the Sparse File
+    public static final int SPARSE_WINDOW_SIZE = 100 * 1024 * 1024;
+
+    private final DirectBufferPool bufferPool;
+    private final AsyncFileReader asyncFileReader;
+
+    /**
+     * Create with a Private Buffer Pool (Outside Spring)
+     */
+    public FileNIOExample() {
+        this(new DirectBufferPool());
+    }
+
+    /**
+     * Create with the Buffer Pool
+     * @param _bufferPool
+     */
+    private FileNIOExample(DirectBufferPool _bufferPool) {
+        this(_bufferPool, new AsyncFileReader(_bufferPool));
+    }
+
+    /**
+     * Create with the Shared Buffer Pool and Async File Reader
+     * @param _bufferPool
+     * @param _asyncFileReader
+     */
+    @Autowired
+    public FileNIOExample(DirectBufferPool _bufferPool, AsyncFileReader _asyncFileReader) {
+        bufferPool = _bufferPool;
+        asyncFileReader = _asyncFileReader;
+    }
+
+    /**
+     * Acquire a Direct Buffer from the Pool (Limit = Buffer Size, capped to the Largest Pooled Size)
+     * @param bufferSize
+     * @return
+     */
+    private PooledBuffer acquireBuffer(int bufferSize) {
+        return bufferPool.acquire(Math.min(bufferSize, bufferPool.getMaxBufferSize()));
+    }
+
     /**
      * Read File
      * @param filePath
@@ -69,11 +114,12 @@ public class FileNIOExample  extends AbstractFileProcessing {
      * allowing efficient reading, especially for large files, and enabling other NIO features such as non-blocking
      * I/O.
      *
-     * ByteBuffer.allocate():
-     * What It Does: Allocates a new byte buffer with the given capacity.
-     * Why It's Critical: By allocating a buffer of a specific size, you can control how much data is read from the
-     * file at once. It helps in optimizing memory usage and read efficiency, especially with large files. The buffer
-     * acts as an intermediate storage area for the bytes read from the file.
+     * bufferPool.acquire():
+     * What It Does: Takes a Direct Buffer (outside the JVM Heap) from the Shared Buffer Pool, it goes back to
+     * the Pool when the try block ends.
+     * Why It's Critical: By using a buffer of a specific size, you can control how much data is read from the
+     * file at once. A Direct Buffer is filled by the OS without an extra copy, and the Pool avoids a new
+     * allocation for every file.
      *
      * buffer.flip():
      * What It Does: Switches the buffer from writing mode to reading mode. The limit is set to the current position,
@@ -82,12 +128,11 @@ public class FileNIOExample  extends AbstractFileProcessing {
      * the data from the buffer. Calling flip() makes this switch, allowing the buffer content to be read sequentially
      * from the beginning.
      *
-     * StandardCharsets.UTF_8.decode(buffer):
-     * What It Does: Decodes the buffer's content from UTF-8 encoding to a CharBuffer. The content between the
-     * buffer's position and limit is treated as encoded characters.
-     * Why It's Critical: Files contain bytes, but in order to work with text, those bytes need to be interpreted
-     * as characters. This method performs that conversion using the UTF-8 character encoding, making sure that the
-     * content is correctly interpreted.
+     * Utf8Scanner.scan(buffer):
+     * What It Does: Counts the UTF-8 Code Points (and Lines) directly on the bytes between the buffer's position
+     * and limit. A multi byte sequence split across two reads is carried over to the next read.
+     * Why It's Critical: Decoding into a CharBuffer only to get its length allocates a new CharBuffer for every
+     * read and counts a split sequence twice. Scanning the bytes in a reused Direct Buffer allocates nothing.
      *
      * @param filePath
      * @param bufferSize
@@ -97,6 +142,37 @@ public class FileNIOExample  extends AbstractFileProcessing {
         bufferSize = bufferSize < 11 ? AbstractFileProcessing.MIN_BUFFER_SIZE  : bufferSize;
         long fileSize = 0;
 
+        Utf8Scanner scanner = scanners.get().reset();
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+             PooledBuffer pooled = acquireBuffer(bufferSize)) {
+            ByteBuffer buffer = pooled.buffer();
+            int limit = buffer.limit();
+
+            while (fileChannel.read(buffer) != -1) {
+                buffer.flip();
+                scanner.scan(buffer);
+                buffer.clear();
+                buffer.limit(limit);
+            }
+            fileSize = scanner.finish().getCodePoints();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return fileSize;
+    }
+
+    /**
+     * Read File by Decoding every Chunk into a CharBuffer
+     * Baseline for the Allocation Benchmark (a new CharBuffer per Read and a new Buffer per File).
+     *
+     * @param filePath
+     * @param bufferSize
+     * @return
+     */
+    public long readFileWithDecoder(String filePath, int bufferSize) {
+        bufferSize = bufferSize < 11 ? AbstractFileProcessing.MIN_BUFFER_SIZE  : bufferSize;
+        long fileSize = 0;
+
         try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
             ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
 
@@ -111,6 +187,36 @@ public class FileNIOExample  extends AbstractFileProcessing {
         return fileSize;
     }
 
+    /**
+     * Benchmark the Readers (CharsetDecoder vs Utf8Scanner)
+     * Reads the File counter times with each Reader and returns the Processing Time and the
+     * Heap Bytes allocated by each Reader.
+     *
+     * @param filePath
+     * @param counter
+     * @param bufferSize
+     * @return
+     */
+    public LinkedHashMap<String, FileDataStats> benchmarkReaders(String filePath, int counter, int bufferSize) {
+        LinkedHashMap<String, FileDataStats> results = new LinkedHashMap<>();
+        // Warm Up both the Readers
+        readFileWithDecoder(filePath, bufferSize);
+        readFile(filePath, bufferSize);
+
+        long startTime = System.currentTimeMillis();
+        long startAllocated = allocatedBytes();
+        long fileSize = 0;
+        for(int i=0; i<counter; i++) {
+            fileSize += readFileWithDecoder(filePath, bufferSize);
+        }
+        long allocated = (startAllocated < 0) ? -1 : allocatedBytes() - startAllocated;
+        results.put("CharsetDecoder", new FileDataStats(filePath, counter, bufferSize,
+                (System.currentTimeMillis() - startTime), fileSize, allocated));
+
+        results.put("Utf8Scanner", readFileMultipleTimes(filePath, counter, bufferSize));
+        return results;
+    }
+
     /**
      * Read Input Stream
      *
@@ -129,7 +235,8 @@ public class FileNIOExample  extends AbstractFileProcessing {
      * What It Does: Allocates a new byte buffer with the given capacity.
      * Why It's Critical: By allocating a buffer of a specific size, you can control how much data is read from the
      * file at once. It helps in optimizing memory usage and read efficiency, especially with large files. The buffer
-     * acts as an intermediate storage area for the bytes read from the file.
+     * acts as an intermediate storage area for the bytes read from the file. The Direct Buffer is taken from
+     * the Shared Buffer Pool, so it's allocated once and reused by the later reads.
      *
      * buffer.flip():
      * What It Does: Switches the buffer from writing mode to reading mode. The limit is set to the current position,
@@ -138,12 +245,11 @@ public class FileNIOExample  extends AbstractFileProcessing {
      * the data from the buffer. Calling flip() makes this switch, allowing the buffer content to be read sequentially
      * from the beginning.
      *
-     * StandardCharsets.UTF_8.decode(buffer):
-     * What It Does: Decodes the buffer's content from UTF-8 encoding to a CharBuffer. The content between the
-     * buffer's position and limit is treated as encoded characters.
-     * Why It's Critical: Files contain bytes, but in order to work with text, those bytes need to be interpreted
-     * as characters. This method performs that conversion using the UTF-8 character encoding, making sure that the
-     * content is correctly interpreted.
+     * Utf8Scanner.scan(buffer):
+     * What It Does: Counts the UTF-8 Code Points (and Lines) directly on the bytes between the buffer's position
+     * and limit. A multi byte sequence split across two reads is carried over to the next read.
+     * Why It's Critical: Decoding into a CharBuffer only to get its length allocates a new CharBuffer for every
+     * read and counts a split sequence twice. Scanning the bytes in a reused Direct Buffer allocates nothing.
      *
      * @param inputStream
      * @param bufferSize
@@ -153,14 +259,19 @@ public class FileNIOExample  extends AbstractFileProcessing {
         bufferSize = bufferSize < 11 ? AbstractFileProcessing.MIN_BUFFER_SIZE  : bufferSize;
         long fileSize = 0;
 
-        try (ReadableByteChannel channel = Channels.newChannel(inputStream)) {
-            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        Utf8Scanner scanner = scanners.get().reset();
+        try (ReadableByteChannel channel = Channels.newChannel(inputStream);
+             PooledBuffer pooled = acquireBuffer(bufferSize)) {
+            ByteBuffer buffer = pooled.buffer();
+            int limit = buffer.limit();
 
             while (channel.read(buffer) != -1) {
                 buffer.flip();
-                fileSize += StandardCharsets.UTF_8.decode(buffer).length();
+                scanner.scan(buffer);
                 buffer.clear();
+                buffer.limit(limit);
             }
+            fileSize = scanner.finish().getCodePoints();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -203,37 +314,14 @@ public class FileNIOExample  extends AbstractFileProcessing {
     public StringBuilder readFileContent(String fileName, int bufferSize, boolean showFile) {
         long startTime = System.nanoTime();
         StringBuilder sb = new StringBuilder();
-        try (FileChannel fileChannel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
-            MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
-            CharBuffer charBuffer = StandardCharsets.UTF_8.decode(buffer);
+        // Sliding Windows - Files larger than 2 GB can't be mapped at once
+        try (MappedFileCursor cursor = MappedFileCursor.open(Paths.get(fileName))) {
             // Disable File Showing for large files
-            if(fileChannel.size() > 1024000) {
-                showFile = false;
-            }
-            /**
-             try (Scanner scanner = new Scanner(charBuffer)) {
-                 while (scanner.hasNextLine()) {
-                     String line = scanner.nextLine();
-                     if(showFile) {
-                        sb.append(line).append(System.lineSeparator());
-                     }
-                 }
-             }
-             */
-            int start = 0;
-            for (int end = 0; end < charBuffer.length(); end++) {
-                if (charBuffer.charAt(end) == '\n') {
-                    CharSequence line = charBuffer.subSequence(start, end);
-                    start = end + 1;
-                    if (showFile) {
-                        sb.append(line).append(System.lineSeparator());
-                    }
-                }
-            }
-            if (showFile) {
-                // Append remaining characters if any
-                if (start < charBuffer.length()) {
-                    sb.append(charBuffer.subSequence(start, charBuffer.length()));
+            boolean show = showFile && cursor.size() <= MAX_SHOW_FILE_SIZE;
+            // Lines are found on the Mapped Bytes. Only the Lines shown are decoded.
+            while (cursor.nextLine()) {
+                if (show) {
+                    sb.append(cursor.recordAsString()).append(System.lineSeparator());
                 }
             }
         } catch (IOException e) {
@@ -318,48 +406,103 @@ public class FileNIOExample  extends AbstractFileProcessing {
     /**
      * Read Data Asynchronously from File
      *
+     * The whole File is read by the Async File Reader with the Reads pipelined (Default Reads in Flight)
+     * and No Thread waits for them. The Content (up to MAX_SHOW_FILE_SIZE) is returned if showFile is true.
+     *
      * @param fileName
      * @param bufferSize
      * @param showFile
-     * @return
+     * @return Content and Processing Time when the File is read
      */
-    public StringBuilder asyncFileRead(String fileName, int bufferSize, boolean showFile) {
+    public CompletableFuture<StringBuilder> asyncFileRead(String fileName, int bufferSize, boolean showFile) {
         long startTime = System.nanoTime();
-        // This Code is NOT required if Reactive Framework is used
-        CompletableFuture<StringBuilder> future = new CompletableFuture<>();
-
-        final StringBuilder sb = new StringBuilder();
-        try (AsynchronousFileChannel fileChannel = AsynchronousFileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
-            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
-            fileChannel.read(buffer, 0, buffer, new CompletionHandler<Integer, ByteBuffer>() {
-                @Override
-                public void completed(Integer result, ByteBuffer byteBuffer) {
-                    System.out.println("Read completed");
-                    byteBuffer.flip();
-                    byte[] data = new byte[byteBuffer.limit()];
-                    byteBuffer.get(data);
-                    // System.out.println(new String(data));
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        WritableByteChannel contentChannel = Channels.newChannel(content);
+        int chunkSize = Math.max(bufferSize, AsyncFileReader.MIN_CHUNK_SIZE);
+        return asyncFileReader.read(fileName, chunkSize, AsyncFileReader.DEFAULT_READS_IN_FLIGHT,
+                ChunkConsumer.of((chunk, position) -> {
+                    if(showFile && position < MAX_SHOW_FILE_SIZE) {
+                        try {
+                            contentChannel.write(chunk);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }))
+                .thenApply(stats -> {
+                    StringBuilder sb = new StringBuilder();
                     if(showFile) {
-                        sb.append(new String(data));
+                        sb.append(new String(content.toByteArray(), StandardCharsets.UTF_8));
+                        sb.append(System.lineSeparator());
                     }
-                    future.complete(sb); // Completing the future with the result
+                    sb.append(stats);
+                    calculateTime(startTime, sb);
+                    return sb;
+                });
+    }
+
+    /**
+     * Scan a File of any Size (10 GB+) with the Sliding Window Mapped Cursor.
+     * Lines are found on the Mapped Bytes and matched with the Text (UTF-8 Bytes) without decoding.
+     *
+     * @param fileName
+     * @param windowSize
+     * @param text (Optional) Counts the Lines containing the Text
+     * @return
+     * @throws IOException
+     */
+    public LinkedHashMap<String, Object> scanMappedFile(String fileName, int windowSize, String text) throws IOException {
+        if(windowSize < MappedFileCursor.MIN_WINDOW_SIZE || windowSize > MappedFileCursor.MAX_WINDOW_SIZE) {
+            throw new InvalidInputException("Window Size should be between "+MappedFileCursor.MIN_WINDOW_SIZE
+                    +" and "+MappedFileCursor.MAX_WINDOW_SIZE+" bytes");
+        }
+        long startTime = System.currentTimeMillis();
+        byte[] pattern = (text == null) ? null : text.getBytes(StandardCharsets.UTF_8);
+        long lines = 0;
+        long matches = 0;
+        int longestLine = 0;
+        LinkedHashMap<String, Object> result = new LinkedHashMap<>();
+        try (MappedFileCursor cursor = MappedFileCursor.open(Paths.get(fileName), windowSize)) {
+            while (cursor.nextLine()) {
+                lines++;
+                longestLine = Math.max(longestLine, cursor.recordLength());
+                if (pattern != null && contains(cursor.record(), pattern)) {
+                    matches++;
                 }
+            }
+            result.put("FileName", fileName);
+            result.put("FileSize", cursor.size());
+            result.put("WindowSize", cursor.getWindowSize());
+            result.put("WindowsMapped", cursor.getWindowsMapped());
+        }
+        result.put("Lines", lines);
+        result.put("LongestLine", longestLine);
+        if (pattern != null) {
+            result.put("Text", text);
+            result.put("MatchingLines", matches);
+        }
+        result.put("ProcessingTime", System.currentTimeMillis() - startTime);
+        return result;
+    }
 
-                @Override
-                public void failed(Throwable exc, ByteBuffer byteBuffer) {
-                    System.err.println("Read failed: " + exc);
-                    future.completeExceptionally(exc); // Completing the future with an exception
+    /**
+     * Returns True if the Bytes from the Position to the Limit contain the Pattern
+     * @param buffer
+     * @param pattern
+     * @return
+     */
+    private static boolean contains(ByteBuffer buffer, byte[] pattern) {
+        int last = buffer.limit() - pattern.length;
+        outer:
+        for (int i = buffer.position(); i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer.get(i + j) != pattern[j]) {
+                    continue outer;
                 }
-            });
-            // Waiting for the future to complete
-            future.get();
-        } catch (IOException |  ExecutionException | InterruptedException e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        } finally {
-            calculateTime(startTime, sb);
+            }
+            return true;
         }
-        return sb;
+        return false;
     }
 
     /**
@@ -379,28 +522,25 @@ public class FileNIOExample  extends AbstractFileProcessing {
             fileChannel.position(position);                      // Set position 1 GiB into the file
             ByteBuffer buffer = ByteBuffer.wrap("Creating a Sparse File with Holes!".getBytes());
             fileChannel.write(buffer);                           // Write data starting from the 1 GiB position
-
-            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
-            MappedByteBuffer mappedBuffer = null;
-            long mapSize = 100L * 1024L * 1024L;                // Size of each mapped portion (100 MB)
-            for (long i = 0; i < position; i += mapSize) {
-                long size = Math.min(mapSize, position - i);
-                mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, i, size);
-                // Decode the bytes directly in the buffer
-                CharBuffer charBuffer = decoder.decode(mappedBuffer);
-                // Disable File Showing for large files
-                if (fileChannel.size() > 1024000) {
-                    showFile = false;
-                }
-                try (Scanner scanner = new Scanner(charBuffer)) {
-                    while (scanner.hasNextLine()) {
-                        String line = scanner.nextLine();
-                        if (showFile) {
-                            sb.append(line).append(System.lineSeparator());
-                        }
-                    }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        // Walk the File in 100 MB Windows (The Hole is a Single 1 GB Record - mapped at once)
+        try (MappedFileCursor cursor = MappedFileCursor.open(Paths.get(fileName), SPARSE_WINDOW_SIZE)) {
+            // Disable File Showing for large files
+            boolean show = showFile && cursor.size() <= MAX_SHOW_FILE_SIZE;
+            long lines = 0;
+            int longestLine = 0;
+            while (cursor.nextLine()) {
+                lines++;
+                longestLine = Math.max(longestLine, cursor.recordLength());
+                if (show) {
+                    sb.append(cursor.recordAsString()).append(System.lineSeparator());
                 }
             }
+            sb.append("File Size=").append(cursor.size()).append(" Lines=").append(lines)
+                    .append(" Longest Line=").append(longestLine).append(" bytes")
+                    .append(" Windows Mapped=").append(cursor.getWindowsMapped());
         } catch (IOException e) {
             e.printStackTrace();
         } finally {
@@ -0,0 +1,148 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Result of the Parallel File Scan
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class FileScanStats {
+
+    private final String fileName;
+    private final long fileSize;
+    private final int segments;
+    private final int segmentSize;
+    private final int parallelism;
+    private final long bytes;
+    private final long lines;
+    private final long codePoints;
+    private final long lineFunctionResult;
+    private final long processingTime;
+
+    public FileScanStats(String _fileName, long _fileSize, int _segments, int _segmentSize, int _parallelism,
+                         long _bytes, long _lines, long _codePoints, long _lineFunctionResult,
+                         long _processingTime) {
+        fileName = _fileName;
+        fileSize = _fileSize;
+        segments = _segments;
+        segmentSize = _segmentSize;
+        parallelism = _parallelism;
+        bytes = _bytes;
+        lines = _lines;
+        codePoints = _codePoints;
+        lineFunctionResult = _lineFunctionResult;
+        processingTime = _processingTime;
+    }
+
+    /**
+     * Get File Name
+     * @return
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Get File Size
+     * @return
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Get the No. of Segments
+     * @return
+     */
+    public int getSegments() {
+        return segments;
+    }
+
+    /**
+     * Get the Segment Size
+     * @return
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Get the Parallelism of the Fork Join Pool
+     * @return
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Get the No. of Bytes
+     * @return
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the No. of Lines
+     * @return
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Get the No. of UTF-8 Code Points
+     * @return
+     */
+    public long getCodePoints() {
+        return codePoints;
+    }
+
+    /**
+     * Get the Sum of the Line Function Results
+     * @return
+     */
+    public long getLineFunctionResult() {
+        return lineFunctionResult;
+    }
+
+    /**
+     * Get Processing Time (ms)
+     * @return
+     */
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * Get the Throughput in MB / Second
+     * @return
+     */
+    public double getThroughput() {
+        return processingTime > 0 ? (fileSize / (1024.0 * 1024.0)) / (processingTime / 1000.0) : 0;
+    }
+
+    @JsonIgnore
+    public String toString() {
+        return "File="+fileName+", Size="+fileSize+" Segments="+segments+" Lines="+lines
+                +" CodePoints="+codePoints+" Processing Time="+processingTime+" ms";
+    }
+}
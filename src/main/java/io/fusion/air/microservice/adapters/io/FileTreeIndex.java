@@ -0,0 +1,827 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Custom
+import io.fusion.air.microservice.server.config.FileIndexConfig;
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+// Java
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * File Tree Index
+ *
+ * In Memory Index of the Files (Path, Size, Last Modified, optional SHA-256) under the Root, kept
+ * current from the WatchService Events, so the Queries never walk the File System.
+ *
+ * Index     : Path -> File (Sorted Skip List, Prefix and Glob Queries read a Sub Map only)
+ *             Size + Path -> File (Sorted Skip List, Size Range Queries)
+ *             Queries are Lock Free. All the Updates are done by the Watcher Thread.
+ * Startup   : The Snapshot (io.file.index.store) is loaded and the Queries are served from it
+ *             right away. The Watcher Thread then walks the Tree once in the background to register
+ *             the Directories and to pick up the Changes made while the Service was down (only new
+ *             or changed Files are hashed again).
+ * Updates   : Create / Modify / Delete Events update the File, a new Directory is walked, a deleted
+ *             Directory removes its Sub Tree. An Overflow (Events lost) walks the Tree again.
+ * Snapshot  : Saved when changed (io.file.index.save.interval.ms) and at Shutdown. One Save at a time
+ *             (Save Lock), written to a Unique Temp File and moved atomically over the Snapshot.
+ *
+ * Linux has a limit on the Watched Directories (fs.inotify.max_user_watches), Directories over the
+ * limit are indexed but NOT kept current.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Service
+@ConditionalOnProperty(name = "io.file.index.enabled", havingValue = "true", matchIfMissing = true)
+public class FileTreeIndex {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final int DEFAULT_MAX_RESULTS = 10000;
+    private static final int STORE_MAGIC = 0x46494458;
+    private static final int STORE_VERSION = 1;
+    private static final int STORE_BUFFER_SIZE = 64 * 1024;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private static final Comparator<FileIndexEntry> SIZE_ORDER =
+            Comparator.comparingLong(FileIndexEntry::getSize).thenComparing(FileIndexEntry::getPath);
+
+    private final Path root;
+    private final Path store;
+    private final boolean hashContent;
+    private final int maxResults;
+    private final DirectBufferPool bufferPool;
+
+    private final ConcurrentSkipListMap<String, FileIndexEntry> byPath = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<FileIndexEntry> bySize = new ConcurrentSkipListSet<>(SIZE_ORDER);
+    private final AtomicInteger files = new AtomicInteger();
+
+    private final Map<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedDirs = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread watcher;
+    private MessageDigest digest;
+    private boolean watchLimitLogged;
+
+    // Incremented on every Change, the Snapshot is saved when it moves
+    private final AtomicLong version = new AtomicLong();
+    // Scheduled Save and the Save at Shutdown
+    private final Object saveLock = new Object();
+    private volatile long savedVersion;
+    private volatile boolean ready;
+    private volatile boolean loadedFromStore;
+    private volatile long lastScanTime;
+    private volatile long lastSaved;
+    private final LongAdder events = new LongAdder();
+    private final LongAdder rescans = new LongAdder();
+
+    /**
+     * Create the Index from the Configuration
+     * @param _config
+     * @param _bufferPool
+     */
+    @Autowired
+    public FileTreeIndex(FileIndexConfig _config, DirectBufferPool _bufferPool) {
+        this(Paths.get(_config.getRoot()), Paths.get(_config.getStore()), _config.isHashContent(),
+                _config.getMaxResults(), _bufferPool);
+    }
+
+    /**
+     * Create the Index
+     * @param _root Directory Tree to Index
+     * @param _store Snapshot File (null = NOT saved)
+     * @param _hashContent SHA-256 of the File Content
+     * @param _maxResults Max Files returned by a Query
+     * @param _bufferPool
+     */
+    public FileTreeIndex(Path _root, Path _store, boolean _hashContent, int _maxResults, DirectBufferPool _bufferPool) {
+        if(_root == null) {
+            throw new InvalidInputException("Index Root is required");
+        }
+        root = _root;
+        store = _store;
+        hashContent = _hashContent;
+        maxResults = _maxResults > 0 ? _maxResults : DEFAULT_MAX_RESULTS;
+        bufferPool = _bufferPool;
+    }
+
+    /**
+     * Load the Snapshot and start the Watcher Thread
+     * @throws IOException
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if(hashContent) {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        loadedFromStore = load();
+        watchService = root.getFileSystem().newWatchService();
+        watcher = new Thread(this::watch, "file-tree-index");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stop the Watcher Thread and save the Snapshot
+     */
+    @PreDestroy
+    public void stop() {
+        try {
+            if(watchService != null) {
+                watchService.close();
+            }
+            if(watcher != null) {
+                watcher.interrupt();
+                watcher.join(1000);
+            }
+        } catch (IOException e) {
+            log.warn("File Tree Index: Unable to close the Watch Service: "+e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveIfChanged();
+    }
+
+    /**
+     * Watcher Thread - Walk the Tree once and then apply the Events
+     */
+    private void watch() {
+        try {
+            reconcile();
+            ready = true;
+            while(!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                Path dir = watchKeys.get(key);
+                if(dir != null) {
+                    for(WatchEvent<?> event : key.pollEvents()) {
+                        events.increment();
+                        apply(dir, event);
+                    }
+                }
+                if(!key.reset()) {
+                    watchKeys.remove(key);
+                    if(dir != null) {
+                        watchedDirs.remove(dir, key);
+                        // Key is invalid as the Directory was deleted (may come before the Delete Event)
+                        if(!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+                            removeTree(dir);
+                        }
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Stopped
+        } catch (Exception e) {
+            log.error("File Tree Index: Watcher stopped, the Index is NOT updated any more: "+e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apply the Watch Event
+     * @param dir
+     * @param event
+     * @throws IOException
+     */
+    private void apply(Path dir, WatchEvent<?> event) throws IOException {
+        WatchEvent.Kind<?> kind = event.kind();
+        if(kind == StandardWatchEventKinds.OVERFLOW) {
+            reconcile();
+            return;
+        }
+        Path path = dir.resolve((Path) event.context());
+        if(kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            // File or Directory - the Directory's Watch Key may be gone already (or it was NOT watched)
+            remove(relative(path));
+            removeTree(path);
+        } else if(Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            // New (or moved in) Directory - Files may be created before it is registered
+            if(kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                scan(path, null);
+            }
+        } else {
+            update(path);
+        }
+    }
+
+    /**
+     * Walk the whole Tree: Register the Directories, update the new / changed Files and remove
+     * the Files NOT found any more.
+     * @throws IOException
+     */
+    private void reconcile() throws IOException {
+        long startTime = System.currentTimeMillis();
+        rescans.increment();
+        Set<String> seen = new HashSet<>(Math.max(16, files.get() * 2));
+        scan(root, seen);
+        Iterator<String> paths = byPath.keySet().iterator();
+        while(paths.hasNext()) {
+            String path = paths.next();
+            if(!seen.contains(path)) {
+                remove(path);
+            }
+        }
+        lastScanTime = System.currentTimeMillis() - startTime;
+        log.info("File Tree Index: Root="+root+" Files="+files.get()+" Directories="+watchedDirs.size()
+                +" Scan Time="+lastScanTime+" ms");
+    }
+
+    /**
+     * Walk the Sub Tree: Register the Directories and update the new / changed Files
+     * @param start
+     * @param seen Paths found (null = NOT tracked)
+     * @throws IOException
+     */
+    private void scan(Path start, Set<String> seen) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if(attrs.isRegularFile()) {
+                    String path = relative(file);
+                    if(seen != null) {
+                        seen.add(path);
+                    }
+                    update(file, path, attrs);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Watch the Directory
+     * @param dir
+     */
+    private void register(Path dir) {
+        if(watchedDirs.containsKey(dir)) {
+            return;
+        }
+        try {
+            WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchKeys.put(key, dir);
+            watchedDirs.put(dir, key);
+        } catch (IOException e) {
+            if(!watchLimitLogged) {
+                watchLimitLogged = true;
+                log.warn("File Tree Index: Unable to watch "+dir+" (Changes NOT tracked): "+e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Update the File from the File System
+     * @param file
+     */
+    private void update(Path file) {
+        String path = relative(file);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if(attrs.isRegularFile()) {
+                update(file, path, attrs);
+            }
+        } catch (NoSuchFileException e) {
+            remove(path);
+        } catch (IOException e) {
+            log.debug("File Tree Index: Unable to read "+file+": "+e.getMessage());
+        }
+    }
+
+    /**
+     * Update the File if it is new or changed (Size or Last Modified)
+     * @param file
+     * @param path
+     * @param attrs
+     */
+    private void update(Path file, String path, BasicFileAttributes attrs) {
+        long size = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        FileIndexEntry current = byPath.get(path);
+        if(current != null && current.getSize() == size && current.getLastModified() == lastModified
+                && (!hashContent || current.getHashBytes() != null)) {
+            return;
+        }
+        put(new FileIndexEntry(path, size, lastModified, hash(file)));
+    }
+
+    /**
+     * Add or Replace the File in the Index
+     * @param entry
+     */
+    private void put(FileIndexEntry entry) {
+        FileIndexEntry old = byPath.put(entry.getPath(), entry);
+        if(old == null) {
+            files.incrementAndGet();
+        } else {
+            bySize.remove(old);
+        }
+        bySize.add(entry);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Remove the File from the Index
+     * @param path
+     */
+    private void remove(String path) {
+        FileIndexEntry old = byPath.remove(path);
+        if(old != null) {
+            bySize.remove(old);
+            files.decrementAndGet();
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Remove the Deleted Directory (Files and Watch Keys of the Sub Tree)
+     * @param dir
+     */
+    private void removeTree(Path dir) {
+        String prefix = relative(dir) + "/";
+        boolean removed = false;
+        for(String path : byPath.subMap(prefix, true, prefix + MAX_CHAR, false).keySet()) {
+            remove(path);
+            removed = true;
+        }
+        if(!removed && !watchedDirs.containsKey(dir)) {
+            // NOT a Directory of the Index
+            return;
+        }
+        Iterator<Map.Entry<Path, WatchKey>> watched = watchedDirs.entrySet().iterator();
+        while(watched.hasNext()) {
+            Map.Entry<Path, WatchKey> entry = watched.next();
+            if(entry.getKey().startsWith(dir)) {
+                entry.getValue().cancel();
+                watchKeys.remove(entry.getValue());
+                watched.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the SHA-256 of the File Content (null if disabled or the File can't be read)
+     * @param file
+     * @return
+     */
+    private byte[] hash(Path file) {
+        if(!hashContent) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             PooledBuffer pooled = bufferPool.acquire(HASH_BUFFER_SIZE)) {
+            ByteBuffer buffer = pooled.buffer();
+            int limit = buffer.limit();
+            digest.reset();
+            while(channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+                buffer.limit(limit);
+            }
+            return digest.digest();
+        } catch (IOException e) {
+            log.debug("File Tree Index: Unable to hash "+file+": "+e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the Path relative to the Root ('/' Separated)
+     * @param file
+     * @return
+     */
+    private String relative(Path file) {
+        String path = root.relativize(file).toString();
+        return (file.getFileSystem().getSeparator().equals("/")) ? path : path.replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    // ============================================================================================
+    // Queries
+    // ============================================================================================
+
+    /**
+     * Find the Files with the Path Prefix (Sorted by Path)
+     * @param prefix Path Prefix relative to the Root ("" = All Files)
+     * @param offset
+     * @param limit
+     * @return
+     */
+    public List<FileIndexEntry> findByPrefix(String prefix, int offset, int limit) {
+        return page(subTree(prefix == null ? "" : prefix).values(), null, offset, limit);
+    }
+
+    /**
+     * Find the Files matching the Glob (Sorted by Path). Same Syntax as FileSystem.getPathMatcher("glob:")
+     * on the relative Path: * ? ** [a-z] [!a-z] {java,xml}
+     * @param glob
+     * @param offset
+     * @param limit
+     * @return
+     */
+    public List<FileIndexEntry> findByGlob(String glob, int offset, int limit) {
+        if(glob == null || glob.isEmpty()) {
+            throw new InvalidInputException("Glob Pattern is required");
+        }
+        Pattern pattern;
+        try {
+            pattern = globToRegex(glob);
+        } catch (PatternSyntaxException e) {
+            throw new InvalidInputException("Invalid Glob Pattern "+glob);
+        }
+        // Only the Sub Tree of the Literal Prefix is matched
+        return page(subTree(literalPrefix(glob)).values(), entry -> pattern.matcher(entry.getPath()).matches(),
+                offset, limit);
+    }
+
+    /**
+     * Find the Files with the Size in the Range (Sorted by Size and Path)
+     * @param minSize
+     * @param maxSize
+     * @param offset
+     * @param limit
+     * @return
+     */
+    public List<FileIndexEntry> findBySize(long minSize, long maxSize, int offset, int limit) {
+        if(minSize < 0 || minSize > maxSize) {
+            throw new InvalidInputException("Invalid Size Range "+minSize+" - "+maxSize);
+        }
+        validatePage(offset, limit);
+        limit = Math.min(limit, maxResults);
+        List<FileIndexEntry> result = new ArrayList<>(Math.min(limit, 1024));
+        int skip = offset;
+        for(FileIndexEntry entry : bySize.tailSet(new FileIndexEntry("", minSize, 0, null), true)) {
+            if(entry.getSize() > maxSize || result.size() == limit) {
+                break;
+            }
+            if(skip > 0) {
+                skip--;
+            } else {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all the File Paths (Root + Relative Path, Sorted)
+     * @return
+     */
+    public ArrayList<String> listPaths() {
+        ArrayList<String> paths = new ArrayList<>(files.get());
+        String prefix = root.toString().isEmpty() ? "" : root.toString() + root.getFileSystem().getSeparator();
+        for(String path : byPath.keySet()) {
+            paths.add(prefix + path);
+        }
+        return paths;
+    }
+
+    /**
+     * Returns the Files with the Path Prefix
+     * @param prefix
+     * @return
+     */
+    private NavigableMap<String, FileIndexEntry> subTree(String prefix) {
+        return prefix.isEmpty() ? byPath : byPath.subMap(prefix, true, prefix + MAX_CHAR, false);
+    }
+
+    /**
+     * Returns a Page of the Files matching the Filter
+     * @param entries
+     * @param filter
+     * @param offset
+     * @param limit
+     * @return
+     */
+    private List<FileIndexEntry> page(Iterable<FileIndexEntry> entries, Predicate<FileIndexEntry> filter,
+                                      int offset, int limit) {
+        validatePage(offset, limit);
+        limit = Math.min(limit, maxResults);
+        List<FileIndexEntry> result = new ArrayList<>(Math.min(limit, 1024));
+        int skip = offset;
+        for(FileIndexEntry entry : entries) {
+            if(filter != null && !filter.test(entry)) {
+                continue;
+            }
+            if(skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(entry);
+            if(result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Validate the Page
+     * @param offset
+     * @param limit
+     */
+    private void validatePage(int offset, int limit) {
+        if(offset < 0 || limit < 1) {
+            throw new InvalidInputException("Offset should be 0 or more and Limit should be greater than 0");
+        }
+    }
+
+    /**
+     * Returns the Literal Part of the Glob before the first Wild Card
+     * @param glob
+     * @return
+     */
+    static String literalPrefix(String glob) {
+        for(int i = 0; i < glob.length(); i++) {
+            if("*?[{\\".indexOf(glob.charAt(i)) >= 0) {
+                return glob.substring(0, i);
+            }
+        }
+        return glob;
+    }
+
+    /**
+     * Convert the Glob to a Regular Expression
+     * @param glob
+     * @return
+     */
+    static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() * 2);
+        boolean inGroup = false;
+        for(int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch(c) {
+                case '*':
+                    if(i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                case '{':
+                    regex.append("(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    regex.append(inGroup ? ")" : "\\}");
+                    inGroup = false;
+                    break;
+                case ',':
+                    regex.append(inGroup ? "|" : ",");
+                    break;
+                case '[':
+                    int close = glob.indexOf(']', i + 1);
+                    if(close < 0) {
+                        throw new PatternSyntaxException("Missing ]", glob, i);
+                    }
+                    String chars = glob.substring(i + 1, close).replace("\\", "\\\\").replace("[", "\\[");
+                    regex.append('[').append(chars.startsWith("!") ? "^" + chars.substring(1) : chars).append(']');
+                    i = close;
+                    break;
+                case '\\':
+                    if(i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                    break;
+                default:
+                    if(!Character.isLetterOrDigit(c)) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+            }
+        }
+        if(inGroup) {
+            throw new PatternSyntaxException("Missing }", glob, glob.length());
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Returns the Index Stats
+     * @return
+     */
+    public LinkedHashMap<String, Object> getStats() {
+        LinkedHashMap<String, Object> stats = new LinkedHashMap<>();
+        stats.put("Root", root.toString());
+        stats.put("Files", files.get());
+        stats.put("DirectoriesWatched", watchedDirs.size());
+        stats.put("Ready", ready);
+        stats.put("LoadedFromStore", loadedFromStore);
+        stats.put("HashContent", hashContent);
+        stats.put("Events", events.sum());
+        stats.put("Scans", rescans.sum());
+        stats.put("LastScanTime", lastScanTime);
+        stats.put("Store", store == null ? null : store.toString());
+        stats.put("LastSaved", lastSaved);
+        return stats;
+    }
+
+    /**
+     * Returns True when the first Walk of the Tree is complete
+     * @return
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns True when the Queries can be served (Snapshot loaded or the first Walk complete)
+     * @return
+     */
+    public boolean isAvailable() {
+        return ready || loadedFromStore;
+    }
+
+    // ============================================================================================
+    // Snapshot
+    // ============================================================================================
+
+    /**
+     * Save the Snapshot if the Index changed
+     */
+    @Scheduled(fixedDelayString = "${io.file.index.save.interval.ms:30000}")
+    public void saveIfChanged() {
+        if(store == null || !ready) {
+            return;
+        }
+        synchronized (saveLock) {
+            if(version.get() == savedVersion) {
+                return;
+            }
+            save();
+        }
+    }
+
+    /**
+     * Write the Snapshot to a Unique Temp File and move it over the Snapshot (Save Lock held)
+     */
+    private void save() {
+        long saveVersion = version.get();
+        Path dir = store.toAbsolutePath().getParent();
+        Path temp = null;
+        try {
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, store.getFileName().toString() + ".", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temp), STORE_BUFFER_SIZE))) {
+                out.writeInt(STORE_MAGIC);
+                out.writeInt(STORE_VERSION);
+                out.writeUTF(root.toAbsolutePath().normalize().toString());
+                out.writeBoolean(hashContent);
+                for(FileIndexEntry entry : byPath.values()) {
+                    out.writeBoolean(true);
+                    out.writeUTF(entry.getPath());
+                    out.writeLong(entry.getSize());
+                    out.writeLong(entry.getLastModified());
+                    byte[] hash = entry.getHashBytes();
+                    out.writeByte(hash == null ? 0 : hash.length);
+                    if(hash != null) {
+                        out.write(hash);
+                    }
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            savedVersion = saveVersion;
+            lastSaved = System.currentTimeMillis();
+        } catch (IOException e) {
+            log.warn("File Tree Index: Unable to save the Snapshot "+store+": "+e.getMessage());
+        } finally {
+            if(temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.debug("File Tree Index: Unable to delete "+temp+": "+e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the Snapshot (Ignored if it is for another Root or Hash Setting)
+     * @return True if the Snapshot is loaded
+     */
+    private boolean load() {
+        if(store == null || !Files.isRegularFile(store)) {
+            return false;
+        }
+        long startTime = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(store), STORE_BUFFER_SIZE))) {
+            if(in.readInt() != STORE_MAGIC || in.readInt() != STORE_VERSION
+                    || !in.readUTF().equals(root.toAbsolutePath().normalize().toString())
+                    || in.readBoolean() != hashContent) {
+                log.info("File Tree Index: Snapshot "+store+" is for another Index, Ignored.");
+                return false;
+            }
+            while(in.readBoolean()) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                int hashLength = in.readUnsignedByte();
+                byte[] hash = null;
+                if(hashLength > 0) {
+                    hash = new byte[hashLength];
+                    in.readFully(hash);
+                }
+                put(new FileIndexEntry(path, size, lastModified, hash));
+            }
+            savedVersion = version.get();
+            log.info("File Tree Index: Snapshot loaded Files="+files.get()+" in "
+                    +(System.currentTimeMillis() - startTime)+" ms");
+            return true;
+        } catch (IOException e) {
+            log.warn("File Tree Index: Unable to load the Snapshot "+store+": "+e.getMessage());
+            byPath.clear();
+            bySize.clear();
+            files.set(0);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Result of the Streaming File Upload
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class FileUploadResult {
+
+    private final String fileName;
+    private final long fileSize;
+    private final String algorithm;
+    private final String checksum;
+    private final String checksumBase64;
+    private final boolean replaced;
+    private final long processingTime;
+
+    public FileUploadResult(String _fileName, long _fileSize, String _algorithm, String _checksum,
+                            String _checksumBase64, boolean _replaced, long _processingTime) {
+        fileName = _fileName;
+        fileSize = _fileSize;
+        algorithm = _algorithm;
+        checksum = _checksum;
+        checksumBase64 = _checksumBase64;
+        replaced = _replaced;
+        processingTime = _processingTime;
+    }
+
+    /**
+     * Get File Name
+     * @return
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Get File Size
+     * @return
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Get the Checksum Algorithm
+     * @return
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Get the Checksum (Hex)
+     * @return
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Get the Checksum (Base64)
+     * @return
+     */
+    public String getChecksumBase64() {
+        return checksumBase64;
+    }
+
+    /**
+     * Returns True if an existing File was replaced
+     * @return
+     */
+    public boolean isReplaced() {
+        return replaced;
+    }
+
+    /**
+     * Get Processing Time (ms)
+     * @return
+     */
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * Get the Throughput in MB / Second
+     * @return
+     */
+    public double getThroughput() {
+        return processingTime > 0 ? (fileSize / (1024.0 * 1024.0)) / (processingTime / 1000.0) : 0;
+    }
+
+    @JsonIgnore
+    public String toString() {
+        return "File="+fileName+", Size="+fileSize+" "+algorithm+"="+checksum
+                +" Processing Time="+processingTime+" ms";
+    }
+}
@@ -0,0 +1,323 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Custom
+import io.fusion.air.microservice.security.HashData;
+import io.fusion.air.microservice.server.config.UploadConfig;
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.DuplicateDataException;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+// Java
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Streaming File Upload with Checksum and Size Limits
+ *
+ * The Request Body is read once: Every Chunk updates the Checksum (HashData Algorithms) and is
+ * written to a Temp File in the Upload Directory through a FileChannel and a Direct Buffer from the
+ * Shared Buffer Pool. Memory per Upload is constant (one Chunk + one Buffer) for any File Size.
+ *
+ * Limits are checked while streaming (the Content-Length is checked up front when the Client sends it):
+ * 1. Max File Size (io.upload.max.file.size)
+ * 2. Quota of the Upload Directory (io.upload.quota.bytes), Bytes are reserved as they are written.
+ *
+ * The Temp File is flushed to the Disk and then moved into place (Rename in the same Directory), so
+ * a File is either complete or not there. Failed Uploads (Limits, Checksum mismatch, Client Abort)
+ * delete the Temp File.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Service
+public class FileUploadService {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String TEMP_PREFIX = ".upload-";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,254}");
+
+    private final Path uploadDir;
+    private final long maxFileSize;
+    private final long quotaBytes;
+    private final int bufferSize;
+    private final String hashAlgorithm;
+    private final DirectBufferPool bufferPool;
+
+    // Bytes in the Upload Directory + Bytes of the Uploads in Progress
+    private final AtomicLong usedBytes = new AtomicLong();
+    // Size of the replaced File + Rename + Quota Update as one Step (Parallel Overwrites)
+    private final Object replaceLock = new Object();
+
+    /**
+     * File Upload Service
+     * @param _config
+     * @param _bufferPool
+     */
+    @Autowired
+    public FileUploadService(UploadConfig _config, DirectBufferPool _bufferPool) {
+        this(Paths.get(_config.getUploadDir()), _config.getMaxFileSize(), _config.getQuotaBytes(),
+                _config.getBufferSize(), _config.getHashAlgorithm(), _bufferPool);
+    }
+
+    /**
+     * File Upload Service
+     * @param _uploadDir
+     * @param _maxFileSize
+     * @param _quotaBytes
+     * @param _bufferSize
+     * @param _hashAlgorithm
+     * @param _bufferPool
+     */
+    public FileUploadService(Path _uploadDir, long _maxFileSize, long _quotaBytes, int _bufferSize,
+                             String _hashAlgorithm, DirectBufferPool _bufferPool) {
+        try {
+            MessageDigest.getInstance(_hashAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Invalid Upload Hash Algorithm "+_hashAlgorithm, e);
+        }
+        uploadDir = _uploadDir;
+        maxFileSize = _maxFileSize;
+        quotaBytes = _quotaBytes;
+        bufferSize = Math.max(_bufferSize, 4096);
+        hashAlgorithm = _hashAlgorithm;
+        bufferPool = _bufferPool;
+    }
+
+    /**
+     * Create the Upload Directory, delete the Temp Files left by a Crash and sum the Used Bytes
+     * @throws IOException
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(uploadDir);
+        long used = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir)) {
+            for(Path file : files) {
+                String name = file.getFileName().toString();
+                if(name.startsWith(TEMP_PREFIX) && name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if(Files.isRegularFile(file)) {
+                    used += Files.size(file);
+                }
+            }
+        }
+        usedBytes.set(used);
+        log.info("File Upload: Directory="+uploadDir.toAbsolutePath()+" Used="+used+" Quota="+quotaBytes
+                +" Max File Size="+maxFileSize+" Checksum="+hashAlgorithm);
+    }
+
+    /**
+     * Stream the Upload to the Upload Directory
+     * @param fileName Target File Name (No Path)
+     * @param in Request Body (or the Part Body of a Multipart Request)
+     * @param contentLength Size sent by the Client (-1 = Unknown)
+     * @param expectedChecksum Checksum sent by the Client, Hex or Base64 (null = NOT checked)
+     * @param overwrite Replace an existing File
+     * @return
+     * @throws IOException
+     */
+    public FileUploadResult upload(String fileName, InputStream in, long contentLength,
+                                   String expectedChecksum, boolean overwrite) throws IOException {
+        Path target = resolve(fileName);
+        if(!overwrite && Files.exists(target)) {
+            throw new DuplicateDataException("File already exists: "+fileName);
+        }
+        if(contentLength > maxFileSize) {
+            throw new InvalidInputException("File Size "+contentLength+" exceeds the Limit "+maxFileSize);
+        }
+        if(contentLength > 0 && usedBytes.get() + contentLength > quotaBytes) {
+            throw new InvalidInputException("Upload Quota exceeded ("+quotaBytes+" Bytes)");
+        }
+        MessageDigest digest = newDigest();
+        long startTime = System.currentTimeMillis();
+        Path temp = Files.createTempFile(uploadDir, TEMP_PREFIX, TEMP_SUFFIX);
+        long written = 0;
+        boolean moved = false;
+        boolean replaced = false;
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 PooledBuffer pooled = bufferPool.acquire(bufferSize)) {
+                ByteBuffer buffer = pooled.buffer();
+                // The Servlet Stream reads into a Heap Array: the Digest works on the Array and the
+                // Direct Buffer collects the Chunks for the Writes.
+                byte[] chunk = new byte[Math.min(bufferSize, buffer.remaining())];
+                int read;
+                while((read = in.read(chunk)) != -1) {
+                    // Written = Bytes reserved in the Quota (released in finally if the Upload fails)
+                    if(written + read > maxFileSize) {
+                        throw new InvalidInputException("File Size exceeds the Limit "+maxFileSize);
+                    }
+                    if(usedBytes.addAndGet(read) > quotaBytes) {
+                        usedBytes.addAndGet(-read);
+                        throw new InvalidInputException("Upload Quota exceeded ("+quotaBytes+" Bytes)");
+                    }
+                    written += read;
+                    digest.update(chunk, 0, read);
+                    if(buffer.remaining() < read) {
+                        write(buffer, channel);
+                    }
+                    buffer.put(chunk, 0, read);
+                }
+                write(buffer, channel);
+                channel.force(false);
+            }
+            byte[] hash = digest.digest();
+            String checksum = HashData.hexEncoder(hash).toLowerCase(Locale.ROOT);
+            String checksumBase64 = HashData.base64Encoder(hash);
+            if(expectedChecksum != null && !expectedChecksum.isEmpty()
+                    && !expectedChecksum.equalsIgnoreCase(checksum) && !expectedChecksum.equals(checksumBase64)) {
+                throw new InvalidInputException("Checksum mismatch: "+hashAlgorithm+"="+checksum);
+            }
+            replaced = moveIntoPlace(temp, target, overwrite);
+            moved = true;
+            long processingTime = System.currentTimeMillis() - startTime;
+            FileUploadResult result = new FileUploadResult(fileName, written, hashAlgorithm, checksum,
+                    checksumBase64, replaced, processingTime);
+            log.info("File Upload: "+result);
+            return result;
+        } finally {
+            if(!moved) {
+                usedBytes.addAndGet(-written);
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Move the Temp File to the Target (Rename in the same Directory)
+     * @param temp
+     * @param target
+     * @param overwrite
+     * @return True if an existing File was replaced
+     * @throws IOException
+     */
+    private boolean moveIntoPlace(Path temp, Path target, boolean overwrite) throws IOException {
+        if(overwrite) {
+            // Under the Lock: a parallel Overwrite can't replace the Target between the Size and the Rename
+            synchronized (replaceLock) {
+                long oldSize = Files.exists(target) ? Files.size(target) : -1;
+                // Rename replaces the Target atomically
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                if(oldSize >= 0) {
+                    usedBytes.addAndGet(-oldSize);
+                }
+                return oldSize >= 0;
+            }
+        }
+        try {
+            // Link fails if the Target exists (a parallel Upload of the same File)
+            Files.createLink(target, temp);
+        } catch (FileAlreadyExistsException e) {
+            throw new DuplicateDataException("File already exists: "+target.getFileName());
+        } catch (UnsupportedOperationException | IOException e) {
+            // No Hard Links in this File System
+            if(Files.exists(target)) {
+                throw new DuplicateDataException("File already exists: "+target.getFileName());
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return false;
+        }
+        Files.deleteIfExists(temp);
+        return false;
+    }
+
+    /**
+     * Write the Buffer to the Channel and clear it
+     * @param buffer
+     * @param channel
+     * @throws IOException
+     */
+    private void write(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the Target File in the Upload Directory
+     * @param fileName
+     * @return
+     */
+    private Path resolve(String fileName) {
+        if(fileName == null || !FILE_NAME.matcher(fileName).matches() || fileName.contains("..")) {
+            throw new InvalidInputException("Invalid File Name "+fileName+" (Allowed = A-Z a-z 0-9 . _ -)");
+        }
+        return uploadDir.resolve(fileName);
+    }
+
+    /**
+     * Returns a new Message Digest for the Upload
+     * @return
+     */
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(hashAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the Max Size of an Uploaded File
+     * @return
+     */
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Returns the Bytes used in the Upload Directory (including the Uploads in Progress)
+     * @return
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Returns the Buffer Size per Upload
+     * @return
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
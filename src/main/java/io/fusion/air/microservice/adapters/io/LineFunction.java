@@ -0,0 +1,61 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+/**
+ * Function applied to every Line by the Parallel File Scanner.
+ * The Line is passed as a Byte Range (UTF-8, without the Line Terminator) which is valid
+ * only during the call. The Results of all the Lines are added up.
+ *
+ * Implementations must be Thread Safe (Segments are scanned in Parallel).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@FunctionalInterface
+public interface LineFunction {
+
+    /**
+     * Apply the Function on the Line
+     * @param data
+     * @param offset
+     * @param length
+     * @return
+     */
+    public long apply(byte[] data, int offset, int length);
+
+    /**
+     * Returns the Function which counts the Lines containing the Pattern (Bytes)
+     * @param pattern
+     * @return
+     */
+    public static LineFunction contains(byte[] pattern) {
+        return (data, offset, length) -> {
+            int last = offset + length - pattern.length;
+            outer:
+            for(int i = offset; i <= last; i++) {
+                for(int j = 0; j < pattern.length; j++) {
+                    if(data[i + j] != pattern[j]) {
+                        continue outer;
+                    }
+                }
+                return 1;
+            }
+            return 0;
+        };
+    }
+}
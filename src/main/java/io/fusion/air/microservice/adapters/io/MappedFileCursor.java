@@ -0,0 +1,401 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+// Java
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sliding Window Memory Mapped File Cursor
+ *
+ * Walks Files of any Size (a Single Mapping is limited to 2 GB) through Page Aligned Windows of the
+ * Window Size. Records (Lines, Delimited or Fixed Length) are returned as Byte Ranges of the Current
+ * Window, nothing is decoded unless asked (recordAsString).
+ *
+ * A Record which straddles the Window End is never split: The Window is mapped again from the
+ * Record Start. A Record longer than the Window gets a larger Mapping (up to ~2 GB).
+ *
+ * The Previous Window is unmapped as soon as the next one is mapped (and on Close), so the Window,
+ * the Record and any Buffer taken from them must NOT be used after the next Call to the Cursor.
+ *
+ * Usage:
+ * try (MappedFileCursor cursor = MappedFileCursor.open(path, windowSize)) {
+ *     while(cursor.nextLine()) {
+ *         ByteBuffer line = cursor.record();
+ *         ...
+ *     }
+ * }
+ *
+ * Not Thread Safe.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class MappedFileCursor implements AutoCloseable {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final int PAGE_SIZE = 4096;
+    public static final int MIN_WINDOW_SIZE = 64 * 1024;
+    public static final int DEFAULT_WINDOW_SIZE = 128 * 1024 * 1024;
+    public static final int MAX_WINDOW_SIZE = 1024 * 1024 * 1024;
+    // Largest Mapping (Page Aligned) minus the Offset of the Record in its First Page
+    public static final int MAX_RECORD_SIZE = (Integer.MAX_VALUE / PAGE_SIZE) * PAGE_SIZE - PAGE_SIZE;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    // Unmaps a Direct Buffer without waiting for the GC (Java 9+)
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Exception e) {
+            log.info("Mapped Windows will be released by the GC: "+e.getMessage());
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLength;
+    private long windowsMapped;
+    private long position;
+
+    // Current Record [recordStart, recordEnd) in the Window
+    private long recordPosition = -1;
+    private int recordStart;
+    private int recordEnd;
+    private byte[] decodeBuffer;
+
+    /**
+     * Open the File with the Default Window Size
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    public static MappedFileCursor open(Path path) throws IOException {
+        return open(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Open the File
+     * @param path
+     * @param windowSize Rounded to the Page Size (64 KB - 1 GB)
+     * @return
+     * @throws IOException
+     */
+    public static MappedFileCursor open(Path path, int windowSize) throws IOException {
+        if(windowSize < MIN_WINDOW_SIZE || windowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("Window Size should be between "+MIN_WINDOW_SIZE+" and "+MAX_WINDOW_SIZE);
+        }
+        return new MappedFileCursor(FileChannel.open(path, StandardOpenOption.READ),
+                ((windowSize + PAGE_SIZE - 1) / PAGE_SIZE) * PAGE_SIZE);
+    }
+
+    private MappedFileCursor(FileChannel _channel, int _windowSize) throws IOException {
+        channel = _channel;
+        windowSize = _windowSize;
+        try {
+            fileSize = _channel.size();
+        } catch (IOException e) {
+            _channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Move to the Next Line (Delimited by LF, a trailing CR is excluded)
+     * @return False at the End of the File
+     * @throws IOException
+     */
+    public boolean nextLine() throws IOException {
+        if(!nextRecord(LF)) {
+            return false;
+        }
+        if(recordEnd > recordStart && window.get(recordEnd - 1) == CR) {
+            recordEnd--;
+        }
+        return true;
+    }
+
+    /**
+     * Move to the Next Record ending with the Delimiter (excluded). The Last Record of the File
+     * may end without the Delimiter.
+     * @param delimiter
+     * @return False at the End of the File
+     * @throws IOException
+     */
+    public boolean nextRecord(byte delimiter) throws IOException {
+        ensureOpen();
+        if(position >= fileSize) {
+            return false;
+        }
+        if(window != null) {
+            // Undo the Position / Limit of the Previous Record
+            window.clear();
+        }
+        long start = position;
+        ensureMapped(start, 1);
+        long searchFrom = start;
+        while(true) {
+            for(int i = (int) (searchFrom - windowStart); i < windowLength; i++) {
+                if(window.get(i) == delimiter) {
+                    setRecord(start, windowStart + i);
+                    position = windowStart + i + 1;
+                    return true;
+                }
+            }
+            long windowEnd = windowStart + windowLength;
+            if(windowEnd >= fileSize) {
+                setRecord(start, fileSize);
+                position = fileSize;
+                return true;
+            }
+            // Record straddles the Window - Map again from the Record Start (Larger if required)
+            long span = windowEnd - start;
+            if(span >= MAX_RECORD_SIZE) {
+                throw new IOException("Record at "+start+" is longer than "+MAX_RECORD_SIZE+" bytes");
+            }
+            map(start, (int) Math.min(Math.max(windowSize, span * 2), MAX_RECORD_SIZE));
+            searchFrom = windowEnd;
+        }
+    }
+
+    /**
+     * Move to the Next Fixed Length Record (The Last Record may be shorter)
+     * @param length
+     * @return False at the End of the File
+     * @throws IOException
+     */
+    public boolean nextRecord(int length) throws IOException {
+        ensureOpen();
+        if(length < 1 || length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Record Length should be between 1 and "+MAX_RECORD_SIZE);
+        }
+        if(position >= fileSize) {
+            return false;
+        }
+        if(window != null) {
+            // Undo the Position / Limit of the Previous Record
+            window.clear();
+        }
+        long start = position;
+        long end = Math.min(start + length, fileSize);
+        ensureMapped(start, (int) (end - start));
+        setRecord(start, end);
+        position = end;
+        return true;
+    }
+
+    /**
+     * Returns the Current Window with Position / Limit set to the Current Record.
+     * Valid until the next Call to the Cursor.
+     * @return
+     */
+    public ByteBuffer record() {
+        if(recordPosition < 0) {
+            throw new IllegalStateException("No Current Record");
+        }
+        window.limit(recordEnd);
+        window.position(recordStart);
+        return window;
+    }
+
+    /**
+     * Returns the Byte of the Current Record at the Index
+     * @param index
+     * @return
+     */
+    public byte recordByte(int index) {
+        if(index < 0 || index >= recordLength()) {
+            throw new IndexOutOfBoundsException("Index "+index+" Record Length "+recordLength());
+        }
+        return window.get(recordStart + index);
+    }
+
+    /**
+     * Decode the Current Record (UTF-8)
+     * @return
+     */
+    public String recordAsString() {
+        int length = recordLength();
+        if(decodeBuffer == null || decodeBuffer.length < length) {
+            decodeBuffer = new byte[Math.max(length, 256)];
+        }
+        ByteBuffer record = record();
+        record.get(decodeBuffer, 0, length);
+        return new String(decodeBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the Position of the Current Record in the File
+     * @return
+     */
+    public long recordPosition() {
+        return recordPosition;
+    }
+
+    /**
+     * Returns the Length of the Current Record
+     * @return
+     */
+    public int recordLength() {
+        return (recordPosition < 0) ? 0 : recordEnd - recordStart;
+    }
+
+    /**
+     * Returns the Position of the Next Record
+     * @return
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Move to the Position (The Window is mapped on the next Read)
+     * @param _position
+     */
+    public void position(long _position) {
+        ensureOpen();
+        if(_position < 0 || _position > fileSize) {
+            throw new IllegalArgumentException("Position "+_position+" is outside the File (Size = "+fileSize+")");
+        }
+        position = _position;
+        recordPosition = -1;
+    }
+
+    /**
+     * Returns the File Size
+     * @return
+     */
+    public long size() {
+        return fileSize;
+    }
+
+    /**
+     * Returns the Window Size
+     * @return
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the No. of Windows mapped so far
+     * @return
+     */
+    public long getWindowsMapped() {
+        return windowsMapped;
+    }
+
+    /**
+     * Unmap the Window and close the File
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        releaseWindow();
+        channel.close();
+    }
+
+    /**
+     * Map a Window which contains the Range [start, start + length)
+     * @param start
+     * @param length
+     * @throws IOException
+     */
+    private void ensureMapped(long start, int length) throws IOException {
+        if(window == null || start < windowStart || start + length > windowStart + windowLength) {
+            map(start, Math.max(windowSize, length));
+        }
+    }
+
+    /**
+     * Map the Window from the Page containing the Start
+     * @param start
+     * @param length Bytes required from the Start
+     * @throws IOException
+     */
+    private void map(long start, int length) throws IOException {
+        long alignedStart = start - (start % PAGE_SIZE);
+        long mapSize = Math.min(fileSize - alignedStart, (start - alignedStart) + (long) length);
+        releaseWindow();
+        window = channel.map(FileChannel.MapMode.READ_ONLY, alignedStart, mapSize);
+        windowStart = alignedStart;
+        windowLength = (int) mapSize;
+        windowsMapped++;
+    }
+
+    /**
+     * Set the Current Record [start, end) - File Positions inside the Window
+     * @param start
+     * @param end
+     */
+    private void setRecord(long start, long end) {
+        recordPosition = start;
+        recordStart = (int) (start - windowStart);
+        recordEnd = (int) (end - windowStart);
+    }
+
+    /**
+     * Unmap the Current Window
+     */
+    private void releaseWindow() {
+        MappedByteBuffer released = window;
+        window = null;
+        recordPosition = -1;
+        if(released != null && INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, released);
+            } catch (Exception e) {
+                log.debug("Unable to unmap the Window: "+e.getMessage());
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if(!channel.isOpen()) {
+            throw new IllegalStateException("Cursor is closed");
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Java
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming Reader for multipart/form-data (RFC 7578)
+ *
+ * Reads the Parts straight from the Request Stream, the Part Body is NOT buffered (Memory = One
+ * Buffer per Request). Only the Part Headers are kept.
+ *
+ * MultipartStreamReader reader = new MultipartStreamReader(in, boundary, 64 * 1024);
+ * while(reader.nextPart()) {
+ *     if(reader.getFileName() != null) {
+ *         InputStream body = reader.getPartStream();   // Ends at the next Boundary
+ *     }
+ * }
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class MultipartStreamReader {
+
+    public static final int MIN_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_HEADER_SIZE = 16 * 1024;
+    private static final int MAX_BOUNDARY_LENGTH = 70;
+
+    private final InputStream in;
+    // CR LF -- Boundary
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+    private boolean eof;
+    private boolean finished;
+    private final PartInputStream partStream = new PartInputStream();
+    private Map<String, String> headers = new HashMap<>();
+
+    /**
+     * Create the Multipart Reader
+     * @param _in Request Stream
+     * @param _boundary Boundary from the Content-Type
+     * @param _bufferSize
+     */
+    public MultipartStreamReader(InputStream _in, String _boundary, int _bufferSize) {
+        if(_boundary == null || _boundary.isEmpty() || _boundary.length() > MAX_BOUNDARY_LENGTH) {
+            throw new IllegalArgumentException("Invalid Multipart Boundary");
+        }
+        in = _in;
+        delimiter = ("\r\n--" + _boundary).getBytes(StandardCharsets.ISO_8859_1);
+        buffer = new byte[Math.max(_bufferSize, MIN_BUFFER_SIZE)];
+        // The first Boundary has no CR LF in front of it
+        buffer[tail++] = '\r';
+        buffer[tail++] = '\n';
+    }
+
+    /**
+     * Returns the Boundary from the multipart Content-Type (null if it is NOT multipart)
+     * @param contentType
+     * @return
+     */
+    public static String boundary(String contentType) {
+        if(contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        return parameter(contentType, "boundary");
+    }
+
+    /**
+     * Move to the next Part (Skips the rest of the current Part)
+     * @return False if there are no more Parts
+     * @throws IOException
+     */
+    public boolean nextPart() throws IOException {
+        if(finished) {
+            return false;
+        }
+        // Skip the Preamble or the unread Body of the current Part
+        int skipped;
+        while((skipped = bodyAvailable()) > 0) {
+            head += skipped;
+        }
+        head += delimiter.length;
+        ensure(2);
+        if(buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            return false;
+        }
+        headers = readHeaders();
+        return true;
+    }
+
+    /**
+     * Returns the Part Header (Name is case insensitive)
+     * @param name
+     * @return
+     */
+    public String getHeader(String name) {
+        return headers.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the Form Field Name of the Part
+     * @return
+     */
+    public String getFieldName() {
+        return parameter(getHeader("Content-Disposition"), "name");
+    }
+
+    /**
+     * Returns the File Name of the Part (Path removed) or null if the Part is NOT a File
+     * @return
+     */
+    public String getFileName() {
+        String fileName = parameter(getHeader("Content-Disposition"), "filename");
+        if(fileName == null) {
+            return null;
+        }
+        // Some Clients send the full Path
+        return fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+    }
+
+    /**
+     * Returns the Content Type of the Part
+     * @return
+     */
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    /**
+     * Returns the Body of the current Part (Ends at the next Boundary)
+     * @return
+     */
+    public InputStream getPartStream() {
+        return partStream;
+    }
+
+    /**
+     * Returns the Bytes of the Part Body in the Buffer before the Delimiter (0 = at the Delimiter)
+     * @return
+     * @throws IOException
+     */
+    private int bodyAvailable() throws IOException {
+        while(true) {
+            int found = indexOfDelimiter();
+            if(found >= 0) {
+                return found - head;
+            }
+            // Keep the Bytes that may be the start of the Delimiter
+            int safe = tail - head - (delimiter.length - 1);
+            if(safe > 0) {
+                return safe;
+            }
+            if(eof) {
+                throw new EOFException("Multipart Stream ended before the closing Boundary");
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Returns the Position of the Delimiter in the Buffer or -1
+     * @return
+     */
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        byte first = delimiter[0];
+        outer:
+        for(int i = head; i <= last; i++) {
+            if(buffer[i] != first) {
+                continue;
+            }
+            for(int j = 1; j < delimiter.length; j++) {
+                if(buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Read the Part Headers (till the Empty Line)
+     * @return
+     * @throws IOException
+     */
+    private Map<String, String> readHeaders() throws IOException {
+        // Rest of the Boundary Line (Transport Padding is allowed)
+        readLine();
+        Map<String, String> partHeaders = new HashMap<>();
+        int size = 0;
+        String line;
+        while(!(line = readLine()).isEmpty()) {
+            size += line.length();
+            if(size > MAX_HEADER_SIZE) {
+                throw new IOException("Multipart Headers exceed "+MAX_HEADER_SIZE+" Bytes");
+            }
+            int colon = line.indexOf(':');
+            if(colon > 0) {
+                partHeaders.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        line.substring(colon + 1).trim());
+            }
+        }
+        return partHeaders;
+    }
+
+    /**
+     * Read a Line (CR LF removed, UTF-8 for the File Names)
+     * @return
+     * @throws IOException
+     */
+    private String readLine() throws IOException {
+        // Bytes after the Head already searched (the Head moves when the Buffer is filled)
+        int scanned = 0;
+        while(true) {
+            for(int i = head + scanned; i < tail - 1; i++) {
+                if(buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, head, i - head, StandardCharsets.UTF_8);
+                    head = i + 2;
+                    return line;
+                }
+            }
+            scanned = Math.max(0, tail - 1 - head);
+            if(eof) {
+                throw new EOFException("Multipart Stream ended in the Part Headers");
+            }
+            if(head == 0 && tail == buffer.length) {
+                throw new IOException("Multipart Header Line exceeds "+buffer.length+" Bytes");
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Ensure that the Buffer has at least count Bytes
+     * @param count
+     * @throws IOException
+     */
+    private void ensure(int count) throws IOException {
+        while(tail - head < count) {
+            if(eof) {
+                throw new EOFException("Multipart Stream ended after the Boundary");
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Move the unread Bytes to the Start of the Buffer and read more
+     * @throws IOException
+     */
+    private void fill() throws IOException {
+        if(head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int read = in.read(buffer, tail, buffer.length - tail);
+        if(read == -1) {
+            eof = true;
+        } else {
+            tail += read;
+        }
+    }
+
+    /**
+     * Returns the Parameter of the Header (ex. filename of the Content-Disposition)
+     * @param header
+     * @param name
+     * @return
+     */
+    static String parameter(String header, String name) {
+        if(header == null) {
+            return null;
+        }
+        int i = header.indexOf(';');
+        while(i >= 0 && i < header.length()) {
+            int start = i + 1;
+            int equals = header.indexOf('=', start);
+            if(equals < 0) {
+                return null;
+            }
+            String key = header.substring(start, equals).trim();
+            int end;
+            String value;
+            if(equals + 1 < header.length() && header.charAt(equals + 1) == '"') {
+                // Quoted String (Backslash escapes the next Char)
+                StringBuilder sb = new StringBuilder();
+                end = equals + 2;
+                while(end < header.length() && header.charAt(end) != '"') {
+                    char c = header.charAt(end);
+                    if(c == '\\' && end + 1 < header.length()) {
+                        c = header.charAt(++end);
+                    }
+                    sb.append(c);
+                    end++;
+                }
+                value = sb.toString();
+                end = header.indexOf(';', end);
+            } else {
+                end = header.indexOf(';', equals);
+                value = header.substring(equals + 1, end < 0 ? header.length() : end).trim();
+            }
+            if(key.equalsIgnoreCase(name)) {
+                return value;
+            }
+            i = end;
+        }
+        return null;
+    }
+
+    /**
+     * Body of the current Part
+     */
+    private final class PartInputStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if(finished) {
+                return -1;
+            }
+            if(len == 0) {
+                return 0;
+            }
+            int available = bodyAvailable();
+            if(available == 0) {
+                return -1;
+            }
+            int count = Math.min(available, len);
+            System.arraycopy(buffer, head, b, off, count);
+            head += count;
+            return count;
+        }
+    }
+}
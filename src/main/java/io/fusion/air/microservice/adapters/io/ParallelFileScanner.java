@@ -0,0 +1,373 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+// Java
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Parallel Segmented File Scanner
+ *
+ * The File is split into Segments (aligned to the Page Size) which are read with positional
+ * FileChannel.read(buffer, position) on a Fork Join Pool. Positional Reads don't change the
+ * Channel Position, so all the Threads share a Single Channel.
+ *
+ * Bytes, Lines (Line Feeds) and UTF-8 Code Points (Non Continuation Bytes) are counted per Byte,
+ * so they don't depend on the Segment Boundaries.
+ * For the Line Function a Line belongs to the Segment where it starts: A Segment skips the partial
+ * Line at its Start and reads past its End to complete its last Line.
+ *
+ * Reads go into a Direct Buffer from the Shared Buffer Pool and are copied once into a per Thread
+ * Array (a Heap Buffer would also be copied, through a Temporary Direct Buffer of the JDK).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Service
+public class ParallelFileScanner {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final int PAGE_SIZE = 4096;
+    public static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    public static final int MAX_SEGMENT_SIZE = 1024 * 1024 * 1024;
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+    public static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    // Reused per Thread - Read Buffer copied for the Counts and the Line Function
+    private static final ThreadLocal<byte[]> readArrays = ThreadLocal.withInitial(() -> new byte[READ_BUFFER_SIZE]);
+
+    private final ForkJoinPool pool;
+    private final DirectBufferPool bufferPool;
+
+    /**
+     * Create the Scanner with Parallelism = No. of Processors and a Private Buffer Pool
+     */
+    public ParallelFileScanner() {
+        this(Runtime.getRuntime().availableProcessors(), new DirectBufferPool());
+    }
+
+    /**
+     * Create the Scanner with Parallelism = No. of Processors
+     * @param _bufferPool
+     */
+    @Autowired
+    public ParallelFileScanner(DirectBufferPool _bufferPool) {
+        this(Runtime.getRuntime().availableProcessors(), _bufferPool);
+    }
+
+    /**
+     * Create the Scanner
+     * @param _parallelism
+     * @param _bufferPool
+     */
+    public ParallelFileScanner(int _parallelism, DirectBufferPool _bufferPool) {
+        pool = new ForkJoinPool(_parallelism);
+        bufferPool = _bufferPool;
+    }
+
+    /**
+     * Scan the File (Counts only)
+     * @param filePath
+     * @param segmentSize
+     * @return
+     * @throws IOException
+     */
+    public FileScanStats scan(String filePath, int segmentSize) throws IOException {
+        return scan(filePath, segmentSize, null);
+    }
+
+    /**
+     * Scan the File and apply the Line Function on every Line
+     * @param filePath
+     * @param segmentSize
+     * @param lineFunction
+     * @return
+     * @throws IOException
+     */
+    public FileScanStats scan(String filePath, int segmentSize, LineFunction lineFunction) throws IOException {
+        if(filePath == null) {
+            throw new InvalidInputException("File Path is required");
+        }
+        if(segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new InvalidInputException("Segment Size should be between "+MIN_SEGMENT_SIZE+" and "+MAX_SEGMENT_SIZE);
+        }
+        // Align the Segment to the Page Size
+        int alignedSize = ((segmentSize + PAGE_SIZE - 1) / PAGE_SIZE) * PAGE_SIZE;
+        long startTime = System.currentTimeMillis();
+        Path path = Paths.get(filePath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long segmentCount = (fileSize + alignedSize - 1) / alignedSize;
+            if(segmentCount > Integer.MAX_VALUE) {
+                throw new InvalidInputException("Segment Size is too small for the File Size "+fileSize);
+            }
+            int segments = (int) segmentCount;
+            Counts counts = (segments == 0) ? new Counts()
+                    : invoke(new SegmentTask(bufferPool, channel, fileSize, alignedSize, 0, segments, lineFunction));
+            // Last Line without the Line Terminator
+            if(fileSize > 0 && byteAt(bufferPool, channel, fileSize - 1) != LF) {
+                counts.lines++;
+            }
+            FileScanStats stats = new FileScanStats(filePath, fileSize, segments, alignedSize, pool.getParallelism(),
+                    counts.bytes, counts.lines, counts.codePoints, counts.lineResult,
+                    System.currentTimeMillis() - startTime);
+            log.info("Parallel Scan: "+stats);
+            return stats;
+        }
+    }
+
+    /**
+     * Run the Task in the Pool and unwrap the IO Errors
+     * @param _task
+     * @return
+     * @throws IOException
+     */
+    private Counts invoke(SegmentTask _task) throws IOException {
+        try {
+            return pool.invoke(_task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Read a Single Byte at the Position
+     * @param _bufferPool
+     * @param _channel
+     * @param _position
+     * @return
+     * @throws IOException
+     */
+    private static byte byteAt(DirectBufferPool _bufferPool, FileChannel _channel, long _position) throws IOException {
+        try (PooledBuffer pooled = _bufferPool.acquire(1)) {
+            ByteBuffer one = pooled.buffer();
+            while(one.hasRemaining()) {
+                if(_channel.read(one, _position) < 0) {
+                    throw new IOException("Unexpected End of File at "+_position);
+                }
+            }
+            return one.get(0);
+        }
+    }
+
+    /**
+     * Shutdown the Fork Join Pool
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Counts of a Range of Segments
+     */
+    private static final class Counts {
+        private long bytes;
+        private long lines;
+        private long codePoints;
+        private long lineResult;
+
+        private Counts add(Counts _other) {
+            bytes += _other.bytes;
+            lines += _other.lines;
+            codePoints += _other.codePoints;
+            lineResult += _other.lineResult;
+            return this;
+        }
+    }
+
+    /**
+     * Scans a Range of Segments [fromSegment, toSegment). Splits the Range in half until
+     * a Single Segment is left.
+     */
+    private static final class SegmentTask extends RecursiveTask<Counts> {
+
+        private final DirectBufferPool bufferPool;
+        private final FileChannel channel;
+        private final long fileSize;
+        private final int segmentSize;
+        private final int fromSegment;
+        private final int toSegment;
+        private final LineFunction lineFunction;
+
+        private SegmentTask(DirectBufferPool _bufferPool, FileChannel _channel, long _fileSize, int _segmentSize,
+                            int _fromSegment, int _toSegment, LineFunction _lineFunction) {
+            bufferPool = _bufferPool;
+            channel = _channel;
+            fileSize = _fileSize;
+            segmentSize = _segmentSize;
+            fromSegment = _fromSegment;
+            toSegment = _toSegment;
+            lineFunction = _lineFunction;
+        }
+
+        @Override
+        protected Counts compute() {
+            if(toSegment - fromSegment == 1) {
+                try {
+                    return scanSegment();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int mid = (fromSegment + toSegment) >>> 1;
+            SegmentTask left = new SegmentTask(bufferPool, channel, fileSize, segmentSize, fromSegment, mid, lineFunction);
+            SegmentTask right = new SegmentTask(bufferPool, channel, fileSize, segmentSize, mid, toSegment, lineFunction);
+            left.fork();
+            Counts counts = right.compute();
+            return counts.add(left.join());
+        }
+
+        /**
+         * Scan the Segment
+         * @return
+         * @throws IOException
+         */
+        private Counts scanSegment() throws IOException {
+            Counts counts = new Counts();
+            long start = (long) fromSegment * segmentSize;
+            long end = Math.min(start + segmentSize, fileSize);
+            // Partial Line at the Start belongs to the previous Segment
+            boolean skipping = lineFunction != null && start > 0 && byteAt(bufferPool, channel, start - 1) != LF;
+            boolean lineOpen = lineFunction != null && !skipping;
+            LineBuffer line = (lineFunction != null) ? new LineBuffer() : null;
+
+            byte[] data = readArrays.get();
+            try (PooledBuffer pooled = bufferPool.acquire(READ_BUFFER_SIZE)) {
+                ByteBuffer buffer = pooled.buffer();
+                long position = start;
+                // Read the Segment and (for the Line Function) beyond the End until the Open Line is complete
+                while(position < end || (lineOpen && position < fileSize)) {
+                    buffer.clear();
+                    int read = channel.read(buffer, position);
+                    if(read < 0) {
+                        break;
+                    }
+                    buffer.flip();
+                    buffer.get(data, 0, read);
+                    // Counts for the Bytes inside the Segment
+                    int inSegment = (int) Math.max(0, Math.min(read, end - position));
+                    for(int i = 0; i < inSegment; i++) {
+                        byte b = data[i];
+                        if(b == LF) {
+                            counts.lines++;
+                        }
+                        if((b & 0xC0) != 0x80) {
+                            counts.codePoints++;
+                        }
+                    }
+                    counts.bytes += inSegment;
+                    if(lineFunction != null) {
+                        int lineStart = 0;
+                        for(int i = 0; i < read; i++) {
+                            if(data[i] != LF) {
+                                continue;
+                            }
+                            if(skipping) {
+                                skipping = false;
+                            } else {
+                                counts.lineResult += line.apply(lineFunction, data, lineStart, i - lineStart);
+                            }
+                            lineStart = i + 1;
+                            // Next Line starts in the next Segment
+                            if(position + lineStart >= end) {
+                                lineOpen = false;
+                                break;
+                            }
+                            lineOpen = true;
+                        }
+                        if(lineOpen && !skipping) {
+                            line.append(data, lineStart, read - lineStart);
+                        } else if(skipping && position + read >= end) {
+                            // Whole Segment is inside a Line which started in a previous Segment
+                            lineOpen = false;
+                        }
+                        if(!lineOpen && position + read >= end) {
+                            break;
+                        }
+                    }
+                    position += read;
+                }
+            }
+            // Last Line of the File without the Line Terminator
+            if(lineOpen && line.length > 0) {
+                counts.lineResult += line.apply(lineFunction, data, 0, 0);
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Holds the part of a Line which crosses the Read Buffer
+     */
+    private static final class LineBuffer {
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        private void append(byte[] _data, int _offset, int _length) {
+            if(length + _length > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, length + _length)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+            System.arraycopy(_data, _offset, bytes, length, _length);
+            length += _length;
+        }
+
+        /**
+         * Apply the Function on the Line (Buffered Part + Data) and reset the Buffer
+         */
+        private long apply(LineFunction _function, byte[] _data, int _offset, int _length) {
+            byte[] lineData = _data;
+            int offset = _offset;
+            int lineLength = _length;
+            if(length > 0) {
+                append(_data, _offset, _length);
+                lineData = bytes;
+                offset = 0;
+                lineLength = length;
+            }
+            // Exclude the Carriage Return (CR LF)
+            if(lineLength > 0 && lineData[offset + lineLength - 1] == CR) {
+                lineLength--;
+            }
+            length = 0;
+            return _function.apply(lineData, offset, lineLength);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+// Java
+import java.nio.ByteBuffer;
+
+/**
+ * Direct Buffer acquired from the Direct Buffer Pool. Close it to return the Buffer to the Pool.
+ * The Buffer must NOT be used after the Close.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class PooledBuffer implements AutoCloseable {
+
+    private final DirectBufferPool pool;
+    private final int sizeClass;
+    private ByteBuffer buffer;
+    private DirectBufferPool.LeakTracker tracker;
+
+    /**
+     * Pooled Buffer
+     * @param _pool
+     * @param _buffer
+     * @param _sizeClass (-1 = NOT Pooled)
+     */
+    PooledBuffer(DirectBufferPool _pool, ByteBuffer _buffer, int _sizeClass) {
+        pool = _pool;
+        buffer = _buffer;
+        sizeClass = _sizeClass;
+    }
+
+    /**
+     * Returns the Direct Buffer
+     * @return
+     */
+    public ByteBuffer buffer() {
+        if(buffer == null) {
+            throw new IllegalStateException("Buffer is already released to the Pool");
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns True if the Buffer is from the Pool (False = Too Large to be Pooled)
+     * @return
+     */
+    public boolean isPooled() {
+        return sizeClass >= 0;
+    }
+
+    /**
+     * Release the Buffer to the Pool (Only the First Close releases it)
+     */
+    @Override
+    public void close() {
+        ByteBuffer released = buffer;
+        if(released == null) {
+            return;
+        }
+        buffer = null;
+        pool.release(this, released, sizeClass);
+    }
+
+    DirectBufferPool.LeakTracker getTracker() {
+        return tracker;
+    }
+
+    void setTracker(DirectBufferPool.LeakTracker _tracker) {
+        tracker = _tracker;
+    }
+}
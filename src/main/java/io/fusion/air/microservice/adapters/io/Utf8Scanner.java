@@ -0,0 +1,293 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation Free UTF-8 Scanner
+ *
+ * Counts Code Points and Lines directly on the Bytes of a (Direct / Mapped) ByteBuffer without
+ * decoding into a CharBuffer. The Decoder State is kept between the calls, so a Multi Byte
+ * Sequence split across two Chunks is counted once.
+ * Malformed Sequences are counted as one Character each, the same as the Replacement Characters
+ * of the JDK UTF-8 Decoder (CodingErrorAction.REPLACE):
+ * 1. Lead Bytes C0, C1, F5 - FF, Stray Continuation Bytes and Truncated Sequences.
+ * 2. Overlong Forms (E0 80 - 9F, F0 80 - 8F) and Code Points above U+10FFFF (F4 90 - BF): The Lead
+ *    Byte is Malformed and the following Continuation Bytes are Stray.
+ * 3. Surrogates (ED A0 - BF xx): The complete Sequence is one Malformed Character.
+ *
+ * scanLines: A Line split across two Chunks is carried over (copied into a reused Carry Array,
+ * grown only for the Lines longer than the Array) and passed once it is complete. The last Line
+ * without a Line Feed is passed by finish(handler).
+ *
+ * Not Thread Safe. Reuse the Scanner (reset) for the next File.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class Utf8Scanner {
+
+    private static final byte LF = '\n';
+
+    private long bytes;
+    private long codePoints;
+    private long lines;
+    private long malformed;
+    // Continuation Bytes expected for the current Sequence
+    private int pending;
+    // Valid Range of the next Continuation Byte (restricted after E0, ED, F0, F4)
+    private int lower = 0x80;
+    private int upper = 0xBF;
+    // Lead Byte ED: A Second Byte A0 - BF encodes a Surrogate (Malformed Sequence)
+    private boolean surrogateLead;
+    private boolean surrogate;
+    // Partial Line carried over to the next Chunk (scanLines)
+    private byte[] carry = new byte[256];
+    private ByteBuffer carryBuffer = ByteBuffer.wrap(carry);
+    private int carryLength;
+
+    /**
+     * Handles a Line found by the Scanner
+     */
+    @FunctionalInterface
+    public interface LineHandler {
+        /**
+         * Line Bytes [start, end) in the Buffer without the Line Feed
+         * @param buffer
+         * @param start
+         * @param end
+         */
+        public void line(ByteBuffer buffer, int start, int end);
+    }
+
+    /**
+     * Reset the Scanner for the next File
+     * @return
+     */
+    public Utf8Scanner reset() {
+        bytes = 0;
+        codePoints = 0;
+        lines = 0;
+        malformed = 0;
+        pending = 0;
+        lower = 0x80;
+        upper = 0xBF;
+        surrogateLead = false;
+        surrogate = false;
+        carryLength = 0;
+        return this;
+    }
+
+    /**
+     * Scan the Bytes from the Position to the Limit. The Position is moved to the Limit.
+     * @param buffer
+     * @return
+     */
+    public Utf8Scanner scan(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for(int i = buffer.position(); i < limit; i++) {
+            accept(buffer.get(i));
+        }
+        bytes += limit - buffer.position();
+        buffer.position(limit);
+        return this;
+    }
+
+    /**
+     * Scan the Bytes from the Position to the Limit and call the Handler for every complete Line.
+     * The Position is moved to the Limit. The Bytes after the last Line Feed are carried over to
+     * the next Chunk; call finish(handler) after the last Chunk for a Line without a Line Feed.
+     * @param buffer
+     * @param handler
+     * @return
+     */
+    public Utf8Scanner scanLines(ByteBuffer buffer, LineHandler handler) {
+        int limit = buffer.limit();
+        int lineStart = buffer.position();
+        for(int i = lineStart; i < limit; i++) {
+            byte b = buffer.get(i);
+            accept(b);
+            if(b == LF) {
+                if(carryLength > 0) {
+                    // Line started in a previous Chunk
+                    appendCarry(buffer, lineStart, i);
+                    handler.line(carryBuffer, 0, carryLength);
+                    carryLength = 0;
+                } else {
+                    handler.line(buffer, lineStart, i);
+                }
+                lineStart = i + 1;
+            }
+        }
+        if(lineStart < limit) {
+            appendCarry(buffer, lineStart, limit);
+        }
+        bytes += limit - buffer.position();
+        buffer.position(limit);
+        return this;
+    }
+
+    /**
+     * Complete the Scan and pass the last Line (without a Line Feed) to the Handler
+     * @param handler
+     * @return
+     */
+    public Utf8Scanner finish(LineHandler handler) {
+        if(carryLength > 0) {
+            handler.line(carryBuffer, 0, carryLength);
+            carryLength = 0;
+        }
+        return finish();
+    }
+
+    /**
+     * Append the Bytes [start, end) of the Buffer to the Carried Over Line
+     * @param buffer
+     * @param start
+     * @param end
+     */
+    private void appendCarry(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if(carryLength + length > carry.length) {
+            byte[] larger = new byte[Math.max(carry.length * 2, carryLength + length)];
+            System.arraycopy(carry, 0, larger, 0, carryLength);
+            carry = larger;
+            carryBuffer = ByteBuffer.wrap(carry);
+        }
+        for(int i = 0; i < length; i++) {
+            carry[carryLength + i] = buffer.get(start + i);
+        }
+        carryLength += length;
+    }
+
+    /**
+     * Complete the Scan (Counts a Truncated Sequence at the End of the File)
+     * @return
+     */
+    public Utf8Scanner finish() {
+        endOpenSequence();
+        return this;
+    }
+
+    /**
+     * Process a Single Byte
+     * @param b
+     */
+    private void accept(byte b) {
+        if(b == LF) {
+            lines++;
+        }
+        int u = b & 0xFF;
+        if(u < 0x80) {
+            endOpenSequence();
+            codePoints++;
+        } else if(u < 0xC0) {
+            // Continuation Byte
+            if(pending > 0 && u >= lower && u <= upper) {
+                if(surrogateLead) {
+                    surrogateLead = false;
+                    surrogate = u >= 0xA0;
+                }
+                lower = 0x80;
+                upper = 0xBF;
+                if(--pending == 0) {
+                    if(surrogate) {
+                        surrogate = false;
+                        malformed++;
+                    }
+                    codePoints++;
+                }
+            } else {
+                // Overlong, Above U+10FFFF or Stray: The Lead Byte and this Byte are Malformed
+                endOpenSequence();
+                malformed++;
+                codePoints++;
+            }
+        } else {
+            endOpenSequence();
+            if(u >= 0xC2 && u <= 0xDF) {
+                pending = 1;
+            } else if(u >= 0xE0 && u <= 0xEF) {
+                pending = 2;
+                if(u == 0xE0) {
+                    lower = 0xA0;
+                } else if(u == 0xED) {
+                    surrogateLead = true;
+                }
+            } else if(u >= 0xF0 && u <= 0xF4) {
+                pending = 3;
+                if(u == 0xF0) {
+                    lower = 0x90;
+                } else if(u == 0xF4) {
+                    upper = 0x8F;
+                }
+            } else {
+                // 0xC0, 0xC1, 0xF5 - 0xFF are never valid
+                malformed++;
+                codePoints++;
+            }
+        }
+    }
+
+    /**
+     * A new Sequence starts before the current Sequence is complete
+     */
+    private void endOpenSequence() {
+        if(pending > 0) {
+            pending = 0;
+            lower = 0x80;
+            upper = 0xBF;
+            surrogateLead = false;
+            surrogate = false;
+            malformed++;
+            codePoints++;
+        }
+    }
+
+    /**
+     * Returns the No. of Bytes Scanned
+     * @return
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the No. of Code Points (including the Malformed Sequences)
+     * @return
+     */
+    public long getCodePoints() {
+        return codePoints;
+    }
+
+    /**
+     * Returns the No. of Line Feeds
+     * @return
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Returns the No. of Malformed Sequences
+     * @return
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+}
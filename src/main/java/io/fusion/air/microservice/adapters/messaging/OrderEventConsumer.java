@@ -0,0 +1,217 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.messaging;
+// Custom
+import io.fusion.air.microservice.adapters.repository.ProcessedEventRepository;
+import io.fusion.air.microservice.domain.entities.outbox.ProcessedEventEntity;
+import io.fusion.air.microservice.domain.events.InboundOrderEvent;
+import io.fusion.air.microservice.domain.ports.services.OrderService;
+import io.fusion.air.microservice.server.config.KafkaConfig;
+import io.fusion.air.microservice.server.config.KafkaSetup;
+import io.fusion.air.microservice.utils.JsonMapper;
+// Kafka
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+// Metrics
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+// Java
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Order Event Consumer (Batch Listener)
+ *
+ * 1. One Consumer Thread per Partition (kafka.consumer.concurrency). Events are keyed by the
+ *    Order ID, so all the Events of an Order are processed in order by the same Thread.
+ * 2. Every Poll is split into Micro Batches. Each Micro Batch is applied through the Order Service
+ *    in a Single Database Transaction along with the Processed Event IDs (Dedupe by Event ID).
+ * 3. Offsets are committed only after all the Micro Batches are committed in the Database.
+ *    Redelivered Events are discarded using the Processed Event IDs.
+ *
+ * Enable with kafka.consumer.enabled=true
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class OrderEventConsumer {
+
+    // Set Logger -> Lookup will automatically determine the class name.
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Metrics
+    private final DistributionSummary batchSize;
+    private final Timer batchTime;
+    private final Counter appliedEvents;
+    private final Counter duplicateEvents;
+    private final Counter invalidEvents;
+
+    /**
+     * Order Event Consumer
+     * @param _txManager
+     * @param _registry
+     */
+    public OrderEventConsumer(PlatformTransactionManager _txManager, MeterRegistry _registry) {
+        transactionTemplate = new TransactionTemplate(_txManager);
+        batchSize = DistributionSummary.builder("order.events.consumer.batch.size")
+                .description("No. of Order Events received in a Poll")
+                .publishPercentileHistogram()
+                .register(_registry);
+        batchTime = Timer.builder("order.events.consumer.batch.time")
+                .description("Time taken to process a Poll (Including the Database Commits)")
+                .publishPercentileHistogram()
+                .register(_registry);
+        appliedEvents = Counter.builder("order.events.consumer.applied").register(_registry);
+        duplicateEvents = Counter.builder("order.events.consumer.duplicates").register(_registry);
+        invalidEvents = Counter.builder("order.events.consumer.invalid").register(_registry);
+    }
+
+    /**
+     * Consume the Order Events (All the Records from a Single Poll)
+     * @param records
+     * @param ack
+     */
+    @KafkaListener(topics = "${kafka.consumer.topic:order-inbound-events}",
+            groupId = "${kafka.consumer.group.id:ms-vanilla-order-events}",
+            containerFactory = KafkaSetup.BATCH_LISTENER_FACTORY)
+    public void consume(List<ConsumerRecord<String, String>> records, Acknowledgment ack) {
+        long startTime = System.nanoTime();
+        batchSize.record(records.size());
+        List<InboundOrderEvent> events = toEvents(records);
+        int microBatchSize = Math.max(1, kafkaConfig.getConsumerMicroBatchSize());
+        for(int i = 0; i < events.size(); i += microBatchSize) {
+            List<InboundOrderEvent> microBatch = events.subList(i, Math.min(i + microBatchSize, events.size()));
+            transactionTemplate.executeWithoutResult(status -> applyMicroBatch(microBatch));
+        }
+        // Commit the Offsets after the Database Commits
+        ack.acknowledge();
+        batchTime.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Apply the Micro Batch (Runs within the Database Transaction)
+     * @param microBatch
+     */
+    private void applyMicroBatch(List<InboundOrderEvent> microBatch) {
+        // Dedupe within the Batch and with the Processed Events
+        Map<String, InboundOrderEvent> newEvents = new LinkedHashMap<>();
+        for(InboundOrderEvent event : microBatch) {
+            newEvents.putIfAbsent(event.getId(), event);
+        }
+        for(String eventId : processedEventRepository.findProcessedIds(newEvents.keySet())) {
+            newEvents.remove(eventId);
+        }
+        duplicateEvents.increment(microBatch.size() - newEvents.size());
+        if(newEvents.isEmpty()) {
+            return;
+        }
+        int applied = orderService.handleEvents(new ArrayList<>(newEvents.values()));
+        appliedEvents.increment(applied);
+        List<ProcessedEventEntity> processed = new ArrayList<>(newEvents.size());
+        for(String eventId : newEvents.keySet()) {
+            processed.add(new ProcessedEventEntity(eventId));
+        }
+        processedEventRepository.saveAll(processed);
+    }
+
+    /**
+     * Convert the Kafka Records to Inbound Order Events. Invalid Records are Skipped.
+     * Event ID is taken from the Payload / Header (eventId). If it's missing then the
+     * Event ID is derived from the Topic, Partition and Offset (Same ID on Redelivery).
+     *
+     * @param records
+     * @return
+     */
+    private List<InboundOrderEvent> toEvents(List<ConsumerRecord<String, String>> records) {
+        List<InboundOrderEvent> events = new ArrayList<>(records.size());
+        for(ConsumerRecord<String, String> record : records) {
+            try {
+                InboundOrderEvent event = JsonMapper.fromJson(record.value(), InboundOrderEvent.class);
+                if(event.getId() == null) {
+                    event.assignId(eventId(record));
+                }
+                if(!isValidEventId(event.getId())) {
+                    invalidEvents.increment();
+                    log.error("Invalid Order Event ID! Partition = "+record.partition()+" Offset = "+record.offset()
+                            +" ID Length = "+(event.getId() != null ? event.getId().length() : 0));
+                    continue;
+                }
+                events.add(event);
+            } catch (Exception e) {
+                invalidEvents.increment();
+                log.error("Invalid Order Event! Partition = "+record.partition()+" Offset = "+record.offset()
+                        +" Error = "+e.getMessage());
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Returns True if the Event ID fits the Processed Events Table (An Invalid ID would fail the whole Batch)
+     * @param _eventId
+     * @return
+     */
+    private static boolean isValidEventId(String _eventId) {
+        return _eventId != null && !_eventId.trim().isEmpty()
+                && _eventId.length() <= ProcessedEventEntity.MAX_EVENT_ID_LENGTH;
+    }
+
+    /**
+     * Returns the Event ID from the Header or Derives it from the Record Position
+     * @param record
+     * @return
+     */
+    private String eventId(ConsumerRecord<String, String> record) {
+        Header header = record.headers().lastHeader(OutboxRelayService.HEADER_EVENT_ID);
+        if(header != null) {
+            return new String(header.value(), StandardCharsets.UTF_8);
+        }
+        String position = record.topic() + "-" + record.partition() + "-" + record.offset();
+        return UUID.nameUUIDFromBytes(position.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
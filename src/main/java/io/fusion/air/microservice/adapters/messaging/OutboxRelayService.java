@@ -0,0 +1,149 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.messaging;
+// Custom
+import io.fusion.air.microservice.adapters.repository.OutboxRepository;
+import io.fusion.air.microservice.domain.entities.outbox.OutboxEventEntity;
+import io.fusion.air.microservice.domain.exceptions.MessagingException;
+import io.fusion.air.microservice.server.config.KafkaConfig;
+// Kafka
+import org.apache.kafka.clients.producer.ProducerRecord;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.ListenableFuture;
+// Java
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Outbox Relay
+ * Drains the Outbox in Batches to Kafka. For every Batch
+ * 1. Lock the oldest N Events (Other Relay Instances wait for the Lock)
+ * 2. Send all the Events (Producer batches them with Linger / Compression)
+ * 3. Wait for the Broker Acks of the Batch
+ * 4. Delete the Published Events with a Single Bulk Delete
+ *
+ * Relay Instances take turns: only one Instance publishes at a time, in the Outbox Order. Skipping
+ * the locked rows (SKIP LOCKED) lets a second Instance publish the newer Events of an Order before
+ * the older Events of the first Instance are acked, which breaks the per Order (Key) ordering.
+ *
+ * If the Broker fails the Transaction is rolled back and the Events are retried in the next run.
+ * Idempotent Producer + Event ID Header lets the Consumers discard the Duplicates.
+ *
+ * Enable with kafka.outbox.relay.enabled=true
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.outbox.relay.enabled", havingValue = "true")
+public class OutboxRelayService {
+
+    // Set Logger -> Lookup will automatically determine the class name.
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String HEADER_EVENT_ID      = "eventId";
+    public static final String HEADER_EVENT_TYPE    = "eventType";
+    public static final String HEADER_AGGREGATE     = "aggregateType";
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Outbox Relay
+     * @param _txManager
+     */
+    public OutboxRelayService(PlatformTransactionManager _txManager) {
+        transactionTemplate = new TransactionTemplate(_txManager);
+    }
+
+    /**
+     * Drain the Outbox till the Pending Events are less than a Batch
+     */
+    @Scheduled(fixedDelayString = "${kafka.outbox.relay.interval.ms:500}")
+    public void relay() {
+        int batchSize = kafkaConfig.getOutboxRelayBatchSize();
+        int published;
+        try {
+            do {
+                published = transactionTemplate.execute(status -> publishBatch(batchSize));
+            } while (published >= batchSize);
+        } catch (Exception e) {
+            log.error("Outbox Relay Failed! Events will be retried. "+e.getMessage());
+        }
+    }
+
+    /**
+     * Publish a Single Batch (Runs within the Relay Transaction)
+     * @param batchSize
+     * @return No. of Events Published
+     */
+    private int publishBatch(int batchSize) {
+        List<OutboxEventEntity> events = outboxRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+        if(events.isEmpty()) {
+            return 0;
+        }
+        List<ListenableFuture<SendResult<String, String>>> acks = new ArrayList<>(events.size());
+        List<Long> ids = new ArrayList<>(events.size());
+        for(OutboxEventEntity event : events) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(
+                    event.getTopic(), event.getAggregateId(), event.getPayload());
+            record.headers()
+                    .add(HEADER_EVENT_ID, event.getEventId().getBytes(StandardCharsets.UTF_8))
+                    .add(HEADER_EVENT_TYPE, event.getEventType().getBytes(StandardCharsets.UTF_8))
+                    .add(HEADER_AGGREGATE, event.getAggregateType().getBytes(StandardCharsets.UTF_8));
+            acks.add(kafkaTemplate.send(record));
+            ids.add(event.getId());
+        }
+        kafkaTemplate.flush();
+        long deadline = System.currentTimeMillis() + kafkaConfig.getOutboxRelaySendTimeoutMs();
+        try {
+            for(ListenableFuture<SendResult<String, String>> ack : acks) {
+                ack.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Outbox Relay Interrupted!", e);
+        } catch (Exception e) {
+            throw new MessagingException("Outbox Relay: Unable to Publish the Batch!", e);
+        }
+        int deleted = outboxRepository.deleteByIds(ids);
+        log.debug("Outbox Relay: Published Events = "+events.size()+" Deleted = "+deleted);
+        return events.size();
+    }
+}
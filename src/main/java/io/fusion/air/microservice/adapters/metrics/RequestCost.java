@@ -0,0 +1,139 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.metrics;
+// Java
+import java.io.Serializable;
+
+/**
+ * Request Cost of a Handler (Snapshot): Allocated Bytes and CPU Time per Request.
+ *
+ * Percentiles are estimated from Power of 2 Buckets (Upper Bound of the Bucket, capped at the Max).
+ * Share = Percentage of the Bytes / CPU Time of all the Handlers. -1 = NOT Supported by the JVM.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class RequestCost implements Serializable {
+
+    private final String handler;
+    private final long requests;
+
+    private final long allocatedBytes;
+    private final long allocatedMean;
+    private final long allocatedP50;
+    private final long allocatedP99;
+    private final long allocatedMax;
+    private final double allocatedShare;
+
+    private final long cpuTimeNanos;
+    private final long cpuTimeMean;
+    private final long cpuTimeP50;
+    private final long cpuTimeP99;
+    private final long cpuTimeMax;
+    private final double cpuTimeShare;
+
+    /**
+     * Create the Request Cost
+     * @param _handler HTTP Method + Path Pattern
+     * @param _requests
+     * @param _allocated Allocated Bytes (Total, Mean, P50, P99, Max)
+     * @param _allocatedShare
+     * @param _cpuTime CPU Time in Nanos (Total, Mean, P50, P99, Max)
+     * @param _cpuTimeShare
+     */
+    public RequestCost(String _handler, long _requests, long[] _allocated, double _allocatedShare,
+                       long[] _cpuTime, double _cpuTimeShare) {
+        handler = _handler;
+        requests = _requests;
+        allocatedBytes = _allocated[0];
+        allocatedMean = _allocated[1];
+        allocatedP50 = _allocated[2];
+        allocatedP99 = _allocated[3];
+        allocatedMax = _allocated[4];
+        allocatedShare = _allocatedShare;
+        cpuTimeNanos = _cpuTime[0];
+        cpuTimeMean = _cpuTime[1];
+        cpuTimeP50 = _cpuTime[2];
+        cpuTimeP99 = _cpuTime[3];
+        cpuTimeMax = _cpuTime[4];
+        cpuTimeShare = _cpuTimeShare;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getAllocatedMean() {
+        return allocatedMean;
+    }
+
+    public long getAllocatedP50() {
+        return allocatedP50;
+    }
+
+    public long getAllocatedP99() {
+        return allocatedP99;
+    }
+
+    public long getAllocatedMax() {
+        return allocatedMax;
+    }
+
+    public double getAllocatedShare() {
+        return allocatedShare;
+    }
+
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    public long getCpuTimeMean() {
+        return cpuTimeMean;
+    }
+
+    public long getCpuTimeP50() {
+        return cpuTimeP50;
+    }
+
+    public long getCpuTimeP99() {
+        return cpuTimeP99;
+    }
+
+    public long getCpuTimeMax() {
+        return cpuTimeMax;
+    }
+
+    public double getCpuTimeShare() {
+        return cpuTimeShare;
+    }
+
+    /**
+     * Returns Handler + Requests + Mean Allocated Bytes + Mean CPU Time
+     * @return
+     */
+    public String toString() {
+        return handler + "|Requests=" + requests + "|Alloc=" + allocatedMean + "|CPU=" + cpuTimeMean;
+    }
+}
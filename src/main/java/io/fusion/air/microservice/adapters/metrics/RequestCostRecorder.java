@@ -0,0 +1,448 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.metrics;
+// Custom
+import io.fusion.air.microservice.server.config.RequestCostConfig;
+// Micrometer
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+// Java
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Request Cost Recorder: Allocated Bytes and CPU Time per Handler (HTTP Method + Path Pattern)
+ *
+ * The Cost of a Request is the Difference of the Thread Counters (com.sun.management.ThreadMXBean
+ * Allocated Bytes, Thread CPU Time) before and after the Request on the Request Thread. Every Handler
+ * keeps the Totals and a Power of 2 Histogram (LongAdders, no Locks on the Request Path).
+ *
+ * Usage (see RequestCostFilter):
+ * long allocated = recorder.allocatedBytes();
+ * long cpuTime = recorder.cpuTime();
+ * ... Request ...
+ * recorder.record("GET /ms-vanilla/api/v1/product/all", allocated, cpuTime);
+ *
+ * The Handlers are capped at Max Handlers, the rest is recorded under OTHER.
+ * Metrics: http.server.requests.allocated (bytes), http.server.requests.cpu (seconds) tagged by Handler.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Component
+public class RequestCostRecorder {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String OTHER = "OTHER";
+    public static final int DEFAULT_MAX_HANDLERS = 512;
+    public static final int NOT_SUPPORTED = -1;
+
+    private static final int BUCKETS = 64;
+
+    private final ThreadMXBean threads;
+    // Null if the JVM doesn't support the Allocated Bytes (Non HotSpot / OpenJ9 JVMs)
+    private final com.sun.management.ThreadMXBean allocations;
+    private final boolean enabled;
+    private final boolean cpuTimeSupported;
+    private final int maxHandlers;
+
+    private final ConcurrentHashMap<String, HandlerCost> handlers = new ConcurrentHashMap<>();
+    private final LocalDateTime since = LocalDateTime.now();
+    private MeterRegistry registry;
+
+    /**
+     * Create the Recorder with the Default Configuration
+     */
+    public RequestCostRecorder() {
+        this(true, DEFAULT_MAX_HANDLERS);
+    }
+
+    /**
+     * Create the Recorder from the Configuration and register the Metrics
+     * @param _config
+     * @param _registry
+     */
+    @Autowired
+    public RequestCostRecorder(RequestCostConfig _config, MeterRegistry _registry) {
+        this(_config.isEnabled(), _config.getMaxHandlers());
+        registry = _registry;
+        log.info("Request Cost: Enabled = {}, Allocated Bytes = {}, CPU Time = {}, Max Handlers = {}",
+                enabled, isAllocationSupported(), cpuTimeSupported, maxHandlers);
+    }
+
+    /**
+     * Create the Recorder
+     * @param _enabled False = Requests are NOT recorded
+     * @param _maxHandlers Max Handlers tracked (the rest is recorded under OTHER)
+     */
+    public RequestCostRecorder(boolean _enabled, int _maxHandlers) {
+        if(_maxHandlers < 1) {
+            throw new IllegalArgumentException("Invalid Request Cost Configuration: Max Handlers = "+_maxHandlers);
+        }
+        threads = ManagementFactory.getThreadMXBean();
+        allocations = allocationMXBean(threads);
+        cpuTimeSupported = enableCpuTime(threads);
+        enabled = _enabled && (allocations != null || cpuTimeSupported);
+        maxHandlers = _maxHandlers;
+    }
+
+    /**
+     * Returns the Thread MXBean if the Allocated Bytes are supported (and enabled), else Null
+     * @param _threads
+     * @return
+     */
+    private static com.sun.management.ThreadMXBean allocationMXBean(ThreadMXBean _threads) {
+        if(!(_threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) _threads;
+        try {
+            if(!mxBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if(!mxBean.isThreadAllocatedMemoryEnabled()) {
+                mxBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return mxBean;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            log.warn("Thread Allocated Bytes NOT available: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns True if the CPU Time of the Current Thread is supported (and enabled)
+     * @param _threads
+     * @return
+     */
+    private static boolean enableCpuTime(ThreadMXBean _threads) {
+        try {
+            if(!_threads.isCurrentThreadCpuTimeSupported()) {
+                return false;
+            }
+            if(!_threads.isThreadCpuTimeEnabled()) {
+                _threads.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            log.warn("Thread CPU Time NOT available: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the Bytes allocated by the Current Thread (-1 = NOT Supported)
+     * @return
+     */
+    public long allocatedBytes() {
+        return allocations != null
+                ? allocations.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : NOT_SUPPORTED;
+    }
+
+    /**
+     * Returns the CPU Time (Nanos) of the Current Thread (-1 = NOT Supported)
+     * @return
+     */
+    public long cpuTime() {
+        return cpuTimeSupported ? threads.getCurrentThreadCpuTime() : NOT_SUPPORTED;
+    }
+
+    /**
+     * Record the Cost of the Request from the Counters taken at the Start of the Request
+     * (on the same Thread).
+     *
+     * @param _handler HTTP Method + Path Pattern
+     * @param _allocatedStart allocatedBytes() at the Start
+     * @param _cpuTimeStart cpuTime() at the Start
+     */
+    public void record(String _handler, long _allocatedStart, long _cpuTimeStart) {
+        if(!enabled) {
+            return;
+        }
+        long allocated = _allocatedStart >= 0 ? allocatedBytes() - _allocatedStart : NOT_SUPPORTED;
+        long cpuTime = _cpuTimeStart >= 0 ? cpuTime() - _cpuTimeStart : NOT_SUPPORTED;
+        recordCost(_handler, allocated, cpuTime);
+    }
+
+    /**
+     * Record the Cost of the Request (-1 = NOT Supported)
+     * @param _handler
+     * @param _allocated Allocated Bytes
+     * @param _cpuTime CPU Time in Nanos
+     */
+    void recordCost(String _handler, long _allocated, long _cpuTime) {
+        HandlerCost cost = handler(_handler);
+        cost.requests.increment();
+        cost.allocated.record(_allocated);
+        cost.cpuTime.record(_cpuTime);
+    }
+
+    /**
+     * Returns the Handler Cost (Created on the first Request of the Handler)
+     * @param _handler
+     * @return
+     */
+    private HandlerCost handler(String _handler) {
+        HandlerCost cost = handlers.get(_handler);
+        if(cost != null) {
+            return cost;
+        }
+        String name = handlers.size() < maxHandlers ? _handler : OTHER;
+        HandlerCost created = new HandlerCost(name);
+        cost = handlers.putIfAbsent(name, created);
+        if(cost != null) {
+            return cost;
+        }
+        registerMetrics(created);
+        return created;
+    }
+
+    /**
+     * Returns the Top Handlers by the Allocated Bytes (Total)
+     * @param _limit
+     * @return
+     */
+    public List<RequestCost> topAllocators(int _limit) {
+        return top(Comparator.comparingLong(RequestCost::getAllocatedBytes), _limit);
+    }
+
+    /**
+     * Returns the Top Handlers by the CPU Time (Total)
+     * @param _limit
+     * @return
+     */
+    public List<RequestCost> topCpuConsumers(int _limit) {
+        return top(Comparator.comparingLong(RequestCost::getCpuTimeNanos), _limit);
+    }
+
+    /**
+     * Returns the Top Handlers (Descending Order)
+     * @param _order
+     * @param _limit
+     * @return
+     */
+    private List<RequestCost> top(Comparator<RequestCost> _order, int _limit) {
+        List<RequestCost> costs = snapshot();
+        costs.sort(_order.reversed());
+        return new ArrayList<>(costs.subList(0, Math.max(0, Math.min(_limit, costs.size()))));
+    }
+
+    /**
+     * Returns the Cost of all the Handlers
+     * @return
+     */
+    public List<RequestCost> snapshot() {
+        long allocatedTotal = 0;
+        long cpuTimeTotal = 0;
+        for(HandlerCost cost : handlers.values()) {
+            allocatedTotal += cost.allocated.sum.sum();
+            cpuTimeTotal += cost.cpuTime.sum.sum();
+        }
+        List<RequestCost> costs = new ArrayList<>(handlers.size());
+        for(HandlerCost cost : handlers.values()) {
+            costs.add(new RequestCost(cost.name, cost.requests.sum(),
+                    cost.allocated.stats(), share(cost.allocated.sum.sum(), allocatedTotal),
+                    cost.cpuTime.stats(), share(cost.cpuTime.sum.sum(), cpuTimeTotal)));
+        }
+        return costs;
+    }
+
+    /**
+     * Returns the Report: Totals + Top Allocators + Top CPU Consumers
+     * @param _limit Handlers per List
+     * @return
+     */
+    public LinkedHashMap<String, Object> report(int _limit) {
+        long requests = 0;
+        long allocated = 0;
+        long cpuTime = 0;
+        for(HandlerCost cost : handlers.values()) {
+            requests += cost.requests.sum();
+            allocated += cost.allocated.sum.sum();
+            cpuTime += cost.cpuTime.sum.sum();
+        }
+        LinkedHashMap<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("allocationSupported", isAllocationSupported());
+        report.put("cpuTimeSupported", cpuTimeSupported);
+        report.put("since", since.toString());
+        report.put("handlers", handlers.size());
+        report.put("requests", requests);
+        report.put("allocatedBytes", allocated);
+        report.put("cpuTimeNanos", cpuTime);
+        report.put("topAllocators", topAllocators(_limit));
+        report.put("topCpuConsumers", topCpuConsumers(_limit));
+        return report;
+    }
+
+    /**
+     * Returns the Percentage of the Total
+     * @param _value
+     * @param _total
+     * @return
+     */
+    private static double share(long _value, long _total) {
+        return _total > 0 ? Math.round(_value * 10000.0 / _total) / 100.0 : 0;
+    }
+
+    /**
+     * Returns True if the Requests are recorded
+     * @return
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns True if the JVM supports the Allocated Bytes per Thread
+     * @return
+     */
+    public boolean isAllocationSupported() {
+        return allocations != null;
+    }
+
+    /**
+     * Returns True if the JVM supports the CPU Time per Thread
+     * @return
+     */
+    public boolean isCpuTimeSupported() {
+        return cpuTimeSupported;
+    }
+
+    /**
+     * Register the Metrics of the Handler
+     * @param _cost
+     */
+    private void registerMetrics(HandlerCost _cost) {
+        if(registry == null) {
+            return;
+        }
+        FunctionCounter.builder("http.server.requests.allocated", _cost.allocated.sum, LongAdder::sum)
+                .description("Bytes allocated by the Request Thread").baseUnit("bytes")
+                .tag("handler", _cost.name).register(registry);
+        FunctionCounter.builder("http.server.requests.cpu", _cost.cpuTime.sum,
+                        sum -> sum.sum() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("CPU Time of the Request Thread").baseUnit("seconds")
+                .tag("handler", _cost.name).register(registry);
+    }
+
+    /**
+     * Requests + Allocated Bytes + CPU Time of a Handler
+     */
+    private static final class HandlerCost {
+
+        private final String name;
+        private final LongAdder requests = new LongAdder();
+        private final Histogram allocated = new Histogram();
+        private final Histogram cpuTime = new Histogram();
+
+        private HandlerCost(String _name) {
+            name = _name;
+        }
+    }
+
+    /**
+     * Power of 2 Histogram: Bucket n holds the Values from 2^(n-1) to 2^n - 1 (Bucket 0 = Zero)
+     */
+    private static final class Histogram {
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Histogram() {
+            for(int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Record the Value (Negative = NOT Supported, ignored)
+         * @param _value
+         */
+        private void record(long _value) {
+            if(_value < 0) {
+                return;
+            }
+            buckets[BUCKETS - Long.numberOfLeadingZeros(_value)].increment();
+            sum.add(_value);
+            long current = max.get();
+            while(_value > current && !max.compareAndSet(current, _value)) {
+                current = max.get();
+            }
+        }
+
+        /**
+         * Returns Total, Mean, P50, P99, Max (-1 if nothing was recorded)
+         * @return
+         */
+        private long[] stats() {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for(int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            if(count == 0) {
+                return new long[] {NOT_SUPPORTED, NOT_SUPPORTED, NOT_SUPPORTED, NOT_SUPPORTED, NOT_SUPPORTED};
+            }
+            long total = sum.sum();
+            long maxValue = max.get();
+            return new long[] {total, total / count, percentile(counts, count, 0.50, maxValue),
+                    percentile(counts, count, 0.99, maxValue), maxValue};
+        }
+
+        /**
+         * Returns the Upper Bound of the Bucket holding the Percentile (capped at the Max)
+         * @param _counts
+         * @param _count
+         * @param _percentile
+         * @param _max
+         * @return
+         */
+        private static long percentile(long[] _counts, long _count, double _percentile, long _max) {
+            long rank = (long) Math.ceil(_percentile * _count);
+            long seen = 0;
+            for(int i = 0; i < BUCKETS; i++) {
+                seen += _counts[i];
+                if(seen >= rank) {
+                    long upper = i == 0 ? 0 : (i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                    return Math.min(upper, _max);
+                }
+            }
+            return _max;
+        }
+    }
+}
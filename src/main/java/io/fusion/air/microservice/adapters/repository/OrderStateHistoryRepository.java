@@ -0,0 +1,53 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.repository;
+
+import io.fusion.air.microservice.domain.entities.order.OrderStateHistoryEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order State History (Append Only)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Repository
+public interface OrderStateHistoryRepository extends PagingAndSortingRepository<OrderStateHistoryEntity, UUID> {
+
+    /**
+     * Find the Latest Transitions (Latest First) for the Customer ID and Order ID
+     * Use the Pageable to limit the No. of Transitions. Ex. PageRequest.of(0, 10)
+     *
+     * @param customerId
+     * @param orderId
+     * @param pageable
+     * @return
+     */
+    @Query("SELECT history FROM OrderEntity orderTx JOIN orderTx.orderHistory history "
+            + "WHERE orderTx.customerId = :customerId AND orderTx.uuid = :orderId ORDER BY history.seqNo DESC")
+    public List<OrderStateHistoryEntity> findLatestTransitions(
+            @Param("customerId") String customerId,
+            @Param("orderId") UUID orderId,
+            Pageable pageable);
+}
@@ -0,0 +1,64 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.repository;
+
+import io.fusion.air.microservice.domain.entities.outbox.OutboxEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional Outbox
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Repository
+public interface OutboxRepository extends PagingAndSortingRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Find the Pending Events in Insertion Order and Lock them for the Relay.
+     * Rows locked by another Relay Instance are NOT skipped (NO SKIP LOCKED): the Relay waits till
+     * the other Instance has published its Batch, so the Events of an Order are never published
+     * out of Order by two Relay Instances.
+     *
+     * @param pageable
+     * @return
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT event FROM OutboxEventEntity event ORDER BY event.id ASC")
+    public List<OutboxEventEntity> findPendingForUpdate(Pageable pageable);
+
+    /**
+     * Delete the Published Events in Bulk
+     *
+     * @param ids
+     * @return
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEventEntity event WHERE event.id IN :ids")
+    public int deleteByIds(@Param("ids") Collection<Long> ids);
+
+}
@@ -0,0 +1,45 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.repository;
+
+import io.fusion.air.microservice.domain.entities.outbox.ProcessedEventEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Inbox - Processed Events
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Repository
+public interface ProcessedEventRepository extends CrudRepository<ProcessedEventEntity, String> {
+
+    /**
+     * Returns the Event IDs (from the given IDs) which are already Processed
+     *
+     * @param eventIds
+     * @return
+     */
+    @Query("SELECT event.eventId FROM ProcessedEventEntity event WHERE event.eventId IN :eventIds")
+    public List<String> findProcessedIds(@Param("eventIds") Collection<String> eventIds);
+}
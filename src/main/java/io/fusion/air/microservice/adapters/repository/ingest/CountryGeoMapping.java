@@ -0,0 +1,109 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.repository.ingest;
+// Custom
+import io.fusion.air.microservice.adapters.io.CsvTokenizer;
+import io.fusion.air.microservice.domain.entities.order.CountryGeoEntity;
+// Java
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * GeoLite2 Country Locations (GeoLite2-Country-Locations-en.csv) to country_geolite_m
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class CountryGeoMapping implements CsvTableMapping<CountryGeoEntity> {
+
+    public static final String TABLE_NAME = "country_geolite_m";
+
+    private static final String[] COLUMNS = {
+            "geoname_id", "locale_code", "continent_code", "continent_name",
+            "country_iso_code", "country_name", "is_in_european_union"
+    };
+    private static final String[] KEY_COLUMNS = { "geoname_id" };
+
+    @Override
+    public String getTableName() {
+        return TABLE_NAME;
+    }
+
+    @Override
+    public String[] getColumns() {
+        return COLUMNS.clone();
+    }
+
+    @Override
+    public String[] getKeyColumns() {
+        return KEY_COLUMNS.clone();
+    }
+
+    /**
+     * CSV Header = Table Columns
+     * @return
+     */
+    @Override
+    public String[] getCsvColumns() {
+        return COLUMNS.clone();
+    }
+
+    /**
+     * Map the Record to the Geo Country (Empty Country ISO Code / Name = null, for Continents)
+     * @param record
+     * @param index
+     * @return
+     */
+    @Override
+    public CountryGeoEntity map(CsvTokenizer record, int[] index) {
+        return new CountryGeoEntity(
+                record.fieldAsInt(index[0]),
+                record.fieldAsString(index[1]),
+                record.fieldAsString(index[2]),
+                record.fieldAsString(index[3]),
+                record.fieldAsStringOrNull(index[4]),
+                record.fieldAsStringOrNull(index[5]),
+                record.isEmpty(index[6]) ? 0 : record.fieldAsInt(index[6]));
+    }
+
+    @Override
+    public void bind(PreparedStatement statement, CountryGeoEntity row) throws SQLException {
+        statement.setInt(1, row.getGeoNameId());
+        statement.setString(2, row.getLocaleCode());
+        statement.setString(3, row.getContinentCode());
+        statement.setString(4, row.getContinentName());
+        setString(statement, 5, row.getCountryIsoCode());
+        setString(statement, 6, row.getCountryName());
+        statement.setInt(7, row.getIsInEuropeanUnion());
+    }
+
+    /**
+     * Bind a Nullable String
+     * @param statement
+     * @param parameter
+     * @param value
+     * @throws SQLException
+     */
+    private static void setString(PreparedStatement statement, int parameter, String value) throws SQLException {
+        if(value == null) {
+            statement.setNull(parameter, Types.VARCHAR);
+        } else {
+            statement.setString(parameter, value);
+        }
+    }
+}
@@ -0,0 +1,440 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.repository.ingest;
+// Custom
+import io.fusion.air.microservice.adapters.io.CsvTokenizer;
+import io.fusion.air.microservice.server.config.DatabaseConfig;
+import io.fusion.air.microservice.server.config.IngestConfig;
+//  Custom Exceptions
+import io.fusion.air.microservice.domain.exceptions.DatabaseException;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+import io.fusion.air.microservice.domain.exceptions.ResourceException;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+// Java
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+// SLF4J
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Streaming CSV Ingestion Pipeline (JDBC Batch Upserts)
+ *
+ * The CSV File is read from a FileChannel with the CsvTokenizer (No String per Line, only the
+ * Fields the Mapping asks for), every Record is mapped to a Row and upserted in JDBC Batches
+ * (Batch Size) on one Connection, committed every Commit Size Rows. Memory stays flat for any
+ * File Size, so the same Pipeline loads the GeoLite Country, City and Blocks Files (one
+ * CsvTableMapping per File). Invalid Records are skipped and counted.
+ *
+ * Upsert  : Rows are merged into the Live Table (H2 MERGE ... KEY, PostgreSQL ON CONFLICT).
+ * Reload  : Rows are loaded into a Staging Table ({table}_stg) while the Live Table serves the
+ *           Reads, then the Tables are swapped by Renames. PostgreSQL swaps in one Transaction
+ *           (Readers wait for the Swap, never see an empty Table). H2 commits every DDL, the Table
+ *           is missing for the time of one Rename. Secondary Indexes are NOT copied to Staging.
+ *
+ * Only one Ingestion per Table at a time.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Component
+public class CsvIngestPipeline {
+
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String STAGING_SUFFIX = "_stg";
+    public static final String OLD_SUFFIX = "_old";
+    public static final String PK_SUFFIX = "_pk";
+    // Skipped Records logged per File
+    private static final int MAX_SKIPS_LOGGED = 10;
+
+    private final DataSource dataSource;
+    private final String vendor;
+    private final int batchSize;
+    private final int commitSize;
+    private final int readBufferSize;
+
+    // Tables with an Ingestion running
+    private final Set<String> tablesLoading = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create the Pipeline with the Service Data Source
+     * @param _dataSource
+     * @param _dbConfig
+     * @param _ingestConfig
+     */
+    @Autowired
+    public CsvIngestPipeline(DataSource _dataSource, DatabaseConfig _dbConfig, IngestConfig _ingestConfig) {
+        this(_dataSource, _dbConfig.getDataSourceVendor(), _ingestConfig.getBatchSize(),
+                _ingestConfig.getCommitSize(), _ingestConfig.getReadBufferSize());
+    }
+
+    /**
+     * Create the Pipeline
+     * @param _dataSource
+     * @param _vendor Database Vendor (DatabaseConfig.DB_H2 or DB_POSTGRESQL)
+     * @param _batchSize Rows per JDBC Batch
+     * @param _commitSize Rows per Commit
+     * @param _readBufferSize CSV Read Buffer Size
+     */
+    public CsvIngestPipeline(DataSource _dataSource, String _vendor, int _batchSize, int _commitSize,
+                             int _readBufferSize) {
+        if(_batchSize < 1 || _commitSize < 1) {
+            throw new InvalidInputException("Batch Size and Commit Size should be greater than 0");
+        }
+        dataSource = _dataSource;
+        vendor = _vendor;
+        batchSize = _batchSize;
+        commitSize = _commitSize;
+        readBufferSize = _readBufferSize;
+    }
+
+    /**
+     * Upsert the CSV File into the Live Table
+     * @param file
+     * @param mapping
+     * @return
+     */
+    public <T> IngestStats upsert(Path file, CsvTableMapping<T> mapping) {
+        String table = mapping.getTableName();
+        lock(table);
+        try (Connection connection = dataSource.getConnection()) {
+            IngestStats stats = load(connection, file, mapping, table, IngestStats.MODE_UPSERT,
+                    System.currentTimeMillis());
+            log.info("CSV Ingestion: "+stats+" Rows/Second="+(long) stats.getRowsPerSecond());
+            return stats;
+        } catch (SQLException e) {
+            throw new DatabaseException("Upsert into "+table+" failed: "+e.getMessage(), e);
+        } catch (IOException e) {
+            throw new ResourceException("Unable to read "+file.getFileName()+": "+e.getMessage(), e);
+        } finally {
+            tablesLoading.remove(table);
+        }
+    }
+
+    /**
+     * Load the CSV File into a Staging Table and swap it with the Live Table
+     * @param file
+     * @param mapping
+     * @return
+     */
+    public <T> IngestStats reload(Path file, CsvTableMapping<T> mapping) {
+        String table = mapping.getTableName();
+        String staging = table + STAGING_SUFFIX;
+        lock(table);
+        long startTime = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            createStaging(connection, table, staging, mapping.getKeyColumns());
+            try {
+                IngestStats loaded = load(connection, file, mapping, staging, IngestStats.MODE_RELOAD, startTime);
+                swap(connection, table, staging);
+                IngestStats stats = new IngestStats(loaded.getFileName(), table, IngestStats.MODE_RELOAD,
+                        loaded.getBytes(), loaded.getRecords(), loaded.getRows(), loaded.getSkipped(),
+                        loaded.getBatches(), loaded.getCommits(), System.currentTimeMillis() - startTime);
+                log.info("CSV Ingestion: "+stats+" Rows/Second="+(long) stats.getRowsPerSecond());
+                return stats;
+            } catch (SQLException | IOException | RuntimeException e) {
+                executeQuietly(connection, "DROP TABLE IF EXISTS " + staging);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Reload of "+table+" failed: "+e.getMessage(), e);
+        } catch (IOException e) {
+            throw new ResourceException("Unable to read "+file.getFileName()+": "+e.getMessage(), e);
+        } finally {
+            tablesLoading.remove(table);
+        }
+    }
+
+    /**
+     * Stream the CSV Records into the Table in Batches
+     * @param connection
+     * @param file
+     * @param mapping
+     * @param table
+     * @param mode
+     * @param startTime
+     * @return
+     * @throws SQLException
+     * @throws IOException
+     */
+    private <T> IngestStats load(Connection connection, Path file, CsvTableMapping<T> mapping, String table,
+                                 String mode, long startTime) throws SQLException, IOException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             PreparedStatement statement = connection.prepareStatement(upsertSql(table, mapping))) {
+            CsvTokenizer csv = new CsvTokenizer(channel, CsvTokenizer.COMMA, readBufferSize);
+            if(!csv.nextRecord()) {
+                throw new InvalidInputException("CSV File "+file.getFileName()+" is Empty");
+            }
+            int[] index = headerIndex(csv, mapping, file);
+            int minFields = 0;
+            for(int i : index) {
+                minFields = Math.max(minFields, i + 1);
+            }
+            long rows = 0, skipped = 0, batches = 0, commits = 0, uncommitted = 0;
+            int batchRows = 0;
+            while(csv.nextRecord()) {
+                T row;
+                try {
+                    if(csv.fieldCount() < minFields) {
+                        throw new InvalidInputException("Expected "+minFields+" Fields, found "+csv.fieldCount());
+                    }
+                    row = mapping.map(csv, index);
+                } catch (RuntimeException e) {
+                    if(++skipped <= MAX_SKIPS_LOGGED) {
+                        log.warn("CSV Ingestion: "+file.getFileName()+" Record "+csv.getRecords()+" skipped: "+e.getMessage());
+                    }
+                    continue;
+                }
+                mapping.bind(statement, row);
+                statement.addBatch();
+                if(++batchRows == batchSize) {
+                    statement.executeBatch();
+                    batches++;
+                    rows += batchRows;
+                    uncommitted += batchRows;
+                    batchRows = 0;
+                    if(uncommitted >= commitSize) {
+                        connection.commit();
+                        commits++;
+                        uncommitted = 0;
+                    }
+                }
+            }
+            if(batchRows > 0) {
+                statement.executeBatch();
+                batches++;
+                rows += batchRows;
+            }
+            connection.commit();
+            commits++;
+            return new IngestStats(file.getFileName().toString(), table, mode, csv.getBytesRead(),
+                    csv.getRecords() - 1, rows, skipped, batches, commits, System.currentTimeMillis() - startTime);
+        } catch (SQLException | IOException | RuntimeException e) {
+            rollbackQuietly(connection);
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Find the CSV Columns of the Mapping in the Header Record
+     * @param header
+     * @param mapping
+     * @param file
+     * @return
+     */
+    private int[] headerIndex(CsvTokenizer header, CsvTableMapping<?> mapping, Path file) {
+        String[] csvColumns = mapping.getCsvColumns();
+        String[] names = new String[header.fieldCount()];
+        for(int i = 0; i < names.length; i++) {
+            names[i] = header.fieldAsString(i).trim();
+        }
+        // UTF-8 Byte Order Mark
+        if(names.length > 0 && names[0].startsWith("\uFEFF")) {
+            names[0] = names[0].substring(1);
+        }
+        int[] index = new int[csvColumns.length];
+        for(int c = 0; c < csvColumns.length; c++) {
+            index[c] = -1;
+            for(int i = 0; i < names.length; i++) {
+                if(names[i].equalsIgnoreCase(csvColumns[c])) {
+                    index[c] = i;
+                    break;
+                }
+            }
+            if(index[c] < 0) {
+                throw new InvalidInputException("CSV Column "+csvColumns[c]+" NOT found in the Header of "
+                        +file.getFileName());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the Upsert Statement for the Database Vendor
+     * @param table
+     * @param mapping
+     * @return
+     */
+    private String upsertSql(String table, CsvTableMapping<?> mapping) {
+        String[] columns = mapping.getColumns();
+        String[] keys = mapping.getKeyColumns();
+        StringBuilder params = new StringBuilder();
+        for(int i = 0; i < columns.length; i++) {
+            params.append(i == 0 ? "?" : ", ?");
+        }
+        String columnList = String.join(", ", columns);
+        String keyList = String.join(", ", keys);
+        switch(vendor) {
+            case DatabaseConfig.DB_H2:
+                return "MERGE INTO " + table + " (" + columnList + ") KEY (" + keyList + ") VALUES (" + params + ")";
+            case DatabaseConfig.DB_POSTGRESQL:
+                StringBuilder update = new StringBuilder();
+                for(String column : columns) {
+                    if(!contains(keys, column)) {
+                        update.append(update.length() == 0 ? "" : ", ").append(column).append(" = EXCLUDED.").append(column);
+                    }
+                }
+                return "INSERT INTO " + table + " (" + columnList + ") VALUES (" + params + ") ON CONFLICT (" + keyList
+                        + ") " + (update.length() == 0 ? "DO NOTHING" : "DO UPDATE SET " + update);
+            default:
+                throw new DatabaseException("CSV Ingestion NOT Supported for the Database "+vendor);
+        }
+    }
+
+    /**
+     * Create an Empty Staging Table like the Live Table with the same Primary Key
+     * @param connection
+     * @param table
+     * @param staging
+     * @param keys
+     * @throws SQLException
+     */
+    private void createStaging(Connection connection, String table, String staging, String[] keys) throws SQLException {
+        // Left over from a failed Reload
+        execute(connection, "DROP TABLE IF EXISTS " + staging);
+        execute(connection, "DROP TABLE IF EXISTS " + table + OLD_SUFFIX);
+        if(DatabaseConfig.DB_POSTGRESQL.equals(vendor)) {
+            execute(connection, "CREATE TABLE " + staging + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        } else {
+            execute(connection, "CREATE TABLE " + staging + " AS SELECT * FROM " + table + " WHERE 1 = 0");
+        }
+        // H2 Create Table As Select drops the NOT NULL, required for the Primary Key
+        for(String key : keys) {
+            execute(connection, "ALTER TABLE " + staging + " ALTER COLUMN " + key + " SET NOT NULL");
+        }
+        execute(connection, "ALTER TABLE " + staging + " ADD CONSTRAINT " + staging + PK_SUFFIX
+                + " PRIMARY KEY (" + String.join(", ", keys) + ")");
+    }
+
+    /**
+     * Swap the Staging Table with the Live Table and drop the old Table
+     * @param connection
+     * @param table
+     * @param staging
+     * @throws SQLException
+     */
+    private void swap(Connection connection, String table, String staging) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        boolean liveRenamed = false;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " RENAME TO " + table + OLD_SUFFIX);
+            liveRenamed = true;
+            statement.execute("ALTER TABLE " + staging + " RENAME TO " + table);
+            liveRenamed = false;
+            statement.execute("DROP TABLE " + table + OLD_SUFFIX);
+            // Constraint Names are unique in the Schema, the next Staging Table needs the Name again
+            statement.execute("ALTER TABLE " + table + " RENAME CONSTRAINT " + staging + PK_SUFFIX
+                    + " TO " + table + PK_SUFFIX);
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            if(liveRenamed && !DatabaseConfig.DB_POSTGRESQL.equals(vendor)) {
+                // DDL NOT Transactional - put the Live Table back
+                executeQuietly(connection, "ALTER TABLE " + table + OLD_SUFFIX + " RENAME TO " + table);
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Lock the Table for the Ingestion
+     * @param table
+     */
+    private void lock(String table) {
+        if(!tablesLoading.add(table)) {
+            throw new ResourceException("CSV Ingestion already running for "+table);
+        }
+    }
+
+    /**
+     * Execute the SQL
+     * @param connection
+     * @param sql
+     * @throws SQLException
+     */
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Execute the SQL (Clean up - Errors are logged)
+     * @param connection
+     * @param sql
+     */
+    private static void executeQuietly(Connection connection, String sql) {
+        try {
+            if(!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            execute(connection, sql);
+            if(!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            log.error("CSV Ingestion: Clean up failed ("+sql+"): "+e.getMessage());
+        }
+    }
+
+    /**
+     * Rollback (Errors are logged)
+     * @param connection
+     */
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.error("CSV Ingestion: Rollback failed: "+e.getMessage());
+        }
+    }
+
+    /**
+     * Returns True if the Array has the Value (Case Insensitive)
+     * @param values
+     * @param value
+     * @return
+     */
+    private static boolean contains(String[] values, String value) {
+        for(String v : values) {
+            if(v.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.repository.ingest;
+// Custom
+import io.fusion.air.microservice.adapters.io.CsvTokenizer;
+// Java
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Maps the CSV Records of a Data File to the Rows of a Table for the CsvIngestPipeline.
+ *
+ * One Mapping per Data File (GeoLite Country Locations, City Locations, Blocks ...). The Pipeline
+ * finds the CSV Columns in the Header, maps every Record and binds the Row to the Upsert Statement
+ * (Table Columns in the Order of getColumns()).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public interface CsvTableMapping<T> {
+
+    /**
+     * Returns the Table Name
+     * @return
+     */
+    public String getTableName();
+
+    /**
+     * Returns the Table Columns (Bind Order of the Upsert Statement)
+     * @return
+     */
+    public String[] getColumns();
+
+    /**
+     * Returns the Primary Key Columns
+     * @return
+     */
+    public String[] getKeyColumns();
+
+    /**
+     * Returns the CSV Columns required in the Header
+     * @return
+     */
+    public String[] getCsvColumns();
+
+    /**
+     * Map the Record to a Row
+     * @param record Current CSV Record
+     * @param index Field Index of every CSV Column (Same Order as getCsvColumns())
+     * @return
+     * @throws RuntimeException if the Record is Invalid (Record is skipped)
+     */
+    public T map(CsvTokenizer record, int[] index);
+
+    /**
+     * Bind the Row to the Upsert Statement
+     * @param statement
+     * @param row
+     * @throws SQLException
+     */
+    public void bind(PreparedStatement statement, T row) throws SQLException;
+}
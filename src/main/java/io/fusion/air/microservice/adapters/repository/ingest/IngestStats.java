@@ -0,0 +1,150 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.repository.ingest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Result of the CSV Ingestion
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class IngestStats {
+
+    public static final String MODE_UPSERT = "UPSERT";
+    public static final String MODE_RELOAD = "RELOAD";
+
+    private final String fileName;
+    private final String tableName;
+    private final String mode;
+    private final long bytes;
+    private final long records;
+    private final long rows;
+    private final long skipped;
+    private final long batches;
+    private final long commits;
+    private final long processingTime;
+
+    public IngestStats(String _fileName, String _tableName, String _mode, long _bytes, long _records,
+                       long _rows, long _skipped, long _batches, long _commits, long _processingTime) {
+        fileName = _fileName;
+        tableName = _tableName;
+        mode = _mode;
+        bytes = _bytes;
+        records = _records;
+        rows = _rows;
+        skipped = _skipped;
+        batches = _batches;
+        commits = _commits;
+        processingTime = _processingTime;
+    }
+
+    /**
+     * Get File Name
+     * @return
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Get the Table Name
+     * @return
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Get the Mode (UPSERT into the Live Table or RELOAD with a Staging Table)
+     * @return
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Get the Bytes read
+     * @return
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the No. of CSV Records (Header NOT included)
+     * @return
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Get the No. of Rows upserted
+     * @return
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the No. of Invalid Records skipped
+     * @return
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Get the No. of JDBC Batches
+     * @return
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Get the No. of Commits
+     * @return
+     */
+    public long getCommits() {
+        return commits;
+    }
+
+    /**
+     * Get the Processing Time in Milli Seconds
+     * @return
+     */
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * Get the Rows per Second
+     * @return
+     */
+    public double getRowsPerSecond() {
+        return processingTime > 0 ? rows / (processingTime / 1000.0) : rows;
+    }
+
+    @JsonIgnore
+    public String toString() {
+        return "File="+fileName+", Table="+tableName+" Mode="+mode+" Rows="+rows+" Skipped="+skipped
+                +" Batches="+batches+" Commits="+commits+" Processing Time="+processingTime+" ms";
+    }
+}
@@ -18,6 +18,7 @@ package io.fusion.air.microservice.adapters.security;
 import io.fusion.air.microservice.adapters.filters.HeaderManager;
 import io.fusion.air.microservice.security.JsonWebToken;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
+import io.fusion.air.microservice.utils.IdGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -27,7 +28,6 @@ import org.springframework.web.context.annotation.RequestScope;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * @author: Araf Karsh Hamid
@@ -102,7 +102,7 @@ public class TokenManager {
         claims.put("type",_type);
         claims.put("iss", serviceConfig.getServiceOrg());
         claims.put("rol", "User");
-        claims.put("jti", UUID.randomUUID().toString());
+        claims.put("jti", IdGenerator.secureId());
 
         long txTokenExpiry = (tokenRefreshExpiry < 50) ? JsonWebToken.EXPIRE_IN_ONE_HOUR : tokenRefreshExpiry;
         String token = new JsonWebToken()
@@ -208,7 +208,7 @@ public class TokenManager {
         claims.put("serviceId", serviceId);
         claims.put("service", serviceName);
         claims.put("owner", serviceOwner);
-        claims.put("jti", UUID.randomUUID().toString());
+        claims.put("jti", IdGenerator.secureId());
 
         return claims;
     }
@@ -229,7 +229,7 @@ public class TokenManager {
         authClaims.put("iss", serviceConfig.getServiceOrg());
         authClaims.put("rol", "User");
 
-        authClaims.put("jti", UUID.randomUUID().toString());
+        authClaims.put("jti", IdGenerator.secureId());
 
         Map<String, Object> refreshClaims = new LinkedHashMap<>();
         refreshClaims.put("aud", "generic");
@@ -237,7 +237,7 @@ public class TokenManager {
         refreshClaims.put("type",AUTH_REFRESH);
         refreshClaims.put("iss", serviceConfig.getServiceOrg());
         refreshClaims.put("rol", "User");
-        refreshClaims.put("jti", UUID.randomUUID().toString());
+        refreshClaims.put("jti", IdGenerator.secureId());
 
         HashMap<String, String> tokens = refreshTokens(subject, authClaims, refreshClaims);
         String authToken = tokens.get("access_token");
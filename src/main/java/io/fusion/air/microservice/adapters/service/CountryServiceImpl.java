@@ -15,17 +15,27 @@
  */
 package io.fusion.air.microservice.adapters.service;
 
+import io.fusion.air.microservice.adapters.cache.ResponseCache;
 import io.fusion.air.microservice.adapters.repository.CountryGeoRepository;
+import io.fusion.air.microservice.adapters.repository.ingest.CountryGeoMapping;
+import io.fusion.air.microservice.adapters.repository.ingest.CsvIngestPipeline;
+import io.fusion.air.microservice.adapters.repository.ingest.IngestStats;
 import io.fusion.air.microservice.domain.entities.order.CountryEntity;
 import io.fusion.air.microservice.adapters.repository.CountryRepository;
 import io.fusion.air.microservice.domain.entities.order.CountryGeoEntity;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+import io.fusion.air.microservice.domain.exceptions.ResourceNotFoundException;
 import io.fusion.air.microservice.domain.ports.services.CountryService;
+import io.fusion.air.microservice.server.config.IngestConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -65,6 +75,17 @@ public class CountryServiceImpl implements CountryService {
     @Autowired
     private CountryGeoRepository countryGeoRepositoryImpl;
 
+    @Autowired
+    private CsvIngestPipeline csvIngestPipeline;
+
+    @Autowired
+    private IngestConfig ingestConfig;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    private final CountryGeoMapping countryGeoMapping = new CountryGeoMapping();
+
     /**
      * Get All Geo Countries
      * @return
@@ -96,4 +117,42 @@ public class CountryServiceImpl implements CountryService {
         return (List<CountryEntity>) countryRepositoryImpl.findAll();
     }
 
+    /**
+     * Ingest the GeoLite Country Locations CSV File (from the Ingest Data Dir)
+     * The Pipeline commits in Batches on its own Connection (NOT in a Spring Transaction).
+     *
+     * The Cached Geo Countries Responses are dropped after the Ingestion (even if it failed half way).
+     *
+     * @param fileName
+     * @param reload True = Load a Staging Table and swap, False = Upsert into the Live Table
+     * @return
+     */
+    @Override
+    public IngestStats ingestGeoCountries(String fileName, boolean reload) {
+        Path file = resolveDataFile(fileName);
+        try {
+            return reload ? csvIngestPipeline.reload(file, countryGeoMapping)
+                    : csvIngestPipeline.upsert(file, countryGeoMapping);
+        } finally {
+            responseCache.invalidate(ResponseCache.GEO_COUNTRIES);
+        }
+    }
+
+    /**
+     * Resolve the File in the Ingest Data Dir (No Paths allowed)
+     * @param fileName
+     * @return
+     */
+    private Path resolveDataFile(String fileName) {
+        if(fileName == null || fileName.isEmpty() || fileName.contains("/") || fileName.contains("\\")
+                || fileName.contains("..")) {
+            throw new InvalidInputException("Invalid File Name "+fileName);
+        }
+        Path file = Paths.get(ingestConfig.getDataDir()).resolve(fileName);
+        if(!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("File NOT Found: "+fileName);
+        }
+        return file;
+    }
+
 }
@@ -0,0 +1,200 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.service;
+// Custom
+import io.fusion.air.microservice.adapters.streams.OrderAnalyticsTopology;
+import io.fusion.air.microservice.domain.exceptions.InputDataException;
+import io.fusion.air.microservice.domain.exceptions.ResourceException;
+import io.fusion.air.microservice.domain.models.analytics.RevenueWindow;
+import io.fusion.air.microservice.domain.ports.services.OrderAnalyticsService;
+import io.fusion.air.microservice.server.config.KafkaConfig;
+// Kafka
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreType;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+// Spring
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+// Java
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Order Analytics Service
+ *
+ * Interactive Queries on the local State Stores of the Order Analytics Topology.
+ * With multiple Instances every Instance holds the Partitions assigned to it, so the
+ * results are for the local Partitions only.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Service
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+
+    public static final int MAX_HOURS = 24 * 7;
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    @Autowired
+    private ObjectProvider<StreamsBuilderFactoryBean> streamsFactory;
+
+    /**
+     * Returns the No. of Orders by Order State
+     * @return
+     */
+    @Override
+    public Map<String, Long> countOrdersByState() {
+        return query(OrderAnalyticsTopology.ORDER_STATE_COUNT_STORE,
+                QueryableStoreTypes.<String, Long>keyValueStore(), store -> {
+            Map<String, Long> counts = new TreeMap<>();
+            try (KeyValueIterator<String, Long> iterator = store.all()) {
+                while (iterator.hasNext()) {
+                    KeyValue<String, Long> kv = iterator.next();
+                    if (kv.value != null && kv.value > 0) {
+                        counts.put(kv.key, kv.value);
+                    }
+                }
+            }
+            return counts;
+        });
+    }
+
+    /**
+     * Returns the Order Totals of the Customer by Currency
+     * @param _customerId
+     * @return
+     */
+    @Override
+    public Map<String, BigDecimal> findCustomerTotals(String _customerId) {
+        String prefix = OrderAnalyticsTopology.customerKeyPrefix(_customerId);
+        return query(OrderAnalyticsTopology.CUSTOMER_TOTAL_STORE,
+                QueryableStoreTypes.<String, BigDecimal>keyValueStore(), store -> {
+            Map<String, BigDecimal> totals = new TreeMap<>();
+            try (KeyValueIterator<String, BigDecimal> iterator = store.prefixScan(prefix, new StringSerializer())) {
+                while (iterator.hasNext()) {
+                    KeyValue<String, BigDecimal> kv = iterator.next();
+                    totals.put(kv.key.substring(prefix.length()), kv.value);
+                }
+            }
+            return totals;
+        });
+    }
+
+    /**
+     * Returns the Revenue Windows of the Currency in the Last N Hours
+     * @param _currency
+     * @param _hours
+     * @return
+     */
+    @Override
+    public List<RevenueWindow> findRevenue(String _currency, int _hours) {
+        Instant to = Instant.now();
+        Instant from = to.minus(validHours(_hours), ChronoUnit.HOURS);
+        Duration windowSize = Duration.ofMinutes(kafkaConfig.getStreamsRevenueWindowMinutes());
+        return query(OrderAnalyticsTopology.CURRENCY_REVENUE_STORE,
+                QueryableStoreTypes.<String, BigDecimal>windowStore(), store -> {
+            List<RevenueWindow> windows = new ArrayList<>();
+            try (WindowStoreIterator<BigDecimal> iterator = store.fetch(_currency, from, to)) {
+                while (iterator.hasNext()) {
+                    KeyValue<Long, BigDecimal> kv = iterator.next();
+                    Instant start = Instant.ofEpochMilli(kv.key);
+                    windows.add(new RevenueWindow(_currency, start, start.plus(windowSize), kv.value));
+                }
+            }
+            return windows;
+        });
+    }
+
+    /**
+     * Returns the Revenue Windows of all the Currencies in the Last N Hours
+     * @param _hours
+     * @return
+     */
+    @Override
+    public List<RevenueWindow> findRevenue(int _hours) {
+        Instant to = Instant.now();
+        Instant from = to.minus(validHours(_hours), ChronoUnit.HOURS);
+        return query(OrderAnalyticsTopology.CURRENCY_REVENUE_STORE,
+                QueryableStoreTypes.<String, BigDecimal>windowStore(), store -> {
+            List<RevenueWindow> windows = new ArrayList<>();
+            try (KeyValueIterator<Windowed<String>, BigDecimal> iterator = store.fetchAll(from, to)) {
+                while (iterator.hasNext()) {
+                    KeyValue<Windowed<String>, BigDecimal> kv = iterator.next();
+                    windows.add(new RevenueWindow(kv.key.key(),
+                            kv.key.window().startTime(), kv.key.window().endTime(), kv.value));
+                }
+            }
+            return windows;
+        });
+    }
+
+    /**
+     * Validate the No. of Hours
+     * @param _hours
+     * @return
+     */
+    private int validHours(int _hours) {
+        if (_hours < 1 || _hours > MAX_HOURS) {
+            throw new InputDataException("Invalid Hours "+_hours+" (Range 1 - "+MAX_HOURS+")");
+        }
+        return _hours;
+    }
+
+    /**
+     * Run the Query on the Queryable State Store
+     * @param _storeName
+     * @param _storeType
+     * @param _query
+     * @param <T>
+     * @param <R>
+     * @return
+     */
+    private <T, R> R query(String _storeName, QueryableStoreType<T> _storeType, Function<T, R> _query) {
+        StreamsBuilderFactoryBean factory = streamsFactory.getIfAvailable();
+        KafkaStreams streams = (factory != null) ? factory.getKafkaStreams() : null;
+        if (streams == null) {
+            throw new ResourceException("Order Analytics is NOT enabled (kafka.streams.enabled)",
+                    HttpStatus.SERVICE_UNAVAILABLE, null);
+        }
+        try {
+            return _query.apply(streams.store(StoreQueryParameters.fromNameAndType(_storeName, _storeType)));
+        } catch (InvalidStateStoreException e) {
+            // Streams is Starting or the Store is being Restored / Migrated (Rebalance)
+            throw new ResourceException("Order Analytics Store "+_storeName+" is NOT ready! State = "
+                    +streams.state(), HttpStatus.SERVICE_UNAVAILABLE, e);
+        }
+    }
+}
@@ -16,25 +16,41 @@
 package io.fusion.air.microservice.adapters.service;
 // Custom
 import io.fusion.air.microservice.adapters.repository.OrderRepository;
+import io.fusion.air.microservice.adapters.repository.OrderStateHistoryRepository;
 import io.fusion.air.microservice.domain.entities.order.OrderEntity;
+import io.fusion.air.microservice.domain.entities.order.OrderStateHistoryEntity;
+import io.fusion.air.microservice.domain.events.InboundOrderEvent;
+import io.fusion.air.microservice.domain.events.OrderDomainEvent;
 import io.fusion.air.microservice.domain.exceptions.BusinessServiceException;
 import io.fusion.air.microservice.domain.exceptions.DataNotFoundException;
 import io.fusion.air.microservice.domain.exceptions.InputDataException;
 import io.fusion.air.microservice.domain.ports.services.OrderService;
+import io.fusion.air.microservice.domain.ports.services.OutboxService;
 import io.fusion.air.microservice.domain.ports.services.OrderStateMachineService;
 import io.fusion.air.microservice.domain.statemachine.order.OrderEvent;
 import io.fusion.air.microservice.utils.Utils;
 // Spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 // Java
 import org.slf4j.Logger;
-import org.springframework.web.context.annotation.RequestScope;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -46,20 +62,38 @@ import static org.slf4j.LoggerFactory.getLogger;
  * 2. Payment Processing
  * 3. Shipping the Product
  *
+ * Singleton (NOT Request Scoped) - Shared by the REST Controllers and the Kafka Order Event Consumer.
+ * The Service keeps no per Request State (Only the Repositories and the Outbox Service), and the
+ * Consumer calls it from the Kafka Listener Threads which have no Request Scope (a Request Scoped
+ * Bean fails there with "No thread-bound request found").
+ *
  * @author: Araf Karsh Hamid
  * @version:
  * @date:
  */
 @Service
-@RequestScope
 public class OrderServiceImpl implements OrderService {
 
     // Set Logger -> Lookup will automatically determine the class name.
     private static final Logger log = getLogger(lookup().lookupClass());
 
+    // Max No. of State Transitions returned in a Single Request
+    public static final int MAX_HISTORY_LIMIT = 100;
+    // Max No. of Orders recalculated in a Single Transaction
+    public static final int MAX_RECALCULATE_BATCH_SIZE = 1000;
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderStateHistoryRepository orderHistoryRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     // @Autowired
     // private OrderStateMachineService orderStateMachineService;
 
@@ -119,6 +153,64 @@ public class OrderServiceImpl implements OrderService {
         }
         throw new DataNotFoundException("Order Not Found for OrderId="+orderId);    }
 
+    /**
+     * Find the Last N State Transitions (Latest First) of the Order
+     * Only the requested transitions are loaded from the Database (Not the full History)
+     *
+     * @param customerId
+     * @param orderId
+     * @param limit
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderStateHistoryEntity> findLatestTransitions(String customerId, String orderId, int limit) {
+        if(limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new InputDataException("Invalid History Limit = "+limit+" (Range 1 - "+MAX_HISTORY_LIMIT+")");
+        }
+        return orderHistoryRepository.findLatestTransitions(customerId, Utils.getUUID(orderId),
+                PageRequest.of(0, limit));
+    }
+
+    /**
+     * Recalculate the Total Order Value of all the Persisted Orders (Batch Wise)
+     * Every Batch is recalculated in its own Transaction. Only the Orders with a
+     * changed Total are saved (and published).
+     *
+     * @param batchSize
+     * @return
+     */
+    @Override
+    public int recalculateTotals(int batchSize) {
+        if(batchSize < 1 || batchSize > MAX_RECALCULATE_BATCH_SIZE) {
+            throw new InputDataException("Invalid Batch Size = "+batchSize+" (Range 1 - "+MAX_RECALCULATE_BATCH_SIZE+")");
+        }
+        TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+        int updated = 0;
+        int pageNo = 0;
+        boolean hasNext = true;
+        while(hasNext) {
+            PageRequest pageRequest = PageRequest.of(pageNo++, batchSize, Sort.by("uuid"));
+            int[] result = txTemplate.execute(status -> {
+                Page<OrderEntity> page = orderRepository.findAll(pageRequest);
+                int count = 0;
+                for(OrderEntity order : page) {
+                    BigDecimal previous = order.getTotalOrderValue();
+                    BigDecimal current = order.calculateTotalOrderValue();
+                    if(previous == null || previous.compareTo(current) != 0) {
+                        publishEvent(OrderDomainEvent.ORDER_SAVED, orderRepository.save(order));
+                        count++;
+                    }
+                }
+                return new int[] { count, page.hasNext() ? 1 : 0 };
+            });
+            updated += result[0];
+            hasNext = result[1] == 1;
+        }
+        log.info("|Order Totals Recalculated|Orders Updated = "+updated);
+        return updated;
+    }
+
     /**
      * Save Order
      *
@@ -132,7 +224,9 @@ public class OrderServiceImpl implements OrderService {
             throw new InputDataException("Invalid Order Data");
         }
         order.calculateTotalOrderValue();
-        return orderRepository.save(order);
+        OrderEntity savedOrder = orderRepository.save(order);
+        publishEvent(OrderDomainEvent.ORDER_SAVED, savedOrder);
+        return savedOrder;
     }
 
     /**
@@ -148,8 +242,12 @@ public class OrderServiceImpl implements OrderService {
         log.info("Reset Order ID = "+orderId);
         if(orderOpt.isPresent()) {
             OrderEntity order = orderOpt.get();
+            if(order.isInitialState()) {
+                return order;
+            }
             order.resetOrderState();
             orderRepository.save(order);
+            publishEvent(OrderDomainEvent.ORDER_RESET, order);
             return order;
         }
         throw new DataNotFoundException("Order Not Found for "+orderId);
@@ -178,6 +276,7 @@ public class OrderServiceImpl implements OrderService {
      * @param event
      * @return
      */
+    @Transactional
     public OrderEntity handleEvent(String customerId, String orderId, String event) {
         OrderEvent orderEvent = OrderEvent.fromString(event);
         return handleEvent(customerId, orderId, orderEvent);
@@ -192,6 +291,7 @@ public class OrderServiceImpl implements OrderService {
      * @param orderEvent
      * @return
      */
+    @Transactional
     public OrderEntity handleEvent(String customerId, String orderId, OrderEvent orderEvent) {
         if(orderEvent == null) {
             throw new BusinessServiceException("Invalid Event for OrderProcessing!");
@@ -203,9 +303,79 @@ public class OrderServiceImpl implements OrderService {
         System.out.println("--------------------------------------------------------------------------------------------------");
 
         OrderEntity order = orderOpt.get();
+        // Outbox Event ONLY if the Order State changed (No Phantom Events for Duplicates / No Effect Events)
+        if(order.applyEvent(orderEvent)) {
+            publishEvent(orderEvent.name(), orderRepository.save(order));
+        }
         return order;
     }
 
+    /**
+     * Handle a Micro Batch of Inbound Order Events in a Single Transaction.
+     * All the Orders in the Batch are loaded with a Single Query. Events are applied in the
+     * given order, so the per Order ordering from the Kafka Partition is preserved.
+     * Events with Invalid Order / Event and Events NOT allowed in the Order State are skipped.
+     * Events which don't change the Order State
+     * (Duplicates, No Effect Events) are NOT written to the Outbox.
+     *
+     * @param events
+     * @return No. of Events Applied (Order State changed)
+     */
+    @Override
+    @Transactional
+    public int handleEvents(List<InboundOrderEvent> events) {
+        if(events == null || events.isEmpty()) {
+            return 0;
+        }
+        Set<UUID> orderIds = new HashSet<>();
+        for(InboundOrderEvent event : events) {
+            try {
+                orderIds.add(Utils.getUUID(event.getOrderId()));
+            } catch (Exception ignored) {
+                // Invalid Order ID - Skipped below
+            }
+        }
+        Map<String, OrderEntity> orders = new HashMap<>();
+        for(OrderEntity order : orderRepository.findAllById(orderIds)) {
+            orders.put(order.getOrderId(), order);
+        }
+        Map<String, OrderEntity> changed = new LinkedHashMap<>();
+        int applied = 0;
+        for(InboundOrderEvent event : events) {
+            OrderEntity order = orders.get(event.getOrderId());
+            if(order == null || !Objects.equals(order.getCustomerId(), event.getCustomerId())) {
+                log.warn("Order Event "+event.getId()+" Skipped! Order Not Found for OrderId="+event.getOrderId());
+                continue;
+            }
+            OrderEvent orderEvent;
+            try {
+                orderEvent = OrderEvent.fromString(event.getName());
+                if(!order.applyEvent(orderEvent)) {
+                    continue;
+                }
+            } catch (Exception e) {
+                // Unknown Event or Transition NOT allowed in the Order State (Order NOT changed)
+                log.warn("Order Event "+event.getId()+" Skipped! "+e.getMessage());
+                continue;
+            }
+            publishEvent(orderEvent.name(), order);
+            changed.put(order.getOrderId(), order);
+            applied++;
+        }
+        orderRepository.saveAll(changed.values());
+        return applied;
+    }
+
+    /**
+     * Write the Order Domain Event to the Outbox (Same Transaction as the Order)
+     * @param eventName
+     * @param order
+     */
+    private void publishEvent(String eventName, OrderEntity order) {
+        outboxService.addEvent(OrderDomainEvent.AGGREGATE_TYPE, order.getOrderId(),
+                new OrderDomainEvent(eventName, order));
+    }
+
     /**
      * Process the Payment Request with External System
      * @param customerId
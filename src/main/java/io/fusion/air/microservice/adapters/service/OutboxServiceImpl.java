@@ -0,0 +1,66 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.service;
+// Custom
+import io.fusion.air.microservice.adapters.repository.OutboxRepository;
+import io.fusion.air.microservice.domain.entities.outbox.OutboxEventEntity;
+import io.fusion.air.microservice.domain.events.AppEvent;
+import io.fusion.air.microservice.domain.exceptions.InputDataException;
+import io.fusion.air.microservice.domain.ports.services.OutboxService;
+import io.fusion.air.microservice.server.config.KafkaConfig;
+import io.fusion.air.microservice.utils.Utils;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Transactional Outbox Service
+ * Events are only written to the Database here. The Outbox Relay publishes them to Kafka,
+ * so the Request Latency doesn't depend on the Broker Latency.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    /**
+     * Add the Domain Event to the Outbox.
+     * Joins the Caller's Transaction (Fails if there is no Transaction)
+     *
+     * @param aggregateType
+     * @param aggregateId
+     * @param event
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addEvent(String aggregateType, String aggregateId, AppEvent event) {
+        if(event == null || aggregateId == null) {
+            throw new InputDataException("Invalid Outbox Event for "+aggregateType);
+        }
+        outboxRepository.save(new OutboxEventEntity(event.getId(), aggregateType, aggregateId,
+                event.getName(), kafkaConfig.getOutboxTopic(), Utils.toJsonString(event)));
+    }
+}
@@ -16,7 +16,9 @@
 package io.fusion.air.microservice.adapters.service;
 // Custom
 import io.fusion.air.microservice.adapters.repository.ReservationRepository;
+import io.fusion.air.microservice.adapters.repository.ReservationStateHistoryRepository;
 import io.fusion.air.microservice.domain.entities.reservation.ReservationEntity;
+import io.fusion.air.microservice.domain.entities.reservation.ReservationStateHistoryEntity;
 import io.fusion.air.microservice.domain.exceptions.DataNotFoundException;
 import io.fusion.air.microservice.domain.exceptions.DatabaseException;
 import io.fusion.air.microservice.domain.exceptions.InputDataException;
@@ -25,6 +27,7 @@ import io.fusion.air.microservice.domain.ports.services.ReservationStateMachineS
 import io.fusion.air.microservice.utils.Utils;
 // Spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.annotation.RequestScope;
@@ -57,9 +60,15 @@ public class ReservationServiceImpl implements ReservationService {
     // Set Logger -> Lookup will automatically determine the class name.
     private static final Logger log = getLogger(lookup().lookupClass());
 
+    // Max No. of State Transitions returned in a Single Request
+    public static final int MAX_HISTORY_LIMIT = 100;
+
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private ReservationStateHistoryRepository reservationHistoryRepository;
+
 
     /**
      * ONLY FOR TESTING PURPOSE
@@ -127,6 +136,25 @@ public class ReservationServiceImpl implements ReservationService {
         }
         throw new DataNotFoundException("reservation Not Found for reservationId="+reservationId);    }
 
+    /**
+     * Find the Last N State Transitions (Latest First) of the Reservation
+     * Only the requested transitions are loaded from the Database (Not the full History)
+     *
+     * @param customerId
+     * @param reservationId
+     * @param limit
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationStateHistoryEntity> findLatestTransitions(String customerId, String reservationId, int limit) {
+        if(limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new InputDataException("Invalid History Limit = "+limit+" (Range 1 - "+MAX_HISTORY_LIMIT+")");
+        }
+        return reservationHistoryRepository.findLatestTransitions(customerId, Utils.getUUID(reservationId),
+                PageRequest.of(0, limit));
+    }
+
     /**
      * Save Reservation
      *
@@ -0,0 +1,75 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.streams;
+// Custom
+import io.fusion.air.microservice.domain.events.OrderDomainEvent;
+import io.fusion.air.microservice.utils.JsonMapper;
+// Kafka
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+// Java
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serdes for the Order Analytics Topology
+ *
+ * 1. Order Domain Event - JSON (as written by the Outbox Relay)
+ * 2. BigDecimal - Plain String (No Precision Loss on the Revenue and Totals)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class OrderAnalyticsSerdes {
+
+    private OrderAnalyticsSerdes() {
+    }
+
+    /**
+     * Returns the JSON Serde for the Order Domain Event
+     * @return
+     */
+    public static Serde<OrderDomainEvent> orderEvent() {
+        return Serdes.serdeFrom(
+                (topic, event) -> {
+                    try {
+                        return event == null ? null : JsonMapper.toBytes(event);
+                    } catch (IOException e) {
+                        throw new SerializationException("Unable to Serialize Order Event", e);
+                    }
+                },
+                (topic, data) -> {
+                    try {
+                        return data == null ? null : JsonMapper.fromJson(data, OrderDomainEvent.class);
+                    } catch (IOException e) {
+                        throw new SerializationException("Invalid Order Event in Topic "+topic, e);
+                    }
+                });
+    }
+
+    /**
+     * Returns the Serde for the BigDecimal
+     * @return
+     */
+    public static Serde<BigDecimal> bigDecimal() {
+        return Serdes.serdeFrom(
+                (topic, value) -> value == null ? null : value.toPlainString().getBytes(StandardCharsets.US_ASCII),
+                (topic, data) -> data == null ? null : new BigDecimal(new String(data, StandardCharsets.US_ASCII)));
+    }
+}
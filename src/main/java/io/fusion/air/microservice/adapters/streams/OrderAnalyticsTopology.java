@@ -0,0 +1,263 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.streams;
+// Custom
+import io.fusion.air.microservice.domain.events.OrderDomainEvent;
+import io.fusion.air.microservice.server.config.KafkaConfig;
+// Kafka
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.WindowStore;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+// Java
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import org.slf4j.Logger;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Order Analytics Topology (Kafka Streams)
+ *
+ * Source: Order Domain Events (JSON, Keyed by Order ID) published by the Outbox Relay.
+ *
+ * 1. Latest Order Snapshot (KTable)     - Order ID           -> Latest Order Event
+ * 2. Order Count by State               - Order State        -> Count
+ * 3. Customer Totals                    - Customer, Currency -> Sum of the Order Values
+ * 4. Revenue by Currency (Tumbling Window) - Currency       -> Net Change in the Order Values
+ *
+ * Counts and Totals are aggregated on the Order Snapshot, so a State change or an update of the
+ * Order Value moves the Order (Subtract Old / Add New) instead of counting it twice.
+ * Revenue is the Delta of the Order Value against the previous Event of the same Order, so an
+ * Order is booked in the Window where it is Saved and only the updates are added later. If the
+ * Currency of the Order changes, the previous Value is subtracted from the previous Currency.
+ *
+ * The Customer Totals Key is Length Prefixed (Length of the Customer ID : Customer ID + Currency),
+ * a Customer ID or a Currency containing the Separator can't collide with another Customer.
+ *
+ * All the Stores are persistent (RocksDB) and are queried by the OrderAnalyticsService.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.streams.enabled", havingValue = "true")
+public class OrderAnalyticsTopology {
+
+    // Set Logger -> Lookup will automatically determine the class name.
+    private static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String ORDER_SNAPSHOT_STORE     = "order-snapshot-store";
+    public static final String ORDER_VALUE_STORE        = "order-value-store";
+    public static final String ORDER_STATE_COUNT_STORE  = "order-state-count-store";
+    public static final String CUSTOMER_TOTAL_STORE     = "customer-total-store";
+    public static final String CURRENCY_REVENUE_STORE   = "currency-revenue-store";
+
+    // Separator after the Length of the Customer ID in the Composite Key (Customer ID, Currency)
+    public static final String KEY_LENGTH_SEPARATOR = ":";
+
+    // Separator between the Currency and the Value of the Order Value Delta
+    private static final String VALUE_SEPARATOR = "|";
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    /**
+     * Add the Order Analytics Topology to the Streams Builder (managed by Spring)
+     * @param _builder
+     */
+    @Autowired
+    public void buildTopology(StreamsBuilder _builder) {
+        build(_builder, kafkaConfig.getOutboxTopic(),
+                Duration.ofMinutes(kafkaConfig.getStreamsRevenueWindowMinutes()),
+                Duration.ofMinutes(kafkaConfig.getStreamsRevenueGraceMinutes()),
+                Duration.ofHours(kafkaConfig.getStreamsRevenueRetentionHours()));
+        log.info("|Kafka Streams|Order Analytics Topology created for the Topic "+kafkaConfig.getOutboxTopic());
+    }
+
+    /**
+     * Build the Order Analytics Topology
+     * Independent of Spring to run the Topology in the TopologyTestDriver.
+     *
+     * @param _builder
+     * @param _topic
+     * @param _window
+     * @param _grace
+     * @param _retention
+     */
+    public static void build(StreamsBuilder _builder, String _topic,
+                             Duration _window, Duration _grace, Duration _retention) {
+        Serde<String> stringSerde = Serdes.String();
+        Serde<OrderDomainEvent> eventSerde = OrderAnalyticsSerdes.orderEvent();
+        Serde<BigDecimal> decimalSerde = OrderAnalyticsSerdes.bigDecimal();
+
+        KStream<String, OrderDomainEvent> events = _builder
+                .stream(_topic, Consumed.with(stringSerde, eventSerde))
+                .filter((orderId, event) -> orderId != null && event != null);
+
+        // 1. Latest Order Snapshot
+        KTable<String, OrderDomainEvent> orders = events.toTable(
+                Materialized.<String, OrderDomainEvent, KeyValueStore<Bytes, byte[]>>as(ORDER_SNAPSHOT_STORE)
+                        .withKeySerde(stringSerde)
+                        .withValueSerde(eventSerde));
+
+        // 2. Order Count by State
+        orders.groupBy((orderId, event) -> KeyValue.pair(String.valueOf(event.getOrderState()), event),
+                        Grouped.with(stringSerde, eventSerde))
+                .count(Materialized.<String, Long, KeyValueStore<Bytes, byte[]>>as(ORDER_STATE_COUNT_STORE)
+                        .withKeySerde(stringSerde)
+                        .withValueSerde(Serdes.Long()));
+
+        // 3. Customer Totals by Currency
+        orders.groupBy((orderId, event) -> KeyValue.pair(customerKey(event.getCustomerId(), event.getCurrency()), event),
+                        Grouped.with(stringSerde, eventSerde))
+                .aggregate(
+                        () -> BigDecimal.ZERO,
+                        (key, event, total) -> total.add(orderValue(event)),
+                        (key, event, total) -> total.subtract(orderValue(event)),
+                        Materialized.<String, BigDecimal, KeyValueStore<Bytes, byte[]>>as(CUSTOMER_TOTAL_STORE)
+                                .withKeySerde(stringSerde)
+                                .withValueSerde(decimalSerde));
+
+        // 4. Revenue by Currency in Tumbling Windows
+        Serde<Delta> deltaSerde = Serdes.serdeFrom(
+                (topic, delta) -> delta == null ? null : delta.encode(),
+                (topic, data) -> data == null ? null : Delta.decode(data));
+        _builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(ORDER_VALUE_STORE), stringSerde, deltaSerde));
+        events.flatTransformValues(OrderValueDelta::new, ORDER_VALUE_STORE)
+                .filter((orderId, delta) -> delta.value.signum() != 0)
+                .groupBy((orderId, delta) -> delta.currency, Grouped.with(stringSerde, deltaSerde))
+                .windowedBy(TimeWindows.ofSizeAndGrace(_window, _grace))
+                .aggregate(
+                        () -> BigDecimal.ZERO,
+                        (currency, delta, revenue) -> revenue.add(delta.value),
+                        Materialized.<String, BigDecimal, WindowStore<Bytes, byte[]>>as(CURRENCY_REVENUE_STORE)
+                                .withKeySerde(stringSerde)
+                                .withValueSerde(decimalSerde)
+                                .withRetention(_retention));
+    }
+
+    /**
+     * Returns the Composite Key for the Customer Totals (Length Prefixed Customer ID + Currency)
+     * @param _customerId
+     * @param _currency
+     * @return
+     */
+    public static String customerKey(String _customerId, String _currency) {
+        return customerKeyPrefix(_customerId) + _currency;
+    }
+
+    /**
+     * Returns the Key Prefix of all the Customer Totals of the Customer (Prefix Scan)
+     * @param _customerId
+     * @return
+     */
+    public static String customerKeyPrefix(String _customerId) {
+        String customerId = String.valueOf(_customerId);
+        return customerId.length() + KEY_LENGTH_SEPARATOR + customerId;
+    }
+
+    /**
+     * Returns the Order Value (Zero if Missing)
+     * @param _event
+     * @return
+     */
+    private static BigDecimal orderValue(OrderDomainEvent _event) {
+        return _event.getTotalOrderValue() != null ? _event.getTotalOrderValue() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Change in the Order Value for a Currency (Also the last known Value + Currency of an Order)
+     */
+    static final class Delta {
+
+        private final String currency;
+        private final BigDecimal value;
+
+        Delta(String _currency, BigDecimal _value) {
+            this.currency = _currency;
+            this.value = _value;
+        }
+
+        byte[] encode() {
+            return (currency + VALUE_SEPARATOR + value.toPlainString()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        static Delta decode(byte[] _data) {
+            String s = new String(_data, StandardCharsets.UTF_8);
+            // The Value never contains the Separator, the Currency may
+            int i = s.lastIndexOf(VALUE_SEPARATOR);
+            return new Delta(s.substring(0, i), new BigDecimal(s.substring(i + 1)));
+        }
+    }
+
+    /**
+     * Computes the Change in the Order Value against the previous Event of the same Order.
+     * The last known Value and Currency of every Order is kept in the Order Value Store.
+     * Currency changed: The previous Value is subtracted from the previous Currency and the
+     * current Value is added to the current Currency (Two Deltas).
+     */
+    private static final class OrderValueDelta
+            implements ValueTransformerWithKey<String, OrderDomainEvent, Iterable<Delta>> {
+
+        private KeyValueStore<String, Delta> store;
+
+        @Override
+        public void init(ProcessorContext _context) {
+            this.store = _context.getStateStore(ORDER_VALUE_STORE);
+        }
+
+        @Override
+        public Iterable<Delta> transform(String _orderId, OrderDomainEvent _event) {
+            Delta current = new Delta(String.valueOf(_event.getCurrency()), orderValue(_event));
+            Delta previous = store.get(_orderId);
+            store.put(_orderId, current);
+            if(previous == null) {
+                return Collections.singletonList(current);
+            }
+            if(!Objects.equals(previous.currency, current.currency)) {
+                return Arrays.asList(new Delta(previous.currency, previous.value.negate()), current);
+            }
+            return Collections.singletonList(new Delta(current.currency, current.value.subtract(previous.value)));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.entities.core;
+
+import io.fusion.air.microservice.utils.TimeOrderedUUID;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+
+/**
+ * Hibernate Identifier Generator for Time Ordered (v7) UUIDs
+ *
+ * @GeneratedValue(generator = "UUID")
+ * @GenericGenerator(name = "UUID", strategy = "io.fusion.air.microservice.domain.entities.core.TimeOrderedUUIDGenerator")
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class TimeOrderedUUIDGenerator implements IdentifierGenerator {
+
+    /**
+     * Returns the Next Time Ordered UUID
+     * @param session
+     * @param object
+     * @return
+     */
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedUUID.next();
+    }
+}
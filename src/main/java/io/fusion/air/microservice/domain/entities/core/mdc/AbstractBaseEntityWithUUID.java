@@ -17,7 +17,6 @@ package io.fusion.air.microservice.domain.entities.core.mdc;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.GenericGenerator;
-import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import java.util.UUID;
@@ -30,15 +29,16 @@ import java.util.UUID;
 @MappedSuperclass
 public class AbstractBaseEntityWithUUID extends AbstractBaseEntity {
 
+    // Time Ordered (v7) UUIDs: New Rows are appended to the Primary Key Index (v4 = Random Inserts)
+    // Stored in 16 Bytes: binary(16) in H2 / MySQL, uuid in PostgreSQL (Dialect Default)
+    // Existing char(36) Tables: database/uuid-binary.sql
+    // Use the Below type if you still have char(36) Tables
+    // @Column(name = "uuid", columnDefinition = "char(36)", unique = true)
+    // @Type(type = "org.hibernate.type.UUIDCharType")
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Column(name = "uuid", columnDefinition = "char(36)", unique = true)
-    @Type(type = "org.hibernate.type.UUIDCharType")
-    // Use the Below type if you are using PostgreSQL Database Exclusively
-    // And Change the table script UUID data type to uuid
-    // @Column(name = "uuid", columnDefinition = "uuid", unique = true)
-    // @Type(type = "org.hibernate.type.PostgresUUIDType")
+    @GenericGenerator(name = "UUID", strategy = "io.fusion.air.microservice.domain.entities.core.TimeOrderedUUIDGenerator")
+    @Column(name = "uuid", length = 16, unique = true)
     private UUID uuid;
     // @Size(min = 36, max = 36, message = "The length of ID Name must be 36 characters.")
     // @Pattern(regexp = "^[0-9a-fA-F]{8}\\b-[0-9a-fA-F]{4}\\b-[0-9a-fA-F]{4}\\b-[0-9a-fA-F]{4}\\b-[0-9a-fA-F]{12}$", message = "Invalid UUID")
@@ -57,6 +57,27 @@ public class CountryGeoEntity implements Serializable {
     protected CountryGeoEntity() {
     }
 
+    /**
+     * Create the Geo Country (GeoLite2 Country Locations)
+     * @param _geoNameId
+     * @param _localeCode
+     * @param _continentCode
+     * @param _continentName
+     * @param _countryIsoCode
+     * @param _countryName
+     * @param _isInEuropeanUnion
+     */
+    public CountryGeoEntity(int _geoNameId, String _localeCode, String _continentCode, String _continentName,
+                            String _countryIsoCode, String _countryName, int _isInEuropeanUnion) {
+        geoNameId = _geoNameId;
+        localeCode = _localeCode;
+        continentCode = _continentCode;
+        continentName = _continentName;
+        countryIsoCode = _countryIsoCode;
+        countryName = _countryName;
+        isInEuropeanUnion = _isInEuropeanUnion;
+    }
+
     public int getGeoNameId() {
         return geoNameId;
     }
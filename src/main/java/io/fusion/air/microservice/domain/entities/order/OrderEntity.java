@@ -16,12 +16,17 @@
 package io.fusion.air.microservice.domain.entities.order;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.fusion.air.microservice.domain.entities.core.springdata.AbstractBaseEntityWithUUID;
+import io.fusion.air.microservice.domain.exceptions.BusinessServiceException;
+import io.fusion.air.microservice.domain.models.core.RunningTotal;
+import io.fusion.air.microservice.domain.statemachine.order.OrderEvent;
 import io.fusion.air.microservice.domain.statemachine.order.OrderResult;
 import io.fusion.air.microservice.domain.statemachine.order.OrderState;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -65,33 +70,84 @@ public class OrderEntity extends AbstractBaseEntityWithUUID {
     @Enumerated(EnumType.STRING)
     private OrderResult result;
 
+    // Append Only History - Ordered by the Database
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "order_id")
+    @OrderBy("seqNo ASC")
     private List<OrderStateHistoryEntity> orderHistory = new ArrayList<>();
 
+    // Latest Transition (De-Normalized from the History)
+    @Column(name = "lastTransitionSeq", columnDefinition = "int default 0")
+    private Integer lastTransitionSeq = 0;
+
+    @Column(name = "lastTransitionEvent")
+    @Enumerated(EnumType.STRING)
+    private OrderEvent lastTransitionEvent;
+
+    @Column(name = "lastTransitionTime")
+    private LocalDateTime lastTransitionTime;
+
+    // Running Total of the Order Items (Minor Units)
+    @Transient
+    private RunningTotal runningTotal;
+
     private OrderEntity() {
     }
 
     /**
-     * Calculate the Order Value
+     * Calculate the Order Value (Full Recompute of the Order Items)
+     * Use this when the Order Items are loaded or replaced as a whole. Single Items are
+     * added / removed incrementally with addOrderItem / removeOrderItem.
      * @return
      */
     @JsonIgnore
     public BigDecimal calculateTotalOrderValue() {
-        /**
-        if(orderItems != null && orderItems.size() > 0) {
-            for(OrderItemEntity i : orderItems) {
-                totalOrderValue = totalOrderValue.add(i.getPrice());
+        runningTotal = RunningTotal.forCurrency(currency);
+        if(orderItems != null) {
+            for(OrderItemEntity item : orderItems) {
+                runningTotal.add(item.getPrice());
             }
         }
-         */
-        if(getOrderItems() != null) {
-            totalOrderValue = getOrderItems().stream()
-                    .map(OrderItemEntity::getPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        totalOrderValue = runningTotal.toBigDecimal();
+        return totalOrderValue;
+    }
+
+    /**
+     * Add the Order Item and update the Total Order Value - O(1)
+     * @param _item
+     */
+    public void addOrderItem(OrderItemEntity _item) {
+        if(_item == null) {
+            return;
+        }
+        RunningTotal total = runningTotal();
+        orderItems.add(_item);
+        totalOrderValue = total.add(_item.getPrice()).toBigDecimal();
+    }
+
+    /**
+     * Remove the Order Item and update the Total Order Value
+     * @param _item
+     * @return
+     */
+    public boolean removeOrderItem(OrderItemEntity _item) {
+        RunningTotal total = runningTotal();
+        if(_item == null || !orderItems.remove(_item)) {
+            return false;
         }
-        System.out.println("Order Customer ID = "+ getCustomerId() +" Total Order Value = "+ getTotalOrderValue());
-        return getTotalOrderValue();
+        totalOrderValue = total.subtract(_item.getPrice()).toBigDecimal();
+        return true;
+    }
+
+    /**
+     * Returns the Running Total (Rebuilt once from the Order Items after Load)
+     * @return
+     */
+    private RunningTotal runningTotal() {
+        if(runningTotal == null) {
+            calculateTotalOrderValue();
+        }
+        return runningTotal;
     }
 
     /**
@@ -183,20 +239,112 @@ public class OrderEntity extends AbstractBaseEntityWithUUID {
     }
 
     /**
-     * Returns the Order State Transition History
+     * Returns the Order State Transition History (Read Only)
+     * History is already ordered by the Sequence No from the Database.
      * @return
      */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     public List<OrderStateHistoryEntity> getOrderHistory() {
-         Collections.sort(orderHistory);
-        return orderHistory;
+        return Collections.unmodifiableList(orderHistory);
     }
 
     /**
-     * Add Order History
+     * Returns the Sequence No of the Latest State Transition
+     * @return
+     */
+    public int getLastTransitionSeq() {
+        return lastTransitionSeq != null ? lastTransitionSeq : 0;
+    }
+
+    /**
+     * Returns the Event of the Latest State Transition
+     * @return
+     */
+    public OrderEvent getLastTransitionEvent() {
+        return lastTransitionEvent;
+    }
+
+    /**
+     * Returns the Time of the Latest State Transition
+     * @return
+     */
+    public LocalDateTime getLastTransitionTime() {
+        return lastTransitionTime;
+    }
+
+    /**
+     * Add Order History (Append Only)
+     * Assigns the Next Sequence No and Updates the Latest Transition
      * @param history
      */
     public void addOrderStateHistory(OrderStateHistoryEntity history) {
+        if(history == null) {
+            return;
+        }
+        int seqNo = getLastTransitionSeq() + 1;
+        history.setSeqNo(seqNo);
         orderHistory.add(history);
+        lastTransitionSeq = seqNo;
+        lastTransitionEvent = history.getTransitionEvent();
+        lastTransitionTime = LocalDateTime.now();
+    }
+
+    /**
+     * Apply the Event to the Order State.
+     * Returns False if the Order doesn't change (Event without a Target State or the Order
+     * is already in the Target State - Ex. a Duplicate Event). Else moves the Order to the
+     * Target State and appends the Transition to the History.
+     * Events NOT allowed in the Current State (Ex. Shipping an Order without Payment) are rejected
+     * and the Order is NOT changed.
+     *
+     * @param _event
+     * @return True if the Order State changed
+     * @throws BusinessServiceException if the Transition is NOT allowed in the Current State
+     */
+    public boolean applyEvent(OrderEvent _event) {
+        OrderState target = (_event != null) ? _event.getTargetState() : null;
+        if(target == null || target == orderState) {
+            return false;
+        }
+        if(!_event.isAllowedFrom(orderState)) {
+            throw new BusinessServiceException("Invalid Order Transition "+orderState+" -> "+target
+                    +" for the Event "+_event);
+        }
+        OrderState source = orderState;
+        orderState = target;
+        result = resultOf(target, result);
+        addOrderStateHistory(new OrderStateHistoryEntity(source, target, _event, getVersion(), null));
+        return true;
+    }
+
+    /**
+     * Returns the Order Result for the State (Current Result if the State doesn't decide it)
+     * @param _state
+     * @param _current
+     * @return
+     */
+    private static OrderResult resultOf(OrderState _state, OrderResult _current) {
+        switch (_state) {
+            case CREDIT_APPROVED:   return OrderResult.CREDIT_APPROVED;
+            case CREDIT_DENIED:     return OrderResult.CREDIT_DENIED;
+            case PAYMENT_CONFIRMED: return OrderResult.PAYMENT_CONFIRMED;
+            case PAYMENT_DECLINED:  return OrderResult.PAYMENT_DECLINED;
+            case CANCELLED:         return OrderResult.CANCELLED;
+            case RETURNED:          return OrderResult.RETURNED;
+            case DELIVERED:         return OrderResult.DELIVERED;
+            case ERROR:             return OrderResult.SUSPENDED;
+            default:                return _current;
+        }
+    }
+
+    /**
+     * Returns True if the Order is in the Initial State without any Transitions
+     * @return
+     */
+    @JsonIgnore
+    public boolean isInitialState() {
+        return orderState == OrderState.ORDER_INITIALIZED && result == OrderResult.IN_PROGRESS
+                && getLastTransitionSeq() == 0 && orderHistory.isEmpty();
     }
 
     /**
@@ -205,6 +353,9 @@ public class OrderEntity extends AbstractBaseEntityWithUUID {
     public void resetOrderState() {
         initializeOrder();
         orderHistory.clear();
+        lastTransitionSeq = 0;
+        lastTransitionEvent = null;
+        lastTransitionTime = null;
     }
 
     /**
@@ -234,6 +385,12 @@ public class OrderEntity extends AbstractBaseEntityWithUUID {
             return this;
         }
 
+        public Builder addCurrency(String currency) {
+            order.currency = currency;
+            order.calculateTotalOrderValue();
+            return this;
+        }
+
         public Builder addOrderItems(List<OrderItemEntity> orderItems) {
             order.orderItems = orderItems;
             order.calculateTotalOrderValue();
@@ -241,8 +398,7 @@ public class OrderEntity extends AbstractBaseEntityWithUUID {
         }
 
         public Builder addOrderItem(OrderItemEntity orderItem) {
-            order.orderItems.add(orderItem);
-            order.calculateTotalOrderValue();
+            order.addOrderItem(orderItem);
             return this;
         }
 
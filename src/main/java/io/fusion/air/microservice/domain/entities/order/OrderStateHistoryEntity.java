@@ -26,6 +26,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * To Keep Track of Order States and its Transitions based on Order Event
+ * History is Append Only. Every Transition gets a Sequence No (per Order) assigned by the
+ * Order Entity and the Database returns the History ordered by the Sequence No.
+ * The Sequence No is Unique per Order (order_id, seqNo), a Lost Update can't write two
+ * Transitions with the same Sequence No.
  *
  * @author: Araf Karsh Hamid
  * @version:
@@ -33,25 +37,30 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  */
 
 @Entity
-@Table(name = "order_state_history_tx")
+@Table(name = "order_state_history_tx",
+        uniqueConstraints = @UniqueConstraint(name = "order_state_history_seq_uk", columnNames = {"order_id", "seqNo"}),
+        indexes = @Index(name = "order_state_history_seq_idx", columnList = "order_id, seqNo"))
 public class OrderStateHistoryEntity extends AbstractBaseEntityWithUUID implements Comparable<OrderStateHistoryEntity> {
 
-    @Column(name = "sourceState")
+    @Column(name = "seqNo", nullable = false, updatable = false)
+    private Integer seqNo;
+
+    @Column(name = "sourceState", updatable = false)
     @Enumerated(EnumType.STRING)
     private OrderState sourceState;
 
-    @Column(name = "targetState")
+    @Column(name = "targetState", updatable = false)
     @Enumerated(EnumType.STRING)
     private OrderState targetState;
 
-    @Column(name = "transitionEvent")
+    @Column(name = "transitionEvent", updatable = false)
     @Enumerated(EnumType.STRING)
     private OrderEvent transitionEvent;
 
-    @Column(name= "orderVersion", columnDefinition = "int default 0")
+    @Column(name= "orderVersion", columnDefinition = "int default 0", updatable = false)
     private Integer orderVersion;
 
-    @Column(name = "notes")
+    @Column(name = "notes", updatable = false)
     private String notes;
 
     public OrderStateHistoryEntity() {}
@@ -73,6 +82,22 @@ public class OrderStateHistoryEntity extends AbstractBaseEntityWithUUID implemen
         this.notes = _notes;
     }
 
+    /**
+     * Set the Sequence No (Assigned by the Order Entity while appending the History)
+     * @param _seqNo
+     */
+    protected void setSeqNo(int _seqNo) {
+        this.seqNo = _seqNo;
+    }
+
+    /**
+     * Returns the Sequence No of the Transition within the Order
+     * @return
+     */
+    public int getSeqNo() {
+        return seqNo != null ? seqNo : 0;
+    }
+
     /**
      * Returns Source State
      * @return
@@ -130,11 +155,11 @@ public class OrderStateHistoryEntity extends AbstractBaseEntityWithUUID implemen
     }
 
     /**
-     * Compare based on Order Version For Sorting in Ascending order.
+     * Compare based on Sequence No For Sorting in Ascending order.
      */
     @Override
     @JsonIgnore
     public int compareTo(OrderStateHistoryEntity o) {
-        return this.orderVersion - o.orderVersion;
+        return Integer.compare(getSeqNo(), o.getSeqNo());
     }
 }
@@ -0,0 +1,146 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.entities.outbox;
+// Java X Persistence
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Transactional Outbox
+ * Domain Events are written to the Outbox in the same Transaction as the Aggregate (Ex. Order)
+ * and relayed to Kafka in Batches by the Outbox Relay. Identity Key keeps the Insertion Order.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Entity
+@Table(name = "outbox_events_tx", indexes = { @Index(name = "outbox_events_created_idx", columnList = "createdTime") })
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "eventId", columnDefinition = "char(36)", nullable = false, updatable = false)
+    private String eventId;
+
+    @Column(name = "aggregateType", nullable = false, updatable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregateId", nullable = false, updatable = false)
+    private String aggregateId;
+
+    @Column(name = "eventType", nullable = false, updatable = false)
+    private String eventType;
+
+    @Column(name = "topic", nullable = false, updatable = false)
+    private String topic;
+
+    @Column(name = "payload", columnDefinition = "text", updatable = false)
+    private String payload;
+
+    @Column(name = "createdTime", nullable = false, updatable = false)
+    private LocalDateTime createdTime;
+
+    protected OutboxEventEntity() {
+    }
+
+    /**
+     * Create Outbox Event
+     * @param _eventId
+     * @param _aggregateType
+     * @param _aggregateId
+     * @param _eventType
+     * @param _topic
+     * @param _payload
+     */
+    public OutboxEventEntity(String _eventId, String _aggregateType, String _aggregateId,
+                             String _eventType, String _topic, String _payload) {
+        this.eventId = _eventId;
+        this.aggregateType = _aggregateType;
+        this.aggregateId = _aggregateId;
+        this.eventType = _eventType;
+        this.topic = _topic;
+        this.payload = _payload;
+        this.createdTime = LocalDateTime.now();
+    }
+
+    /**
+     * Returns the Outbox Sequence ID
+     * @return
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the Event ID
+     * @return
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Returns the Aggregate Type (Ex. Order)
+     * @return
+     */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    /**
+     * Returns the Aggregate ID (Used as the Kafka Message Key)
+     * @return
+     */
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    /**
+     * Returns the Event Type
+     * @return
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Returns the Kafka Topic
+     * @return
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Returns the Event Payload (JSON)
+     * @return
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * Returns the Created Time
+     * @return
+     */
+    public LocalDateTime getCreatedTime() {
+        return createdTime;
+    }
+}
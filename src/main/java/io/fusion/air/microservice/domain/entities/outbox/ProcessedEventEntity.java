@@ -0,0 +1,91 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.entities.outbox;
+// Spring
+import org.springframework.data.domain.Persistable;
+// Java X Persistence
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Inbox - Processed Events
+ * Event IDs of the Consumed Events are stored in the same Transaction as the Aggregate updates.
+ * Redelivered Events (after a Rebalance or a Crash before the Offset Commit) are discarded.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Entity
+@Table(name = "processed_events_tx")
+public class ProcessedEventEntity implements Persistable<String> {
+
+    // Event IDs longer than this are rejected by the Consumer (per Event, NOT the Batch)
+    public static final int MAX_EVENT_ID_LENGTH = 255;
+
+    @Id
+    @Column(name = "eventId", length = MAX_EVENT_ID_LENGTH)
+    private String eventId;
+
+    @Column(name = "processedTime", nullable = false, updatable = false)
+    private LocalDateTime processedTime;
+
+    protected ProcessedEventEntity() {
+    }
+
+    /**
+     * Create Processed Event
+     * @param _eventId
+     */
+    public ProcessedEventEntity(String _eventId) {
+        this.eventId = _eventId;
+        this.processedTime = LocalDateTime.now();
+    }
+
+    /**
+     * Returns the Event ID
+     * @return
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Returns the Event ID
+     * @return
+     */
+    @Override
+    public String getId() {
+        return eventId;
+    }
+
+    /**
+     * Processed Events are only Inserted (Avoids the Select before the Insert for an Assigned ID)
+     * @return
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    /**
+     * Returns the Processed Time
+     * @return
+     */
+    public LocalDateTime getProcessedTime() {
+        return processedTime;
+    }
+}
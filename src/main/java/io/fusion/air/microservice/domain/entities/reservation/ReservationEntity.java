@@ -16,15 +16,18 @@
 package io.fusion.air.microservice.domain.entities.reservation;
 // Custom
 import io.fusion.air.microservice.domain.entities.core.springdata.AbstractBaseEntityWithUUID;
+import io.fusion.air.microservice.domain.statemachine.reservation.ReservationEvent;
 import io.fusion.air.microservice.domain.statemachine.reservation.ReservationResult;
 import io.fusion.air.microservice.domain.statemachine.reservation.ReservationState;
 // Java & Persistence
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.hibernate.annotations.ColumnDefault;
 
 /**
@@ -77,48 +80,111 @@ public class ReservationEntity extends AbstractBaseEntityWithUUID {
     // @ColumnDefault("false")
     private Boolean rollbackOnFailure;
 
+    // Append Only History - Ordered by the Database
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "reservation_id")
+    @OrderBy("seqNo ASC")
     private List<ReservationStateHistoryEntity> reservationHistory = new ArrayList<>();
 
+    // Latest Transition (De-Normalized from the History)
+    @Column(name = "lastTransitionSeq", columnDefinition = "int default 0")
+    private Integer lastTransitionSeq = 0;
+
+    @Column(name = "lastTransitionEvent")
+    @Enumerated(EnumType.STRING)
+    private ReservationEvent lastTransitionEvent;
+
+    @Column(name = "lastTransitionTime")
+    private LocalDateTime lastTransitionTime;
+
+    // Running Total of all the Reservations in Whole Units (Rebuilt once from the Reservations after Load)
+    @Transient
+    private long runningTotal;
+    @Transient
+    private boolean runningTotalLoaded;
+
     private ReservationEntity() {
     }
 
     /**
-     * Calculate the Reservation Value
+     * Calculate the Reservation Value (Full Recompute of all the Reservations)
+     * Use this when the Reservations are loaded or replaced as a whole. Single Reservations
+     * are added incrementally with the add methods.
      * @return
      */
     @JsonIgnore
     public Integer calculateTotalValue() {
-        /**
-        if(hotelReservations!= null) {
-            for(HotelReservationEntity i : hotelReservations) {
-                totalValue += i.getTotalCost();
-            }
+        long total = 0;
+        for(HotelReservationEntity hotel : Optional.ofNullable(hotelReservationList).orElse(Collections.emptyList())) {
+            total = Math.addExact(total, hotel.getTotalCost());
+        }
+        for(RentalReservationEntity rental : Optional.ofNullable(rentalReservationList).orElse(Collections.emptyList())) {
+            total = Math.addExact(total, rental.getTotalCost());
+        }
+        for(FlightReservationEntity flight : Optional.ofNullable(flightReservationList).orElse(Collections.emptyList())) {
+            total = Math.addExact(total, flight.getTotalCost());
         }
-         */
-        totalValue += Optional.ofNullable(hotelReservationList)
-                .orElse(Collections.emptyList())
-                .stream()
-                .mapToInt(HotelReservationEntity::getTotalCost)
-                .sum();
-
-        totalValue += Optional.ofNullable(rentalReservationList)
-                .orElse(Collections.emptyList())
-                .stream()
-                .mapToInt(RentalReservationEntity::getTotalCost)
-                .sum();
-
-        totalValue += Optional.ofNullable(flightReservationList)
-                .orElse(Collections.emptyList())
-                .stream()
-                .mapToInt(FlightReservationEntity::getTotalCost)
-                .sum();
-
-        System.out.println("Reservation Customer ID = "+ getCustomerId() +" Total Value = "+ totalValue);
+        runningTotal = total;
+        runningTotalLoaded = true;
+        totalValue = Math.toIntExact(runningTotal);
         return totalValue;
     }
 
+    /**
+     * Add the Hotel Reservation and update the Total Value - O(1)
+     * @param _hotel
+     */
+    public void addHotelReservation(HotelReservationEntity _hotel) {
+        if(_hotel != null) {
+            loadRunningTotal();
+            hotelReservationList.add(_hotel);
+            addToTotal(_hotel.getTotalCost());
+        }
+    }
+
+    /**
+     * Add the Rental Reservation and update the Total Value - O(1)
+     * @param _rental
+     */
+    public void addRentalReservation(RentalReservationEntity _rental) {
+        if(_rental != null) {
+            loadRunningTotal();
+            rentalReservationList.add(_rental);
+            addToTotal(_rental.getTotalCost());
+        }
+    }
+
+    /**
+     * Add the Flight Reservation and update the Total Value - O(1)
+     * @param _flight
+     */
+    public void addFlightReservation(FlightReservationEntity _flight) {
+        if(_flight != null) {
+            loadRunningTotal();
+            flightReservationList.add(_flight);
+            addToTotal(_flight.getTotalCost());
+        }
+    }
+
+    /**
+     * Rebuild the Running Total once from the Reservations after Load
+     */
+    private void loadRunningTotal() {
+        if(!runningTotalLoaded) {
+            calculateTotalValue();
+        }
+    }
+
+    /**
+     * Add the Cost to the Running Total. The Total Value (Integer Column) is checked for the
+     * Overflow without boxing the Running Total.
+     * @param _cost
+     */
+    private void addToTotal(int _cost) {
+        runningTotal = Math.addExact(runningTotal, _cost);
+        totalValue = Math.toIntExact(runningTotal);
+    }
+
     /**
      * Sets the Reservation State
      * @param state
@@ -224,20 +290,54 @@ public class ReservationEntity extends AbstractBaseEntityWithUUID {
     }
 
     /**
-     * Returns the Reservation State Transition History
+     * Returns the Reservation State Transition History (Read Only)
+     * History is already ordered by the Sequence No from the Database.
      * @return
      */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     public List<ReservationStateHistoryEntity> getReservationHistory() {
-         Collections.sort(reservationHistory);
-        return reservationHistory;
+        return Collections.unmodifiableList(reservationHistory);
     }
 
     /**
-     * Add Reservation History
+     * Returns the Sequence No of the Latest State Transition
+     * @return
+     */
+    public int getLastTransitionSeq() {
+        return lastTransitionSeq != null ? lastTransitionSeq : 0;
+    }
+
+    /**
+     * Returns the Event of the Latest State Transition
+     * @return
+     */
+    public ReservationEvent getLastTransitionEvent() {
+        return lastTransitionEvent;
+    }
+
+    /**
+     * Returns the Time of the Latest State Transition
+     * @return
+     */
+    public LocalDateTime getLastTransitionTime() {
+        return lastTransitionTime;
+    }
+
+    /**
+     * Add Reservation History (Append Only)
+     * Assigns the Next Sequence No and Updates the Latest Transition
      * @param history
      */
     public void addReservationStateHistory(ReservationStateHistoryEntity history) {
+        if(history == null) {
+            return;
+        }
+        int seqNo = getLastTransitionSeq() + 1;
+        history.setSeqNo(seqNo);
         reservationHistory.add(history);
+        lastTransitionSeq = seqNo;
+        lastTransitionEvent = history.getTransitionEvent();
+        lastTransitionTime = LocalDateTime.now();
     }
 
     /**
@@ -246,6 +346,9 @@ public class ReservationEntity extends AbstractBaseEntityWithUUID {
     public void resetState() {
         initializeOrder();
         reservationHistory.clear();
+        lastTransitionSeq = 0;
+        lastTransitionEvent = null;
+        lastTransitionTime = null;
     }
 
     /**
@@ -396,8 +499,7 @@ public class ReservationEntity extends AbstractBaseEntityWithUUID {
         }
 
         public Builder addHotelReservations(HotelReservationEntity hotelReservations) {
-            reservation.hotelReservationList.add(hotelReservations);
-            reservation.calculateTotalValue();
+            reservation.addHotelReservation(hotelReservations);
             return this;
         }
 
@@ -408,8 +510,7 @@ public class ReservationEntity extends AbstractBaseEntityWithUUID {
         }
 
         public Builder addRentalReservations(RentalReservationEntity rentalReservations) {
-            reservation.getRentalReservationList().add(rentalReservations);
-            reservation.calculateTotalValue();
+            reservation.addRentalReservation(rentalReservations);
             return this;
         }
 
@@ -420,8 +521,7 @@ public class ReservationEntity extends AbstractBaseEntityWithUUID {
         }
 
         public Builder addFlightReservations(FlightReservationEntity flightReservations) {
-            reservation.getFlightReservationList().add(flightReservations);
-            reservation.calculateTotalValue();
+            reservation.addFlightReservation(flightReservations);
             return this;
         }
 
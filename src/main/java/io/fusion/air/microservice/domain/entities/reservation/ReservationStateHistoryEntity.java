@@ -33,25 +33,30 @@ import javax.persistence.*;
  */
 
 @Entity
-@Table(name = "reservation_state_history_tx")
+@Table(name = "reservation_state_history_tx",
+        uniqueConstraints = @UniqueConstraint(name = "reservation_state_history_seq_uk", columnNames = {"reservation_id", "seqNo"}),
+        indexes = @Index(name = "reservation_state_history_seq_idx", columnList = "reservation_id, seqNo"))
 public class ReservationStateHistoryEntity extends AbstractBaseEntityWithUUID implements Comparable<ReservationStateHistoryEntity> {
 
-    @Column(name = "sourceState")
+    @Column(name = "seqNo", nullable = false, updatable = false)
+    private Integer seqNo;
+
+    @Column(name = "sourceState", updatable = false)
     @Enumerated(EnumType.STRING)
     private ReservationState sourceState;
 
-    @Column(name = "targetState")
+    @Column(name = "targetState", updatable = false)
     @Enumerated(EnumType.STRING)
     private ReservationState targetState;
 
-    @Column(name = "transitionEvent")
+    @Column(name = "transitionEvent", updatable = false)
     @Enumerated(EnumType.STRING)
     private ReservationEvent transitionEvent;
 
-    @Column(name= "aggregateVersionNo", columnDefinition = "int default 0")
+    @Column(name= "aggregateVersionNo", columnDefinition = "int default 0", updatable = false)
     private Integer aggregateVersionNo;
 
-    @Column(name = "notes")
+    @Column(name = "notes", updatable = false)
     private String notes;
 
     public ReservationStateHistoryEntity() {}
@@ -73,6 +78,22 @@ public class ReservationStateHistoryEntity extends AbstractBaseEntityWithUUID im
         this.notes = _notes;
     }
 
+    /**
+     * Set the Sequence No (Assigned by the Reservation Entity while appending the History)
+     * @param _seqNo
+     */
+    protected void setSeqNo(int _seqNo) {
+        this.seqNo = _seqNo;
+    }
+
+    /**
+     * Returns the Sequence No of the Transition within the Reservation
+     * @return
+     */
+    public int getSeqNo() {
+        return seqNo != null ? seqNo : 0;
+    }
+
     /**
      * Returns Source State
      * @return
@@ -130,11 +151,11 @@ public class ReservationStateHistoryEntity extends AbstractBaseEntityWithUUID im
     }
 
     /**
-     * Compare based on Order Version For Sorting in Ascending order.
+     * Compare based on Sequence No For Sorting in Ascending order.
      */
     @Override
     @JsonIgnore
     public int compareTo(ReservationStateHistoryEntity o) {
-        return this.aggregateVersionNo - o.aggregateVersionNo;
+        return Integer.compare(getSeqNo(), o.getSeqNo());
     }
 }
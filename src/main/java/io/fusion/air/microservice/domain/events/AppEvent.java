@@ -1,15 +1,70 @@
 package io.fusion.air.microservice.domain.events;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * App Event
+ * Base class for all the Domain Events published by the Service
  *
  * @author arafkarsh
  */
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class AppEvent {
 
     private String id;
     private String name;
     private LocalDateTime eventTime;
+
+    /**
+     * For Serialization Only
+     */
+    protected AppEvent() {
+    }
+
+    /**
+     * Create App Event
+     * @param _name
+     */
+    public AppEvent(String _name) {
+        this.id = UUID.randomUUID().toString();
+        this.name = _name;
+        this.eventTime = LocalDateTime.now();
+    }
+
+    /**
+     * Returns the Event ID (Unique for every Event)
+     * @return
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Assign the Event ID if it's Missing (Ex. Events received without an ID)
+     * @param _id
+     */
+    public void assignId(String _id) {
+        if(id == null) {
+            id = _id;
+        }
+    }
+
+    /**
+     * Returns the Event Name
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the Event Time
+     * @return
+     */
+    public LocalDateTime getEventTime() {
+        return eventTime;
+    }
 }
@@ -0,0 +1,63 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.events;
+
+/**
+ * Inbound Order Event
+ * Order Events received from Kafka (Keyed by the Order ID). Same as the Event REST Endpoint
+ * /order/process/event/{event}/customer/{customerId}/order/{orderId}
+ *
+ * @author arafkarsh
+ */
+public class InboundOrderEvent extends AppEvent {
+
+    private String orderId;
+    private String customerId;
+
+    /**
+     * For Serialization Only
+     */
+    protected InboundOrderEvent() {
+    }
+
+    /**
+     * Create Inbound Order Event
+     * @param _event
+     * @param _customerId
+     * @param _orderId
+     */
+    public InboundOrderEvent(String _event, String _customerId, String _orderId) {
+        super(_event);
+        this.customerId = _customerId;
+        this.orderId = _orderId;
+    }
+
+    /**
+     * Returns the Order ID
+     * @return
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Returns the Customer ID
+     * @return
+     */
+    public String getCustomerId() {
+        return customerId;
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.events;
+// Custom
+import io.fusion.air.microservice.domain.entities.order.OrderEntity;
+import io.fusion.air.microservice.domain.statemachine.order.OrderResult;
+import io.fusion.air.microservice.domain.statemachine.order.OrderState;
+// Java
+import java.math.BigDecimal;
+
+/**
+ * Order Domain Event
+ * Snapshot of the Order published via the Outbox to Kafka. Keyed by the Order ID.
+ *
+ * @author arafkarsh
+ */
+public class OrderDomainEvent extends AppEvent {
+
+    public static final String AGGREGATE_TYPE   = "Order";
+
+    public static final String ORDER_SAVED      = "ORDER_SAVED";
+    public static final String ORDER_RESET      = "ORDER_RESET";
+
+    private String orderId;
+    private String customerId;
+    private OrderState orderState;
+    private OrderResult result;
+    private String currency;
+    private BigDecimal totalOrderValue;
+    private int transitionSeq;
+
+    /**
+     * For Serialization Only
+     */
+    protected OrderDomainEvent() {
+    }
+
+    /**
+     * Create Order Domain Event from the Order
+     * @param _eventName
+     * @param _order
+     */
+    public OrderDomainEvent(String _eventName, OrderEntity _order) {
+        super(_eventName);
+        this.orderId = _order.getOrderId();
+        this.customerId = _order.getCustomerId();
+        this.orderState = _order.getOrderState();
+        this.result = _order.getResult();
+        this.currency = _order.getCurrency();
+        this.totalOrderValue = _order.getTotalOrderValue();
+        this.transitionSeq = _order.getLastTransitionSeq();
+    }
+
+    /**
+     * Returns the Order ID
+     * @return
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Returns the Customer ID
+     * @return
+     */
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Returns the Order State
+     * @return
+     */
+    public OrderState getOrderState() {
+        return orderState;
+    }
+
+    /**
+     * Returns the Order Result
+     * @return
+     */
+    public OrderResult getResult() {
+        return result;
+    }
+
+    /**
+     * Returns the Currency
+     * @return
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Returns the Total Order Value
+     * @return
+     */
+    public BigDecimal getTotalOrderValue() {
+        return totalOrderValue;
+    }
+
+    /**
+     * Returns the Sequence No of the Latest State Transition
+     * @return
+     */
+    public int getTransitionSeq() {
+        return transitionSeq;
+    }
+}
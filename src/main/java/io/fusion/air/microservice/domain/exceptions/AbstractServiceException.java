@@ -21,12 +21,19 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 
 /**
+ * Stackless Mode (Default On, server.exceptions.stackless): Expected Outcomes don't capture the
+ * Stack Trace, which is the costly part of an Exception. Stackless is Opt-In: ONLY the Expected
+ * Outcome Exceptions (Ex. DataNotFoundException for a missing Id, InvalidInputException) pass the
+ * Expected Outcome Flag, and only without a Cause. All the other Exceptions keep the Stack Trace.
+ *
  * @author: Araf Karsh Hamid
  * @version:
  * @date:
  */
 public abstract class AbstractServiceException extends  RuntimeException {
 
+    private static volatile boolean stacklessMode = true;
+
     private final String errorMessage;
     private final Throwable serviceException;
     private final HttpStatus httpStatus;
@@ -48,7 +55,7 @@ public abstract class AbstractServiceException extends  RuntimeException {
      * @param _e
      */
     public AbstractServiceException(Throwable _e) {
-        super(_e);
+        super((_e != null) ? _e.toString() : null, _e);
         errorMessage = (_e != null) ? _e.getMessage() : "No-Info Available" ;
         serviceException = (_e  != null) ? _e : this;
         httpStatus = HttpStatus.BAD_REQUEST;
@@ -79,6 +86,44 @@ public abstract class AbstractServiceException extends  RuntimeException {
         httpStatus = _status;
     }
 
+    /**
+     * Service base Exception for Expected Outcomes (No Cause)
+     * The Stack Trace is NOT captured in the Stackless Mode if the Expected Outcome Flag is set.
+     * @param _msg
+     * @param _status
+     * @param _expectedOutcome
+     */
+    protected AbstractServiceException(String _msg, HttpStatus _status, boolean _expectedOutcome) {
+        super(_msg, null, true, !(stacklessMode && _expectedOutcome));
+        errorMessage = (_msg != null) ? _msg : "No-Info Available" ;
+        serviceException = this;
+        httpStatus = _status;
+    }
+
+    /**
+     * Turn the Stackless Mode On / Off (Off = Every Exception captures the Stack Trace)
+     * @param _stackless
+     */
+    public static void setStacklessMode(boolean _stackless) {
+        stacklessMode = _stackless;
+    }
+
+    /**
+     * Returns True if the Stackless Mode is On
+     * @return
+     */
+    public static boolean isStacklessMode() {
+        return stacklessMode;
+    }
+
+    /**
+     * Returns True if the Exception has NO Stack Trace (Expected Outcome in Stackless Mode)
+     * @return
+     */
+    public boolean isStackless() {
+        return getStackTrace().length == 0;
+    }
+
     /**
      * Returns Exception Stack Trace as a String
      * @return
@@ -59,4 +59,14 @@ public class BusinessServiceException extends AbstractServiceException {
     public BusinessServiceException(String _msg, HttpStatus badRequest, Throwable _e) {
         super(_msg, badRequest, _e);
     }
+
+    /**
+     * Business Service Exception for Expected Outcomes (Stackless in the Stackless Mode)
+     * @param _msg
+     * @param _status
+     * @param _expectedOutcome
+     */
+    protected BusinessServiceException(String _msg, HttpStatus _status, boolean _expectedOutcome) {
+        super(_msg, _status, _expectedOutcome);
+    }
 }
@@ -30,7 +30,7 @@ public class DataNotFoundException extends DatabaseException {
      * @param _e
      */
     public DataNotFoundException(String _msg) {
-        super(_msg, HttpStatus.NOT_FOUND, null);
+        super(_msg, HttpStatus.NOT_FOUND, true);
     }
 
     /**
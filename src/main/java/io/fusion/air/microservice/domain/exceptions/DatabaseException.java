@@ -58,4 +58,14 @@ public class DatabaseException extends AbstractServiceException {
     public DatabaseException(String _msg, HttpStatus badRequest, Throwable _e) {
         super(_msg, badRequest, _e);
     }
+
+    /**
+     * Database Exception for Expected Outcomes (Stackless in the Stackless Mode)
+     * @param _msg
+     * @param _status
+     * @param _expectedOutcome
+     */
+    protected DatabaseException(String _msg, HttpStatus _status, boolean _expectedOutcome) {
+        super(_msg, _status, _expectedOutcome);
+    }
 }
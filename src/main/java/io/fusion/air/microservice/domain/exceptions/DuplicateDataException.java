@@ -29,7 +29,7 @@ public class DuplicateDataException extends DatabaseException {
      * @param _msg
      */
     public DuplicateDataException(String _msg) {
-        super(_msg);
+        super(_msg, HttpStatus.BAD_REQUEST, true);
     }
 
     /**
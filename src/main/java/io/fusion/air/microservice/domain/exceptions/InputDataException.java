@@ -28,7 +28,7 @@ public class InputDataException extends BusinessServiceException {
      * Input Data Exception
      */
     public InputDataException(String _msg) {
-        super(_msg);
+        super(_msg, HttpStatus.BAD_REQUEST, true);
     }
 
     /**
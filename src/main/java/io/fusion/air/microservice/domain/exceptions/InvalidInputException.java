@@ -28,7 +28,7 @@ public class InvalidInputException extends BusinessServiceException {
      * Input Data Exception
      */
     public InvalidInputException(String _msg) {
-        super(_msg);
+        super(_msg, HttpStatus.BAD_REQUEST, true);
     }
 
     /**
@@ -28,7 +28,7 @@ public class LimitExceededException extends BusinessServiceException {
      * Input Data Exception
      */
     public LimitExceededException(String _msg) {
-        this(_msg, null);
+        super("Rate Limit Exceeded: "+_msg, HttpStatus.TOO_MANY_REQUESTS, true);
     }
 
     /**
@@ -30,7 +30,7 @@ public class MandatoryDataRequiredException extends BusinessServiceException {
      * @param _msg
      */
     public MandatoryDataRequiredException(String _msg) {
-        super(_msg);
+        super(_msg, HttpStatus.BAD_REQUEST, true);
     }
 
     /**
@@ -59,4 +59,14 @@ public class ResourceException extends AbstractServiceException {
     public ResourceException(String _msg, HttpStatus badRequest, Throwable _e) {
         super(_msg, badRequest, _e);
     }
+
+    /**
+     * Resource Exception for Expected Outcomes (Stackless in the Stackless Mode)
+     * @param _msg
+     * @param _status
+     * @param _expectedOutcome
+     */
+    protected ResourceException(String _msg, HttpStatus _status, boolean _expectedOutcome) {
+        super(_msg, _status, _expectedOutcome);
+    }
 }
@@ -31,7 +31,7 @@ public class ResourceNotFoundException extends ResourceException {
      * @param _msg
      */
     public ResourceNotFoundException(String _msg) {
-        super(_msg);
+        super(_msg, HttpStatus.BAD_REQUEST, true);
     }
 
 
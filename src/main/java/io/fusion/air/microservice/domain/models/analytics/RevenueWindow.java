@@ -0,0 +1,80 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.models.analytics;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Revenue of a Currency in a Time Window
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class RevenueWindow {
+
+    private final String currency;
+    private final Instant windowStart;
+    private final Instant windowEnd;
+    private final BigDecimal revenue;
+
+    /**
+     * Create the Revenue Window
+     * @param _currency
+     * @param _windowStart
+     * @param _windowEnd
+     * @param _revenue
+     */
+    public RevenueWindow(String _currency, Instant _windowStart, Instant _windowEnd, BigDecimal _revenue) {
+        this.currency = _currency;
+        this.windowStart = _windowStart;
+        this.windowEnd = _windowEnd;
+        this.revenue = _revenue;
+    }
+
+    /**
+     * Returns the Currency
+     * @return
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Returns the Start of the Window (Inclusive)
+     * @return
+     */
+    public Instant getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * Returns the End of the Window (Exclusive)
+     * @return
+     */
+    public Instant getWindowEnd() {
+        return windowEnd;
+    }
+
+    /**
+     * Returns the Revenue in the Window
+     * @return
+     */
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.models.core;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Running Total in Minor Units (Fixed Point)
+ *
+ * Values are added and removed in O(1) with exact long arithmetic (Overflow throws an
+ * ArithmeticException). BigDecimal is used only at the edges (Input Values and the Result).
+ *
+ * The Scale starts with the Fraction Digits of the Currency (Default 2) and is raised
+ * when a Value with more Fraction Digits is added (up to MAX_SCALE). Fraction Digits beyond
+ * MAX_SCALE are rounded with ROUNDING (Half Even), the same way on add and subtract.
+ *
+ * Not Thread Safe (Owned by a Single Entity / Builder).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class RunningTotal {
+
+    public static final int DEFAULT_SCALE = 2;
+    public static final int MAX_SCALE = 8;
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    private long minorUnits;
+    private int scale;
+    private int count;
+
+    /**
+     * Create the Running Total with the Scale
+     * @param _scale
+     */
+    public RunningTotal(int _scale) {
+        if(_scale < 0 || _scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Invalid Scale "+_scale+" (Range 0 - "+MAX_SCALE+")");
+        }
+        this.scale = _scale;
+    }
+
+    /**
+     * Create the Running Total with the Scale of the Currency (ISO 4217 Code)
+     * @param _currencyCode
+     * @return
+     */
+    public static RunningTotal forCurrency(String _currencyCode) {
+        int digits = DEFAULT_SCALE;
+        if(_currencyCode != null) {
+            try {
+                digits = Currency.getInstance(_currencyCode).getDefaultFractionDigits();
+            } catch (IllegalArgumentException ignored) {
+                // Unknown Currency - Use the Default Scale
+            }
+        }
+        return new RunningTotal(digits < 0 ? DEFAULT_SCALE : digits);
+    }
+
+    /**
+     * Add the Value
+     * @param _value
+     * @return
+     */
+    public RunningTotal add(BigDecimal _value) {
+        if(_value != null) {
+            // Convert first: it may raise the Scale of the Total (and rescale minorUnits)
+            long units = toMinorUnits(_value);
+            minorUnits = Math.addExact(minorUnits, units);
+            count++;
+        }
+        return this;
+    }
+
+    /**
+     * Remove the Value (Added earlier)
+     * @param _value
+     * @return
+     */
+    public RunningTotal subtract(BigDecimal _value) {
+        if(_value != null) {
+            long units = toMinorUnits(_value);
+            minorUnits = Math.subtractExact(minorUnits, units);
+            count--;
+        }
+        return this;
+    }
+
+    /**
+     * Add the Value in Whole Units
+     * @param _units
+     * @return
+     */
+    public RunningTotal add(long _units) {
+        minorUnits = Math.addExact(minorUnits, Math.multiplyExact(_units, POWERS_OF_TEN[scale]));
+        count++;
+        return this;
+    }
+
+    /**
+     * Remove the Value in Whole Units (Added earlier)
+     * @param _units
+     * @return
+     */
+    public RunningTotal subtract(long _units) {
+        minorUnits = Math.subtractExact(minorUnits, Math.multiplyExact(_units, POWERS_OF_TEN[scale]));
+        count--;
+        return this;
+    }
+
+    /**
+     * Reset the Total to Zero
+     * @return
+     */
+    public RunningTotal reset() {
+        minorUnits = 0;
+        count = 0;
+        return this;
+    }
+
+    /**
+     * Returns the Total in Minor Units (of the Current Scale)
+     * @return
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Returns the Current Scale
+     * @return
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the No. of Values in the Total
+     * @return
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the Total as BigDecimal
+     * @return
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    /**
+     * Returns the Total in Whole Units (Exact)
+     * @return
+     */
+    public int toIntExact() {
+        long unit = POWERS_OF_TEN[scale];
+        if(minorUnits % unit != 0) {
+            throw new ArithmeticException("Total "+toBigDecimal()+" has a Fraction");
+        }
+        return Math.toIntExact(minorUnits / unit);
+    }
+
+    /**
+     * Convert the Value to Minor Units. Raises the Scale of the Total if the
+     * Value has more Fraction Digits (Rounded beyond the Max Scale).
+     * @param _value
+     * @return
+     */
+    private long toMinorUnits(BigDecimal _value) {
+        BigDecimal value = _value.stripTrailingZeros();
+        if(value.scale() > MAX_SCALE) {
+            value = value.setScale(MAX_SCALE, ROUNDING).stripTrailingZeros();
+        }
+        if(value.scale() > scale) {
+            minorUnits = Math.multiplyExact(minorUnits, POWERS_OF_TEN[value.scale() - scale]);
+            scale = value.scale();
+        }
+        return value.movePointRight(scale).longValueExact();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
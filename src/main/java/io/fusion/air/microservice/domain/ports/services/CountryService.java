@@ -15,6 +15,7 @@
  */
 package io.fusion.air.microservice.domain.ports.services;
 
+import io.fusion.air.microservice.adapters.repository.ingest.IngestStats;
 import io.fusion.air.microservice.domain.entities.order.CountryEntity;
 import io.fusion.air.microservice.domain.entities.order.CountryGeoEntity;
 import org.springframework.data.domain.Page;
@@ -50,4 +51,12 @@ public interface CountryService {
      * @return
      */
     public List<CountryEntity> getAllCountries();
+
+    /**
+     * Ingest the GeoLite Country Locations CSV File (from the Ingest Data Dir)
+     * @param fileName
+     * @param reload True = Load a Staging Table and swap, False = Upsert into the Live Table
+     * @return
+     */
+    public IngestStats ingestGeoCountries(String fileName, boolean reload);
 }
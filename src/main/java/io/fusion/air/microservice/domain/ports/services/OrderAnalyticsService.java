@@ -0,0 +1,61 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.ports.services;
+// Custom
+import io.fusion.air.microservice.domain.models.analytics.RevenueWindow;
+// Java
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order Analytics Service
+ * Real-Time Order Analytics from the Kafka Streams State Stores (Interactive Queries)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public interface OrderAnalyticsService {
+
+    /**
+     * Returns the No. of Orders by Order State
+     * @return
+     */
+    public Map<String, Long> countOrdersByState();
+
+    /**
+     * Returns the Order Totals of the Customer by Currency
+     * @param customerId
+     * @return
+     */
+    public Map<String, BigDecimal> findCustomerTotals(String customerId);
+
+    /**
+     * Returns the Revenue Windows of the Currency in the Last N Hours
+     * @param currency
+     * @param hours
+     * @return
+     */
+    public List<RevenueWindow> findRevenue(String currency, int hours);
+
+    /**
+     * Returns the Revenue Windows of all the Currencies in the Last N Hours
+     * @param hours
+     * @return
+     */
+    public List<RevenueWindow> findRevenue(int hours);
+}
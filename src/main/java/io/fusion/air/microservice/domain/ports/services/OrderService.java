@@ -16,6 +16,8 @@
 package io.fusion.air.microservice.domain.ports.services;
 // Custom
 import io.fusion.air.microservice.domain.entities.order.OrderEntity;
+import io.fusion.air.microservice.domain.entities.order.OrderStateHistoryEntity;
+import io.fusion.air.microservice.domain.events.InboundOrderEvent;
 // Java
 import java.util.List;
 import java.util.Optional;
@@ -59,6 +61,23 @@ public interface OrderService {
      */
     public Optional<OrderEntity> findById( String customerId, UUID orderId);
 
+    /**
+     * Find the Last N State Transitions (Latest First) of the Order
+     * @param customerId
+     * @param orderId
+     * @param limit
+     * @return
+     */
+    public List<OrderStateHistoryEntity> findLatestTransitions(String customerId, String orderId, int limit);
+
+    /**
+     * Recalculate the Total Order Value of all the Persisted Orders (Batch Wise)
+     * Returns the No. of Orders updated
+     * @param batchSize
+     * @return
+     */
+    public int recalculateTotals(int batchSize);
+
 
     /**
      * Save Order
@@ -103,4 +122,12 @@ public interface OrderService {
      * @return
      */
     public OrderEntity handleEvent(String customerId, String orderId, String event);
+
+    /**
+     * Handle a Micro Batch of Inbound Order Events in a Single Transaction.
+     * Events are applied in the given order (Per Order ordering is preserved).
+     * @param events
+     * @return No. of Events Applied
+     */
+    public int handleEvents(List<InboundOrderEvent> events);
 }
@@ -0,0 +1,38 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.ports.services;
+// Custom
+import io.fusion.air.microservice.domain.events.AppEvent;
+
+/**
+ * Transactional Outbox Service
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public interface OutboxService {
+
+    /**
+     * Add the Domain Event to the Outbox.
+     * MUST be called within the Transaction which updates the Aggregate.
+     *
+     * @param aggregateType
+     * @param aggregateId
+     * @param event
+     */
+    public void addEvent(String aggregateType, String aggregateId, AppEvent event);
+}
@@ -16,6 +16,7 @@
 package io.fusion.air.microservice.domain.ports.services;
 // Custom
 import io.fusion.air.microservice.domain.entities.reservation.ReservationEntity;
+import io.fusion.air.microservice.domain.entities.reservation.ReservationStateHistoryEntity;
 
 import java.util.List;
 import java.util.Optional;
@@ -59,6 +60,15 @@ public interface ReservationService {
      */
     public Optional<ReservationEntity> findById( String customerId, UUID reservationId);
 
+    /**
+     * Find the Last N State Transitions (Latest First) of the Reservation
+     * @param customerId
+     * @param reservationId
+     * @param limit
+     * @return
+     */
+    public List<ReservationStateHistoryEntity> findLatestTransitions(String customerId, String reservationId, int limit);
+
     /**
      * Save Reservation
      * @param order
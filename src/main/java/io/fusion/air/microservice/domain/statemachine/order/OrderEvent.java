@@ -15,8 +15,11 @@
  */
 package io.fusion.air.microservice.domain.statemachine.order;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author: Araf Karsh Hamid
@@ -63,11 +66,81 @@ public enum OrderEvent {
     // Lookup table
     private static final Map<String, OrderEvent> lookup = new HashMap<>();
 
+    // Target State of the Event (Events without a Target have NO EFFECT on the Order State)
+    private static final Map<OrderEvent, OrderState> targets = new EnumMap<>(OrderEvent.class);
+
+    // Source States from which the Event is allowed (Transitions of the Order State Machine)
+    private static final Map<OrderEvent, Set<OrderState>> sources = new EnumMap<>(OrderEvent.class);
+
     // Populate the lookup table on loading time
     static {
         for (OrderEvent os : OrderEvent.values()) {
             lookup.put(os.name().toLowerCase(), os);
         }
+        // The Order keeps a Single State, so the Fork (Packaging + Send Bill) runs in Sequence
+        transition(CREDIT_CHECKING_EVENT, OrderState.CREDIT_CHECKING, OrderState.ORDER_INITIALIZED);
+        transition(CREDIT_APPROVED_EVENT, OrderState.CREDIT_APPROVED,
+                OrderState.CREDIT_CHECKING, OrderState.CREDIT_CHOICE);
+        transition(CREDIT_DECLINED_EVENT, OrderState.CREDIT_DENIED,
+                OrderState.CREDIT_CHECKING, OrderState.CREDIT_CHOICE);
+        transition(PAYMENT_INIT_EVENT, OrderState.PAYMENT_PROCESSING,
+                OrderState.CREDIT_APPROVED, OrderState.PAYMENT_DECLINED);
+        transition(PAYMENT_APPROVED_EVENT, OrderState.PAYMENT_CONFIRMED, OrderState.PAYMENT_PROCESSING);
+        transition(PAYMENT_DECLINED_EVENT, OrderState.PAYMENT_DECLINED, OrderState.PAYMENT_PROCESSING);
+        transition(PACKAGE_FORK_EVENT, OrderState.PACKING_FORK, OrderState.PAYMENT_CONFIRMED);
+        transition(PACKAGE_INIT_EVENT, OrderState.ORDER_PACKAGING_START, OrderState.PACKING_FORK);
+        transition(ORDER_SEND_BILL_EVENT, OrderState.SEND_BILL_START, OrderState.ORDER_PACKAGING_START);
+        transition(ORDER_READY_TO_SHIP_EVENT, OrderState.READY_TO_SHIP_JOIN, OrderState.SEND_BILL_START);
+        transition(ORDER_SHIPPED_EVENT, OrderState.SHIPPED, OrderState.READY_TO_SHIP_JOIN);
+        transition(ORDER_IN_TRANSIT_EVENT, OrderState.IN_TRANSIT, OrderState.SHIPPED);
+        transition(SEND_FOR_DELIVERY_EVENT, OrderState.REACHED_DESTINATION, OrderState.IN_TRANSIT);
+        transition(ORDER_DELIVERED_EVENT, OrderState.DELIVERED, OrderState.REACHED_DESTINATION);
+        transition(ORDER_RETURNED_EVENT, OrderState.RETURNED,
+                OrderState.REACHED_DESTINATION, OrderState.DELIVERED);
+        // Cancel till the Order is Shipped
+        transition(ORDER_CANCELLED_EVENT, OrderState.CANCELLED,
+                OrderState.ORDER_INITIALIZED, OrderState.CREDIT_CHOICE, OrderState.CREDIT_CHECKING,
+                OrderState.CREDIT_APPROVED, OrderState.CREDIT_DENIED, OrderState.PAYMENT_PROCESSING,
+                OrderState.PAYMENT_CONFIRMED, OrderState.PAYMENT_DECLINED, OrderState.PACKING_FORK,
+                OrderState.ORDER_PACKAGING_START, OrderState.SEND_BILL_START, OrderState.READY_TO_SHIP_JOIN);
+        // Failure from any State except the Final States
+        Set<OrderState> open = EnumSet.allOf(OrderState.class);
+        open.removeAll(EnumSet.of(OrderState.CANCELLED, OrderState.RETURNED, OrderState.DELIVERED,
+                OrderState.ORDER_COMPLETED, OrderState.ERROR));
+        transition(FAILURE_EVENT, OrderState.ERROR, open.toArray(new OrderState[0]));
+    }
+
+    /**
+     * Add the Transition (Source States -> Target State) for the Event
+     * @param _event
+     * @param _target
+     * @param _sources
+     */
+    private static void transition(OrderEvent _event, OrderState _target, OrderState... _sources) {
+        targets.put(_event, _target);
+        Set<OrderState> states = EnumSet.noneOf(OrderState.class);
+        for(OrderState state : _sources) {
+            states.add(state);
+        }
+        sources.put(_event, states);
+    }
+
+    /**
+     * Returns the Target State of the Event (Null = NO EFFECT)
+     * @return
+     */
+    public OrderState getTargetState() {
+        return targets.get(this);
+    }
+
+    /**
+     * Returns True if the Event is allowed in the State (Transition defined in the State Machine)
+     * @param _state
+     * @return
+     */
+    public boolean isAllowedFrom(OrderState _state) {
+        Set<OrderState> states = sources.get(this);
+        return states != null && states.contains(_state);
     }
 
     public static OrderEvent fromString(String event) {
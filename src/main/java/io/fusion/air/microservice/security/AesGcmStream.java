@@ -0,0 +1,216 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+
+import javax.crypto.Cipher;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+
+/**
+ * Streaming AES-GCM Encryption in Segments
+ *
+ * A single GCM Message can't be streamed on Decryption (the Plain Text must NOT be released before
+ * the Tag is verified, so the JDK buffers the whole Message). The Stream is split into Segments, each
+ * Segment is a GCM Message of its own and is verified before it is written. Memory = 2 Segments.
+ *
+ * Format   : Header | Segment 0 | Segment 1 | ... | Last Segment
+ * Header   : Version (1) | Segment Size (4) | Nonce Prefix (7, Random per Stream)
+ * Segment  : Cipher Text (Segment Size, Last Segment is shorter) | Tag (16)
+ * IV       : Nonce Prefix (7) | Segment No. (4) | Last Segment Flag (1)
+ * AAD      : Header
+ *
+ * The Segment No. in the IV stops Reordering, the Last Segment Flag stops Truncation and the Header
+ * in the AAD stops changes to the Header.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class AesGcmStream {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+    public static final int MIN_SEGMENT_SIZE = 1024;
+    public static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final int TAG_LENGTH = CipherPool.GCM_TAG_BITS / 8;
+
+    private static final byte VERSION = 1;
+    private static final int NONCE_PREFIX_LENGTH = 7;
+    private static final int HEADER_LENGTH = 1 + 4 + NONCE_PREFIX_LENGTH;
+    private static final int IV_LENGTH = 12;
+
+    private AesGcmStream() {
+    }
+
+    /**
+     * Encrypt the Input to the Output (The Channels are NOT closed)
+     * @param _in Plain Text
+     * @param _out Cipher Text
+     * @param _key AES Key
+     * @param _segmentSize
+     * @return Bytes written
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long encrypt(ReadableByteChannel _in, WritableByteChannel _out, Key _key, int _segmentSize)
+            throws IOException, GeneralSecurityException {
+        if(_segmentSize < MIN_SEGMENT_SIZE || _segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment Size should be between "+MIN_SEGMENT_SIZE+" and "+MAX_SEGMENT_SIZE);
+        }
+        byte[] header = ByteBuffer.allocate(HEADER_LENGTH).put(VERSION).putInt(_segmentSize)
+                .put(CipherPool.randomBytes(NONCE_PREFIX_LENGTH)).array();
+        long written = writeFully(_out, ByteBuffer.wrap(header));
+        // One Byte more than a Segment: the Segment is the Last one only if the Input ends in it
+        ByteBuffer plain = ByteBuffer.allocate(_segmentSize + 1);
+        ByteBuffer sealed = ByteBuffer.allocate(_segmentSize + TAG_LENGTH);
+        int segmentNo = 0;
+        while(true) {
+            boolean eof = fill(_in, plain);
+            plain.flip();
+            boolean last = eof && plain.remaining() <= _segmentSize;
+            ByteBuffer segment = plain.duplicate();
+            segment.limit(segment.position() + (last ? plain.remaining() : _segmentSize));
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, _key, header, segmentNo, last);
+            sealed.clear();
+            cipher.doFinal(segment, sealed);
+            sealed.flip();
+            written += writeFully(_out, sealed);
+            if(last) {
+                return written;
+            }
+            plain.position(segment.limit());
+            plain.compact();
+            segmentNo = nextSegment(segmentNo);
+        }
+    }
+
+    /**
+     * Decrypt the Input to the Output (The Channels are NOT closed). Every Segment is verified before
+     * it is written, a tampered or truncated Stream fails with a GeneralSecurityException (the Segments
+     * before it are already written).
+     * @param _in Cipher Text
+     * @param _out Plain Text
+     * @param _key AES Key
+     * @return Bytes written
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long decrypt(ReadableByteChannel _in, WritableByteChannel _out, Key _key)
+            throws IOException, GeneralSecurityException {
+        ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_LENGTH);
+        if(fill(_in, headerBuffer) && headerBuffer.hasRemaining()) {
+            throw new GeneralSecurityException("Encrypted Stream is truncated (Header)");
+        }
+        byte[] header = headerBuffer.array();
+        int segmentSize = ByteBuffer.wrap(header, 1, 4).getInt();
+        if(header[0] != VERSION || segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new GeneralSecurityException("Invalid Encrypted Stream Header");
+        }
+        int sealedSize = segmentSize + TAG_LENGTH;
+        ByteBuffer sealed = ByteBuffer.allocate(sealedSize + 1);
+        ByteBuffer plain = ByteBuffer.allocate(segmentSize);
+        long written = 0;
+        int segmentNo = 0;
+        while(true) {
+            boolean eof = fill(_in, sealed);
+            sealed.flip();
+            boolean last = eof && sealed.remaining() <= sealedSize;
+            if(last && sealed.remaining() < TAG_LENGTH) {
+                throw new GeneralSecurityException("Encrypted Stream is truncated");
+            }
+            ByteBuffer segment = sealed.duplicate();
+            segment.limit(segment.position() + (last ? sealed.remaining() : sealedSize));
+            Cipher cipher = cipher(Cipher.DECRYPT_MODE, _key, header, segmentNo, last);
+            plain.clear();
+            cipher.doFinal(segment, plain);
+            plain.flip();
+            written += writeFully(_out, plain);
+            if(last) {
+                return written;
+            }
+            sealed.position(segment.limit());
+            sealed.compact();
+            segmentNo = nextSegment(segmentNo);
+        }
+    }
+
+    /**
+     * Returns the Cipher for the Segment
+     * @param _mode
+     * @param _key
+     * @param _header
+     * @param _segmentNo
+     * @param _last
+     * @return
+     * @throws GeneralSecurityException
+     */
+    private static Cipher cipher(int _mode, Key _key, byte[] _header, int _segmentNo, boolean _last)
+            throws GeneralSecurityException {
+        byte[] iv = ByteBuffer.allocate(IV_LENGTH).put(_header, 1 + 4, NONCE_PREFIX_LENGTH)
+                .putInt(_segmentNo).put((byte) (_last ? 1 : 0)).array();
+        Cipher cipher = CipherPool.cipher(Algorithms.AES_GCM_NoPadding, _mode, _key, iv);
+        cipher.updateAAD(_header);
+        return cipher;
+    }
+
+    /**
+     * Returns the next Segment No.
+     * @param _segmentNo
+     * @return
+     * @throws GeneralSecurityException
+     */
+    private static int nextSegment(int _segmentNo) throws GeneralSecurityException {
+        if(_segmentNo == -1) {
+            // 2^32 Segments, the IV would repeat
+            throw new GeneralSecurityException("Encrypted Stream exceeds the Max Segments");
+        }
+        return _segmentNo + 1;
+    }
+
+    /**
+     * Read till the Buffer is full or the End of the Input
+     * @param _in
+     * @param _buffer
+     * @return True at the End of the Input
+     * @throws IOException
+     */
+    private static boolean fill(ReadableByteChannel _in, ByteBuffer _buffer) throws IOException {
+        while(_buffer.hasRemaining()) {
+            if(_in.read(_buffer) == -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the whole Buffer
+     * @param _out
+     * @param _buffer
+     * @return Bytes written
+     * @throws IOException
+     */
+    private static int writeFully(WritableByteChannel _out, ByteBuffer _buffer) throws IOException {
+        int bytes = _buffer.remaining();
+        while(_buffer.hasRemaining()) {
+            _out.write(_buffer);
+        }
+        return bytes;
+    }
+}
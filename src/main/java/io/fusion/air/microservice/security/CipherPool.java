@@ -0,0 +1,147 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thread Local Pool of Cipher Instances (One per Transformation and Thread)
+ *
+ * Cipher.getInstance (Provider Lookup) is done once per Thread. Cipher.init is skipped if the Cipher
+ * is already initialized with the same Mode, Key and IV (doFinal resets the Cipher to that State),
+ * except for GCM which needs a fresh IV for every Message.
+ *
+ * The Cipher is valid until the next Call from the same Thread. Call invalidate() if an Operation
+ * fails half way, so that the next Call initializes it again.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class CipherPool {
+
+    public static final int GCM_TAG_BITS = 128;
+
+    private static final ThreadLocal<CipherPool> POOL = ThreadLocal.withInitial(CipherPool::new);
+
+    private final Map<String, PooledCipher> ciphers = new HashMap<>(8);
+    private SecureRandom random;
+
+    private CipherPool() {
+    }
+
+    /**
+     * Returns the Thread's Cipher initialized with the Mode, Key and IV
+     * @param _transformation (AES/CBC/PKCS5Padding, AES/GCM/NoPadding ...)
+     * @param _mode Cipher.ENCRYPT_MODE / Cipher.DECRYPT_MODE
+     * @param _key
+     * @param _iv (null = No IV, ECB)
+     * @return
+     * @throws GeneralSecurityException
+     */
+    public static Cipher cipher(String _transformation, int _mode, Key _key, byte[] _iv)
+            throws GeneralSecurityException {
+        Map<String, PooledCipher> ciphers = POOL.get().ciphers;
+        PooledCipher pooled = ciphers.get(_transformation);
+        if(pooled == null) {
+            pooled = new PooledCipher(Cipher.getInstance(_transformation), _transformation.contains("/GCM/"));
+            ciphers.put(_transformation, pooled);
+        }
+        pooled.init(_mode, _key, _iv);
+        return pooled.cipher;
+    }
+
+    /**
+     * Initialize the Thread's Cipher again on the next Call (after a failed Operation)
+     * @param _transformation
+     */
+    public static void invalidate(String _transformation) {
+        PooledCipher pooled = POOL.get().ciphers.get(_transformation);
+        if(pooled != null) {
+            pooled.key = null;
+        }
+    }
+
+    /**
+     * Returns Random Bytes from the Thread's Secure Random (IVs, Nonces)
+     * @param _length
+     * @return
+     */
+    public static byte[] randomBytes(int _length) {
+        byte[] bytes = new byte[_length];
+        POOL.get().secureRandom().nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns the Thread's Secure Random (DRBG if available, it doesn't lock across Threads)
+     * @return
+     */
+    private SecureRandom secureRandom() {
+        if(random == null) {
+            try {
+                random = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                random = new SecureRandom();
+            }
+        }
+        return random;
+    }
+
+    /**
+     * Cipher with the State of the last Init
+     */
+    private static final class PooledCipher {
+
+        private final Cipher cipher;
+        private final boolean gcm;
+        private int mode;
+        private Key key;
+        private byte[] iv;
+
+        private PooledCipher(Cipher _cipher, boolean _gcm) {
+            cipher = _cipher;
+            gcm = _gcm;
+        }
+
+        private void init(int _mode, Key _key, byte[] _iv) throws GeneralSecurityException {
+            if(!gcm && mode == _mode && key == _key && Arrays.equals(iv, _iv)) {
+                return;
+            }
+            // Cleared first, the Cipher is NOT in a known State if the Init fails
+            key = null;
+            if(_iv == null) {
+                cipher.init(_mode, _key);
+            } else if(gcm) {
+                cipher.init(_mode, _key, new GCMParameterSpec(GCM_TAG_BITS, _iv));
+            } else {
+                cipher.init(_mode, _key, new IvParameterSpec(_iv));
+            }
+            mode = _mode;
+            key = _key;
+            iv = (_iv == null) ? null : _iv.clone();
+        }
+    }
+}
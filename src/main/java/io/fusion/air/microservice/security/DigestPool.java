@@ -0,0 +1,201 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Thread Local Pool of Message Digests (One per Algorithm and Thread)
+ *
+ * MessageDigest.getInstance (Provider Lookup) is done once per Thread. The Digest is reset when it's
+ * handed out, so a Hash that failed half way never leaks into the next one. The Digest is valid until
+ * the next Call from the same Thread, don't keep a Reference to it.
+ *
+ * byte[] hash = DigestPool.hash("order-123", Algorithms.SHA_256);
+ * List<byte[]> hashes = DigestPool.hashAll(keys, Algorithms.SHA_256);
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class DigestPool {
+
+    // Below this Size the Bulk Hash runs on the Caller Thread (Fork Join costs more than the Hashes)
+    public static final int PARALLEL_THRESHOLD = 512;
+
+    private static final ThreadLocal<Map<String, MessageDigest>> POOL = ThreadLocal.withInitial(() -> new HashMap<>(8));
+
+    private DigestPool() {
+    }
+
+    /**
+     * Returns the Thread's Message Digest (Reset) for the Algorithm
+     * @param _algo (MD5, SHA-1, SHA-256, SHA-384, SHA-512)
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    public static MessageDigest digest(String _algo) throws NoSuchAlgorithmException {
+        Map<String, MessageDigest> digests = POOL.get();
+        MessageDigest digest = digests.get(_algo);
+        if(digest == null) {
+            digest = MessageDigest.getInstance(_algo);
+            digests.put(_algo, digest);
+        } else {
+            digest.reset();
+        }
+        return digest;
+    }
+
+    /**
+     * Hash the Bytes
+     * @param _data
+     * @param _algo
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    public static byte[] hash(byte[] _data, String _algo) throws NoSuchAlgorithmException {
+        return digest(_algo).digest(_data);
+    }
+
+    /**
+     * Hash the Bytes from the Position to the Limit of the Buffer (Heap or Direct). The Buffer
+     * Position is moved to the Limit.
+     * @param _data
+     * @param _algo
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    public static byte[] hash(ByteBuffer _data, String _algo) throws NoSuchAlgorithmException {
+        MessageDigest digest = digest(_algo);
+        digest.update(_data);
+        return digest.digest();
+    }
+
+    /**
+     * Hash the UTF-8 Bytes of the String
+     * @param _data
+     * @param _algo
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    public static byte[] hash(String _data, String _algo) throws NoSuchAlgorithmException {
+        return digest(_algo).digest(_data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Hash the Parts as one Message (Cache Keys like User + Method + URI without concatenating them).
+     * Each Part is prefixed with its Length, so ("ab", "c") and ("a", "bc") don't collide.
+     * @param _algo
+     * @param _parts
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    public static byte[] hash(String _algo, String... _parts) throws NoSuchAlgorithmException {
+        MessageDigest digest = digest(_algo);
+        byte[] length = new byte[4];
+        for(String part : _parts) {
+            byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+            length[0] = (byte) (bytes.length >>> 24);
+            length[1] = (byte) (bytes.length >>> 16);
+            length[2] = (byte) (bytes.length >>> 8);
+            length[3] = (byte) bytes.length;
+            digest.update(length);
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Hash every Value (in Parallel for large Lists). The Result is in the same Order as the Values.
+     * @param _values
+     * @param _algo
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    public static List<byte[]> hashAll(List<byte[]> _values, String _algo) throws NoSuchAlgorithmException {
+        return hashAll(_values, _algo, value -> value);
+    }
+
+    /**
+     * Hash the UTF-8 Bytes of every String (in Parallel for large Lists). The Result is in the same
+     * Order as the Values.
+     * @param _values
+     * @param _algo
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    public static List<byte[]> hashAllStrings(List<String> _values, String _algo) throws NoSuchAlgorithmException {
+        return hashAll(_values, _algo, value -> value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Hash every Value with its Bytes
+     * @param _values
+     * @param _algo
+     * @param _toBytes
+     * @param <T>
+     * @return
+     * @throws NoSuchAlgorithmException
+     */
+    private static <T> List<byte[]> hashAll(List<T> _values, String _algo, Function<T, byte[]> _toBytes)
+            throws NoSuchAlgorithmException {
+        // Fails here (on the Caller) for an Invalid Algorithm, NOT inside the Workers
+        MessageDigest digest = digest(_algo);
+        if(_values.size() < PARALLEL_THRESHOLD) {
+            List<byte[]> hashes = new ArrayList<>(_values.size());
+            for(T value : _values) {
+                hashes.add(digest.digest(_toBytes.apply(value)));
+            }
+            return hashes;
+        }
+        return _values.parallelStream()
+                .map(value -> hashUnchecked(_toBytes.apply(value), _algo))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Hash inside a Stream (the Algorithm is already validated by the Caller)
+     * @param _data
+     * @param _algo
+     * @return
+     */
+    private static byte[] hashUnchecked(byte[] _data, String _algo) {
+        try {
+            return hash(_data, _algo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Constant Time Comparison of two Hashes (Tokens, Signatures, Checksums)
+     * @param _hash1
+     * @param _hash2
+     * @return
+     */
+    public static boolean isEqual(byte[] _hash1, byte[] _hash2) {
+        return MessageDigest.isEqual(_hash1, _hash2);
+    }
+}
@@ -21,14 +21,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.*;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
+ * Digital Signature (SHA256withRSA)
+ *
+ * The Documents are streamed to the Signature in Chunks (DocumentStream), the Memory used doesn't
+ * depend on the Document Size. Signatures are Detached (document.signature, the Name of the Document
+ * without the Extension, like signDocument) and a Directory of Documents can be signed / verified in
+ * Parallel.
+ *
  * @author: Araf Karsh Hamid
  * @version:
  * @date:
@@ -39,6 +55,9 @@ public class DigitalSignature {
 
     private static final String path = "/Users/arafkarsh/ws/IntelliJ/book/ms-springboot-272-vanilla/";
 
+    public static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+    public static final String SIGNATURE_SUFFIX = ".signature";
+
     @Autowired
     private CryptoKeyGenerator cryptoKeyGenerator;
 
@@ -77,18 +96,10 @@ public class DigitalSignature {
 
         String fileName = documentName.split("\\.")[0];
         // Create a signature instance
-        System.out.println("Creating Signature Instance for the Algo = SHA256withRSA");
-        Signature signature = Signature.getInstance("SHA256withRSA");
-        // Initialize the Signature with Private Key Previously Generated
-        signature.initSign(getCrypto().getPrivateKey());
-
-        // Read and sign the document
+        System.out.println("Creating Signature Instance for the Algo = "+SIGNATURE_ALGORITHM);
+        // Read (in Chunks) and sign the document
         System.out.println("Sign the Document    = " + documentName);
-        byte[] document = Files.readAllBytes(Paths.get( documentName));
-        // Set the Doc in the Signature
-        signature.update(document);
-        // Sign the Document
-        byte[] digitalSignature = signature.sign();
+        byte[] digitalSignature = sign(Paths.get(documentName));
 
         // Write the digital signature to a file
         System.out.println("Create the Signature = " + fileName + ".signature");
@@ -109,19 +120,193 @@ public class DigitalSignature {
         // Read the digital signature - Reading Binary Version of the Signature
         byte[] digitalSignature = Files.readAllBytes(Paths.get(fileName + ".signature"));
 
-        // Create a signature instance and initialize it with the public key
-        Signature signature = Signature.getInstance("SHA256withRSA");
-        // Instantiate with the Public Key
+        // Read (in Chunks) the document and Verify the signature
+        boolean isValid = verify(Paths.get(documentName), digitalSignature);
+        System.out.println("Verify the Signature = " + fileName + ".signature");
+        System.out.println("Signature Verified   = Status = [" + isValid + "] "+ documentName );
+    }
+
+    /**
+     * Sign the Document (Streamed in Chunks)
+     * @param document
+     * @return Signature
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public byte[] sign(Path document) throws IOException, GeneralSecurityException {
+        Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+        signature.initSign(getCrypto().getPrivateKey());
+        DocumentStream.read(document, signature::update);
+        return signature.sign();
+    }
+
+    /**
+     * Verify the Signature of the Document (Streamed in Chunks)
+     * @param document
+     * @param digitalSignature
+     * @return True if the Signature is valid
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public boolean verify(Path document, byte[] digitalSignature) throws IOException, GeneralSecurityException {
+        Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
         signature.initVerify(getCrypto().getPublicKey());
+        DocumentStream.read(document, signature::update);
+        return signature.verify(digitalSignature);
+    }
+
+    /**
+     * Sign the Document and write the Detached Signature (document.signature)
+     * @param document
+     * @return Signature File
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public Path signDetached(Path document) throws IOException, GeneralSecurityException {
+        byte[] digitalSignature = sign(document);
+        Path signatureFile = signatureFile(document);
+        // Temp File + Move: a Signature File is never partially written
+        Path temp = Files.createTempFile(signatureFile.toAbsolutePath().getParent(), ".sign-", ".tmp");
+        try {
+            Files.write(temp, digitalSignature);
+            Files.move(temp, signatureFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return signatureFile;
+    }
+
+    /**
+     * Verify the Document with the Detached Signature (document.signature)
+     * @param document
+     * @return True if the Signature is valid
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public boolean verifyDetached(Path document) throws IOException, GeneralSecurityException {
+        return verify(document, Files.readAllBytes(signatureFile(document)));
+    }
 
-        // Read and update the document
-        byte[] document = Files.readAllBytes(Paths.get(documentName));
-        signature.update(document);
+    /**
+     * Returns the Detached Signature File of the Document (Name without the Extension + .signature)
+     * @param document
+     * @return
+     */
+    public static Path signatureFile(Path document) {
+        String name = document.getFileName().toString();
+        int dot = name.indexOf('.');
+        return document.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + SIGNATURE_SUFFIX);
+    }
 
-        // Verify the signature
-        boolean isValid = signature.verify(digitalSignature);
-        System.out.println("Verify the Signature = " + fileName + ".signature");
-        System.out.println("Signature Verified   = Status = [" + isValid + "] "+ documentName );
+    /**
+     * Sign all the Documents in the Directory in Parallel (Detached Signatures)
+     * @param directory
+     * @param parallelism
+     * @return Result per Document (Sorted by Name)
+     * @throws IOException
+     */
+    public List<SignatureResult> signDirectory(Path directory, int parallelism) throws IOException {
+        return processDirectory(directory, parallelism, true);
+    }
+
+    /**
+     * Verify all the Documents in the Directory in Parallel (Detached Signatures)
+     * @param directory
+     * @param parallelism
+     * @return Result per Document (Sorted by Name)
+     * @throws IOException
+     */
+    public List<SignatureResult> verifyDirectory(Path directory, int parallelism) throws IOException {
+        return processDirectory(directory, parallelism, false);
+    }
+
+    /**
+     * Sign / Verify the Documents in the Directory (NOT the Sub Directories) with a Pool of the
+     * given Parallelism. A failed Document doesn't stop the Batch, the Error is in its Result.
+     * @param directory
+     * @param parallelism
+     * @param sign
+     * @return
+     * @throws IOException
+     */
+    private List<SignatureResult> processDirectory(Path directory, int parallelism, boolean sign) throws IOException {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be greater than 0");
+        }
+        List<Path> documents;
+        try (Stream<Path> files = Files.list(directory)) {
+            documents = files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(SIGNATURE_SUFFIX)
+                            && !file.getFileName().toString().endsWith(".pem"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        // Documents with the same Name (report.txt, report.pdf) would share the Signature File
+        Map<Path, Long> signatureFiles = documents.stream()
+                .collect(Collectors.groupingBy(DigitalSignature::signatureFile, Collectors.counting()));
+        // Load the Keys once before the Workers start
+        getCrypto();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> documents.parallelStream()
+                    .map(document -> signatureFiles.get(signatureFile(document)) > 1
+                            ? sharedSignature(document)
+                            : (sign ? signResult(document) : verifyResult(document)))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Signature Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Signature Batch failed: "+e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Document which shares the Signature File with another Document (Batch Mode)
+     * @param document
+     * @return
+     */
+    private SignatureResult sharedSignature(Path document) {
+        Path signatureFile = signatureFile(document);
+        return new SignatureResult(document.toString(), signatureFile.toString(), false, -1, 0,
+                "Signature File "+signatureFile.getFileName()+" is shared with another Document");
+    }
+
+    /**
+     * Sign the Document (Batch Mode)
+     * @param document
+     * @return
+     */
+    private SignatureResult signResult(Path document) {
+        long startTime = System.currentTimeMillis();
+        try {
+            Path signatureFile = signDetached(document);
+            return new SignatureResult(document.toString(), signatureFile.toString(), true, Files.size(document),
+                    System.currentTimeMillis() - startTime, null);
+        } catch (Exception e) {
+            return new SignatureResult(document.toString(), null, false, -1,
+                    System.currentTimeMillis() - startTime, e.getMessage());
+        }
+    }
+
+    /**
+     * Verify the Document (Batch Mode)
+     * @param document
+     * @return
+     */
+    private SignatureResult verifyResult(Path document) {
+        long startTime = System.currentTimeMillis();
+        Path signatureFile = signatureFile(document);
+        try {
+            boolean valid = verifyDetached(document);
+            return new SignatureResult(document.toString(), signatureFile.toString(), valid, Files.size(document),
+                    System.currentTimeMillis() - startTime, null);
+        } catch (Exception e) {
+            return new SignatureResult(document.toString(), signatureFile.toString(), false, -1,
+                    System.currentTimeMillis() - startTime, e.getMessage());
+        }
     }
 
     /**
@@ -0,0 +1,102 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+// Java
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+
+/**
+ * Streams a Document in Fixed Size Chunks to a MessageDigest or a Signature, so that the Memory
+ * used doesn't depend on the Document Size.
+ *
+ * The File is read through a FileChannel into a Heap Buffer which is reused (per Thread) for every
+ * Chunk and every Document (the JDK reads through its cached Temporary Direct Buffer and copies into
+ * the Heap Buffer). The Digest / Signature works on the Array of the Heap Buffer. A Direct
+ * or Memory Mapped Buffer would NOT save the Copy: MessageDigest / Signature.update(ByteBuffer)
+ * copies it through a Temporary Heap Array. A Mapped File which is truncated while it is read can
+ * also crash the JVM (SIGBUS), a Channel Read just returns fewer Bytes.
+ *
+ * long bytes = DocumentStream.read(path, digest::update);
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class DocumentStream {
+
+    public static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    // Reused per Thread - the Chunk is valid only during the Sink Call
+    private static final ThreadLocal<byte[]> readArrays = ThreadLocal.withInitial(() -> new byte[READ_BUFFER_SIZE]);
+
+    /**
+     * Receives the Chunks of the Document in Order. The Chunk is valid only during the Call.
+     */
+    @FunctionalInterface
+    public interface ChunkSink {
+        public void update(ByteBuffer chunk) throws GeneralSecurityException;
+    }
+
+    private DocumentStream() {
+    }
+
+    /**
+     * Stream the File to the Sink
+     * @param file
+     * @param sink
+     * @return Bytes read
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long read(Path file, ChunkSink sink) throws IOException, GeneralSecurityException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(readArrays.get());
+            long bytes = 0;
+            int read;
+            while((read = channel.read(buffer)) != -1) {
+                bytes += read;
+                buffer.flip();
+                sink.update(buffer);
+                buffer.clear();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Stream the Input to the Sink (The Stream is NOT closed)
+     * @param in
+     * @param sink
+     * @return Bytes read
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long read(InputStream in, ChunkSink sink) throws IOException, GeneralSecurityException {
+        byte[] buffer = readArrays.get();
+        long bytes = 0;
+        int read;
+        while((read = in.read(buffer)) != -1) {
+            bytes += read;
+            sink.update(ByteBuffer.wrap(buffer, 0, read));
+        }
+        return bytes;
+    }
+}
@@ -15,10 +15,18 @@
  */
 package io.fusion.air.microservice.security;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * HashData
@@ -28,6 +36,12 @@ import java.util.Base64;
  * String hashValue = HashData.createHash("Secret Code", HashAlgorithms.SHA_1);
  * OR
  * String hashValue = HashData.createHash("Secret Code", HashAlgorithms.SHA_1, "UTF-16");
+ * OR (Files of any Size, streamed in Chunks)
+ * String hashValue = HashData.createHash(Paths.get("document.pdf"), Algorithms.SHA_256);
+ * OR (Many Values, hashed in Parallel)
+ * List<String> hashValues = HashData.createHashes(keys, Algorithms.SHA_256);
+ *
+ * The Message Digests are pooled per Thread (DigestPool), there is no Provider Lookup per Hash.
  *
  * The above code will return the computed Hash value of "Secret Code" using SHA-1
  * (Secure Hash Algorithm).
@@ -62,6 +76,8 @@ public final class HashData {
 */
     private final static Algorithms algo = new Algorithms();
 
+    private final static char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
     /**
      * Private Constructor used to make this as a Singleton instance.
      */
@@ -165,10 +181,12 @@ public final class HashData {
         // Input validation over -------------------------------------------------------------------------------
         MessageDigest mesgDigest = null;
         try {
-            mesgDigest = MessageDigest.getInstance(_algo); 	                // Load the Algorithm
+            mesgDigest = DigestPool.digest(_algo); 	                        // Thread's Digest for the Algorithm
         } catch(NoSuchAlgorithmException e) { throw e; }
         try {
-            mesgDigest.update(_message.getBytes(encoding)); 				// Updates the digest
+            mesgDigest.update("UTF-8".equalsIgnoreCase(encoding)            // Updates the digest
+                    ? _message.getBytes(StandardCharsets.UTF_8)             // (No Charset Lookup for UTF-8)
+                    : _message.getBytes(encoding));
         } catch(UnsupportedEncodingException e) { throw e; }
         byte raw[] = mesgDigest.digest(); 									// Hash Computation and reset
         return base64Encoder(raw); 											// Convert raw data in Base64
@@ -177,6 +195,107 @@ public final class HashData {
     }
 
 
+    /**
+     * createHash() method will create a hash of the Bytes.
+     *
+     * @param _data, String _algo
+     * @return String (computed hash in Base64)
+     * @throws NoSuchAlgorithmException
+     */
+    public final static String createHash(final byte[] _data, final String _algo) throws NoSuchAlgorithmException {
+        return base64Encoder(DigestPool.hash(_data, _algo));
+    }
+
+    /**
+     * createHash() method will create a hash of the Bytes from the Position to the Limit of the Buffer.
+     *
+     * @param _data, String _algo
+     * @return String (computed hash in Base64)
+     * @throws NoSuchAlgorithmException
+     */
+    public final static String createHash(final ByteBuffer _data, final String _algo) throws NoSuchAlgorithmException {
+        return base64Encoder(DigestPool.hash(_data, _algo));
+    }
+
+    /**
+     * createHexHash() method will create a hash of the message (UTF-8) in Hex (ETags, Idempotency Keys).
+     *
+     * @param _message, String _algo
+     * @return String (computed hash in Hex)
+     * @throws NoSuchAlgorithmException
+     */
+    public final static String createHexHash(final String _message, final String _algo) throws NoSuchAlgorithmException {
+        return hexEncoder(DigestPool.hash(_message, _algo));
+    }
+
+    /**
+     * createHashes() method will create a hash of every message (UTF-8). Large Lists are hashed in
+     * Parallel, the Result is in the same Order as the Messages.
+     *
+     * @param _messages, String _algo
+     * @return List (computed hash in Base64)
+     * @throws NoSuchAlgorithmException
+     */
+    public final static List<String> createHashes(final List<String> _messages, final String _algo)
+            throws NoSuchAlgorithmException {
+        List<byte[]> hashes = DigestPool.hashAllStrings(_messages, _algo);
+        List<String> hashValues = new ArrayList<>(hashes.size());
+        for(byte[] hash : hashes) {
+            hashValues.add(base64Encoder(hash));
+        }
+        return hashValues;
+    }
+
+    /**
+     * createHash() method will create a hash of the File. The File is streamed in Chunks (FileChannel
+     * into a reused Heap Buffer), the Memory used doesn't depend on the File Size.
+     *
+     * @param _file, String _algo
+     * @return String (computed hash in Base64)
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public final static String createHash(final Path _file, final String _algo)
+            throws IOException, GeneralSecurityException {
+        return base64Encoder(hashFile(_file, _algo));
+    }
+
+    /**
+     * createHash() method will create a hash of the Stream (read in Chunks, the Stream is NOT closed).
+     *
+     * @param _in, String _algo
+     * @return String (computed hash in Base64)
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public final static String createHash(final InputStream _in, final String _algo)
+            throws IOException, GeneralSecurityException {
+        if(_in == null) {
+            throw new IOException("Invalid Stream for hashing");
+        }
+        MessageDigest mesgDigest = DigestPool.digest(_algo);
+        DocumentStream.read(_in, mesgDigest::update);
+        return base64Encoder(mesgDigest.digest());
+    }
+
+    /**
+     * hashFile() method will return the raw hash of the File (streamed in Chunks).
+     *
+     * @param _file, String _algo
+     * @return byte[] (computed hash)
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public final static byte[] hashFile(final Path _file, final String _algo)
+            throws IOException, GeneralSecurityException {
+        if(_file == null) {
+            throw new IOException("Invalid File for hashing");
+        }
+        MessageDigest mesgDigest = DigestPool.digest(_algo);
+        DocumentStream.read(_file, mesgDigest::update);
+        return mesgDigest.digest();
+    }
+
     /**
      * Base 64 Encoder
      *
@@ -205,16 +324,12 @@ public final class HashData {
      */
 
     public static String hexEncoder(byte raw[]) {
-        char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
-
-        StringBuilder sb = new StringBuilder(raw.length * 2);
-        for (byte b : raw) {
-            sb.append(HEX_CHARS[(b & 0xF0) >> 4]);
-            sb.append(HEX_CHARS[b & 0x0F]);
+        char[] hex = new char[raw.length * 2];
+        for (int i = 0; i < raw.length; i++) {
+            hex[i * 2]     = HEX_CHARS[(raw[i] & 0xF0) >> 4];
+            hex[i * 2 + 1] = HEX_CHARS[raw[i] & 0x0F];
         }
-        String hexValue = sb.toString();
-        System.out.println("HEX="+hexValue);
-        return hexValue;
+        return new String(hex);
     }
 
     /**
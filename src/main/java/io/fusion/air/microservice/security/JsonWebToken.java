@@ -27,6 +27,7 @@ import java.util.Map.Entry;
 import java.util.function.Function;
 
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
+import io.fusion.air.microservice.utils.IdGenerator;
 import io.jsonwebtoken.*;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -283,7 +284,7 @@ public final class JsonWebToken {
 	private Map<String, Object>  addDefaultClaims(Map<String, Object> _claims) {
 		String aud = (serviceConfig != null) ? serviceConfig.getServiceName() : "general";
 		_claims.putIfAbsent("aud", aud);
-		_claims.putIfAbsent("jti", UUID.randomUUID().toString());
+		_claims.putIfAbsent("jti", IdGenerator.secureId());
 		_claims.putIfAbsent("rol", "User");
 		return _claims;
 	}
@@ -298,7 +299,7 @@ public final class JsonWebToken {
 		claimsToken.putAll(_claims);
 		String aud = (serviceConfig != null) ? serviceConfig.getServiceName() : "general";
 		claimsToken.putIfAbsent("aud", aud);
-		claimsToken.putIfAbsent("jti", UUID.randomUUID().toString());
+		claimsToken.putIfAbsent("jti", IdGenerator.secureId());
 		claimsToken.putIfAbsent("rol", "User");
 		return claimsToken;
 	}
@@ -313,7 +314,7 @@ public final class JsonWebToken {
 		claimsRefreshToken.putAll(_claims);
 		String aud = (serviceConfig != null) ? serviceConfig.getServiceName() : "general";
 		claimsRefreshToken.putIfAbsent("aud", aud);
-		claimsRefreshToken.putIfAbsent("jti", UUID.randomUUID().toString());
+		claimsRefreshToken.putIfAbsent("jti", IdGenerator.secureId());
 		claimsRefreshToken.putIfAbsent("rol", "User");
 		return claimsRefreshToken;
 	}
@@ -343,7 +344,7 @@ public final class JsonWebToken {
 		tokens.put("refresh_expires_in", ""+tokenRefreshExpiry);
 		tokens.put("token_type", "Bearer");
 		tokens.put("not-before-policy", "0");
-		tokens.put("session_state", UUID.randomUUID().toString());
+		tokens.put("session_state", IdGenerator.secureId());
 		tokens.put("scope", "");
 		tokens.put("mode", "Local Auth");
 		return tokens;
@@ -382,7 +383,7 @@ public final class JsonWebToken {
 		}
 		tokens.put("token_type", "Bearer");
 		tokens.put("not-before-policy", "0");
-		tokens.put("session_state", UUID.randomUUID().toString());
+		tokens.put("session_state", IdGenerator.secureId());
 		tokens.put("scope", "");
 		tokens.put("mode", "Local Auth");
 		return tokens;
@@ -424,7 +425,7 @@ public final class JsonWebToken {
     public String generateToken(String _userId, long _expiryTime) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("aud", "general");
-        claims.put("jti", UUID.randomUUID().toString());
+        claims.put("jti", IdGenerator.secureId());
         return generateToken(_userId,issuer,_expiryTime,claims);
     }
 
@@ -776,7 +777,7 @@ public final class JsonWebToken {
 
 		Map<String, Object> claims = new HashMap<>();
 		claims.put("aud", "generic");
-		claims.put("jti", UUID.randomUUID().toString());
+		claims.put("jti", IdGenerator.secureId());
 		claims.put("rol", "User");
 		claims.put("iss", issuer);
 		claims.put("sub", subject);
@@ -19,17 +19,37 @@ import io.fusion.air.microservice.domain.exceptions.CryptoSecurityException;
 import org.slf4j.Logger;
 
 import javax.crypto.Cipher;
-import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.*;
 import java.util.Base64;
 import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
+ * Secure Data - Encrypt / Decrypt with Secret Keys (AES, DES, TripleDES) and RSA Keys
+ *
+ * Derived Keys are cached per (Secret, Digest, Algorithm) and the Cipher Instances are reused per
+ * Thread (CipherPool), so only the first Call of a Thread with a Secret pays for the Key Derivation
+ * and the Provider Lookup.
+ *
+ * CBC Mode uses an IV derived from the Key (same Plain Text = same Cipher Text), it is kept for the
+ * Data already encrypted. Use AES-GCM (encryptGCM / decryptGCM) for new Data: Random IV per Message
+ * and Authenticated (Tampered Data fails). Files and Channels are encrypted in Segments
+ * (AesGcmStream) with constant Memory.
+ *
  * @author: Araf Karsh Hamid
  * @version:
  * @date: 20220626
@@ -44,6 +64,54 @@ public class SecureData {
     private static final String DEFAULT_ALGORITHM   = Algorithms.AES_CBC_PKCS5Padding;
     private static final String DEFAULT_MD_ALGO     = Algorithms.SHA_512;
 
+    public static final int GCM_IV_LENGTH           = 12;
+
+    // Derived Keys (SHA-256 of Digest + Algorithm + Secret -> Key). The Secret itself is NOT kept
+    // as a Map Key (Heap Dumps, Map Iteration). Cleared when full (Secrets are few in practice)
+    private static final int MAX_CACHED_KEYS        = 256;
+    private static final ConcurrentHashMap<String, SecretKeyData> KEY_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the Cached Secret Key (Derived on the First Call)
+     * @param _secret
+     * @param _mdAlgo
+     * @param _encryptAlgo
+     * @return
+     */
+    private static SecretKeyData secretKey(String _secret, String _mdAlgo, String _encryptAlgo) {
+        if(_secret == null) {
+            throw new CryptoSecurityException("Invalid Secret Key");
+        }
+        String cacheKey = cacheKey(_secret, _mdAlgo, _encryptAlgo);
+        SecretKeyData secretKeyData = KEY_CACHE.get(cacheKey);
+        if(secretKeyData == null) {
+            secretKeyData = createSecretKeySpec(_secret, _mdAlgo, _encryptAlgo);
+            if(KEY_CACHE.size() >= MAX_CACHED_KEYS) {
+                KEY_CACHE.clear();
+            }
+            KEY_CACHE.put(cacheKey, secretKeyData);
+        }
+        return secretKeyData;
+    }
+
+    /**
+     * Returns the Cache Key of the Derived Key: SHA-256 of the Digest, Algorithm and Secret
+     * (Length Prefixed Parts)
+     * @param _secret
+     * @param _mdAlgo
+     * @param _encryptAlgo
+     * @return
+     */
+    private static String cacheKey(String _secret, String _mdAlgo, String _encryptAlgo) {
+        try {
+            byte[] hash = DigestPool.hash(Algorithms.SHA_256,
+                    String.valueOf(_mdAlgo), String.valueOf(_encryptAlgo), _secret);
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CryptoSecurityException("Unable to create the Key Cache Entry", e);
+        }
+    }
+
     /**
      * Create Secret Key Specs with AES Algorithm
      * @param _secret
@@ -160,19 +228,15 @@ public class SecureData {
         _cipher = (_cipher == null) ? DEFAULT_ALGORITHM: _cipher;
         // _algo = (_algo == null) ? DEFAULT_MD_ALGO : _algo;
         try {
-            SecretKeyData secretKeyData = createSecretKeySpec(_secret, _algo, _encryptAlgo);
+            SecretKeyData secretKeyData = secretKey(_secret, _algo, _encryptAlgo);
             if(secretKeyData != null) {
-                Cipher cipher = Cipher.getInstance(_cipher);
-                if(_cipher.contains("CBC")) {
-                    IvParameterSpec ivSpec = new IvParameterSpec(secretKeyData.getKeyBytesForIVSpecs() );
-                    cipher.init(Cipher.ENCRYPT_MODE, secretKeyData.getSecretKeySpec(),ivSpec);
-                } else {
-                    cipher.init(Cipher.ENCRYPT_MODE, secretKeyData.getSecretKeySpec());
-                }
-                return Base64.getEncoder().encodeToString(cipher.doFinal(_data.getBytes("UTF-8")));
+                byte[] iv = _cipher.contains("CBC") ? secretKeyData.getKeyBytesForIVSpecs() : null;
+                Cipher cipher = CipherPool.cipher(_cipher, Cipher.ENCRYPT_MODE, secretKeyData.getSecretKeySpec(), iv);
+                return Base64.getEncoder().encodeToString(cipher.doFinal(_data.getBytes(StandardCharsets.UTF_8)));
             }
             log.info("SecretKeyData Generation Failed for Encryption.... ");
         } catch (Exception e) {
+            CipherPool.invalidate(_cipher);
             log.info("Unable to Encrypt Data: " + e.toString());
             e.printStackTrace();
         }
@@ -257,19 +321,15 @@ public class SecureData {
         _cipher = (_cipher == null) ? DEFAULT_ALGORITHM : _cipher;
         //  _algo = (_algo == null) ? DEFAULT_MD_ALGO : _algo;
         try {
-            SecretKeyData secretKeyData = createSecretKeySpec(_secret, _algo, _encryptAlgo);
+            SecretKeyData secretKeyData = secretKey(_secret, _algo, _encryptAlgo);
             if(secretKeyData != null) {
-                Cipher cipher = Cipher.getInstance(_cipher);
-                if(_cipher.contains("CBC")) {
-                    IvParameterSpec ivSpec = new IvParameterSpec(secretKeyData.getKeyBytesForIVSpecs());
-                    cipher.init(Cipher.DECRYPT_MODE, secretKeyData.getSecretKeySpec(),ivSpec);
-                } else {
-                    cipher.init(Cipher.DECRYPT_MODE, secretKeyData.getSecretKeySpec());
-                }
+                byte[] iv = _cipher.contains("CBC") ? secretKeyData.getKeyBytesForIVSpecs() : null;
+                Cipher cipher = CipherPool.cipher(_cipher, Cipher.DECRYPT_MODE, secretKeyData.getSecretKeySpec(), iv);
                 return new String(cipher.doFinal(Base64.getDecoder().decode(_data)));
             }
             log.info("SecretKeyData Generation Failed for Decryption.... ");
         } catch (Exception e) {
+            CipherPool.invalidate(_cipher);
             log.info("Unable to Decrypt the data: " + e.toString());
             e.printStackTrace();
 
@@ -291,6 +351,176 @@ public class SecureData {
         return  new String(cipher.doFinal(de));
     }
 
+    /**
+     * Encrypt the String using AES/GCM/NoPadding (Random IV per Message) with the Default Secret
+     * @param _data
+     * @return Base64 (IV + Cipher Text + Tag)
+     */
+    public static String encryptGCM(String _data) {
+        return encryptGCM(_data, DEFAULT_SECRET_KEY);
+    }
+
+    /**
+     * Encrypt the String using AES/GCM/NoPadding (Random IV per Message)
+     * @param _data
+     * @param _secret
+     * @return Base64 (IV + Cipher Text + Tag)
+     */
+    public static String encryptGCM(String _data, String _secret) {
+        if(_data == null) { return ""; }
+        try {
+            return Base64.getEncoder().encodeToString(encryptGCM(_data.getBytes(StandardCharsets.UTF_8), _secret));
+        } catch (Exception e) {
+            log.info("Unable to Encrypt Data (GCM): " + e.toString());
+        }
+        return "";
+    }
+
+    /**
+     * Decrypt the String using AES/GCM/NoPadding with the Default Secret
+     * @param _data Base64 (IV + Cipher Text + Tag)
+     * @return null if the Data is tampered or the Secret is wrong
+     */
+    public static String decryptGCM(String _data) {
+        return decryptGCM(_data, DEFAULT_SECRET_KEY);
+    }
+
+    /**
+     * Decrypt the String using AES/GCM/NoPadding
+     * @param _data Base64 (IV + Cipher Text + Tag)
+     * @param _secret
+     * @return null if the Data is tampered or the Secret is wrong
+     */
+    public static String decryptGCM(String _data, String _secret) {
+        if(_data == null) { return ""; }
+        try {
+            return new String(decryptGCM(Base64.getDecoder().decode(_data), _secret), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.info("Unable to Decrypt the data (GCM): " + e.toString());
+        }
+        return null;
+    }
+
+    /**
+     * Encrypt the Bytes using AES/GCM/NoPadding (Random IV per Message). A Key should NOT encrypt
+     * more than 2^32 Messages with Random IVs.
+     * @param _data
+     * @param _secret
+     * @return IV (12) + Cipher Text + Tag (16)
+     * @throws GeneralSecurityException
+     */
+    public static byte[] encryptGCM(byte[] _data, String _secret) throws GeneralSecurityException {
+        SecretKeySpec key = secretKey(_secret, DEFAULT_MD_ALGO, Algorithms.AES).getSecretKeySpec();
+        byte[] iv = CipherPool.randomBytes(GCM_IV_LENGTH);
+        Cipher cipher = CipherPool.cipher(Algorithms.AES_GCM_NoPadding, Cipher.ENCRYPT_MODE, key, iv);
+        byte[] sealed = new byte[GCM_IV_LENGTH + cipher.getOutputSize(_data.length)];
+        System.arraycopy(iv, 0, sealed, 0, GCM_IV_LENGTH);
+        cipher.doFinal(_data, 0, _data.length, sealed, GCM_IV_LENGTH);
+        return sealed;
+    }
+
+    /**
+     * Decrypt the Bytes using AES/GCM/NoPadding
+     * @param _data IV (12) + Cipher Text + Tag (16)
+     * @param _secret
+     * @return
+     * @throws GeneralSecurityException (AEADBadTagException if the Data is tampered or the Secret is wrong)
+     */
+    public static byte[] decryptGCM(byte[] _data, String _secret) throws GeneralSecurityException {
+        if(_data == null || _data.length < GCM_IV_LENGTH + AesGcmStream.TAG_LENGTH) {
+            throw new GeneralSecurityException("Invalid Encrypted Data");
+        }
+        SecretKeySpec key = secretKey(_secret, DEFAULT_MD_ALGO, Algorithms.AES).getSecretKeySpec();
+        Cipher cipher = CipherPool.cipher(Algorithms.AES_GCM_NoPadding, Cipher.DECRYPT_MODE, key,
+                Arrays.copyOf(_data, GCM_IV_LENGTH));
+        return cipher.doFinal(_data, GCM_IV_LENGTH, _data.length - GCM_IV_LENGTH);
+    }
+
+    /**
+     * Encrypt the Channel using AES-GCM in Segments (Constant Memory, the Channels are NOT closed)
+     * @param _in
+     * @param _out
+     * @param _secret
+     * @return Bytes written
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long encrypt(ReadableByteChannel _in, WritableByteChannel _out, String _secret)
+            throws IOException, GeneralSecurityException {
+        return AesGcmStream.encrypt(_in, _out, secretKey(_secret, DEFAULT_MD_ALGO, Algorithms.AES).getSecretKeySpec(),
+                AesGcmStream.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Decrypt the Channel encrypted with encrypt(ReadableByteChannel, ...) (the Channels are NOT closed)
+     * @param _in
+     * @param _out
+     * @param _secret
+     * @return Bytes written
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long decrypt(ReadableByteChannel _in, WritableByteChannel _out, String _secret)
+            throws IOException, GeneralSecurityException {
+        return AesGcmStream.decrypt(_in, _out, secretKey(_secret, DEFAULT_MD_ALGO, Algorithms.AES).getSecretKeySpec());
+    }
+
+    /**
+     * Encrypt the File using AES-GCM in Segments. The Target is written only if the whole File
+     * is encrypted (Temp File + Move).
+     * @param _source
+     * @param _target
+     * @param _secret
+     * @return Bytes written
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long encryptFile(Path _source, Path _target, String _secret)
+            throws IOException, GeneralSecurityException {
+        return transformFile(_source, _target, _secret, true);
+    }
+
+    /**
+     * Decrypt the File encrypted with encryptFile. The Target is written only if every Segment
+     * is verified (Temp File + Move).
+     * @param _source
+     * @param _target
+     * @param _secret
+     * @return Bytes written
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    public static long decryptFile(Path _source, Path _target, String _secret)
+            throws IOException, GeneralSecurityException {
+        return transformFile(_source, _target, _secret, false);
+    }
+
+    /**
+     * Encrypt / Decrypt the File to a Temp File and move it to the Target
+     * @param _source
+     * @param _target
+     * @param _secret
+     * @param _encrypt
+     * @return
+     * @throws IOException
+     * @throws GeneralSecurityException
+     */
+    private static long transformFile(Path _source, Path _target, String _secret, boolean _encrypt)
+            throws IOException, GeneralSecurityException {
+        Path temp = Files.createTempFile(_target.toAbsolutePath().getParent(), ".crypt-", ".tmp");
+        try {
+            long bytes;
+            try (FileChannel in = FileChannel.open(_source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                bytes = _encrypt ? encrypt(in, out, _secret) : decrypt(in, out, _secret);
+            }
+            Files.move(temp, _target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return bytes;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
     /**
      * ONLY FOR TESTING PURPOSE
      * Code to Encrypt and Decrypt the Data
@@ -0,0 +1,99 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Result of Signing / Verifying a Document (Batch Mode)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public class SignatureResult {
+
+    private final String document;
+    private final String signatureFile;
+    private final boolean valid;
+    private final long bytes;
+    private final long processingTime;
+    private final String error;
+
+    public SignatureResult(String _document, String _signatureFile, boolean _valid, long _bytes,
+                           long _processingTime, String _error) {
+        document = _document;
+        signatureFile = _signatureFile;
+        valid = _valid;
+        bytes = _bytes;
+        processingTime = _processingTime;
+        error = _error;
+    }
+
+    /**
+     * Get the Document
+     * @return
+     */
+    public String getDocument() {
+        return document;
+    }
+
+    /**
+     * Get the Detached Signature File
+     * @return
+     */
+    public String getSignatureFile() {
+        return signatureFile;
+    }
+
+    /**
+     * Returns True if the Document is signed / the Signature is valid
+     * @return
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Get the Document Size
+     * @return
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get Processing Time (ms)
+     * @return
+     */
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * Get the Error (null if there is no Error)
+     * @return
+     */
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public String toString() {
+        return "Document="+document+" Valid="+valid+" Bytes="+bytes+" Processing Time="+processingTime+" ms"
+                +(error != null ? " Error="+error : "");
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Direct Buffer Pool Configuration (File I/O)
+ *
+ * @author arafkarsh
+ *
+ */
+@Component
+@Configuration
+@PropertySource(
+		name = "bufferPoolConfig",
+		// Expects file in the directory the jar is executed
+		value = "file:./application.properties")
+		// Expects the file in src/main/resources folder
+		// value = "classpath:application.properties")
+public class BufferPoolConfig implements Serializable {
+
+	// Smallest Size Class (Rounded to a Power of 2)
+	@Value("${io.buffer.pool.min.size:4096}")
+	private int minBufferSize;
+
+	// Largest Size Class (Rounded to a Power of 2)
+	@Value("${io.buffer.pool.max.size:1048576}")
+	private int maxBufferSize;
+
+	// Max Bytes held in the Global Free Lists and the Thread Caches
+	@Value("${io.buffer.pool.max.pooled.bytes:67108864}")
+	private long maxPooledBytes;
+
+	// Buffers per Size Class cached by a Thread
+	@Value("${io.buffer.pool.thread.cache.size:2}")
+	private int threadCacheSize;
+
+	// Track every Buffer and report the ones never released (Debug)
+	@Value("${io.buffer.pool.leak.detection:false}")
+	private boolean leakDetection;
+
+	/**
+	 * Returns the Smallest Buffer Size Class
+	 * @return
+	 */
+	public int getMinBufferSize() {
+		return minBufferSize;
+	}
+
+	/**
+	 * Returns the Largest Buffer Size Class
+	 * @return
+	 */
+	public int getMaxBufferSize() {
+		return maxBufferSize;
+	}
+
+	/**
+	 * Returns the Max Bytes held in the Global Free List
+	 * @return
+	 */
+	public long getMaxPooledBytes() {
+		return maxPooledBytes;
+	}
+
+	/**
+	 * Returns the No. of Buffers per Size Class cached by a Thread
+	 * @return
+	 */
+	public int getThreadCacheSize() {
+		return threadCacheSize;
+	}
+
+	/**
+	 * Returns True if the Leak Detection is enabled
+	 * @return
+	 */
+	public boolean isLeakDetection() {
+		return leakDetection;
+	}
+}
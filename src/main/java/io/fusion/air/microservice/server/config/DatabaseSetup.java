@@ -91,6 +91,8 @@ public class DatabaseSetup {
         config.addDataSourceProperty("user", dbConfig.getDataSourceUserName());
         config.addDataSourceProperty("password", dbConfig.getDataSourcePassword());
         config.setSchema(dbConfig.getDataSourceSchema());
+        // Batch of Inserts / Upserts sent as Multi Row Statements (CSV Ingestion)
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
 
         // postgress configuration for Hikari
         return new HikariDataSource(config);
@@ -0,0 +1,88 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * File Tree Index Configuration (File I/O)
+ *
+ * @author arafkarsh
+ *
+ */
+@Component
+@Configuration
+@PropertySource(
+		name = "fileIndexConfig",
+		// Expects file in the directory the jar is executed
+		value = "file:./application.properties")
+		// Expects the file in src/main/resources folder
+		// value = "classpath:application.properties")
+public class FileIndexConfig implements Serializable {
+
+	// Directory Tree to Index
+	@Value("${io.file.index.root:src/main/java}")
+	private String root;
+
+	// Index Snapshot File (Loaded at Startup)
+	@Value("${io.file.index.store:file-index.dat}")
+	private String store;
+
+	// SHA-256 of the File Content (Read every new / changed File)
+	@Value("${io.file.index.hash:false}")
+	private boolean hashContent;
+
+	// Max Files returned by a Query
+	@Value("${io.file.index.max.results:10000}")
+	private int maxResults;
+
+	/**
+	 * Returns the Directory Tree to Index
+	 * @return
+	 */
+	public String getRoot() {
+		return root;
+	}
+
+	/**
+	 * Returns the Index Snapshot File
+	 * @return
+	 */
+	public String getStore() {
+		return store;
+	}
+
+	/**
+	 * Returns True if the File Content is hashed
+	 * @return
+	 */
+	public boolean isHashContent() {
+		return hashContent;
+	}
+
+	/**
+	 * Returns the Max Files returned by a Query
+	 * @return
+	 */
+	public int getMaxResults() {
+		return maxResults;
+	}
+}
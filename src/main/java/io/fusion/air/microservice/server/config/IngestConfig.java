@@ -0,0 +1,88 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * CSV Ingestion Configuration (GeoLite Data Files)
+ *
+ * @author arafkarsh
+ *
+ */
+@Component
+@Configuration
+@PropertySource(
+		name = "ingestConfig",
+		// Expects file in the directory the jar is executed
+		value = "file:./application.properties")
+		// Expects the file in src/main/resources folder
+		// value = "classpath:application.properties")
+public class IngestConfig implements Serializable {
+
+	// Directory with the CSV Files (Only Files in this Directory can be ingested)
+	@Value("${ingest.data.dir:database}")
+	private String dataDir;
+
+	// Rows per JDBC Batch (executeBatch)
+	@Value("${ingest.batch.size:500}")
+	private int batchSize;
+
+	// Rows per Commit (Rounded up to full Batches)
+	@Value("${ingest.commit.size:5000}")
+	private int commitSize;
+
+	// CSV Read Buffer (Grows for longer Records)
+	@Value("${ingest.read.buffer.size:65536}")
+	private int readBufferSize;
+
+	/**
+	 * Returns the Directory with the CSV Files
+	 * @return
+	 */
+	public String getDataDir() {
+		return dataDir;
+	}
+
+	/**
+	 * Returns the Rows per JDBC Batch
+	 * @return
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Returns the Rows per Commit
+	 * @return
+	 */
+	public int getCommitSize() {
+		return commitSize;
+	}
+
+	/**
+	 * Returns the CSV Read Buffer Size
+	 * @return
+	 */
+	public int getReadBufferSize() {
+		return readBufferSize;
+	}
+}
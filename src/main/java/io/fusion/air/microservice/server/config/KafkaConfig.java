@@ -0,0 +1,287 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Kafka Configuration
+ *
+ * @author arafkarsh
+ *
+ */
+@Component
+@Configuration
+@PropertySource(
+		name = "kafkaConfig",
+		// Expects file in the directory the jar is executed
+		value = "file:./application.properties")
+		// Expects the file in src/main/resources folder
+		// value = "classpath:application.properties")
+public class KafkaConfig implements Serializable {
+
+	// Kafka Broker
+	@Value("${kafka.bootstrap.servers:localhost:9092}")
+	private String bootstrapServers;
+
+	// Producer Configurations
+	@Value("${kafka.producer.acks:all}")
+	private String producerAcks;
+
+	@Value("${kafka.producer.idempotence:true}")
+	private boolean producerIdempotence;
+
+	@Value("${kafka.producer.linger.ms:20}")
+	private int producerLingerMs;
+
+	@Value("${kafka.producer.batch.size:65536}")
+	private int producerBatchSize;
+
+	@Value("${kafka.producer.compression:lz4}")
+	private String producerCompression;
+
+	// Outbox Relay Configurations
+	@Value("${kafka.outbox.topic:order-events}")
+	private String outboxTopic;
+
+	@Value("${kafka.outbox.relay.batch.size:500}")
+	private int outboxRelayBatchSize;
+
+	@Value("${kafka.outbox.relay.send.timeout.ms:30000}")
+	private long outboxRelaySendTimeoutMs;
+
+	// Consumer Configurations (Inbound Order Events)
+	@Value("${kafka.consumer.group.id:ms-vanilla-order-events}")
+	private String consumerGroupId;
+
+	@Value("${kafka.consumer.topic:order-inbound-events}")
+	private String consumerTopic;
+
+	@Value("${kafka.consumer.concurrency:3}")
+	private int consumerConcurrency;
+
+	@Value("${kafka.consumer.max.poll.records:500}")
+	private int consumerMaxPollRecords;
+
+	@Value("${kafka.consumer.micro.batch.size:100}")
+	private int consumerMicroBatchSize;
+
+	@Value("${kafka.consumer.dead.letter.topic:order-inbound-events.DLT}")
+	private String consumerDeadLetterTopic;
+
+	// Kafka Streams Configurations (Order Analytics)
+	@Value("${kafka.streams.application.id:ms-vanilla-order-analytics}")
+	private String streamsApplicationId;
+
+	@Value("${kafka.streams.state.dir:/tmp/kafka-streams}")
+	private String streamsStateDir;
+
+	@Value("${kafka.streams.threads:1}")
+	private int streamsThreads;
+
+	@Value("${kafka.streams.commit.interval.ms:1000}")
+	private long streamsCommitIntervalMs;
+
+	@Value("${kafka.streams.revenue.window.minutes:60}")
+	private long streamsRevenueWindowMinutes;
+
+	@Value("${kafka.streams.revenue.grace.minutes:5}")
+	private long streamsRevenueGraceMinutes;
+
+	@Value("${kafka.streams.revenue.retention.hours:24}")
+	private long streamsRevenueRetentionHours;
+
+	/**
+	 * Returns the Kafka Bootstrap Servers
+	 * @return
+	 */
+	public String getBootstrapServers() {
+		return bootstrapServers;
+	}
+
+	/**
+	 * Returns the Producer Acks (all, 1, 0)
+	 * @return
+	 */
+	public String getProducerAcks() {
+		return producerAcks;
+	}
+
+	/**
+	 * Returns True if the Idempotent Producer is enabled
+	 * @return
+	 */
+	public boolean isProducerIdempotence() {
+		return producerIdempotence;
+	}
+
+	/**
+	 * Returns the Producer Linger Time in Milli Seconds
+	 * @return
+	 */
+	public int getProducerLingerMs() {
+		return producerLingerMs;
+	}
+
+	/**
+	 * Returns the Producer Batch Size in Bytes
+	 * @return
+	 */
+	public int getProducerBatchSize() {
+		return producerBatchSize;
+	}
+
+	/**
+	 * Returns the Producer Compression Type (none, gzip, snappy, lz4, zstd)
+	 * @return
+	 */
+	public String getProducerCompression() {
+		return producerCompression;
+	}
+
+	/**
+	 * Returns the Outbox Topic
+	 * @return
+	 */
+	public String getOutboxTopic() {
+		return outboxTopic;
+	}
+
+	/**
+	 * Returns the Max No. of Outbox Events relayed in a Single Batch
+	 * @return
+	 */
+	public int getOutboxRelayBatchSize() {
+		return outboxRelayBatchSize;
+	}
+
+	/**
+	 * Returns the Max Wait Time for the Broker Acks of a Batch
+	 * @return
+	 */
+	public long getOutboxRelaySendTimeoutMs() {
+		return outboxRelaySendTimeoutMs;
+	}
+
+	/**
+	 * Returns the Consumer Group ID
+	 * @return
+	 */
+	public String getConsumerGroupId() {
+		return consumerGroupId;
+	}
+
+	/**
+	 * Returns the Inbound Order Events Topic
+	 * @return
+	 */
+	public String getConsumerTopic() {
+		return consumerTopic;
+	}
+
+	/**
+	 * Returns the No. of Consumer Threads (Match it with the No. of Partitions)
+	 * @return
+	 */
+	public int getConsumerConcurrency() {
+		return consumerConcurrency;
+	}
+
+	/**
+	 * Returns the Max Records returned in a Single Poll
+	 * @return
+	 */
+	public int getConsumerMaxPollRecords() {
+		return consumerMaxPollRecords;
+	}
+
+	/**
+	 * Returns the No. of Events applied in a Single Database Transaction
+	 * @return
+	 */
+	public int getConsumerMicroBatchSize() {
+		return consumerMicroBatchSize;
+	}
+
+	/**
+	 * Returns the Dead Letter Topic for the Events that failed after the Retries
+	 * @return
+	 */
+	public String getConsumerDeadLetterTopic() {
+		return consumerDeadLetterTopic;
+	}
+
+	/**
+	 * Returns the Kafka Streams Application ID (Consumer Group & Internal Topic Prefix)
+	 * @return
+	 */
+	public String getStreamsApplicationId() {
+		return streamsApplicationId;
+	}
+
+	/**
+	 * Returns the Directory for the RocksDB State Stores
+	 * @return
+	 */
+	public String getStreamsStateDir() {
+		return streamsStateDir;
+	}
+
+	/**
+	 * Returns the No. of Stream Threads
+	 * @return
+	 */
+	public int getStreamsThreads() {
+		return streamsThreads;
+	}
+
+	/**
+	 * Returns the Commit (and State Store Flush) Interval in Milli Seconds
+	 * @return
+	 */
+	public long getStreamsCommitIntervalMs() {
+		return streamsCommitIntervalMs;
+	}
+
+	/**
+	 * Returns the Size of the Revenue Window in Minutes
+	 * @return
+	 */
+	public long getStreamsRevenueWindowMinutes() {
+		return streamsRevenueWindowMinutes;
+	}
+
+	/**
+	 * Returns the Grace Period for Late Events in the Revenue Window in Minutes
+	 * @return
+	 */
+	public long getStreamsRevenueGraceMinutes() {
+		return streamsRevenueGraceMinutes;
+	}
+
+	/**
+	 * Returns the Retention of the Revenue Windows in Hours
+	 * @return
+	 */
+	public long getStreamsRevenueRetentionHours() {
+		return streamsRevenueRetentionHours;
+	}
+}
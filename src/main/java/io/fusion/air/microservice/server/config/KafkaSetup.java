@@ -0,0 +1,156 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.fusion.air.microservice.domain.exceptions.InputDataException;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+import io.fusion.air.microservice.domain.exceptions.MandatoryDataRequiredException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.util.backoff.FixedBackOff;
+
+import javax.validation.ValidationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Setup
+ * Producer is Idempotent (No Duplicates on Retry, Ordering preserved per Partition) and
+ * tuned for Throughput with Linger, Batch Size and Compression.
+ * Consumer is a Batch Listener (One Thread per Partition) with Manual Offset Commits. A Batch
+ * that still fails after the Retries is sent to the Dead Letter Topic (NOT dropped).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Configuration
+public class KafkaSetup {
+
+    public static final String BATCH_LISTENER_FACTORY = "batchListenerContainerFactory";
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Create the Producer Factory
+     * @return
+     */
+    @Bean
+    public ProducerFactory<String, String> producerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.getBootstrapServers());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, kafkaConfig.getProducerAcks());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, kafkaConfig.isProducerIdempotence());
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, kafkaConfig.getProducerLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, kafkaConfig.getProducerBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, kafkaConfig.getProducerCompression());
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    /**
+     * Create the Kafka Template
+     * @return
+     */
+    @Bean
+    public KafkaTemplate<String, String> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    /**
+     * Create the Consumer Factory
+     * Auto Commit is disabled. Offsets are committed by the Listener after the Database Commit.
+     * Kafka Client Metrics (Including the Consumer Lag) are registered with Micrometer.
+     * @return
+     */
+    @Bean
+    public ConsumerFactory<String, String> consumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.getBootstrapServers());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaConfig.getConsumerGroupId());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, kafkaConfig.getConsumerMaxPollRecords());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        DefaultKafkaConsumerFactory<String, String> factory = new DefaultKafkaConsumerFactory<>(props);
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Create the Batch Listener Container Factory
+     * Concurrency should match the No. of Partitions of the Topic.
+     * @return
+     */
+    @Bean(name = BATCH_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(kafkaConfig.getConsumerConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(errorHandler());
+        return factory;
+    }
+
+    /**
+     * Create the Error Handler for the Batch Listener
+     * Redeliver the Batch (3 Retries) if the Database Transaction Fails. After the Retries the
+     * Records are published to the Dead Letter Topic (Keyed by the Order ID, Original Headers +
+     * Exception Headers) and the Offsets are committed.
+     * Invalid Data (Deserialization / Validation) fails every time, so it is NOT retried.
+     * @return
+     */
+    @Bean
+    public DefaultErrorHandler errorHandler() {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate(),
+                // Partition < 0 = Partition from the Key (Dead Letter Topic can have any No. of Partitions)
+                (record, exception) -> new TopicPartition(kafkaConfig.getConsumerDeadLetterTopic(), -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 3L));
+        errorHandler.addNotRetryableExceptions(DeserializationException.class, JsonProcessingException.class,
+                ValidationException.class, InvalidInputException.class, InputDataException.class,
+                MandatoryDataRequiredException.class);
+        return errorHandler;
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Streams Setup
+ * The Streams Builder (and the Kafka Streams lifecycle) is managed by Spring. Topologies are
+ * added to the Builder by the Components in adapters.streams.
+ * State Stores are persisted in RocksDB under kafka.streams.state.dir and restored from the
+ * Changelog Topics on a Restart or Rebalance.
+ *
+ * Enable with kafka.streams.enabled=true
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "kafka.streams.enabled", havingValue = "true")
+public class KafkaStreamsSetup {
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    /**
+     * Create the Kafka Streams Configuration
+     * @return
+     */
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, kafkaConfig.getStreamsApplicationId());
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.getBootstrapServers());
+        props.put(StreamsConfig.STATE_DIR_CONFIG, kafkaConfig.getStreamsStateDir());
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, kafkaConfig.getStreamsThreads());
+        props.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, kafkaConfig.getStreamsCommitIntervalMs());
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        // Skip (and Log) the Records which can't be Deserialized instead of stopping the Stream
+        props.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+                LogAndContinueExceptionHandler.class);
+        return new KafkaStreamsConfiguration(props);
+    }
+}
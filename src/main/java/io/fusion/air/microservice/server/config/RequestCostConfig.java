@@ -0,0 +1,64 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Request Cost Accounting Configuration (Allocated Bytes + CPU Time per Handler)
+ *
+ * @author arafkarsh
+ *
+ */
+@Component
+@Configuration
+@PropertySource(
+		name = "requestCostConfig",
+		// Expects file in the directory the jar is executed
+		value = "file:./application.properties")
+		// Expects the file in src/main/resources folder
+		// value = "classpath:application.properties")
+public class RequestCostConfig implements Serializable {
+
+	// Record the Allocated Bytes and the CPU Time of every Request
+	@Value("${request.cost.enabled:true}")
+	private boolean enabled;
+
+	// Max Handlers tracked (the rest is recorded under OTHER)
+	@Value("${request.cost.max.handlers:512}")
+	private int maxHandlers;
+
+	/**
+	 * Returns True if the Request Cost Accounting is enabled
+	 * @return
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the Max Handlers tracked
+	 * @return
+	 */
+	public int getMaxHandlers() {
+		return maxHandlers;
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Serialized Response Cache Configuration (Reference Data Endpoints)
+ *
+ * @author arafkarsh
+ *
+ */
+@Component
+@Configuration
+@PropertySource(
+		name = "responseCacheConfig",
+		// Expects file in the directory the jar is executed
+		value = "file:./application.properties")
+		// Expects the file in src/main/resources folder
+		// value = "classpath:application.properties")
+public class ResponseCacheConfig implements Serializable {
+
+	// Serve the Reference Data from the Cache
+	@Value("${response.cache.enabled:true}")
+	private boolean enabled;
+
+	// Max Responses cached per Group (Ex. Pages of the Geo Countries)
+	@Value("${response.cache.max.entries:256}")
+	private int maxEntries;
+
+	// Responses smaller than this are NOT compressed
+	@Value("${response.cache.gzip.min.size:1024}")
+	private int gzipMinSize;
+
+	/**
+	 * Returns True if the Response Cache is enabled
+	 * @return
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the Max Responses cached per Group
+	 * @return
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Returns the Min Size of a Response for the Gzip Variant
+	 * @return
+	 */
+	public int getGzipMinSize() {
+		return gzipMinSize;
+	}
+}
@@ -181,6 +181,10 @@ public class ServiceConfiguration implements Serializable {
 	// server.vulnerability.demos.allowed=false
 	@Value("${server.vulnerability.demos.allowed:false}")
 	private boolean vulnerabilityDemoAllowed;
+
+	// server.exceptions.stackless=true (4xx Service Exceptions without Stack Traces)
+	@Value("${server.exceptions.stackless:true}")
+	private boolean exceptionsStackless;
 	
 	@Value("${payment.gateway.host:localhost}")
 	private String paymentGWHost;
@@ -191,6 +195,9 @@ public class ServiceConfiguration implements Serializable {
 	private String remoteHost;
 	@Value("${remote.port:9091}")
 	private int remotePort;
+	// Service to Service Calls: json, cbor or smile (Accept / Content-Type)
+	@Value("${remote.media.type:json}")
+	private String remoteMediaType;
 	
 	@Value("${server.restart}")
 	private boolean serverRestart;
@@ -352,6 +359,13 @@ public class ServiceConfiguration implements Serializable {
 		return paymentGWPort;
 	}
 
+	/**
+	 * @return True if the 4xx Service Exceptions are Stackless
+	 */
+	public boolean isExceptionsStackless() {
+		return exceptionsStackless;
+	}
+
 	/**
 	 * @return the remoteHost
 	 */
@@ -366,6 +380,13 @@ public class ServiceConfiguration implements Serializable {
 		return remotePort;
 	}
 
+	/**
+	 * @return the remoteMediaType (json, cbor, smile)
+	 */
+	public String getRemoteMediaType() {
+		return remoteMediaType;
+	}
+
 	/**
 	 * @return the springCodecMaxMemory
 	 */
@@ -0,0 +1,100 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * File Upload Configuration (File I/O)
+ *
+ * @author arafkarsh
+ *
+ */
+@Component
+@Configuration
+@PropertySource(
+		name = "uploadConfig",
+		// Expects file in the directory the jar is executed
+		value = "file:./application.properties")
+		// Expects the file in src/main/resources folder
+		// value = "classpath:application.properties")
+public class UploadConfig implements Serializable {
+
+	// Directory for the Uploaded Files
+	@Value("${io.upload.dir:uploads}")
+	private String uploadDir;
+
+	// Max Size of an Uploaded File (Bytes)
+	@Value("${io.upload.max.file.size:4294967296}")
+	private long maxFileSize;
+
+	// Max Size of all the Files in the Upload Directory (Bytes)
+	@Value("${io.upload.quota.bytes:10737418240}")
+	private long quotaBytes;
+
+	// Read / Write Buffer per Upload
+	@Value("${io.upload.buffer.size:65536}")
+	private int bufferSize;
+
+	// Checksum Algorithm (Algorithms.SHA_256, SHA_512 ...)
+	@Value("${io.upload.hash.algorithm:SHA-256}")
+	private String hashAlgorithm;
+
+	/**
+	 * Returns the Directory for the Uploaded Files
+	 * @return
+	 */
+	public String getUploadDir() {
+		return uploadDir;
+	}
+
+	/**
+	 * Returns the Max Size of an Uploaded File
+	 * @return
+	 */
+	public long getMaxFileSize() {
+		return maxFileSize;
+	}
+
+	/**
+	 * Returns the Max Size of all the Files in the Upload Directory
+	 * @return
+	 */
+	public long getQuotaBytes() {
+		return quotaBytes;
+	}
+
+	/**
+	 * Returns the Read / Write Buffer Size per Upload
+	 * @return
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Returns the Checksum Algorithm
+	 * @return
+	 */
+	public String getHashAlgorithm() {
+		return hashAlgorithm;
+	}
+}
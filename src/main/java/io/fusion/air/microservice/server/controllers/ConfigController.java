@@ -15,8 +15,7 @@
  */
 package io.fusion.air.microservice.server.controllers;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fusion.air.microservice.adapters.metrics.RequestCostRecorder;
 import io.fusion.air.microservice.adapters.security.AuthorizationRequired;
 import io.fusion.air.microservice.domain.models.core.StandardResponse;
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
@@ -65,6 +64,9 @@ public class ConfigController extends AbstractController {
 
 	@Autowired
 	private ServiceConfiguration serviceConfig;
+
+	@Autowired
+	private RequestCostRecorder requestCost;
 	private String serviceName;
 
 	/**
@@ -112,9 +114,6 @@ public class ConfigController extends AbstractController {
 	@ResponseBody
 	public ResponseEntity<StandardResponse> getConfigMap(HttpServletRequest request) throws Exception {
 		StandardResponse stdResponse = createSuccessResponse("Config is Ready!");
-		ObjectMapper om = new ObjectMapper()
-				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-				.findAndRegisterModules();
 		String json = serviceConfig.toJSONString();
 		log.debug(name()+"|Request to Get ServiceConfiguration .1. "+json);
 		stdResponse.setPayload(serviceConfig.getConfigMap());
@@ -146,5 +145,31 @@ public class ConfigController extends AbstractController {
 		StandardResponse stdResponse = createSuccessResponse("Check the Log Files!");
 		return ResponseEntity.ok(stdResponse);
     }
+
+	/**
+	 * Show the Top Allocators and CPU Consumers (Handlers)
+	 * @param limit Handlers per List
+	 * @return
+	 */
+	@AuthorizationRequired(role = "Admin")
+	@Operation(summary = "Show the Top Allocators and CPU Consumers (Allocated Bytes + CPU Time per Handler)",
+			security = { @SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Show the Request Cost per Handler",
+					content = {@Content(mediaType = "application/json")}),
+			@ApiResponse(responseCode = "404",
+					description = "Request Cost is not ready.",
+					content = @Content)
+	})
+	@GetMapping("/cost")
+	@ResponseBody
+	public ResponseEntity<StandardResponse> getRequestCost(
+			@RequestParam(name = "limit", defaultValue = "10") int limit) {
+		log.debug(name()+"|Request to Get the Request Cost.. ");
+		StandardResponse stdResponse = createSuccessResponse("Request Cost is Ready!");
+		stdResponse.setPayload(requestCost.report(Math.max(1, limit)));
+		return ResponseEntity.ok(stdResponse);
+	}
  }
 
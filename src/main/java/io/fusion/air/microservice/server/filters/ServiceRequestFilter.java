@@ -15,7 +15,6 @@
  */
 package io.fusion.air.microservice.server.filters;
 
-import java.util.UUID;
 
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.ServletRequestListener;
@@ -23,6 +22,7 @@ import javax.servlet.annotation.WebListener;
 import javax.servlet.http.HttpServletRequest;
 
 import io.fusion.air.microservice.server.config.ServiceConfiguration;
+import io.fusion.air.microservice.utils.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -80,7 +80,7 @@ public class ServiceRequestFilter implements ServletRequestListener {
 	@Override
 	public void requestInitialized(ServletRequestEvent sre) {
 		HttpServletRequest httpRequest = (HttpServletRequest) sre.getServletRequest();
-		String reqId =UUID.randomUUID().toString();
+		String reqId = IdGenerator.fastId();
 		MDC.put("ReqId", reqId);
 		MDC.put("IP", httpRequest.getRemoteHost());
 		MDC.put("Port", String.valueOf(httpRequest.getRemotePort()));
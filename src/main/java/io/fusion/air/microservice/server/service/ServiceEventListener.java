@@ -29,13 +29,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
 
 import io.fusion.air.microservice.utils.CPU;
+import io.fusion.air.microservice.utils.IdGenerator;
 
 //Logging System
 import org.slf4j.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -159,7 +159,7 @@ public class ServiceEventListener {
 	private Map<String, Object> getClaims(String subject, String issuer) {
 		Map<String, Object> claims = new HashMap<>();
 		claims.put("aud", serviceConfig.getServiceName());
-		claims.put("jti", UUID.randomUUID().toString());
+		claims.put("jti", IdGenerator.secureId());
 		claims.put("sub", subject);
 		claims.put("iss", issuer);
 		claims.put("type",TokenManager.TX_USERS);
@@ -0,0 +1,142 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.utils;
+
+import io.fusion.air.microservice.security.CipherPool;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request / Correlation ID Generator
+ *
+ * Fast IDs (Request IDs, Correlation and Session Headers) : Unique, NOT Secret
+ * |          Unix Time in Milli Seconds (48 bits)         | ver=8 | Thread Slot (12 bits) |
+ * |var| Node ID (22 bits)           | Thread Counter (40 bits)                             |
+ *
+ * Every Thread gets a Slot once and then counts on its own (No shared State, No Locks). The
+ * Counter starts at a Random Value below 2^39, so a Slot reused by a new Thread doesn't repeat
+ * the IDs of an old one and the IDs of a Thread are ordered within a Milli Second (2^39 IDs
+ * before the Counter wraps). Slots wrap after 4096 Threads. The Node ID is Random per JVM.
+ * The IDs are predictable, don't use them as Secrets.
+ *
+ * Secure IDs (jti, Session State, CSRF Tokens) : Random v4 UUIDs from the Thread's Secure Random
+ * of the CipherPool (DRBG, the same Source as the IVs). UUID.randomUUID() shares one Secure
+ * Random (Locked) across all the Threads.
+ *
+ * String reqId = IdGenerator.fastId();
+ * String jti   = IdGenerator.secureId();
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class IdGenerator {
+
+	private static final int SLOT_BITS			= 12;
+	private static final int COUNTER_BITS		= 40;
+	private static final long SLOT_MASK			= (1L << SLOT_BITS) - 1;
+	private static final long VERSION_8			= 0x8000L;
+	private static final long VARIANT_IETF		= 0x8000000000000000L;
+	private static final long COUNTER_MASK		= (1L << COUNTER_BITS) - 1;
+	private static final long NODE_ID			= (ByteBuffer.wrap(CipherPool.randomBytes(4)).getInt() & 0x3FFFFFL) << COUNTER_BITS;
+
+	private static final AtomicInteger slots 	= new AtomicInteger();
+	private static final ThreadLocal<ThreadCounter> COUNTER = ThreadLocal.withInitial(ThreadCounter::new);
+
+	private IdGenerator() {
+	}
+
+	/**
+	 * Returns a Fast Unique ID (UUID Format, 36 Characters)
+	 * @return
+	 */
+	public static String fastId() {
+		return fastUUID().toString();
+	}
+
+	/**
+	 * Returns a Fast Unique UUID (Version 8, Time + Node + Thread + Counter)
+	 * @return
+	 */
+	public static UUID fastUUID() {
+		ThreadCounter counter = COUNTER.get();
+		return fastUUID(System.currentTimeMillis(), counter.slot, counter.next());
+	}
+
+	/**
+	 * Returns the Fast UUID for the Time, Slot and Counter (Slot and Counter wrap in their Bits)
+	 * @param _millis
+	 * @param _slot
+	 * @param _counter
+	 * @return
+	 */
+	static UUID fastUUID(long _millis, long _slot, long _counter) {
+		long msb = (_millis << 16) | VERSION_8 | (_slot & SLOT_MASK);
+		long lsb = VARIANT_IETF | NODE_ID | (_counter & COUNTER_MASK);
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * Returns a Secure Random ID (v4 UUID Format, 36 Characters)
+	 * @return
+	 */
+	public static String secureId() {
+		return secureUUID().toString();
+	}
+
+	/**
+	 * Returns a Secure Random v4 UUID (122 Random bits)
+	 * @return
+	 */
+	public static UUID secureUUID() {
+		byte[] random = CipherPool.randomBytes(16);
+		random[6] = (byte) ((random[6] & 0x0F) | 0x40);		// Version 4
+		random[8] = (byte) ((random[8] & 0x3F) | 0x80);		// IETF Variant
+		long msb = 0;
+		long lsb = 0;
+		for(int i = 0; i < 8; i++) {
+			msb = (msb << 8) | (random[i] & 0xFF);
+			lsb = (lsb << 8) | (random[i + 8] & 0xFF);
+		}
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * Returns a Secure Random Token (256 bits, URL Safe Base64) for CSRF Tokens
+	 * @return
+	 */
+	public static String secureToken() {
+		byte[] random = CipherPool.randomBytes(32);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+	}
+
+	/**
+	 * Thread Slot and Counter
+	 */
+	private static final class ThreadCounter {
+
+		private final long slot = slots.getAndIncrement() & SLOT_MASK;
+		private long counter = ThreadLocalRandom.current().nextLong(1L << (COUNTER_BITS - 1));
+
+		private long next() {
+			return counter++;
+		}
+	}
+}
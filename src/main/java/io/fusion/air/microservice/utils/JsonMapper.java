@@ -0,0 +1,279 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Shared JSON Object Mapper with Cached Object Writers / Readers per Type
+ *
+ * The Mapper is created once (Modules found on the Classpath once) and shared by the Spring MVC
+ * Converters, the Rest Client, Kafka Serdes and Utils.toJsonString(). Don't change its Config at
+ * Runtime, use writer(type).with(...) for a different Config.
+ *
+ * The CBOR and Smile Mappers (Binary JSON for Service to Service Calls) have the same Config
+ * and Modules as the JSON Mapper.
+ *
+ * Bytecode generated Accessors (instead of Reflection) with -Djson.mapper.accessors=
+ * blackbird (Java 11+), afterburner (Java 8, needs jackson-module-afterburner) or none.
+ * Default is blackbird on Java 11+, afterburner on Java 8 (none if it's NOT on the Classpath).
+ *
+ * byte[] json = JsonMapper.toBytes(response);
+ * JsonMapper.write(outputStream, response);
+ * Product product = JsonMapper.fromJson(bytes, Product.class);
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+public final class JsonMapper {
+
+	// Set Logger -> Lookup will automatically determine the class name.
+	private static final Logger log = getLogger(lookup().lookupClass());
+
+	public static final String ACCESSORS_PROPERTY 	= "json.mapper.accessors";
+
+	private static final String BLACKBIRD			= "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+	private static final String AFTERBURNER			= "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+	private static final ObjectMapper MAPPER 		= createObjectMapper(new JsonFactory());
+	private static final ObjectMapper CBOR_MAPPER 	= createObjectMapper(new CBORFactory());
+	private static final ObjectMapper SMILE_MAPPER 	= createObjectMapper(new SmileFactory());
+
+	private static final ConcurrentHashMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+	private JsonMapper() {
+	}
+
+	/**
+	 * Creates the Object Mapper with the Modules on the Classpath and the Accessor Module
+	 * @param factory JSON, CBOR or Smile
+	 * @return
+	 */
+	private static ObjectMapper createObjectMapper(JsonFactory factory) {
+		ObjectMapper mapper = new ObjectMapper(factory)
+				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		String accessors = System.getProperty(ACCESSORS_PROPERTY, defaultAccessors()).trim().toLowerCase();
+		List<Module> modules = new ArrayList<>();
+		for(Module module : ObjectMapper.findModules()) {
+			String moduleClass = module.getClass().getName();
+			// Only the Selected Accessor Module (Both on the Classpath = Conflict)
+			if(!moduleClass.equals(BLACKBIRD) && !moduleClass.equals(AFTERBURNER)) {
+				modules.add(module);
+			}
+		}
+		if("blackbird".equals(accessors)) {
+			addModule(modules, BLACKBIRD);
+		} else if("afterburner".equals(accessors)) {
+			addModule(modules, AFTERBURNER);
+		}
+		for(Module module : modules) {
+			try {
+				mapper.registerModule(module);
+			} catch (LinkageError e) {
+				// Module Dependency NOT on the Classpath (Ex. JAXB Annotations without JAXB API)
+				log.warn("JSON Module {} NOT Registered: {}", module.getModuleName(), e.toString());
+			}
+		}
+		return mapper;
+	}
+
+	/**
+	 * Returns the Default Accessor Module for the Runtime
+	 * Blackbird (Lambda Metafactory) on Java 11+, Afterburner on Java 8 (if it's on the Classpath)
+	 * @return blackbird, afterburner or none
+	 */
+	static String defaultAccessors() {
+		if(javaVersion() >= 11) {
+			return "blackbird";
+		}
+		try {
+			Class.forName(AFTERBURNER, false, JsonMapper.class.getClassLoader());
+			return "afterburner";
+		} catch (ClassNotFoundException | LinkageError e) {
+			return "none";
+		}
+	}
+
+	/**
+	 * Returns the Java Runtime Version (1.8 = 8)
+	 * @return
+	 */
+	static int javaVersion() {
+		String version = System.getProperty("java.specification.version", "1.8");
+		if(version.startsWith("1.")) {
+			version = version.substring(2);
+		}
+		try {
+			return Integer.parseInt(version);
+		} catch (NumberFormatException e) {
+			return 8;
+		}
+	}
+
+	/**
+	 * Add the Module if it's on the Classpath
+	 * @param modules
+	 * @param moduleClass
+	 */
+	private static void addModule(List<Module> modules, String moduleClass) {
+		try {
+			modules.add((Module) Class.forName(moduleClass).getDeclaredConstructor().newInstance());
+		} catch (Exception | LinkageError e) {
+			log.warn("JSON Accessor Module {} NOT Available: {}", moduleClass, e.toString());
+		}
+	}
+
+	/**
+	 * Returns the Shared Object Mapper
+	 * @return
+	 */
+	public static ObjectMapper mapper() {
+		return MAPPER;
+	}
+
+	/**
+	 * Returns the Shared CBOR Object Mapper (application/cbor)
+	 * @return
+	 */
+	public static ObjectMapper cbor() {
+		return CBOR_MAPPER;
+	}
+
+	/**
+	 * Returns the Shared Smile Object Mapper (application/x-jackson-smile)
+	 * @return
+	 */
+	public static ObjectMapper smile() {
+		return SMILE_MAPPER;
+	}
+
+	/**
+	 * Returns the Cached Object Writer for the Type (Streams are NOT closed, the Caller owns them)
+	 * @param type
+	 * @return
+	 */
+	public static ObjectWriter writer(Class<?> type) {
+		ObjectWriter writer = writers.get(type);
+		if(writer == null) {
+			writer = MAPPER.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			writers.putIfAbsent(type, writer);
+		}
+		return writer;
+	}
+
+	/**
+	 * Returns the Cached Object Reader for the Type (Streams are NOT closed, the Caller owns them)
+	 * @param type
+	 * @return
+	 */
+	public static ObjectReader reader(Class<?> type) {
+		ObjectReader reader = readers.get(type);
+		if(reader == null) {
+			reader = MAPPER.readerFor(type).without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+			readers.putIfAbsent(type, reader);
+		}
+		return reader;
+	}
+
+	/**
+	 * Convert the Object to a JSON String
+	 * @param object
+	 * @return
+	 * @throws JsonProcessingException
+	 */
+	public static String toJson(Object object) throws JsonProcessingException {
+		return writer(object.getClass()).writeValueAsString(object);
+	}
+
+	/**
+	 * Convert the Object to JSON (UTF-8 Bytes, No Intermediate String)
+	 * @param object
+	 * @return
+	 * @throws JsonProcessingException
+	 */
+	public static byte[] toBytes(Object object) throws JsonProcessingException {
+		return writer(object.getClass()).writeValueAsBytes(object);
+	}
+
+	/**
+	 * Write the Object as JSON (UTF-8) to the Stream (the Stream is NOT closed)
+	 * @param out
+	 * @param object
+	 * @throws IOException
+	 */
+	public static void write(OutputStream out, Object object) throws IOException {
+		writer(object.getClass()).writeValue(out, object);
+	}
+
+	/**
+	 * Convert the JSON String to the Object
+	 * @param json
+	 * @param type
+	 * @param <T>
+	 * @return
+	 * @throws JsonProcessingException
+	 */
+	public static <T> T fromJson(String json, Class<T> type) throws JsonProcessingException {
+		return reader(type).readValue(json);
+	}
+
+	/**
+	 * Convert the JSON (UTF-8 Bytes) to the Object
+	 * @param json
+	 * @param type
+	 * @param <T>
+	 * @return
+	 * @throws IOException
+	 */
+	public static <T> T fromJson(byte[] json, Class<T> type) throws IOException {
+		return reader(type).readValue(json);
+	}
+
+	/**
+	 * Read the JSON from the Stream (the Stream is NOT closed)
+	 * @param in
+	 * @param type
+	 * @param <T>
+	 * @return
+	 * @throws IOException
+	 */
+	public static <T> T fromJson(InputStream in, Class<T> type) throws IOException {
+		return reader(type).readValue(in);
+	}
+}
@@ -25,12 +25,11 @@ import java.util.*;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import io.fusion.air.microservice.domain.models.core.StandardResponse;
+import io.fusion.air.microservice.security.DigestPool;
 import org.slf4j.MDC;
 import org.springframework.http.ResponseCookie;
 
@@ -222,7 +221,7 @@ public final class Utils {
 	public static UUID type5UUIDFromBytes(byte[] name) {
 		final MessageDigest md;
 		try {
-			md = MessageDigest.getInstance("SHA-1");
+			md = DigestPool.digest("SHA-1");
 		} catch (NoSuchAlgorithmException exception) {
 			throw new InternalError("SHA-1 not supported", exception);
 		}
@@ -258,23 +257,13 @@ public final class Utils {
 			return "";
 		}
 		try {
-			return new ObjectMapper()
-					.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-					.findAndRegisterModules()
-					.writeValueAsString(_object);
+			return JsonMapper.toJson(_object);
 		} catch (JsonProcessingException e) {
 			e.printStackTrace();
 		}
 		return "";
 	}
 
-	private static final ObjectMapper objectMapper = new ObjectMapper();
-
-	static {
-		// Configure objectMapper for your needs
-		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-	}
-
 	/**
 	 * Convert JSON to Object
 	 * @param jsonString
@@ -284,7 +273,7 @@ public final class Utils {
 	 */
 	public static <T> T fromJsonToObject(String jsonString, Class<T> targetClass) {
 		try {
-			return objectMapper.readValue(jsonString, targetClass);
+			return JsonMapper.fromJson(jsonString, targetClass);
 		} catch (JsonProcessingException e) {
 			throw new RuntimeException("Failed to convert JSON string to object: " + e.getMessage(), e);
 		}
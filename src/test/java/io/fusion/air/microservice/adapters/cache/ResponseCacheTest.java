@@ -0,0 +1,144 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.cache;
+// Custom
+import io.fusion.air.microservice.domain.models.core.StandardResponse;
+// Spring
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Response Cache: ETag, 304, Gzip and the Invalidation (Generation)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class ResponseCacheTest {
+
+    private static final String GROUP = ResponseCache.GEO_COUNTRIES;
+
+    private final ResponseCache cache = new ResponseCache(true, 4, 1024);
+
+    @Test
+    void notModifiedForTheCachedETag() throws IOException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<StandardResponse> loader = counting(loads, "Country", 200);
+        MockHttpServletResponse first = serve("all", null, null, loader);
+        assertEquals(200, first.getStatus());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse second = serve("all", etag, null, loader);
+        assertEquals(304, second.getStatus());
+        assertEquals(0, second.getContentAsByteArray().length);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void eTagChangesWithTheCacheGeneration() throws IOException {
+        String etag = serve("all", null, null, counting(new AtomicInteger(), "Country", 200))
+                .getHeader(HttpHeaders.ETAG);
+
+        // Ingestion changed the Data and invalidated the Group (Next Generation)
+        cache.invalidate(GROUP);
+        AtomicInteger loads = new AtomicInteger();
+        MockHttpServletResponse response = serve("all", etag, null, counting(loads, "Country", 250));
+        assertEquals(1, loads.get());
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getContentAsString().contains("Country-249"));
+    }
+
+    @Test
+    void responseLoadedDuringTheInvalidationIsNotCached() throws IOException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<StandardResponse> loader = () -> {
+            loads.incrementAndGet();
+            cache.invalidate(GROUP);
+            return SerializedResponseTest.response("Country", 10);
+        };
+        serve("all", null, null, loader);
+        serve("all", null, null, loader);
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getEntries());
+    }
+
+    @Test
+    void gzipResponseDecompressesToTheJson() throws IOException {
+        Supplier<StandardResponse> loader = counting(new AtomicInteger(), "Country", 200);
+        MockHttpServletResponse gzip = serve("all", null, "gzip, deflate", loader);
+        MockHttpServletResponse plain = serve("all", null, null, loader);
+
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertFalse(plain.containsHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(gzip.getContentLength(), gzip.getContentAsByteArray().length);
+        assertNotEquals(gzip.getHeader(HttpHeaders.ETAG), plain.getHeader(HttpHeaders.ETAG));
+        // Same Entity, only the Time differs
+        String json = new String(SerializedResponseTest.gunzip(gzip.getContentAsByteArray()), StandardCharsets.UTF_8);
+        assertEquals(body(plain.getContentAsString()), body(json));
+    }
+
+    @Test
+    void maxEntriesPerGroup() throws IOException {
+        for(int page = 0; page < 6; page++) {
+            serve("page/"+page, null, null, counting(new AtomicInteger(), "Country", 10));
+        }
+        assertEquals(4, cache.getEntries());
+    }
+
+    private MockHttpServletResponse serve(String _key, String _ifNoneMatch, String _acceptEncoding,
+                                          Supplier<StandardResponse> _loader) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/country/geo/all/");
+        if(_ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, _ifNoneMatch);
+        }
+        if(_acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, _acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(cache.serve(GROUP, _key, request, response, _loader));
+        return response;
+    }
+
+    private static Supplier<StandardResponse> counting(AtomicInteger _loads, String _prefix, int _count) {
+        return () -> {
+            _loads.incrementAndGet();
+            return SerializedResponseTest.response(_prefix, _count);
+        };
+    }
+
+    /**
+     * Returns the JSON after the "time" Field
+     * @param _json
+     * @return
+     */
+    private static String body(String _json) {
+        return _json.substring(_json.indexOf("\",") + 2);
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.cache;
+// Custom
+import io.fusion.air.microservice.domain.models.core.StandardResponse;
+import io.fusion.air.microservice.utils.JsonMapper;
+// Jackson
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Serialized Response: Gzip Variant (Stored Head + Cached Deflate Tail) and the ETag
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class SerializedResponseTest {
+
+    @Test
+    void gzipVariantDecompressesToTheJson() throws IOException {
+        StandardResponse response = response("Country", 200);
+        SerializedResponse cached = new SerializedResponse(response, 1024);
+        assertTrue(cached.hasGzip());
+
+        // Different Times give different Head Lengths (Nano Seconds are dropped when Zero)
+        LocalDateTime[] times = {
+                LocalDateTime.of(2023, 1, 1, 10, 0),
+                LocalDateTime.of(2023, 1, 1, 10, 0, 1, 123_456_789),
+                LocalDateTime.now()
+        };
+        for(LocalDateTime time : times) {
+            byte[] head = cached.head(time);
+            ByteArrayOutputStream plain = new ByteArrayOutputStream();
+            cached.write(plain, head);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+            cached.writeGzip(gzip, head);
+
+            assertEquals(cached.length(head), plain.size());
+            assertEquals(cached.gzipLength(head), gzip.size());
+            assertTrue(gzip.size() < plain.size());
+            // GZIPInputStream checks the CRC32 and the Size in the Trailer
+            assertArrayEquals(plain.toByteArray(), gunzip(gzip.toByteArray()), time.toString());
+
+            // The JSON is the Response with the Time of the Request
+            JsonNode json = JsonMapper.mapper().readTree(plain.toByteArray());
+            assertEquals(time.toString(), json.get("time").asText());
+            assertEquals(withoutTime(JsonMapper.toBytes(response)), withoutTime(plain.toByteArray()));
+        }
+    }
+
+    @Test
+    void smallResponseIsNotCompressed() throws IOException {
+        SerializedResponse cached = new SerializedResponse(response("X", 1), 1024);
+        assertFalse(cached.hasGzip());
+        byte[] head = cached.head(LocalDateTime.now());
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        cached.write(plain, head);
+        assertEquals(cached.length(head), plain.size());
+        assertEquals(withoutTime(JsonMapper.toBytes(response("X", 1))),
+                withoutTime(plain.toByteArray()));
+    }
+
+    @Test
+    void eTagIsTheEntityNotTheTime() throws IOException {
+        SerializedResponse first = new SerializedResponse(response("Country", 200), 1024);
+        SerializedResponse second = new SerializedResponse(response("Country", 200), 1024);
+        SerializedResponse changed = new SerializedResponse(response("Country", 201), 1024);
+
+        assertEquals(first.getETag(), second.getETag());
+        assertNotEquals(first.getETag(), changed.getETag());
+        assertNotEquals(first.getETag(), first.getGzipETag());
+        assertTrue(first.getETag().startsWith("\"") && first.getETag().endsWith("\""));
+    }
+
+    /**
+     * Returns the Response with a List of Names as Payload
+     * @param _prefix
+     * @param _count
+     * @return
+     */
+    static StandardResponse response(String _prefix, int _count) {
+        List<String> names = new ArrayList<>();
+        for(int i = 0; i < _count; i++) {
+            names.add(_prefix + "-" + i);
+        }
+        StandardResponse response = (StandardResponse) new StandardResponse().initSuccess("200", "Data Fetch Success!");
+        response.setPayload(names);
+        return response;
+    }
+
+    /**
+     * Decompress the Gzip Stream
+     * @param _gzip
+     * @return
+     * @throws IOException
+     */
+    static byte[] gunzip(byte[] _gzip) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(_gzip))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Returns the JSON without the Time Field
+     * @param _json
+     * @return
+     * @throws IOException
+     */
+    private static JsonNode withoutTime(byte[] _json) throws IOException {
+        ObjectNode json = (ObjectNode) JsonMapper.mapper().readTree(new String(_json, StandardCharsets.UTF_8));
+        json.remove("time");
+        return json;
+    }
+}
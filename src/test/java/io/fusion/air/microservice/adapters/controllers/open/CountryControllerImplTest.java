@@ -0,0 +1,41 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.controllers.open;
+// JUnit
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Country Controller: Cache Keys of the Geo Country Pages
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class CountryControllerImplTest {
+
+    @Test
+    void onlyTheCommonPagesAreCached() {
+        assertEquals("page/0/size/10", CountryControllerImpl.pageCacheKey(0, 10));
+        assertEquals("page/49/size/100", CountryControllerImpl.pageCacheKey(CountryControllerImpl.MAX_CACHED_PAGE - 1, 100));
+        // Random Page / Size Keys go the normal Path
+        assertNull(CountryControllerImpl.pageCacheKey(CountryControllerImpl.MAX_CACHED_PAGE, 10));
+        assertNull(CountryControllerImpl.pageCacheKey(0, 11));
+        assertNull(CountryControllerImpl.pageCacheKey(-1, 10));
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// JUnit
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+// Java
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Async File Reader: Chunks delivered in Order (Inline and Async Consumers)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class AsyncFileReaderTest {
+
+    private static final int CHUNK = AsyncFileReader.MIN_CHUNK_SIZE;
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path file;
+    private static long expectedCrc;
+
+    private final DirectBufferPool bufferPool = new DirectBufferPool();
+    private final AsyncFileReader reader = new AsyncFileReader(bufferPool);
+
+    @BeforeAll
+    static void createFile() throws IOException {
+        // 20,000 Chunks + a Partial Chunk
+        byte[] data = new byte[20_000 * CHUNK + 123];
+        for(int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31 + (i >>> 12));
+        }
+        file = tempDir.resolve("async.bin");
+        Files.write(file, data);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        expectedCrc = crc.getValue();
+    }
+
+    @Test
+    void inlineConsumerReadsManyChunksWithoutStackGrowth() throws Exception {
+        CRC32 crc = new CRC32();
+        AtomicLong expectedPosition = new AtomicLong();
+        AtomicLong minDepth = new AtomicLong(Long.MAX_VALUE);
+        AtomicLong maxDepth = new AtomicLong();
+        int readsInFlight = AsyncFileReader.MAX_READS_IN_FLIGHT;
+        AsyncReadStats stats = reader.read(file.toString(), CHUNK, readsInFlight, ChunkConsumer.of((chunk, position) -> {
+            if(position == 0) {
+                // Let all the Reads in Flight complete: The next Chunks are delivered back to back
+                sleep(200);
+            }
+            assertEquals(expectedPosition.getAndAdd(chunk.remaining()), position);
+            crc.update(chunk);
+            int depth = Thread.currentThread().getStackTrace().length;
+            minDepth.accumulateAndGet(depth, Math::min);
+            maxDepth.accumulateAndGet(depth, Math::max);
+        })).get(60, TimeUnit.SECONDS);
+
+        assertEquals(expectedCrc, crc.getValue());
+        assertEquals(Files.size(file), stats.getBytes());
+        assertEquals(20_001, stats.getChunks());
+        // Delivered in a Loop: Same Stack Depth for every Chunk
+        assertEquals(minDepth.get(), maxDepth.get());
+        assertEquals(0, bufferPool.getInUseBytes());
+        reader.shutdown();
+    }
+
+    @Test
+    void asyncConsumerCompletesOnAnotherThread() throws Exception {
+        ExecutorService consumerThread = Executors.newSingleThreadExecutor();
+        CRC32 crc = new CRC32();
+        try {
+            reader.read(file.toString(), 64 * 1024, 4, (chunk, position) ->
+                    CompletableFuture.runAsync(() -> crc.update(chunk), consumerThread)
+            ).get(60, TimeUnit.SECONDS);
+        } finally {
+            consumerThread.shutdown();
+            reader.shutdown();
+        }
+        assertEquals(expectedCrc, crc.getValue());
+        assertEquals(0, bufferPool.getInUseBytes());
+    }
+
+    @Test
+    void consumerErrorFailsTheRead() throws Exception {
+        IllegalStateException error = new IllegalStateException("Consumer Failed");
+        CompletableFuture<AsyncReadStats> result = reader.read(file.toString(), CHUNK, 4,
+                ChunkConsumer.of((chunk, position) -> {
+                    if(position >= 100L * CHUNK) {
+                        throw error;
+                    }
+                }));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(60, TimeUnit.SECONDS));
+        assertSame(error, e.getCause());
+        // Buffers are released once the Reads in Flight are done
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(bufferPool.getInUseBytes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, bufferPool.getInUseBytes());
+        reader.shutdown();
+    }
+
+    @Test
+    void emptyFile() throws Exception {
+        Path empty = Files.createTempFile(tempDir, "empty", ".bin");
+        AsyncReadStats stats = reader.read(empty.toString(), ChunkConsumer.of((chunk, position) -> { }))
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(0, stats.getChunks());
+        assertTrue(stats.getProcessingTime() >= 0);
+        reader.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
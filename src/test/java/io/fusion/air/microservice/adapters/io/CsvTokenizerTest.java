@@ -0,0 +1,184 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Custom
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CSV Tokenizer (RFC 4180): Quotes, Delimiters and Line Feeds
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class CsvTokenizerTest {
+
+    @Test
+    void plainFieldsAndNumbers() throws IOException {
+        CsvTokenizer csv = tokenizer("id,name,price\n42,Book,-12.50\n", 1024);
+        assertEquals(Arrays.asList("id", "name", "price"), next(csv));
+        assertTrue(csv.nextRecord());
+        assertEquals(42, csv.fieldAsInt(0));
+        assertEquals(42L, csv.fieldAsLong(0));
+        assertEquals(-12.5, csv.fieldAsDouble(2));
+        assertFalse(csv.nextRecord());
+        assertEquals(2, csv.getRecords());
+    }
+
+    @Test
+    void quotedFields() throws IOException {
+        CsvTokenizer csv = tokenizer("\"a\",\"b c\",\"\"\n", 1024);
+        assertEquals(Arrays.asList("a", "b c", ""), next(csv));
+        assertNull(csv.fieldAsStringOrNull(2));
+    }
+
+    @Test
+    void escapedQuotes() throws IOException {
+        CsvTokenizer csv = tokenizer("\"say \"\"hi\"\"\",\"\"\"\"\n", 1024);
+        assertEquals(Arrays.asList("say \"hi\"", "\""), next(csv));
+    }
+
+    @Test
+    void embeddedDelimitersAndLineFeeds() throws IOException {
+        CsvTokenizer csv = tokenizer("1,\"Paris, France\",\"line 1\nline 2\r\nline 3\"\n2,x,y\n", 1024);
+        assertEquals(Arrays.asList("1", "Paris, France", "line 1\nline 2\r\nline 3"), next(csv));
+        assertEquals(Arrays.asList("2", "x", "y"), next(csv));
+        assertFalse(csv.nextRecord());
+    }
+
+    @Test
+    void crlfRecordsAndEmptyLines() throws IOException {
+        CsvTokenizer csv = tokenizer("a,b\r\n\r\n\nc,\r\nd", 1024);
+        assertEquals(Arrays.asList("a", "b"), next(csv));
+        // Delimiter at the End gives an Empty last Field
+        assertEquals(Arrays.asList("c", ""), next(csv));
+        // Last Record without a Line Feed
+        assertEquals(Arrays.asList("d"), next(csv));
+        assertFalse(csv.nextRecord());
+    }
+
+    @Test
+    void recordsAcrossReadsAndBufferGrowth() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        List<List<String>> expected = new ArrayList<>();
+        for(int i = 0; i < 200; i++) {
+            String quoted = "q\"" + i + "\",\n" + repeat('é', i * 13);
+            expected.add(Arrays.asList(String.valueOf(i), quoted, "€" + i));
+            sb.append(i).append(",\"").append(quoted.replace("\"", "\"\"")).append("\",€").append(i)
+                    .append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        // Reads of 7 Bytes, Records longer than the 1 KB Buffer
+        CsvTokenizer csv = new CsvTokenizer(new TrickleChannel(sb.toString(), 7), CsvTokenizer.COMMA, 1024);
+        for(List<String> record : expected) {
+            assertEquals(record, next(csv));
+        }
+        assertFalse(csv.nextRecord());
+        assertEquals(sb.toString().getBytes(StandardCharsets.UTF_8).length, csv.getBytesRead());
+    }
+
+    @Test
+    void otherDelimiter() throws IOException {
+        CsvTokenizer csv = new CsvTokenizer(new TrickleChannel("a;\"b;c\";d\n", 1024), (byte) ';', 1024);
+        assertEquals(Arrays.asList("a", "b;c", "d"), next(csv));
+    }
+
+    @Test
+    void invalidInput() throws IOException {
+        assertThrows(InvalidInputException.class, () -> new CsvTokenizer(null));
+        assertThrows(InvalidInputException.class,
+                () -> new CsvTokenizer(new TrickleChannel("", 1), CsvTokenizer.QUOTE, 1024));
+        CsvTokenizer csv = tokenizer("abc,99999999999\n", 1024);
+        assertTrue(csv.nextRecord());
+        assertThrows(NumberFormatException.class, () -> csv.fieldAsLong(0));
+        assertThrows(NumberFormatException.class, () -> csv.fieldAsInt(1));
+    }
+
+    /**
+     * Returns the Fields of the Next Record
+     * @param csv
+     * @return
+     * @throws IOException
+     */
+    private static List<String> next(CsvTokenizer csv) throws IOException {
+        assertTrue(csv.nextRecord());
+        List<String> fields = new ArrayList<>();
+        for(int i = 0; i < csv.fieldCount(); i++) {
+            fields.add(csv.fieldAsString(i));
+        }
+        return fields;
+    }
+
+    private static CsvTokenizer tokenizer(String text, int readSize) {
+        return new CsvTokenizer(new TrickleChannel(text, readSize));
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    /**
+     * Channel which returns at most N Bytes per Read
+     */
+    private static final class TrickleChannel implements ReadableByteChannel {
+        private final ByteBuffer data;
+        private final int readSize;
+
+        private TrickleChannel(String _text, int _readSize) {
+            data = ByteBuffer.wrap(_text.getBytes(StandardCharsets.UTF_8));
+            readSize = _readSize;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if(!data.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(readSize, dst.remaining()), data.remaining());
+            ByteBuffer slice = data.duplicate();
+            slice.limit(slice.position() + count);
+            dst.put(slice);
+            data.position(data.position() + count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Direct Buffer Pool: Size Classes, Reuse and the Max Pooled Bytes Budget
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class DirectBufferPoolTest {
+
+    private static final int KB = 1024;
+
+    @Test
+    void sizeIsRoundedUpToTheSizeClass() {
+        DirectBufferPool pool = new DirectBufferPool(4 * KB, 64 * KB, 1024 * KB, 2, false);
+        try (PooledBuffer pooled = pool.acquire(5000)) {
+            ByteBuffer buffer = pooled.buffer();
+            assertTrue(buffer.isDirect());
+            assertEquals(8 * KB, buffer.capacity());
+            assertEquals(5000, buffer.limit());
+            assertEquals(0, buffer.position());
+            assertEquals(8 * KB, pool.getInUseBytes());
+        }
+        assertEquals(0, pool.getInUseBytes());
+        assertThrows(IllegalArgumentException.class, () -> pool.acquire(0));
+    }
+
+    @Test
+    void releasedBufferIsReusedByTheThread() {
+        DirectBufferPool pool = new DirectBufferPool(4 * KB, 64 * KB, 1024 * KB, 2, false);
+        ByteBuffer first;
+        try (PooledBuffer pooled = pool.acquire(4 * KB)) {
+            first = pooled.buffer();
+        }
+        assertEquals(4 * KB, pool.getThreadCachedBytes());
+        try (PooledBuffer pooled = pool.acquire(3 * KB)) {
+            assertSame(first, pooled.buffer());
+        }
+        BufferPoolStats stats = pool.getStats();
+        assertEquals(1, stats.getAllocations());
+        assertEquals(1, stats.getThreadCacheHits());
+    }
+
+    @Test
+    void largeBuffersAreNotPooled() {
+        DirectBufferPool pool = new DirectBufferPool(4 * KB, 64 * KB, 1024 * KB, 2, false);
+        try (PooledBuffer pooled = pool.acquire(100 * KB)) {
+            assertFalse(pooled.isPooled());
+            assertEquals(100 * KB, pooled.buffer().capacity());
+        }
+        assertEquals(0, pool.getThreadCachedBytes());
+        assertEquals(0, pool.getPooledBytes());
+        assertEquals(1, pool.getStats().getUnpooledAllocations());
+    }
+
+    @Test
+    void threadCachesAreBoundedByTheMaxPooledBytes() throws Exception {
+        // Budget = 2 Buffers of 64 KB, Thread Cache = 2 per Size Class
+        DirectBufferPool pool = new DirectBufferPool(4 * KB, 64 * KB, 128 * KB, 2, false);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch acquired = new CountDownLatch(threads);
+        CountDownLatch released = new CountDownLatch(threads);
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            for(int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    List<PooledBuffer> buffers = new ArrayList<>();
+                    buffers.add(pool.acquire(64 * KB));
+                    buffers.add(pool.acquire(64 * KB));
+                    acquired.countDown();
+                    try {
+                        acquired.await();
+                        buffers.forEach(PooledBuffer::close);
+                        released.countDown();
+                        // Keep the Thread (and its Cache) alive
+                        done.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertTrue(released.await(10, TimeUnit.SECONDS));
+            // 8 Buffers released: Only 2 are kept (Thread Caches + Free Lists)
+            assertEquals(128 * KB, pool.getThreadCachedBytes() + pool.getPooledBytes());
+            assertEquals(6, pool.getStats().getDiscarded());
+        } finally {
+            done.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void buffersOfEndedThreadsAreMovedToTheFreeList() throws Exception {
+        DirectBufferPool pool = new DirectBufferPool(4 * KB, 64 * KB, 1024 * KB, 2, false);
+        Thread thread = new Thread(() -> pool.acquire(16 * KB).close());
+        thread.start();
+        thread.join();
+        assertEquals(0, pool.getThreadCachedBytes());
+        assertEquals(16 * KB, pool.getPooledBytes());
+        try (PooledBuffer pooled = pool.acquire(16 * KB)) {
+            assertEquals(1, pool.getStats().getFreeListHits());
+        }
+    }
+
+    @Test
+    void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(0, 64 * KB, 1024, 2, false));
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(64 * KB, 4 * KB, 1024, 2, false));
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(4 * KB, 64 * KB, -1, 2, false));
+    }
+}
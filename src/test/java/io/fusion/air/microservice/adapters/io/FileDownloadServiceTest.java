@@ -0,0 +1,92 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Spring
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * File Download: Range and If-Range (RFC 7233)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class FileDownloadServiceTest {
+
+    private static final String FOLDER = "files";
+    private static final String FILE = "index.html";
+
+    private final FileDownloadService service = new FileDownloadService(new DirectBufferPool());
+
+    @Test
+    void rangeReturnsPartialContent() throws IOException {
+        MockHttpServletResponse response = download(null);
+        assertEquals(206, response.getStatus());
+        assertEquals(10, response.getContentAsByteArray().length);
+        assertEquals("bytes 0-9/"+fullLength(), response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void matchingIfRangeETagReturnsPartialContent() throws IOException {
+        String etag = download(null).getHeader(HttpHeaders.ETAG);
+        MockHttpServletResponse response = download(etag);
+        assertEquals(206, response.getStatus());
+        assertEquals(10, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void staleIfRangeSendsTheFullFile() throws IOException {
+        MockHttpServletResponse response = download("\"stale\"");
+        assertEquals(200, response.getStatus());
+        assertEquals(fullLength(), response.getContentAsByteArray().length);
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void malformedIfRangeDateSendsTheFullFile() throws IOException {
+        MockHttpServletResponse response = download("not-a-date");
+        assertEquals(200, response.getStatus());
+        assertEquals(fullLength(), response.getContentAsByteArray().length);
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    private MockHttpServletResponse download(String ifRange) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/"+FOLDER+"/"+FILE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        if(ifRange != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.download(FOLDER, FILE, request, response);
+        return response;
+    }
+
+    private int fullLength() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/"+FOLDER+"/"+FILE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.download(FOLDER, FILE, request, response);
+        return response.getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// JUnit
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+// Java
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * File Tree Index: Watch Events and the Snapshot
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class FileTreeIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<FileTreeIndex> indexes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        indexes.forEach(FileTreeIndex::stop);
+    }
+
+    @Test
+    void deletedDirectoryRemovesItsSubTree() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("root"));
+        write(root.resolve("keep.txt"), "keep");
+        FileTreeIndex index = start(root, null);
+
+        Path sub = Files.createDirectories(root.resolve("sub"));
+        write(sub.resolve("a.txt"), "a");
+        Path deep = Files.createDirectories(sub.resolve("deep"));
+        write(deep.resolve("b.txt"), "b");
+        awaitTrue(() -> index.findByPrefix("sub/", 0, 100).size() == 2);
+
+        deleteTree(sub);
+        awaitTrue(() -> index.findByPrefix("sub/", 0, 100).isEmpty());
+        assertEquals(1, index.findByPrefix("", 0, 100).size());
+    }
+
+    @Test
+    void concurrentSavesWriteOneValidSnapshot() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("root"));
+        for(int i = 0; i < 50; i++) {
+            write(root.resolve("file-" + i + ".txt"), "content " + i);
+        }
+        Path storeDir = Files.createDirectories(tempDir.resolve("store"));
+        Path store = storeDir.resolve("file-index.dat");
+        FileTreeIndex index = start(root, store);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for(int round = 0; round < 20; round++) {
+                write(root.resolve("changed-" + round + ".txt"), "round " + round);
+                int expected = 51 + round;
+                awaitTrue(() -> index.findByPrefix("", 0, 1000).size() == expected);
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<?>> saves = new ArrayList<>();
+                for(int t = 0; t < 8; t++) {
+                    saves.add(executor.submit(() -> {
+                        go.await();
+                        index.saveIfChanged();
+                        return null;
+                    }));
+                }
+                go.countDown();
+                for(Future<?> save : saves) {
+                    save.get(10, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try (Stream<Path> files = Files.list(storeDir)) {
+            // No Temp File left behind
+            assertEquals(Collections.singletonList("file-index.dat"),
+                    files.map(p -> p.getFileName().toString()).collect(Collectors.toList()));
+        }
+        FileTreeIndex loaded = new FileTreeIndex(root, store, true, 1000, new DirectBufferPool());
+        indexes.add(loaded);
+        loaded.start();
+        assertTrue((Boolean) loaded.getStats().get("LoadedFromStore"));
+        assertEquals(70, loaded.findByPrefix("", 0, 1000).size());
+    }
+
+    /**
+     * Start the Index and wait for the first Walk of the Tree
+     * @param root
+     * @param store
+     * @return
+     * @throws Exception
+     */
+    private FileTreeIndex start(Path root, Path store) throws Exception {
+        FileTreeIndex index = new FileTreeIndex(root, store, true, 1000, new DirectBufferPool());
+        indexes.add(index);
+        index.start();
+        awaitTrue(index::isReady);
+        return index;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for(Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while(!condition.getAsBoolean()) {
+            if(System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition NOT met in 15 s");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Custom
+import io.fusion.air.microservice.domain.exceptions.DuplicateDataException;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// JUnit
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+// Java
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * File Upload: Size and Quota Limits, Checksum Check and Overwrite vs Conflict
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class FileUploadServiceTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path uploadDir;
+
+    private FileUploadService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(4 * KB, 64 * KB, 1024 * KB, 2, false);
+        // Max File Size = 10 KB, Quota = 16 KB
+        service = new FileUploadService(uploadDir, 10 * KB, 16 * KB, 4 * KB, "SHA-256", pool);
+        service.init();
+    }
+
+    @Test
+    void uploadWritesTheFileAndTheChecksum() throws Exception {
+        byte[] data = data(6 * KB);
+        FileUploadResult result = service.upload("data.bin", new ByteArrayInputStream(data), data.length,
+                null, false);
+        assertArrayEquals(data, Files.readAllBytes(uploadDir.resolve("data.bin")));
+        assertEquals(data.length, result.getFileSize());
+        assertEquals(sha256Hex(data), result.getChecksum());
+        assertFalse(result.isReplaced());
+        assertEquals(data.length, service.getUsedBytes());
+        assertNoTempFiles();
+    }
+
+    @Test
+    void fileSizeLimitIsCheckedUpFrontAndWhileStreaming() throws Exception {
+        byte[] data = data(11 * KB);
+        // Content-Length sent by the Client
+        assertThrows(InvalidInputException.class,
+                () -> service.upload("big.bin", new ByteArrayInputStream(data), data.length, null, false));
+        // Unknown Length (Chunked / Multipart)
+        assertThrows(InvalidInputException.class,
+                () -> service.upload("big.bin", new ByteArrayInputStream(data), -1, null, false));
+        assertFalse(Files.exists(uploadDir.resolve("big.bin")));
+        assertEquals(0, service.getUsedBytes());
+        assertNoTempFiles();
+    }
+
+    @Test
+    void quotaIsReservedWhileStreamingAndReleasedOnFailure() throws Exception {
+        byte[] first = data(10 * KB);
+        service.upload("first.bin", new ByteArrayInputStream(first), first.length, null, false);
+        byte[] second = data(8 * KB);
+        assertThrows(InvalidInputException.class,
+                () -> service.upload("second.bin", new ByteArrayInputStream(second), second.length, null, false));
+        assertThrows(InvalidInputException.class,
+                () -> service.upload("second.bin", new ByteArrayInputStream(second), -1, null, false));
+        assertFalse(Files.exists(uploadDir.resolve("second.bin")));
+        assertEquals(first.length, service.getUsedBytes());
+        assertNoTempFiles();
+        // What is left of the Quota still fits
+        byte[] third = data(6 * KB);
+        service.upload("third.bin", new ByteArrayInputStream(third), -1, null, false);
+        assertEquals(16 * KB, service.getUsedBytes());
+    }
+
+    @Test
+    void checksumIsAcceptedAsHexOrBase64AndAMismatchIsRejected() throws Exception {
+        byte[] data = "Hello Upload".getBytes(StandardCharsets.UTF_8);
+        String hex = sha256Hex(data);
+        service.upload("hex.txt", new ByteArrayInputStream(data), data.length,
+                hex.toUpperCase(Locale.ROOT), false);
+        String base64 = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(data));
+        service.upload("base64.txt", new ByteArrayInputStream(data), data.length, base64, false);
+
+        assertThrows(InvalidInputException.class,
+                () -> service.upload("bad.txt", new ByteArrayInputStream(data), data.length, sha256Hex(data(8)), false));
+        assertFalse(Files.exists(uploadDir.resolve("bad.txt")));
+        assertEquals(2L * data.length, service.getUsedBytes());
+        assertNoTempFiles();
+    }
+
+    @Test
+    void existingFileIsAConflictUnlessOverwriteIsSet() throws Exception {
+        byte[] original = data(8 * KB);
+        service.upload("file.bin", new ByteArrayInputStream(original), original.length, null, false);
+        byte[] update = "Updated".getBytes(StandardCharsets.UTF_8);
+        assertThrows(DuplicateDataException.class,
+                () -> service.upload("file.bin", new ByteArrayInputStream(update), update.length, null, false));
+        assertArrayEquals(original, Files.readAllBytes(uploadDir.resolve("file.bin")));
+
+        FileUploadResult result = service.upload("file.bin", new ByteArrayInputStream(update), update.length,
+                null, true);
+        assertTrue(result.isReplaced());
+        assertArrayEquals(update, Files.readAllBytes(uploadDir.resolve("file.bin")));
+        // The Size of the replaced File is given back to the Quota
+        assertEquals(update.length, service.getUsedBytes());
+        assertNoTempFiles();
+    }
+
+    @Test
+    void invalidFileNamesAreRejected() {
+        for(String name : Arrays.asList("../escape.txt", "dir/file.txt", ".hidden", "a..b", "")) {
+            assertThrows(InvalidInputException.class,
+                    () -> service.upload(name, new ByteArrayInputStream(new byte[1]), 1, null, false), name);
+        }
+    }
+
+    @Test
+    void initDeletesTempFilesAndSumsTheUsedBytes() throws Exception {
+        byte[] data = data(3 * KB);
+        service.upload("kept.bin", new ByteArrayInputStream(data), data.length, null, false);
+        Files.write(uploadDir.resolve(".upload-crash.tmp"), data(KB));
+        service.init();
+        assertEquals(data.length, service.getUsedBytes());
+        assertNoTempFiles();
+    }
+
+    private void assertNoTempFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir, ".upload-*")) {
+            assertFalse(files.iterator().hasNext(), "Temp File left in the Upload Directory");
+        }
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        return data;
+    }
+
+    private static String sha256Hex(byte[] data) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for(byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// JUnit
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+// Java
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mapped File Cursor: Records across the Window Boundaries
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class MappedFileCursorTest {
+
+    private static final int WINDOW = MappedFileCursor.MIN_WINDOW_SIZE;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void linesAcrossWindows() throws IOException {
+        List<String> expected = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; sb.length() < 5 * WINDOW; i++) {
+            String line = "line-" + i + "-ü€";
+            expected.add(line);
+            sb.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        // Line longer than the Window
+        StringBuilder longLine = new StringBuilder();
+        for(int i = 0; i < 2 * WINDOW + 17; i++) {
+            longLine.append((char) ('a' + i % 26));
+        }
+        expected.add(longLine.toString());
+        sb.append(longLine).append('\n');
+        expected.add("");
+        sb.append('\n');
+        // Last Line without the Line Feed
+        expected.add("last");
+        sb.append("last");
+        Path file = write(sb.toString());
+
+        List<String> lines = new ArrayList<>();
+        try (MappedFileCursor cursor = MappedFileCursor.open(file, WINDOW)) {
+            while(cursor.nextLine()) {
+                lines.add(cursor.recordAsString());
+            }
+            assertEquals(cursor.size(), cursor.position());
+            assertTrue(cursor.getWindowsMapped() > 1);
+            assertFalse(cursor.nextLine());
+        }
+        assertEquals(expected, lines);
+    }
+
+    @Test
+    void fixedLengthRecords() throws IOException {
+        byte[] data = new byte[3 * WINDOW + 100];
+        for(int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Path file = tempDir.resolve("records.bin");
+        Files.write(file, data);
+
+        int length = 1000;
+        long total = 0;
+        int records = 0;
+        try (MappedFileCursor cursor = MappedFileCursor.open(file, WINDOW)) {
+            while(cursor.nextRecord(length)) {
+                assertEquals((long) records * length, cursor.recordPosition());
+                for(int i = 0; i < cursor.recordLength(); i++) {
+                    assertEquals(data[(int) cursor.recordPosition() + i], cursor.recordByte(i));
+                }
+                total += cursor.recordLength();
+                records++;
+            }
+        }
+        assertEquals(data.length, total);
+        assertEquals((data.length + length - 1) / length, records);
+    }
+
+    @Test
+    void positionAndEmptyFile() throws IOException {
+        Path file = write("first\nsecond\nthird\n");
+        try (MappedFileCursor cursor = MappedFileCursor.open(file, WINDOW)) {
+            cursor.position(6);
+            assertTrue(cursor.nextLine());
+            assertEquals("second", cursor.recordAsString());
+        }
+        try (MappedFileCursor cursor = MappedFileCursor.open(write(""), WINDOW)) {
+            assertFalse(cursor.nextLine());
+        }
+    }
+
+    @Test
+    void invalidWindowSizeIsRejected() throws IOException {
+        Path file = write("line\n");
+        assertThrows(IllegalArgumentException.class, () -> MappedFileCursor.open(file, WINDOW - 1));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "cursor", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
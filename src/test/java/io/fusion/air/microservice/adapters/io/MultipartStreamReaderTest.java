@@ -0,0 +1,203 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Multipart Stream Reader: Parts, Headers and Boundaries split across Reads
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class MultipartStreamReaderTest {
+
+    private static final String BOUNDARY = "----FusionBoundary7MA4YWxk";
+
+    @Test
+    void boundaryIsReadFromTheContentType() {
+        assertEquals(BOUNDARY, MultipartStreamReader.boundary("multipart/form-data; boundary="+BOUNDARY));
+        assertEquals("a b", MultipartStreamReader.boundary("Multipart/Form-Data; charset=UTF-8; boundary=\"a b\""));
+        assertNull(MultipartStreamReader.boundary("application/octet-stream"));
+        assertNull(MultipartStreamReader.boundary(null));
+    }
+
+    @Test
+    void fieldAndFilePartsAreRead() throws IOException {
+        byte[] file = data(20 * 1024);
+        byte[] body = body(file);
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY, 8 * 1024);
+        assertTrue(reader.nextPart());
+        assertEquals("description", reader.getFieldName());
+        assertNull(reader.getFileName());
+        assertEquals("Monthly Report", new String(readAll(reader.getPartStream()), StandardCharsets.UTF_8));
+
+        assertTrue(reader.nextPart());
+        assertEquals("file", reader.getFieldName());
+        assertEquals("report.bin", reader.getFileName());
+        assertEquals("application/octet-stream", reader.getContentType());
+        assertArrayEquals(file, readAll(reader.getPartStream()));
+        assertFalse(reader.nextPart());
+        assertFalse(reader.nextPart());
+    }
+
+    @Test
+    void delimiterSplitAcrossTwoReads() throws IOException {
+        byte[] file = data(10 * 1024);
+        byte[] body = body(file);
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        // Every Delimiter (CR LF -- Boundary) of the File Part cut in the middle, and in every other Position
+        int fileEnd = text.indexOf("\r\n--"+BOUNDARY, text.indexOf("report.bin"));
+        int[] splits = { fileEnd + 1, fileEnd + 4, fileEnd + 10, fileEnd + BOUNDARY.length() + 3 };
+        for(int split : splits) {
+            assertFilePart(file, new SplitInputStream(body, split));
+        }
+        for(int chunk : new int[] { 1, 3, 7, 61, 4099 }) {
+            assertFilePart(file, new TrickleInputStream(body, chunk));
+        }
+    }
+
+    @Test
+    void bodyWithAPartialDelimiterIsNotCut() throws IOException {
+        // The Body has the Delimiter without the last Char of the Boundary
+        String partial = "\r\n--"+BOUNDARY.substring(0, BOUNDARY.length() - 1)+"X";
+        byte[] file = ("start"+partial+"end\r\n--").getBytes(StandardCharsets.ISO_8859_1);
+        for(int chunk : new int[] { 1, 5, 4096 }) {
+            assertFilePart(file, new TrickleInputStream(body(file), chunk));
+        }
+    }
+
+    @Test
+    void fileNamePathIsRemoved() throws IOException {
+        String body = "--"+BOUNDARY+"\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"C:\\\\Users\\\\me\\\\notes.txt\"\r\n\r\n"
+                + "notes\r\n--"+BOUNDARY+"--\r\n";
+        MultipartStreamReader reader = reader(body.getBytes(StandardCharsets.ISO_8859_1));
+        assertTrue(reader.nextPart());
+        assertEquals("notes.txt", reader.getFileName());
+    }
+
+    @Test
+    void streamWithoutTheClosingBoundaryFails() {
+        String body = "--"+BOUNDARY+"\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"cut.bin\"\r\n\r\n"
+                + "the client went away";
+        MultipartStreamReader reader = reader(body.getBytes(StandardCharsets.ISO_8859_1));
+        assertThrows(EOFException.class, () -> {
+            assertTrue(reader.nextPart());
+            readAll(reader.getPartStream());
+        });
+    }
+
+    private void assertFilePart(byte[] file, InputStream in) throws IOException {
+        MultipartStreamReader reader = new MultipartStreamReader(in, BOUNDARY, 8 * 1024);
+        while(reader.nextPart()) {
+            if(reader.getFileName() != null) {
+                assertArrayEquals(file, readAll(reader.getPartStream()));
+                assertFalse(reader.nextPart());
+                return;
+            }
+        }
+        throw new AssertionError("No File Part");
+    }
+
+    private static MultipartStreamReader reader(byte[] body) {
+        return new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY, 8 * 1024);
+    }
+
+    private static byte[] body(byte[] file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("preamble\r\n--"+BOUNDARY+"\r\n"
+                + "Content-Disposition: form-data; name=\"description\"\r\n\r\n"
+                + "Monthly Report\r\n--"+BOUNDARY+"\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"report.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.write(file);
+        out.write(("\r\n--"+BOUNDARY+"--\r\nepilogue").getBytes(StandardCharsets.ISO_8859_1));
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1000];
+        int read;
+        while((read = in.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; i++) {
+            // Includes CR, LF and '-'
+            data[i] = (byte) (i * 13);
+        }
+        return data;
+    }
+
+    /**
+     * Returns the first Bytes up to the Split in one Read and the rest in the next Reads
+     */
+    private static final class SplitInputStream extends ByteArrayInputStream {
+        private final int split;
+
+        SplitInputStream(byte[] data, int _split) {
+            super(data);
+            split = _split;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            if(pos < split) {
+                len = Math.min(len, split - pos);
+            }
+            return super.read(b, off, len);
+        }
+    }
+
+    /**
+     * Returns at most chunk Bytes per Read
+     */
+    private static final class TrickleInputStream extends ByteArrayInputStream {
+        private final int chunk;
+
+        TrickleInputStream(byte[] data, int _chunk) {
+            super(data);
+            chunk = _chunk;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, chunk));
+        }
+    }
+}
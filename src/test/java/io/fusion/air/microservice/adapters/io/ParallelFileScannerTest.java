@@ -0,0 +1,140 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// Custom
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+// JUnit
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+// Java
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Parallel File Scanner: Counts must not depend on the Segment Boundaries
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class ParallelFileScannerTest {
+
+    private static final String NEEDLE = "needle";
+
+    @TempDir
+    Path tempDir;
+
+    private final ParallelFileScanner scanner = new ParallelFileScanner(4, new DirectBufferPool());
+
+    @AfterEach
+    void tearDown() {
+        scanner.shutdown();
+    }
+
+    @Test
+    void countsMatchASequentialScan() throws IOException {
+        String content = content(false);
+        Path file = write(content);
+        FileScanStats stats = scanner.scan(file.toString(), ParallelFileScanner.MIN_SEGMENT_SIZE,
+                LineFunction.contains(NEEDLE.getBytes(StandardCharsets.UTF_8)));
+
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, stats.getBytes());
+        assertEquals(content.chars().filter(c -> c == '\n').count(), stats.getLines());
+        assertEquals(content.codePointCount(0, content.length()), stats.getCodePoints());
+        assertEquals(matchingLines(content), stats.getLineFunctionResult());
+        assertEquals((bytes.length + ParallelFileScanner.MIN_SEGMENT_SIZE - 1) / ParallelFileScanner.MIN_SEGMENT_SIZE,
+                stats.getSegments());
+    }
+
+    @Test
+    void lastLineWithoutTerminatorIsMatched() throws IOException {
+        String content = content(true);
+        Path file = write(content);
+        FileScanStats stats = scanner.scan(file.toString(), ParallelFileScanner.MIN_SEGMENT_SIZE,
+                LineFunction.contains(NEEDLE.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(matchingLines(content), stats.getLineFunctionResult());
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+        Path file = write("");
+        FileScanStats stats = scanner.scan(file.toString(), ParallelFileScanner.MIN_SEGMENT_SIZE);
+        assertEquals(0, stats.getSegments());
+        assertEquals(0, stats.getBytes());
+    }
+
+    @Test
+    void invalidSegmentSizeIsRejected() throws IOException {
+        Path file = write("line\n");
+        assertThrows(InvalidInputException.class,
+                () -> scanner.scan(file.toString(), ParallelFileScanner.MIN_SEGMENT_SIZE - 1));
+        assertThrows(InvalidInputException.class,
+                () -> scanner.scan(file.toString(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Lines of random Length (Multi Byte Characters, CRLF, a Line longer than a Segment)
+     * @param unterminated Last Line without the Line Feed (contains the Needle)
+     * @return
+     */
+    private static String content(boolean unterminated) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        while(sb.length() < 600_000) {
+            int length = random.nextInt(200);
+            for(int i = 0; i < length; i++) {
+                sb.append(i % 37 == 0 ? 'é' : (char) ('a' + random.nextInt(26)));
+            }
+            if(random.nextInt(5) == 0) {
+                sb.append(NEEDLE);
+            }
+            sb.append(random.nextInt(10) == 0 ? "\r\n" : "\n");
+        }
+        // Line longer than a Segment
+        for(int i = 0; i < 3 * ParallelFileScanner.MIN_SEGMENT_SIZE; i++) {
+            sb.append('x');
+        }
+        sb.append(NEEDLE).append('\n').append("€ after the long line\n");
+        if(unterminated) {
+            sb.append("last ").append(NEEDLE);
+        }
+        return sb.toString();
+    }
+
+    private static long matchingLines(String content) {
+        long count = 0;
+        for(String line : content.split("\n")) {
+            if(line.contains(NEEDLE)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("scan.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.io;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * UTF-8 Scanner: Counts and Lines across the Chunk Boundaries
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class Utf8ScannerTest {
+
+    @Test
+    void multiByteSequenceSplitAcrossChunks() {
+        String text = "aé€😀\nb";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        // Every Chunk Size splits the Sequences differently
+        for(int chunk = 1; chunk <= bytes.length; chunk++) {
+            Utf8Scanner scanner = new Utf8Scanner();
+            for(ByteBuffer buffer : chunks(bytes, chunk)) {
+                scanner.scan(buffer);
+            }
+            scanner.finish();
+            assertEquals(text.codePointCount(0, text.length()), scanner.getCodePoints(), "Chunk "+chunk);
+            assertEquals(1, scanner.getLines());
+            assertEquals(0, scanner.getMalformed());
+            assertEquals(bytes.length, scanner.getBytes());
+        }
+    }
+
+    @Test
+    void malformedSequences() {
+        byte[] bytes = {'a', (byte) 0x80, (byte) 0xC0, (byte) 0xE2, (byte) 0x82, 'b', (byte) 0xE2};
+        Utf8Scanner scanner = new Utf8Scanner().scan(ByteBuffer.wrap(bytes)).finish();
+        // a, Stray Continuation, C0, Truncated E2 82, b, Truncated E2 at the End
+        assertEquals(6, scanner.getCodePoints());
+        assertEquals(4, scanner.getMalformed());
+    }
+
+    @Test
+    void overlongForms() {
+        // E0 80 - 9F (below U+0800), F0 80 - 8F (below U+10000)
+        assertSameAsDecoder(0xE0, 0x80, 0x80);
+        assertSameAsDecoder(0xE0, 0x9F, 0xBF);
+        assertSameAsDecoder(0xF0, 0x80, 0x80, 0x80);
+        assertSameAsDecoder(0xF0, 0x8F, 0xBF, 0xBF);
+        // Lowest valid Values
+        assertSameAsDecoder(0xE0, 0xA0, 0x80);
+        assertSameAsDecoder(0xF0, 0x90, 0x80, 0x80);
+    }
+
+    @Test
+    void surrogates() {
+        // ED A0 - BF (U+D800 - U+DFFF)
+        assertSameAsDecoder(0xED, 0xA0, 0x80);
+        assertSameAsDecoder(0xED, 0xBF, 0xBF);
+        assertSameAsDecoder(0xED, 0xA0, 'a');
+        // U+D7FF is valid
+        assertSameAsDecoder(0xED, 0x9F, 0xBF);
+    }
+
+    @Test
+    void aboveMaxCodePoint() {
+        // F4 90 - BF (above U+10FFFF)
+        assertSameAsDecoder(0xF4, 0x90, 0x80, 0x80);
+        assertSameAsDecoder(0xF4, 0xBF, 0xBF, 0xBF);
+        // U+10FFFF is valid
+        assertSameAsDecoder(0xF4, 0x8F, 0xBF, 0xBF);
+    }
+
+    @Test
+    void truncatedRestrictedSequences() {
+        assertSameAsDecoder(0xE0, 0xA0, 'a');
+        assertSameAsDecoder(0xF0, 0x90, 'a');
+        assertSameAsDecoder(0xF0, 0x90, 0x80, 'a');
+        assertSameAsDecoder(0xF0, 0x90);
+        assertSameAsDecoder('a', 0xE0);
+    }
+
+    @Test
+    void lineSpanningTwoChunksIsPassedOnce() {
+        byte[] bytes = "first\nsecond line is long\nthird".getBytes(StandardCharsets.UTF_8);
+        // Split in the middle of the second Line
+        List<String> lines = scanLines(bytes, 10);
+        assertEquals(Arrays.asList("first", "second line is long", "third"), lines);
+    }
+
+    @Test
+    void linesForEveryChunkSize() {
+        String text = "alpha\n\nβeta €\r\n" + repeat('x', 700) + "\nlast";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        List<String> expected = Arrays.asList(text.split("\n", -1));
+        for(int chunk = 1; chunk <= bytes.length; chunk += 7) {
+            assertEquals(expected, scanLines(bytes, chunk), "Chunk "+chunk);
+        }
+    }
+
+    @Test
+    void noLastLineAfterTheFinalLineFeed() {
+        byte[] bytes = "one\ntwo\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("one", "two"), scanLines(bytes, 3));
+    }
+
+    /**
+     * The Scanner counts the same Code Points and Malformed Sequences (Replacement Characters)
+     * as the JDK UTF-8 Decoder for every Chunk Size
+     * @param values
+     */
+    private static void assertSameAsDecoder(int... values) {
+        byte[] bytes = new byte[values.length];
+        for(int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        String decoded = new String(bytes, StandardCharsets.UTF_8);
+        for(int chunk = 1; chunk <= bytes.length; chunk++) {
+            Utf8Scanner scanner = new Utf8Scanner();
+            for(ByteBuffer buffer : chunks(bytes, chunk)) {
+                scanner.scan(buffer);
+            }
+            scanner.finish();
+            String message = Arrays.toString(values)+" Chunk "+chunk;
+            assertEquals(decoded.codePointCount(0, decoded.length()), scanner.getCodePoints(), message);
+            assertEquals(decoded.chars().filter(c -> c == 0xFFFD).count(), scanner.getMalformed(), message);
+        }
+    }
+
+    /**
+     * Scan the Lines in Chunks (Lines are decoded by the Handler)
+     * @param bytes
+     * @param chunk
+     * @return
+     */
+    private static List<String> scanLines(byte[] bytes, int chunk) {
+        List<String> lines = new ArrayList<>();
+        Utf8Scanner.LineHandler handler = (buffer, start, end) -> {
+            byte[] line = new byte[end - start];
+            for(int i = start; i < end; i++) {
+                line[i - start] = buffer.get(i);
+            }
+            lines.add(new String(line, StandardCharsets.UTF_8));
+        };
+        Utf8Scanner scanner = new Utf8Scanner();
+        for(ByteBuffer buffer : chunks(bytes, chunk)) {
+            scanner.scanLines(buffer, handler);
+        }
+        scanner.finish(handler);
+        return lines;
+    }
+
+    /**
+     * Split the Bytes into Direct Buffers (Chunks)
+     * @param bytes
+     * @param size
+     * @return
+     */
+    private static List<ByteBuffer> chunks(byte[] bytes, int size) {
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for(int i = 0; i < bytes.length; i += size) {
+            int length = Math.min(size, bytes.length - i);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+            buffer.put(bytes, i, length).flip();
+            chunks.add(buffer);
+        }
+        return chunks;
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
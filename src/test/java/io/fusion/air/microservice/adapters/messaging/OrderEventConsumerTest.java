@@ -0,0 +1,309 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.messaging;
+// Custom
+import io.fusion.air.microservice.adapters.repository.ProcessedEventRepository;
+import io.fusion.air.microservice.domain.entities.outbox.ProcessedEventEntity;
+import io.fusion.air.microservice.domain.events.InboundOrderEvent;
+import io.fusion.air.microservice.domain.exceptions.InvalidInputException;
+import io.fusion.air.microservice.domain.ports.services.OrderService;
+import io.fusion.air.microservice.server.config.KafkaConfig;
+import io.fusion.air.microservice.server.config.KafkaSetup;
+// Kafka
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.serialization.StringDeserializer;
+// Micrometer
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+// JUnit
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+// Java
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order Event Consumer (Batch Listener) against an Embedded Kafka Broker
+ * Order Service and the Processed Events (Inbox) are mocked. The Listener Container is the real
+ * Batch Listener (KafkaSetup) with Manual Offset Commits.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@SpringJUnitConfig(classes = { KafkaConfig.class, KafkaSetup.class, OrderEventConsumer.class,
+        OrderEventConsumerTest.TestConfig.class })
+@EmbeddedKafka(partitions = 3, topics = { OrderEventConsumerTest.TOPIC, OrderEventConsumerTest.DEAD_LETTER_TOPIC })
+@TestPropertySource(properties = {
+        "kafka.bootstrap.servers=${spring.embedded.kafka.brokers}",
+        "kafka.consumer.enabled=true",
+        "kafka.consumer.topic=" + OrderEventConsumerTest.TOPIC,
+        "kafka.consumer.group.id=" + OrderEventConsumerTest.GROUP,
+        "kafka.consumer.concurrency=3",
+        "kafka.consumer.micro.batch.size=2",
+        "kafka.consumer.dead.letter.topic=" + OrderEventConsumerTest.DEAD_LETTER_TOPIC
+})
+class OrderEventConsumerTest {
+
+    static final String TOPIC = "order-inbound-events-test";
+    static final String GROUP = "order-events-test";
+    static final String DEAD_LETTER_TOPIC = "order-inbound-events-test.DLT";
+
+    private static final int PARTITIONS = 3;
+    private static final long TIMEOUT_MS = 30000;
+
+    @Configuration
+    @EnableKafka
+    static class TestConfig {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private ProcessedEventRepository processedEventRepository;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    /**
+     * Wait till every Consumer has its Partition (a Rebalance redelivers the Batch in Progress)
+     */
+    @BeforeEach
+    void waitForAssignment() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        for(MessageListenerContainer container : registry.getListenerContainers()) {
+            for(MessageListenerContainer consumer : ((ConcurrentMessageListenerContainer<?, ?>) container).getContainers()) {
+                while(assigned(consumer) != 1 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(100);
+                }
+                assertEquals(1, assigned(consumer), "One Partition per Consumer");
+            }
+        }
+    }
+
+    /**
+     * Returns the No. of Partitions assigned to the Consumer
+     * @param _consumer
+     * @return
+     */
+    private static int assigned(MessageListenerContainer _consumer) {
+        Collection<?> partitions = _consumer.getAssignedPartitions();
+        return (partitions != null) ? partitions.size() : 0;
+    }
+
+    @Test
+    void batchesAreDedupedValidatedAndCommitted() throws Exception {
+        long committedBefore = committedOffsets();
+        List<InboundOrderEvent> received = Collections.synchronizedList(new ArrayList<>());
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        when(orderService.handleEvents(anyList())).thenAnswer(i -> {
+            List<InboundOrderEvent> events = i.getArgument(0);
+            received.addAll(events);
+            return events.size();
+        });
+        when(processedEventRepository.findProcessedIds(anyCollection())).thenAnswer(i -> {
+            List<String> found = new ArrayList<>();
+            for(Object id : i.getArgument(0, Collection.class)) {
+                if(processed.contains(id)) {
+                    found.add((String) id);
+                }
+            }
+            return found;
+        });
+        when(processedEventRepository.saveAll(anyIterable())).thenAnswer(i -> {
+            for(Object event : i.getArgument(0, Iterable.class)) {
+                processed.add(((ProcessedEventEntity) event).getEventId());
+            }
+            return i.getArgument(0);
+        });
+
+        String longId = String.join("", Collections.nCopies(ProcessedEventEntity.MAX_EVENT_ID_LENGTH + 1, "x"));
+        List<String> order1 = Arrays.asList("o1-e1", "o1-e2", "o1-e3", "o1-e4");
+        List<String> order2 = Arrays.asList("o2-e1", "o2-e2");
+        int sent = 0;
+        for(int i = 0; i < order1.size(); i++) {
+            send("order-1", event(order1.get(i), "order-1"));
+            sent++;
+            if(i < order2.size()) {
+                send("order-2", event(order2.get(i), "order-2"));
+                sent++;
+            }
+        }
+        send("order-1", event("o1-e2", "order-1"));         // Duplicate (Redelivery)
+        send("order-2", event(longId, "order-2"));          // Event ID too long for the Inbox
+        send("order-2", "{ Invalid JSON");                   // Invalid Payload
+        sent += 3;
+        kafkaTemplate.flush();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while(committedOffsets() < committedBefore + sent && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+        }
+        assertEquals(committedBefore + sent, committedOffsets(),
+                "Offsets committed for every Record (Incl. the Invalid ones)");
+
+        List<String> ids1 = new ArrayList<>();
+        List<String> ids2 = new ArrayList<>();
+        synchronized (received) {
+            for(InboundOrderEvent event : received) {
+                (event.getOrderId().equals("order-1") ? ids1 : ids2).add(event.getId());
+            }
+        }
+        // Per Order Ordering preserved, Duplicate applied once, Invalid Events skipped
+        assertEquals(order1, ids1);
+        assertEquals(order2, ids2);
+        assertFalse(processed.contains(longId));
+        assertTrue(processed.containsAll(order1) && processed.containsAll(order2));
+    }
+
+    @Test
+    void failedBatchesGoToTheDeadLetterTopic() throws Exception {
+        long committedBefore = committedOffsets();
+        Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        when(processedEventRepository.findProcessedIds(anyCollection())).thenReturn(Collections.emptyList());
+        when(orderService.handleEvents(anyList())).thenAnswer(i -> {
+            List<InboundOrderEvent> events = i.getArgument(0);
+            for(InboundOrderEvent event : events) {
+                attempts.computeIfAbsent(event.getId(), id -> new AtomicInteger()).incrementAndGet();
+                if(event.getOrderId().equals("order-invalid")) {
+                    throw new InvalidInputException("Invalid Order Event "+event.getId());
+                }
+                if(event.getOrderId().equals("order-db-down")) {
+                    throw new IllegalStateException("Database down");
+                }
+            }
+            return events.size();
+        });
+        try (Consumer<String, String> deadLetters = deadLetterConsumer()) {
+            // Invalid Data is NOT retried
+            send("order-invalid", event("invalid-e1", "order-invalid"));
+            kafkaTemplate.flush();
+            ConsumerRecord<String, String> record = KafkaTestUtils.getSingleRecord(deadLetters, DEAD_LETTER_TOPIC,
+                    TIMEOUT_MS);
+            assertEquals("order-invalid", record.key());
+            assertTrue(record.value().contains("invalid-e1"));
+            assertEquals(1, attempts.get("invalid-e1").get());
+
+            // Failures are retried (3 Retries) and then sent to the Dead Letter Topic (NOT dropped)
+            send("order-db-down", event("db-down-e1", "order-db-down"));
+            kafkaTemplate.flush();
+            record = KafkaTestUtils.getSingleRecord(deadLetters, DEAD_LETTER_TOPIC, TIMEOUT_MS);
+            assertEquals("order-db-down", record.key());
+            assertTrue(record.value().contains("db-down-e1"));
+            assertEquals(4, attempts.get("db-down-e1").get());
+        }
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while(committedOffsets() < committedBefore + 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+        }
+        assertEquals(committedBefore + 2, committedOffsets(), "Offsets committed after the Dead Letter");
+    }
+
+    /**
+     * Returns a Consumer of the Dead Letter Topic
+     * @return
+     */
+    private Consumer<String, String> deadLetterConsumer() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("dead-letter-test", "false", broker);
+        Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new StringDeserializer()).createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, DEAD_LETTER_TOPIC);
+        return consumer;
+    }
+
+    /**
+     * Send the Event keyed by the Order ID
+     * @param _orderId
+     * @param _payload
+     */
+    private void send(String _orderId, String _payload) {
+        kafkaTemplate.send(TOPIC, _orderId, _payload);
+    }
+
+    /**
+     * Returns the Inbound Order Event (JSON)
+     * @param _eventId
+     * @param _orderId
+     * @return
+     */
+    private static String event(String _eventId, String _orderId) {
+        return "{\"id\":\"" + _eventId + "\",\"name\":\"CREDIT_APPROVED_EVENT\","
+                + "\"orderId\":\"" + _orderId + "\",\"customerId\":\"customer-1\"}";
+    }
+
+    /**
+     * Returns the Sum of the Committed Offsets of the Consumer Group
+     * @return
+     * @throws Exception
+     */
+    private long committedOffsets() throws Exception {
+        long committed = 0;
+        for(int partition = 0; partition < PARTITIONS; partition++) {
+            OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, TOPIC,
+                    partition);
+            committed += (offset != null) ? offset.offset() : 0;
+        }
+        return committed;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.messaging;
+// Custom
+import io.fusion.air.microservice.adapters.repository.OutboxRepository;
+import io.fusion.air.microservice.domain.entities.outbox.OutboxEventEntity;
+import io.fusion.air.microservice.server.config.KafkaConfig;
+import io.fusion.air.microservice.server.config.KafkaSetup;
+// Kafka
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+// Micrometer
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+// Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outbox Relay against an Embedded Kafka Broker
+ * The Outbox Repository is mocked, the Producer is the real Idempotent / Compressed Producer (KafkaSetup).
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@SpringJUnitConfig(classes = { KafkaConfig.class, KafkaSetup.class, OutboxRelayService.class,
+        OutboxRelayServiceTest.TestConfig.class })
+@EmbeddedKafka(partitions = 3, topics = OutboxRelayServiceTest.TOPIC)
+@TestPropertySource(properties = {
+        "kafka.bootstrap.servers=${spring.embedded.kafka.brokers}",
+        "kafka.outbox.relay.enabled=true",
+        "kafka.outbox.relay.batch.size=2",
+        "kafka.outbox.topic=" + OutboxRelayServiceTest.TOPIC
+})
+class OutboxRelayServiceTest {
+
+    static final String TOPIC = "order-events-relay-test";
+
+    @Configuration
+    static class TestConfig {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private OutboxRepository outboxRepository;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxRelayService relay;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    void relayPublishesBatchesAndDeletesInBulk() {
+        OutboxEventEntity e1 = event(1L, "order-1", "CREDIT_CHECKING_EVENT");
+        OutboxEventEntity e2 = event(2L, "order-2", "CREDIT_CHECKING_EVENT");
+        OutboxEventEntity e3 = event(3L, "order-1", "CREDIT_APPROVED_EVENT");
+        when(outboxRepository.findPendingForUpdate(any(Pageable.class)))
+                .thenReturn(Arrays.asList(e1, e2))
+                .thenReturn(Collections.singletonList(e3))
+                .thenReturn(Collections.emptyList());
+        when(outboxRepository.deleteByIds(anyCollection())).thenAnswer(i -> i.getArgument(0, List.class).size());
+
+        relay.relay();
+
+        // Batch Size = 2 : Full Batch, then a Partial Batch (Drain stops)
+        verify(outboxRepository).deleteByIds(Arrays.asList(1L, 2L));
+        verify(outboxRepository).deleteByIds(Collections.singletonList(3L));
+
+        List<ConsumerRecord<String, String>> records = consume(3);
+        assertEquals(3, records.size());
+        List<String> order1Events = new ArrayList<>();
+        for(ConsumerRecord<String, String> record : records) {
+            String eventId = new String(record.headers().lastHeader(OutboxRelayService.HEADER_EVENT_ID).value(),
+                    StandardCharsets.UTF_8);
+            assertEquals("event-" + record.value(), eventId);
+            if("order-1".equals(record.key())) {
+                order1Events.add(new String(record.headers().lastHeader(OutboxRelayService.HEADER_EVENT_TYPE).value(),
+                        StandardCharsets.UTF_8));
+            }
+        }
+        // Keyed by the Aggregate ID : Same Partition, Outbox Order preserved
+        assertEquals(Arrays.asList("CREDIT_CHECKING_EVENT", "CREDIT_APPROVED_EVENT"), order1Events);
+    }
+
+    @Test
+    void emptyOutboxPublishesNothing() {
+        when(outboxRepository.findPendingForUpdate(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        relay.relay();
+
+        verify(outboxRepository, never()).deleteByIds(anyCollection());
+    }
+
+    /**
+     * Create an Outbox Event (Payload = ID, Event ID = event-ID)
+     * @param _id
+     * @param _aggregateId
+     * @param _type
+     * @return
+     */
+    private static OutboxEventEntity event(long _id, String _aggregateId, String _type) {
+        OutboxEventEntity event = new OutboxEventEntity("event-" + _id, "Order", _aggregateId, _type, TOPIC,
+                String.valueOf(_id));
+        ReflectionTestUtils.setField(event, "id", _id);
+        return event;
+    }
+
+    /**
+     * Read the Records from the Beginning of the Topic
+     * @param _count
+     * @return
+     */
+    private List<ConsumerRecord<String, String>> consume(int _count) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("relay-test", "false", broker);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(30), _count);
+            List<ConsumerRecord<String, String>> result = new ArrayList<>();
+            records.forEach(result::add);
+            result.sort((r1, r2) -> Long.compare(r1.offset(), r2.offset()));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.metrics;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Request Cost Recorder: Power of 2 Histograms (P50, P99, Max) and the OTHER Handler
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class RequestCostRecorderTest {
+
+    private static final String HANDLER = "GET /api/v1/order";
+
+    @Test
+    void percentilesAreTheUpperBoundOfTheBucket() {
+        RequestCostRecorder recorder = new RequestCostRecorder(true, 8);
+        // 98 x 100 Bytes (Bucket 64 - 127), 1 x 5000 (Bucket 4096 - 8191), 1 x 1 MB
+        for(int i = 0; i < 98; i++) {
+            recorder.recordCost(HANDLER, 100, 1_000);
+        }
+        recorder.recordCost(HANDLER, 5_000, 1_000);
+        recorder.recordCost(HANDLER, 1_000_000, 1_000);
+
+        RequestCost cost = cost(recorder, HANDLER);
+        assertEquals(100, cost.getRequests());
+        assertEquals(98 * 100 + 5_000 + 1_000_000, cost.getAllocatedBytes());
+        assertEquals((98 * 100 + 5_000 + 1_000_000) / 100, cost.getAllocatedMean());
+        assertEquals(127, cost.getAllocatedP50());
+        assertEquals(8191, cost.getAllocatedP99());
+        assertEquals(1_000_000, cost.getAllocatedMax());
+        assertEquals(100.0, cost.getAllocatedShare());
+    }
+
+    @Test
+    void percentilesAreCappedAtTheMax() {
+        RequestCostRecorder recorder = new RequestCostRecorder(true, 8);
+        recorder.recordCost(HANDLER, 100, 0);
+        RequestCost cost = cost(recorder, HANDLER);
+        // Bucket 64 - 127, but nothing above 100 was recorded
+        assertEquals(100, cost.getAllocatedP50());
+        assertEquals(100, cost.getAllocatedP99());
+        assertEquals(100, cost.getAllocatedMax());
+        // Zero is Bucket 0
+        assertEquals(0, cost.getCpuTimeP50());
+        assertEquals(0, cost.getCpuTimeMax());
+    }
+
+    @Test
+    void notSupportedValuesAreIgnored() {
+        RequestCostRecorder recorder = new RequestCostRecorder(true, 8);
+        recorder.recordCost(HANDLER, RequestCostRecorder.NOT_SUPPORTED, 2_000);
+        RequestCost cost = cost(recorder, HANDLER);
+        assertEquals(1, cost.getRequests());
+        assertEquals(RequestCostRecorder.NOT_SUPPORTED, cost.getAllocatedP50());
+        assertEquals(RequestCostRecorder.NOT_SUPPORTED, cost.getAllocatedMax());
+        assertEquals(2_000, cost.getCpuTimeP99());
+        assertEquals(2_000, cost.getCpuTimeMax());
+    }
+
+    @Test
+    void handlersAboveTheMaxAreRecordedUnderOther() {
+        RequestCostRecorder recorder = new RequestCostRecorder(true, 2);
+        recorder.recordCost("GET /a", 10, 10);
+        recorder.recordCost("GET /b", 10, 10);
+        recorder.recordCost("GET /c", 10, 10);
+        recorder.recordCost("GET /d", 10, 10);
+        // Known Handlers keep their own Cost
+        recorder.recordCost("GET /a", 10, 10);
+
+        assertEquals(3, recorder.snapshot().size());
+        assertEquals(2, cost(recorder, "GET /a").getRequests());
+        assertEquals(1, cost(recorder, "GET /b").getRequests());
+        assertEquals(2, cost(recorder, RequestCostRecorder.OTHER).getRequests());
+        assertNull(find(recorder, "GET /c"));
+        assertNull(find(recorder, "GET /d"));
+    }
+
+    @Test
+    void concurrentRecordsAreNotLost() throws Exception {
+        RequestCostRecorder recorder = new RequestCostRecorder(true, 8);
+        int threads = 8;
+        int records = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < threads; t++) {
+                long max = 1_000 + t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for(int i = 0; i < records; i++) {
+                        recorder.recordCost(HANDLER, i % 2 == 0 ? 1 : max, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        RequestCost cost = cost(recorder, HANDLER);
+        assertEquals((long) threads * records, cost.getRequests());
+        assertEquals((long) threads * records, cost.getCpuTimeNanos());
+        assertEquals(1_000 + threads - 1, cost.getAllocatedMax());
+        assertEquals(1, cost.getAllocatedP50());
+        assertEquals(1_000 + threads - 1, cost.getAllocatedP99());
+    }
+
+    @Test
+    void topHandlersAreSortedByCost() {
+        RequestCostRecorder recorder = new RequestCostRecorder(true, 8);
+        recorder.recordCost("GET /small", 100, 300);
+        recorder.recordCost("GET /large", 300, 100);
+        assertEquals("GET /large", recorder.topAllocators(1).get(0).getHandler());
+        assertEquals("GET /small", recorder.topCpuConsumers(1).get(0).getHandler());
+        assertEquals(75.0, recorder.topAllocators(2).get(0).getAllocatedShare());
+        assertTrue(recorder.topAllocators(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new RequestCostRecorder(true, 0));
+    }
+
+    private static RequestCost cost(RequestCostRecorder _recorder, String _handler) {
+        RequestCost cost = find(_recorder, _handler);
+        assertNotNull(cost, _handler);
+        return cost;
+    }
+
+    private static RequestCost find(RequestCostRecorder _recorder, String _handler) {
+        for(RequestCost cost : _recorder.snapshot()) {
+            if(cost.getHandler().equals(_handler)) {
+                return cost;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.service;
+// Custom
+import io.fusion.air.microservice.adapters.repository.OrderRepository;
+import io.fusion.air.microservice.domain.entities.order.OrderEntity;
+import io.fusion.air.microservice.domain.events.AppEvent;
+import io.fusion.air.microservice.domain.events.InboundOrderEvent;
+import io.fusion.air.microservice.domain.events.OrderDomainEvent;
+import io.fusion.air.microservice.domain.exceptions.BusinessServiceException;
+import io.fusion.air.microservice.domain.ports.services.OutboxService;
+import io.fusion.air.microservice.domain.statemachine.order.OrderEvent;
+import io.fusion.air.microservice.domain.statemachine.order.OrderResult;
+import io.fusion.air.microservice.domain.statemachine.order.OrderState;
+// Mockito
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+// Spring
+import org.springframework.test.util.ReflectionTestUtils;
+// JUnit
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Java
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order Events: Outbox Events are written ONLY when the Order State changes
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderServiceEventTest {
+
+    private static final String CUSTOMER_ID = "customer-1";
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private OrderEntity order;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        order = OrderEntity.builder().addCustomerId(CUSTOMER_ID).addCurrency("USD").build();
+        orderId = UUID.randomUUID();
+        ReflectionTestUtils.setField(order, "uuid", orderId);
+        lenient().when(orderRepository.findByCustomerIdAndOrderId(CUSTOMER_ID, orderId)).thenReturn(Optional.of(order));
+        lenient().when(orderRepository.save(any(OrderEntity.class))).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @Test
+    void stateTransitionWritesOutboxEvent() {
+        orderService.handleEvent(CUSTOMER_ID, orderId.toString(), OrderEvent.CREDIT_CHECKING_EVENT);
+        orderService.handleEvent(CUSTOMER_ID, orderId.toString(), OrderEvent.CREDIT_APPROVED_EVENT);
+
+        ArgumentCaptor<AppEvent> events = ArgumentCaptor.forClass(AppEvent.class);
+        verify(outboxService, times(2)).addEvent(eq(OrderDomainEvent.AGGREGATE_TYPE), eq(orderId.toString()),
+                events.capture());
+        assertEquals(OrderEvent.CREDIT_APPROVED_EVENT.name(), events.getAllValues().get(1).getName());
+        assertEquals(OrderState.CREDIT_APPROVED, order.getOrderState());
+        assertEquals(OrderResult.CREDIT_APPROVED, order.getResult());
+        assertEquals(2, order.getLastTransitionSeq());
+    }
+
+    @Test
+    void duplicateEventWritesNoOutboxEvent() {
+        orderService.handleEvent(CUSTOMER_ID, orderId.toString(), OrderEvent.CREDIT_CHECKING_EVENT);
+        orderService.handleEvent(CUSTOMER_ID, orderId.toString(), OrderEvent.CREDIT_CHECKING_EVENT);
+
+        verify(outboxService, times(1)).addEvent(anyString(), anyString(), any(AppEvent.class));
+        assertEquals(1, order.getLastTransitionSeq());
+    }
+
+    @Test
+    void illegalTransitionIsRejectedAndNotSaved() {
+        assertThrows(BusinessServiceException.class,
+                () -> orderService.handleEvent(CUSTOMER_ID, orderId.toString(), OrderEvent.ORDER_SHIPPED_EVENT));
+
+        verify(outboxService, never()).addEvent(anyString(), anyString(), any(AppEvent.class));
+        verify(orderRepository, never()).save(any(OrderEntity.class));
+        assertTrue(order.isInitialState());
+    }
+
+    @Test
+    void noEffectEventWritesNoOutboxEvent() {
+        orderService.handleEvent(CUSTOMER_ID, orderId.toString(), OrderEvent.PACKAGE_EVENT);
+
+        verify(outboxService, never()).addEvent(anyString(), anyString(), any(AppEvent.class));
+        verify(orderRepository, never()).save(any(OrderEntity.class));
+        assertTrue(order.isInitialState());
+    }
+
+    @Test
+    void resetOfInitialOrderWritesNoOutboxEvent() {
+        orderService.resetOrder(CUSTOMER_ID, orderId.toString());
+
+        verify(outboxService, never()).addEvent(anyString(), anyString(), any(AppEvent.class));
+    }
+
+    @Test
+    void resetAfterTransitionWritesOutboxEvent() {
+        orderService.handleEvent(CUSTOMER_ID, orderId.toString(), OrderEvent.CREDIT_CHECKING_EVENT);
+        orderService.resetOrder(CUSTOMER_ID, orderId.toString());
+
+        ArgumentCaptor<AppEvent> events = ArgumentCaptor.forClass(AppEvent.class);
+        verify(outboxService, times(2)).addEvent(eq(OrderDomainEvent.AGGREGATE_TYPE), eq(orderId.toString()),
+                events.capture());
+        assertEquals(OrderDomainEvent.ORDER_RESET, events.getAllValues().get(1).getName());
+        assertTrue(order.isInitialState());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchAppliesOnlyStateChanges() {
+        when(orderRepository.findAllById(anyIterable())).thenReturn(Collections.singletonList(order));
+        String id = orderId.toString();
+
+        int applied = orderService.handleEvents(Arrays.asList(
+                new InboundOrderEvent(OrderEvent.CREDIT_CHECKING_EVENT.name(), CUSTOMER_ID, id),
+                new InboundOrderEvent(OrderEvent.CREDIT_CHECKING_EVENT.name(), CUSTOMER_ID, id),
+                new InboundOrderEvent(OrderEvent.PACKAGE_EVENT.name(), CUSTOMER_ID, id),
+                new InboundOrderEvent(OrderEvent.ORDER_SHIPPED_EVENT.name(), CUSTOMER_ID, id),
+                new InboundOrderEvent(OrderEvent.CREDIT_APPROVED_EVENT.name(), CUSTOMER_ID, id),
+                new InboundOrderEvent(OrderEvent.CREDIT_APPROVED_EVENT.name(), "other-customer", id)));
+
+        assertEquals(2, applied);
+        verify(outboxService, times(2)).addEvent(anyString(), anyString(), any(AppEvent.class));
+        ArgumentCaptor<Iterable<OrderEntity>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(orderRepository).saveAll(saved.capture());
+        assertEquals(Collections.singletonList(order), new ArrayList<>((Collection<OrderEntity>) saved.getValue()));
+        assertEquals(OrderState.CREDIT_APPROVED, order.getOrderState());
+        assertEquals(2, order.getLastTransitionSeq());
+    }
+}
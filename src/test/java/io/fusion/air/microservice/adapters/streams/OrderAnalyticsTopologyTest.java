@@ -0,0 +1,180 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.adapters.streams;
+// Kafka
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+// JUnit
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+// Java
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Order Analytics Topology in the TopologyTestDriver (No Broker)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class OrderAnalyticsTopologyTest {
+
+    private static final String TOPIC = "order-events";
+    private static final Duration WINDOW = Duration.ofMinutes(60);
+    private static final Instant START = Instant.parse("2023-01-01T10:00:00Z");
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> input;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        OrderAnalyticsTopology.build(builder, TOPIC, WINDOW, Duration.ofMinutes(5), Duration.ofHours(24));
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "order-analytics-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("kafka-streams-test").toString());
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        driver = new TopologyTestDriver(builder.build(), props);
+        input = driver.createInputTopic(TOPIC, new StringSerializer(), new StringSerializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void revenueIsNetOfOrderUpdates() {
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "USD", "100.00", 1);
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "USD", "150.00", 2);
+        send("order-2", "customer-2", "ORDER_INITIALIZED", "USD", "50.00", 3);
+
+        assertEquals(new BigDecimal("200.00"), revenue("USD"));
+    }
+
+    @Test
+    void currencyChangeMovesTheRevenue() {
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "USD", "100.00", 1);
+        send("order-2", "customer-2", "ORDER_INITIALIZED", "USD", "40.00", 2);
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "EUR", "90.00", 3);
+
+        assertEquals(new BigDecimal("40.00"), revenue("USD"));
+        assertEquals(new BigDecimal("90.00"), revenue("EUR"));
+
+        // Back to USD : EUR is reversed again
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "USD", "100.00", 4);
+        assertEquals(new BigDecimal("140.00"), revenue("USD"));
+        assertEquals(0, revenue("EUR").signum());
+    }
+
+    @Test
+    void customerTotalsFollowTheCurrency() {
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "USD", "100.00", 1);
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "EUR", "90.00", 2);
+
+        KeyValueStore<String, BigDecimal> totals = driver.getKeyValueStore(OrderAnalyticsTopology.CUSTOMER_TOTAL_STORE);
+        assertEquals(0, totals.get(OrderAnalyticsTopology.customerKey("customer-1", "USD")).signum());
+        assertEquals(new BigDecimal("90.00"), totals.get(OrderAnalyticsTopology.customerKey("customer-1", "EUR")));
+    }
+
+    @Test
+    void customerKeysWithTheSeparatorDontCollide() {
+        assertNotEquals(OrderAnalyticsTopology.customerKey("a|b", "c"), OrderAnalyticsTopology.customerKey("a", "b|c"));
+        assertNotEquals(OrderAnalyticsTopology.customerKey("a:1", "USD"), OrderAnalyticsTopology.customerKey("a", ":1USD"));
+
+        send("order-1", "c1", "ORDER_INITIALIZED", "USD", "10.00", 1);
+        send("order-2", "c1USD", "ORDER_INITIALIZED", "EUR", "20.00", 2);
+
+        KeyValueStore<String, BigDecimal> totals = driver.getKeyValueStore(OrderAnalyticsTopology.CUSTOMER_TOTAL_STORE);
+        assertEquals(new BigDecimal("10.00"), totals.get(OrderAnalyticsTopology.customerKey("c1", "USD")));
+        assertEquals(new BigDecimal("20.00"), totals.get(OrderAnalyticsTopology.customerKey("c1USD", "EUR")));
+        try (KeyValueIterator<String, BigDecimal> c1 = totals.prefixScan(
+                OrderAnalyticsTopology.customerKeyPrefix("c1"), new StringSerializer())) {
+            assertEquals(OrderAnalyticsTopology.customerKey("c1", "USD"), c1.next().key);
+            assertFalse(c1.hasNext());
+        }
+    }
+
+    @Test
+    void deltaRoundTrip() {
+        OrderAnalyticsTopology.Delta delta = OrderAnalyticsTopology.Delta.decode(
+                new OrderAnalyticsTopology.Delta("X|Y", new BigDecimal("-12.50")).encode());
+        assertEquals("X|Y|-12.50", new String(delta.encode(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stateCountsMoveWithTheOrder() {
+        send("order-1", "customer-1", "ORDER_INITIALIZED", "USD", "10.00", 1);
+        send("order-2", "customer-1", "ORDER_INITIALIZED", "USD", "20.00", 2);
+        send("order-1", "customer-1", "CREDIT_APPROVED", "USD", "10.00", 3);
+
+        KeyValueStore<String, Long> counts = driver.getKeyValueStore(OrderAnalyticsTopology.ORDER_STATE_COUNT_STORE);
+        assertEquals(1L, counts.get("ORDER_INITIALIZED"));
+        assertEquals(1L, counts.get("CREDIT_APPROVED"));
+        assertNull(counts.get("DELIVERED"));
+    }
+
+    /**
+     * Send the Order Domain Event (JSON as written by the Outbox Relay)
+     */
+    private void send(String _orderId, String _customerId, String _state, String _currency, String _value,
+                      int _seq) {
+        String json = "{\"id\":\"event-" + _orderId + "-" + _seq + "\",\"name\":\"ORDER_SAVED\","
+                + "\"orderId\":\"" + _orderId + "\",\"customerId\":\"" + _customerId + "\","
+                + "\"orderState\":\"" + _state + "\",\"result\":\"IN_PROGRESS\",\"currency\":\"" + _currency + "\","
+                + "\"totalOrderValue\":" + _value + ",\"transitionSeq\":" + _seq + "}";
+        input.pipeInput(_orderId, json, START.plusSeconds(_seq));
+    }
+
+    /**
+     * Returns the Revenue of the Currency in the first Window
+     * @param _currency
+     * @return
+     */
+    private BigDecimal revenue(String _currency) {
+        WindowStore<String, BigDecimal> store = driver.getWindowStore(OrderAnalyticsTopology.CURRENCY_REVENUE_STORE);
+        BigDecimal revenue = BigDecimal.ZERO;
+        try (WindowStoreIterator<BigDecimal> windows = store.fetch(_currency, START.minus(WINDOW), START.plus(WINDOW))) {
+            while(windows.hasNext()) {
+                KeyValue<Long, BigDecimal> window = windows.next();
+                revenue = revenue.add(window.value);
+            }
+        }
+        return revenue;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.entities.order;
+// Custom
+import io.fusion.air.microservice.domain.exceptions.BusinessServiceException;
+import io.fusion.air.microservice.domain.statemachine.order.OrderEvent;
+import io.fusion.air.microservice.domain.statemachine.order.OrderResult;
+import io.fusion.air.microservice.domain.statemachine.order.OrderState;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Order Entity: Totals, Builder and State Transitions
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class OrderEntityTest {
+
+    @Test
+    void builderAddOrderItemsReplacesTheItems() {
+        List<OrderItemEntity> first = new ArrayList<>(Arrays.asList(item("10.00"), item("20.00")));
+        List<OrderItemEntity> second = new ArrayList<>(Arrays.asList(item("5.50")));
+        OrderEntity order = OrderEntity.builder()
+                .addCurrency("USD")
+                .addOrderItems(first)
+                .addOrderItems(second)
+                .build();
+        assertSame(second, order.getOrderItems());
+        assertEquals(new BigDecimal("5.50"), order.getTotalOrderValue());
+    }
+
+    @Test
+    void singleItemsAreAddedAndRemovedIncrementally() {
+        OrderItemEntity a = item("10.00");
+        OrderItemEntity b = item("2.25");
+        OrderEntity order = OrderEntity.builder().addCurrency("USD").addOrderItem(a).addOrderItem(b).build();
+        assertEquals(new BigDecimal("12.25"), order.getTotalOrderValue());
+
+        assertTrue(order.removeOrderItem(a));
+        assertFalse(order.removeOrderItem(a));
+        assertEquals(new BigDecimal("2.25"), order.getTotalOrderValue());
+        assertEquals(order.getTotalOrderValue(), order.calculateTotalOrderValue());
+    }
+
+    @Test
+    void priceWithManyFractionDigitsIsRounded() {
+        OrderEntity order = OrderEntity.builder().addCurrency("USD")
+                .addOrderItem(item("1.123456789")).build();
+        assertEquals(new BigDecimal("1.12345679"), order.getTotalOrderValue());
+    }
+
+    @Test
+    void applyEventChangesTheStateOnce() {
+        OrderEntity order = OrderEntity.builder().addCurrency("USD").build();
+        assertTrue(order.isInitialState());
+        assertTrue(order.applyEvent(OrderEvent.CREDIT_CHECKING_EVENT));
+        assertFalse(order.applyEvent(OrderEvent.CREDIT_CHECKING_EVENT));
+        assertFalse(order.applyEvent(OrderEvent.PACKAGE_EVENT));
+        assertEquals(OrderState.CREDIT_CHECKING, order.getOrderState());
+        assertEquals(1, order.getLastTransitionSeq());
+        assertEquals(OrderEvent.CREDIT_CHECKING_EVENT, order.getLastTransitionEvent());
+        assertFalse(order.isInitialState());
+    }
+
+    @Test
+    void applyEventFollowsTheStateMachine() {
+        OrderEntity order = OrderEntity.builder().addCurrency("USD").build();
+        OrderEvent[] events = { OrderEvent.CREDIT_CHECKING_EVENT, OrderEvent.CREDIT_APPROVED_EVENT,
+                OrderEvent.PAYMENT_INIT_EVENT, OrderEvent.PAYMENT_DECLINED_EVENT, OrderEvent.PAYMENT_INIT_EVENT,
+                OrderEvent.PAYMENT_APPROVED_EVENT, OrderEvent.PACKAGE_FORK_EVENT, OrderEvent.PACKAGE_INIT_EVENT,
+                OrderEvent.ORDER_SEND_BILL_EVENT, OrderEvent.ORDER_READY_TO_SHIP_EVENT, OrderEvent.ORDER_SHIPPED_EVENT,
+                OrderEvent.ORDER_IN_TRANSIT_EVENT, OrderEvent.SEND_FOR_DELIVERY_EVENT, OrderEvent.ORDER_DELIVERED_EVENT };
+        for(OrderEvent event : events) {
+            assertTrue(order.applyEvent(event), event.name());
+        }
+        assertEquals(OrderState.DELIVERED, order.getOrderState());
+        assertEquals(OrderResult.DELIVERED, order.getResult());
+        assertEquals(events.length, order.getLastTransitionSeq());
+        // Final State
+        assertThrows(BusinessServiceException.class, () -> order.applyEvent(OrderEvent.ORDER_CANCELLED_EVENT));
+        assertThrows(BusinessServiceException.class, () -> order.applyEvent(OrderEvent.FAILURE_EVENT));
+    }
+
+    @Test
+    void illegalEventIsRejectedAndTheOrderIsNotChanged() {
+        OrderEntity order = OrderEntity.builder().addCurrency("USD").build();
+        // Skips Credit Check and Payment
+        assertThrows(BusinessServiceException.class, () -> order.applyEvent(OrderEvent.ORDER_SHIPPED_EVENT));
+        assertThrows(BusinessServiceException.class, () -> order.applyEvent(OrderEvent.PAYMENT_INIT_EVENT));
+        assertTrue(order.isInitialState());
+
+        assertTrue(order.applyEvent(OrderEvent.CREDIT_CHECKING_EVENT));
+        assertTrue(order.applyEvent(OrderEvent.CREDIT_DECLINED_EVENT));
+        assertThrows(BusinessServiceException.class, () -> order.applyEvent(OrderEvent.PAYMENT_INIT_EVENT));
+        assertEquals(OrderState.CREDIT_DENIED, order.getOrderState());
+        assertEquals(OrderResult.CREDIT_DENIED, order.getResult());
+        assertEquals(2, order.getLastTransitionSeq());
+        assertTrue(order.applyEvent(OrderEvent.ORDER_CANCELLED_EVENT));
+        assertEquals(OrderResult.CANCELLED, order.getResult());
+    }
+
+    /**
+     * Returns an Order Item with the Price
+     * @param _price
+     * @return
+     */
+    private static OrderItemEntity item(String _price) {
+        return new OrderItemEntity("product-1", "Product", BigDecimal.ONE, new BigDecimal(_price));
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.entities.reservation;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Reservation Entity: Running Total of the Reservations
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class ReservationEntityTest {
+
+    @Test
+    void singleReservationsAreAddedIncrementally() {
+        ReservationEntity reservation = ReservationEntity.builder()
+                .addHotelReservations(new ArrayList<>(Arrays.asList(new HotelReservationEntity("h1", "Hotel", 2, 100))))
+                .addRentalReservations(new ArrayList<>())
+                .addFlightReservations(new ArrayList<>())
+                .addRentalReservations(new RentalReservationEntity("r1", "Rental", 3, 40))
+                .addFlightReservations(new FlightReservationEntity("f1", "Airline", 500))
+                .build();
+        assertEquals(200 + 120 + 500, reservation.getTotalValue());
+        // Full Recompute gives the same Total
+        assertEquals(820, reservation.calculateTotalValue());
+
+        reservation.addHotelReservation(new HotelReservationEntity("h2", "Hotel", 1, 80));
+        assertEquals(900, reservation.getTotalValue());
+    }
+
+    @Test
+    void totalValueOverflowIsRejected() {
+        ReservationEntity reservation = ReservationEntity.builder()
+                .addHotelReservations(new ArrayList<>(Arrays.asList(new HotelReservationEntity("h1", "Hotel", 1, Integer.MAX_VALUE))))
+                .addRentalReservations(new ArrayList<>())
+                .addFlightReservations(new ArrayList<>())
+                .build();
+        assertEquals(Integer.MAX_VALUE, reservation.getTotalValue());
+        assertThrows(ArithmeticException.class,
+                () -> reservation.addFlightReservation(new FlightReservationEntity("f1", "Airline", 1)));
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.exceptions;
+// JUnit
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Service Exceptions: Stackless ONLY for the Expected Outcomes
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class ServiceExceptionStackTest {
+
+    @AfterEach
+    void restore() {
+        AbstractServiceException.setStacklessMode(true);
+    }
+
+    @Test
+    void expectedOutcomesAreStackless() {
+        assertTrue(new DataNotFoundException("Order Not Found").isStackless());
+        assertTrue(new ResourceNotFoundException("Country Not Found").isStackless());
+        assertTrue(new InvalidInputException("Invalid File Name").isStackless());
+        assertTrue(new InputDataException("Invalid Order Data").isStackless());
+        assertTrue(new DuplicateDataException("File already exists").isStackless());
+        assertTrue(new MandatoryDataRequiredException("Name Required").isStackless());
+        assertTrue(new LimitExceededException("10 Requests").isStackless());
+        assertEquals("Rate Limit Exceeded: 10 Requests", new LimitExceededException("10 Requests").getMessage());
+    }
+
+    @Test
+    void realFailuresKeepTheStackTrace() {
+        assertFalse(new DatabaseException("Connection lost").isStackless());
+        assertFalse(new CryptoSecurityException("Invalid Secret Key").isStackless());
+        assertFalse(new MessagingException("Broker down").isStackless());
+        assertFalse(new StreamException("Stream closed").isStackless());
+        assertFalse(new ResourceException("Resource busy").isStackless());
+        assertFalse(new BusinessServiceException("Invalid Transition").isStackless());
+        // Expected Outcome with a Cause
+        assertFalse(new DataNotFoundException("Order Not Found", new IllegalStateException()).isStackless());
+    }
+
+    @Test
+    void stacklessModeOffKeepsEveryStackTrace() {
+        AbstractServiceException.setStacklessMode(false);
+        assertFalse(new DataNotFoundException("Order Not Found").isStackless());
+        assertFalse(new InvalidInputException("Invalid File Name").isStackless());
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.domain.models.core;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Running Total (Fixed Point Minor Units)
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class RunningTotalTest {
+
+    @Test
+    void addAndSubtractAreExact() {
+        RunningTotal total = RunningTotal.forCurrency("USD");
+        total.add(new BigDecimal("10.10")).add(new BigDecimal("0.20")).add(new BigDecimal("5"));
+        assertEquals(new BigDecimal("15.30"), total.toBigDecimal());
+        assertEquals(3, total.getCount());
+
+        total.subtract(new BigDecimal("0.20"));
+        assertEquals(new BigDecimal("15.10"), total.toBigDecimal());
+        assertEquals(2, total.getCount());
+    }
+
+    @Test
+    void scaleFollowsTheCurrency() {
+        assertEquals(0, RunningTotal.forCurrency("JPY").getScale());
+        assertEquals(3, RunningTotal.forCurrency("KWD").getScale());
+        assertEquals(RunningTotal.DEFAULT_SCALE, RunningTotal.forCurrency("XYZ-UNKNOWN").getScale());
+        assertEquals(RunningTotal.DEFAULT_SCALE, RunningTotal.forCurrency(null).getScale());
+    }
+
+    @Test
+    void scaleIsRaisedForMoreFractionDigits() {
+        RunningTotal total = RunningTotal.forCurrency("USD").add(new BigDecimal("1.25"));
+        total.add(new BigDecimal("0.0001"));
+        assertEquals(4, total.getScale());
+        assertEquals(new BigDecimal("1.2501"), total.toBigDecimal());
+    }
+
+    @Test
+    void fractionDigitsBeyondMaxScaleAreRounded() {
+        RunningTotal total = RunningTotal.forCurrency("USD");
+        total.add(new BigDecimal("0.123456785"));       // Half Even : ..78
+        total.add(new BigDecimal("0.000000015"));       // Half Even : ..02
+        assertEquals(RunningTotal.MAX_SCALE, total.getScale());
+        assertEquals(new BigDecimal("0.12345680"), total.toBigDecimal());
+
+        // Subtract rounds the same way : Back to Zero
+        total.subtract(new BigDecimal("0.123456785")).subtract(new BigDecimal("0.000000015"));
+        assertEquals(0, total.toBigDecimal().signum());
+    }
+
+    @Test
+    void wholeUnitsAndReset() {
+        RunningTotal total = new RunningTotal(0).add(100L).add(250L).subtract(50L);
+        assertEquals(300, total.toIntExact());
+        assertEquals(0, total.reset().getMinorUnits());
+        assertEquals(0, total.getCount());
+    }
+
+    @Test
+    void invalidScaleAndOverflowAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RunningTotal(RunningTotal.MAX_SCALE + 1));
+        assertThrows(IllegalArgumentException.class, () -> new RunningTotal(-1));
+        RunningTotal total = new RunningTotal(0).add(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> total.add(1L));
+    }
+
+    @Test
+    void toIntExactRejectsFractionsAndOverflow() {
+        assertEquals(12, RunningTotal.forCurrency("USD").add(new BigDecimal("12.00")).toIntExact());
+        assertEquals(-3, new RunningTotal(0).subtract(3L).toIntExact());
+        assertThrows(ArithmeticException.class, () -> RunningTotal.forCurrency("USD").add(new BigDecimal("12.50")).toIntExact());
+        assertThrows(ArithmeticException.class, () -> new RunningTotal(0).add(Integer.MAX_VALUE + 1L).toIntExact());
+    }
+
+    @Test
+    void nullValuesAreIgnored() {
+        RunningTotal total = RunningTotal.forCurrency("USD").add((BigDecimal) null).subtract((BigDecimal) null);
+        assertEquals(0, total.getCount());
+        assertEquals("0.00", total.toString());
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * AES-GCM Stream: Segment Boundaries, Tampering, Truncation and Reordering
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class AesGcmStreamTest {
+
+    private static final int SEGMENT = AesGcmStream.MIN_SEGMENT_SIZE;
+    private static final int HEADER = 12;
+    private static final int TAG = AesGcmStream.TAG_LENGTH;
+
+    private final Key key = new SecretKeySpec(new byte[32], "AES");
+
+    @Test
+    void roundTripAtTheSegmentBoundaries() throws Exception {
+        int[] sizes = {0, 1, SEGMENT - 1, SEGMENT, SEGMENT + 1, 2 * SEGMENT, 3 * SEGMENT + 5};
+        for(int size : sizes) {
+            byte[] plain = random(size);
+            byte[] sealed = encrypt(plain);
+            // Last Segment carries the Remainder (a Full Segment if the Size is a Multiple, Empty for 0)
+            int segments = Math.max(1, (size + SEGMENT - 1) / SEGMENT);
+            assertEquals(HEADER + size + segments * TAG, sealed.length, "Size "+size);
+            assertArrayEquals(plain, decrypt(sealed), "Size "+size);
+        }
+    }
+
+    @Test
+    void readsOfAnySizeGiveTheSameResult() throws Exception {
+        byte[] plain = random(5 * SEGMENT + 77);
+        byte[] sealed = encrypt(plain);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // Reads of 3 Bytes: Segments are assembled from many Reads
+        AesGcmStream.decrypt(new TrickleChannel(sealed, 3), Channels.newChannel(out), key);
+        assertArrayEquals(plain, out.toByteArray());
+    }
+
+    @Test
+    void tamperedSegmentFails() throws Exception {
+        byte[] sealed = encrypt(random(3 * SEGMENT));
+        for(int position : new int[] {1, HEADER + 10, HEADER + SEGMENT + TAG + 5, sealed.length - 1}) {
+            byte[] tampered = sealed.clone();
+            tampered[position] ^= 1;
+            assertThrows(GeneralSecurityException.class, () -> decrypt(tampered), "Position "+position);
+        }
+    }
+
+    @Test
+    void truncatedAtASegmentBoundaryFails() throws Exception {
+        byte[] sealed = encrypt(random(3 * SEGMENT));
+        // Drop the Last Segment: The previous Segment was NOT sealed as the Last one
+        byte[] truncated = Arrays.copyOf(sealed, HEADER + 2 * (SEGMENT + TAG));
+        assertThrows(GeneralSecurityException.class, () -> decrypt(truncated));
+        assertThrows(GeneralSecurityException.class, () -> decrypt(Arrays.copyOf(sealed, HEADER - 1)));
+        assertThrows(GeneralSecurityException.class, () -> decrypt(Arrays.copyOf(sealed, HEADER + TAG - 1)));
+    }
+
+    @Test
+    void reorderedSegmentsFail() throws Exception {
+        byte[] sealed = encrypt(random(3 * SEGMENT));
+        byte[] reordered = sealed.clone();
+        int first = HEADER;
+        int second = HEADER + SEGMENT + TAG;
+        System.arraycopy(sealed, second, reordered, first, SEGMENT + TAG);
+        System.arraycopy(sealed, first, reordered, second, SEGMENT + TAG);
+        assertThrows(GeneralSecurityException.class, () -> decrypt(reordered));
+    }
+
+    @Test
+    void invalidSegmentSize() {
+        assertThrows(IllegalArgumentException.class, () -> AesGcmStream.encrypt(
+                new TrickleChannel(new byte[0], 1), Channels.newChannel(new ByteArrayOutputStream()), key, SEGMENT - 1));
+    }
+
+    private byte[] encrypt(byte[] plain) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = AesGcmStream.encrypt(Channels.newChannel(new ByteArrayInputStream(plain)),
+                Channels.newChannel(out), key, SEGMENT);
+        assertEquals(out.size(), written);
+        return out.toByteArray();
+    }
+
+    private byte[] decrypt(byte[] sealed) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = AesGcmStream.decrypt(Channels.newChannel(new ByteArrayInputStream(sealed)),
+                Channels.newChannel(out), key);
+        assertEquals(out.size(), written);
+        return out.toByteArray();
+    }
+
+    private static byte[] random(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Channel which returns at most N Bytes per Read
+     */
+    private static final class TrickleChannel implements ReadableByteChannel {
+        private final ByteBuffer data;
+        private final int readSize;
+
+        private TrickleChannel(byte[] _data, int _readSize) {
+            data = ByteBuffer.wrap(_data);
+            readSize = _readSize;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if(!data.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(readSize, dst.remaining()), data.remaining());
+            ByteBuffer slice = data.duplicate();
+            slice.limit(slice.position() + count);
+            dst.put(slice);
+            data.position(data.position() + count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Digest Pool: Reuse, Reset and the Bulk Hashes. Secure Data Key Cache.
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class DigestPoolTest {
+
+    @Test
+    void digestReturnedMidUpdateIsReset() throws NoSuchAlgorithmException {
+        MessageDigest digest = DigestPool.digest(Algorithms.SHA_256);
+        // Caller failed half way : the Digest goes back to the Pool with a Partial Update
+        digest.update("partial message".getBytes(StandardCharsets.UTF_8));
+
+        MessageDigest next = DigestPool.digest(Algorithms.SHA_256);
+        assertSame(digest, next);
+        assertArrayEquals(sha256("order-123"), DigestPool.hash("order-123", Algorithms.SHA_256));
+
+        // Same for the Buffer and the Parts Hashes
+        DigestPool.digest(Algorithms.SHA_256).update((byte) 1);
+        assertArrayEquals(sha256("order-123"),
+                DigestPool.hash(ByteBuffer.wrap("order-123".getBytes(StandardCharsets.UTF_8)), Algorithms.SHA_256));
+    }
+
+    @Test
+    void everyThreadHasItsOwnDigest() throws Exception {
+        MessageDigest digest = DigestPool.digest(Algorithms.SHA_256);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MessageDigest other = executor.submit(() -> DigestPool.digest(Algorithms.SHA_256)).get();
+            assertNotSame(digest, other);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void partsAreLengthPrefixed() throws NoSuchAlgorithmException {
+        byte[] ab = DigestPool.hash(Algorithms.SHA_256, "ab", "c");
+        byte[] bc = DigestPool.hash(Algorithms.SHA_256, "a", "bc");
+        assertFalse(DigestPool.isEqual(ab, bc));
+        assertTrue(DigestPool.isEqual(ab, DigestPool.hash(Algorithms.SHA_256, "ab", "c")));
+    }
+
+    @Test
+    void hashAllKeepsTheOrder() throws NoSuchAlgorithmException {
+        // Sequential and Parallel (above the Threshold)
+        for(int size : new int[] { 10, DigestPool.PARALLEL_THRESHOLD * 2 }) {
+            List<String> values = new ArrayList<>();
+            for(int i = 0; i < size; i++) {
+                values.add("key-" + i);
+            }
+            List<byte[]> hashes = DigestPool.hashAllStrings(values, Algorithms.SHA_256);
+            assertEquals(size, hashes.size());
+            for(int i = 0; i < size; i++) {
+                assertArrayEquals(sha256(values.get(i)), hashes.get(i), "Index "+i);
+            }
+        }
+        assertThrows(NoSuchAlgorithmException.class, () -> DigestPool.hashAll(new ArrayList<>(), "NO-SUCH-ALGO"));
+    }
+
+    @Test
+    void derivedKeysAreCachedPerSecret() {
+        // Cached by the Hash of (Digest, Algorithm, Secret) : Different Secrets never share a Key
+        String first = SecureData.encrypt("Order Data", "secret-1");
+        String second = SecureData.encrypt("Order Data", "secret-2");
+        assertNotEquals(first, second);
+        assertEquals("Order Data", SecureData.decrypt(first, "secret-1"));
+        assertEquals("Order Data", SecureData.decrypt(second, "secret-2"));
+        assertEquals("Order Data", SecureData.decryptGCM(SecureData.encryptGCM("Order Data", "secret-1"), "secret-1"));
+    }
+
+    private static byte[] sha256(String _data) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance(Algorithms.SHA_256).digest(_data.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.security;
+// JUnit
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+// Java
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Document Stream: Chunked Hashing and the Detached Signature Name
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class DocumentStreamTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fileAndStreamHashMatchTheWholeDocument() throws Exception {
+        byte[] data = new byte[5 * DocumentStream.READ_BUFFER_SIZE + 17];
+        new Random(7).nextBytes(data);
+        Path file = tempDir.resolve("document.bin");
+        Files.write(file, data);
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        assertEquals(data.length, DocumentStream.read(file, digest::update));
+        assertArrayEquals(expected, digest.digest());
+
+        assertEquals(data.length, DocumentStream.read(new ByteArrayInputStream(data), digest::update));
+        assertArrayEquals(expected, digest.digest());
+        assertArrayEquals(expected, HashData.hashFile(file, "SHA-256"));
+    }
+
+    @Test
+    void emptyDocument() throws Exception {
+        Path file = Files.createFile(tempDir.resolve("empty.txt"));
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        assertEquals(0, DocumentStream.read(file, digest::update));
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(), digest.digest());
+    }
+
+    @Test
+    void signatureFileIsTheNameWithoutTheExtension() {
+        assertEquals(Paths.get("docs", "x509.signature"), DigitalSignature.signatureFile(Paths.get("docs", "x509.txt")));
+        assertEquals(Paths.get("v1.2", "report.signature"),
+                DigitalSignature.signatureFile(Paths.get("v1.2", "report.tar.gz")));
+        assertEquals(Paths.get("README.signature"), DigitalSignature.signatureFile(Paths.get("README")));
+        assertEquals(Paths.get(".profile.signature"), DigitalSignature.signatureFile(Paths.get(".profile")));
+    }
+}
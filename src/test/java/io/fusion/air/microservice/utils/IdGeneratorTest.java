@@ -0,0 +1,131 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.utils;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ID Generator: v8 Layout, Ordering, Slot / Counter Overflow and the Secure IDs
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class IdGeneratorTest {
+
+    private static final long NODE_MASK = 0x3FFFFFL << 40;
+
+    @Test
+    void fastUUIDLayout() {
+        long before = System.currentTimeMillis();
+        UUID id = IdGenerator.fastUUID();
+        long after = System.currentTimeMillis();
+
+        assertEquals(8, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after, "Time "+millis);
+        assertEquals(36, IdGenerator.fastId().length());
+    }
+
+    @Test
+    void orderedWithinAMillisecond() {
+        List<String> ids = new ArrayList<>();
+        for(int i = 0; i < 10_000; i++) {
+            ids.add(IdGenerator.fastId());
+        }
+        int sameMillis = 0;
+        for(int i = 1; i < ids.size(); i++) {
+            String previous = ids.get(i - 1);
+            String current = ids.get(i);
+            // Lower Case Hex: String Order = Unsigned Order of the Bits
+            assertTrue(previous.compareTo(current) < 0, previous+" >= "+current);
+            if(previous.substring(0, 13).equals(current.substring(0, 13))) {
+                sameMillis++;
+            }
+        }
+        assertTrue(sameMillis > 0, "No IDs in the same Milli Second");
+    }
+
+    @Test
+    void threadsGetTheirOwnSlotAndShareTheNode() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Set<Long> slots = new HashSet<>();
+            Set<Long> nodes = new HashSet<>();
+            for(int i = 0; i < 4; i++) {
+                UUID id = executor.submit(() -> {
+                    Thread.sleep(50);
+                    return IdGenerator.fastUUID();
+                }).get();
+                slots.add(id.getMostSignificantBits() & 0xFFF);
+                nodes.add(id.getLeastSignificantBits() & NODE_MASK);
+            }
+            assertTrue(slots.size() > 1);
+            assertEquals(1, nodes.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void slotAndCounterOverflowStayInTheirBits() {
+        long millis = 1_700_000_000_000L;
+        UUID base = IdGenerator.fastUUID(millis, 7, 5);
+        UUID overflow = IdGenerator.fastUUID(millis, 4096 + 7, (1L << 40) + 5);
+
+        // Slot wraps after 4096 Threads, the Counter after 2^40: Version, Variant and Node unchanged
+        assertEquals(base, overflow);
+        assertEquals(8, overflow.version());
+        assertEquals(2, overflow.variant());
+        assertEquals(millis, overflow.getMostSignificantBits() >>> 16);
+        assertEquals(7, overflow.getMostSignificantBits() & 0xFFF);
+        assertEquals(5, overflow.getLeastSignificantBits() & ((1L << 40) - 1));
+
+        UUID max = IdGenerator.fastUUID(millis, -1, -1);
+        assertEquals(8, max.version());
+        assertEquals(2, max.variant());
+        assertEquals(base.getLeastSignificantBits() & NODE_MASK, max.getLeastSignificantBits() & NODE_MASK);
+    }
+
+    @Test
+    void secureIdsAreRandomV4() {
+        Set<UUID> ids = new HashSet<>();
+        for(int i = 0; i < 1000; i++) {
+            UUID id = IdGenerator.secureUUID();
+            assertEquals(4, id.version());
+            assertEquals(2, id.variant());
+            ids.add(id);
+        }
+        assertEquals(1000, ids.size());
+        String token = IdGenerator.secureToken();
+        assertEquals(43, token.length());
+        assertNotEquals(token, IdGenerator.secureToken());
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.utils;
+// JUnit
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JSON Mapper: Default Accessor Module per Java Runtime
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class JsonMapperTest {
+
+	private final String specVersion = System.getProperty("java.specification.version");
+
+	@AfterEach
+	void restore() {
+		System.setProperty("java.specification.version", specVersion);
+	}
+
+	@Test
+	void javaVersionParsesLegacyAndModernFormats() {
+		System.setProperty("java.specification.version", "1.8");
+		assertEquals(8, JsonMapper.javaVersion());
+		System.setProperty("java.specification.version", "11");
+		assertEquals(11, JsonMapper.javaVersion());
+		System.setProperty("java.specification.version", "17");
+		assertEquals(17, JsonMapper.javaVersion());
+	}
+
+	@Test
+	void blackbirdOnlyOnJava11Plus() {
+		System.setProperty("java.specification.version", "11");
+		assertEquals("blackbird", JsonMapper.defaultAccessors());
+		// Afterburner is NOT a Dependency, so Java 8 falls back to none
+		System.setProperty("java.specification.version", "1.8");
+		assertEquals("none", JsonMapper.defaultAccessors());
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * (C) Copyright 2023 Araf Karsh Hamid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fusion.air.microservice.utils;
+// JUnit
+import org.junit.jupiter.api.Test;
+// Java
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Time Ordered UUID (v7): Ordering, Uniqueness and the Layout
+ *
+ * @author: Araf Karsh Hamid
+ * @version:
+ * @date:
+ */
+class TimeOrderedUUIDTest {
+
+	@Test
+	void laterUUIDsSortAfterEarlierOnes() {
+		// More than 4096 per ms: the Counter borrows from the next ms and the Order holds
+		UUID previous = TimeOrderedUUID.next();
+		for(int i = 0; i < 200_000; i++) {
+			UUID next = TimeOrderedUUID.next();
+			assertTrue(next.compareTo(previous) > 0, previous + " >= " + next);
+			assertTrue(next.toString().compareTo(previous.toString()) > 0, previous + " >= " + next);
+			assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+			previous = next;
+		}
+	}
+
+	@Test
+	void versionVariantAndTimestamp() throws InterruptedException {
+		// Let the Clock catch up with the Counter (the other Tests may borrow from the next ms)
+		long last = TimeOrderedUUID.timestamp(TimeOrderedUUID.next());
+		while(System.currentTimeMillis() <= last) {
+			Thread.sleep(5);
+		}
+		long before = System.currentTimeMillis();
+		UUID uuid = TimeOrderedUUID.next();
+		long after = System.currentTimeMillis();
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+		long timestamp = TimeOrderedUUID.timestamp(uuid);
+		assertTrue(timestamp >= before && timestamp <= after, before + " <= " + timestamp + " <= " + after);
+		assertThrows(IllegalArgumentException.class, () -> TimeOrderedUUID.timestamp(UUID.randomUUID()));
+	}
+
+	@Test
+	void uniqueAndOrderedPerThreadAcrossThreads() throws Exception {
+		int threads = 8;
+		int perThread = 50_000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<List<UUID>>> results = new ArrayList<>();
+		try {
+			for(int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> {
+					List<UUID> uuids = new ArrayList<>(perThread);
+					for(int i = 0; i < perThread; i++) {
+						uuids.add(TimeOrderedUUID.next());
+					}
+					return uuids;
+				}));
+			}
+			Set<UUID> all = new HashSet<>();
+			Set<Long> timeAndCounters = new HashSet<>();
+			for(Future<List<UUID>> result : results) {
+				List<UUID> uuids = result.get(60, TimeUnit.SECONDS);
+				for(int i = 0; i < uuids.size(); i++) {
+					UUID uuid = uuids.get(i);
+					if(i > 0) {
+						assertTrue(uuid.compareTo(uuids.get(i - 1)) > 0);
+					}
+					all.add(uuid);
+					// Time + Counter alone is unique (No Reliance on the Random Bits)
+					timeAndCounters.add(uuid.getMostSignificantBits());
+				}
+			}
+			assertEquals(threads * perThread, all.size());
+			assertEquals(threads * perThread, timeAndCounters.size());
+		} finally {
+			executor.shutdown();
+		}
+	}
+}